@@ -0,0 +1,33 @@
+package com.hippocp.easy.code.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 基准测试入口，默认运行所有基准测试并开启分配速率（gc）与堆内存峰值分析器，结果同时写入 jmh-result.json，
+ * 可与之前的结果对比是否退化<br>
+ * 使用方式：<br>
+ * mvn -P benchmark -pl easy-code-benchmark -am package<br>
+ * java -jar easy-code-benchmark/target/benchmarks.jar [JMH命令行参数]<br>
+ * 例如只运行1千行与10万行：java -jar benchmarks.jar -p rows=1000,100000
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        // 在命令行参数的基础上追加分析器与结果文件
+        ChainedOptionsBuilder builder = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .addProfiler(PeakHeapProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("jmh-result.json");
+        new Runner(builder.build()).run();
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.hippocp.easy.code.benchmark;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 基准测试Excel表格生成工具<br>
+ * 第0行为标题行，数据从第1行开始；包含约束违反时，每 {@link #VIOLATION_INTERVAL} 行有一行年龄格式有误、姓名未填写<br>
+ * 生成的表格保存在临时目录中，文件已存在时直接复用，避免每次运行都生成百万行的表格
+ */
+public final class ExcelFixtures {
+
+    /**
+     * 包含约束违反时，每多少行有一行约束违反
+     */
+    public static final int VIOLATION_INTERVAL = 100;
+
+    /**
+     * 生成的表格所在目录
+     */
+    private static final File FIXTURE_DIR = new File(System.getProperty("java.io.tmpdir"), "easy-code-benchmark");
+
+    /**
+     * SXSSF 内存中保留的行数
+     */
+    private static final int ROW_ACCESS_WINDOW_SIZE = 500;
+
+    /**
+     * 表格标题 -》JavaBean属性名称
+     *
+     * @return 表格列映射map
+     */
+    public static Map<String, String> columnToFieldMap() {
+        Map<String, String> columnMap = new LinkedHashMap<>(8);
+        columnMap.put("数据编号", "dataCode");
+        columnMap.put("姓名", "name");
+        columnMap.put("年龄", "age");
+        columnMap.put("薪资", "salary");
+        columnMap.put("出生日期", "birthday");
+        return columnMap;
+    }
+
+    /**
+     * 获取基准测试表格，不存在时生成
+     *
+     * @param rows          数据行数，不含标题行
+     * @param hasViolations 是否包含约束违反
+     * @return .xlsx 文件
+     * @throws IOException 无法写入表格
+     */
+    public static synchronized File get(int rows, boolean hasViolations) throws IOException {
+        File file = new File(FIXTURE_DIR, "fixture-" + rows + (hasViolations ? "-invalid" : "-valid") + ".xlsx");
+        if (file.isFile()) {
+            return file;
+        }
+        if (!FIXTURE_DIR.isDirectory() && !FIXTURE_DIR.mkdirs()) {
+            throw new IOException("无法创建目录：" + FIXTURE_DIR);
+        }
+        // 先写入临时文件，中途失败时不会留下不完整的表格
+        File tempFile = File.createTempFile("fixture-", ".tmp", FIXTURE_DIR);
+        try {
+            try (OutputStream out = new FileOutputStream(tempFile)) {
+                write(out, rows, hasViolations);
+            }
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tempFile.toPath());
+        }
+        return file;
+    }
+
+    /**
+     * 流式写入基准测试表格
+     *
+     * @param out           输出流，不会关闭
+     * @param rows          数据行数，不含标题行
+     * @param hasViolations 是否包含约束违反
+     * @throws IOException 无法写入表格
+     */
+    public static void write(OutputStream out, int rows, boolean hasViolations) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_ACCESS_WINDOW_SIZE);
+        try {
+            Sheet sheet = workbook.createSheet("Sheet1");
+            Row header = sheet.createRow(0);
+            int column = 0;
+            for (String title : columnToFieldMap().keySet()) {
+                header.createCell(column++).setCellValue(title);
+            }
+            for (int i = 1; i <= rows; i++) {
+                Row row = sheet.createRow(i);
+                boolean isViolation = hasViolations && i % VIOLATION_INTERVAL == 0;
+                row.createCell(0).setCellValue(i);
+                if (!isViolation) {
+                    row.createCell(1).setCellValue("姓名" + i);
+                }
+                if (isViolation) {
+                    row.createCell(2).setCellValue("十八");
+                } else {
+                    row.createCell(2).setCellValue(18 + i % 50);
+                }
+                row.createCell(3).setCellValue(5000.5D + i % 1000);
+                row.createCell(4).setCellValue("2021/9/5 14:30:00");
+            }
+            workbook.write(out);
+        } finally {
+            // 删除 SXSSF 写入的临时文件
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    private ExcelFixtures() {
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.hippocp.easy.code.benchmark;
+
+import com.hippocp.easy.code.benchmark.entity.BenchmarkRowDTO;
+import com.hippocp.easy.code.util.domain.ExcelReaderTypeEnum;
+import com.hippocp.easy.code.util.domain.ValidatorResult;
+import com.hippocp.easy.code.util.excel.ExcelValidateOptions;
+import com.hippocp.easy.code.util.excel.ExcelValidateUtil;
+import com.hippocp.easy.code.util.excel.handler.ValidAssignmentStrDefaultHandler;
+import com.hippocp.easy.code.util.string.StringUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Excel表格校验基准测试，覆盖{@link ExcelValidateUtil#cellValid(MultipartFile, Map, Class, ExcelValidateOptions)}
+ * 在{@link ExcelReaderTypeEnum#VALID}、{@link ExcelReaderTypeEnum#NOTVALID}与{@link ExcelReaderTypeEnum#SAX}三种读取方式下的表现<br>
+ * 参数组合：<br>
+ * rows 数据行数 1千、10万、100万<br>
+ * hasViolations 是否包含约束违反，包含时每{@link ExcelFixtures#VIOLATION_INTERVAL}行有一行约束违反<br>
+ * readerType 读取方式<br>
+ * 吞吐量由 JMH 统计，分配速率由 -prof gc 统计，堆内存峰值由{@link PeakHeapProfiler}统计，
+ * 直接运行{@link BenchmarkRunner}时会同时开启两个分析器<br>
+ * 注意：{@link ExcelReaderTypeEnum#VALID}、{@link ExcelReaderTypeEnum#NOTVALID}一次性将整个工作簿加载到内存，100万行时需要足够大的堆内存
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx8g"})
+public class ExcelValidateBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    @Param({"false", "true"})
+    private boolean hasViolations;
+
+    @Param({"VALID", "NOTVALID", "SAX"})
+    private ExcelReaderTypeEnum readerType;
+
+    private MultipartFile xlsxFile;
+
+    private Map<String, String> columnToFieldMap;
+
+    private ExcelValidateOptions<BenchmarkRowDTO> options;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        File file = ExcelFixtures.get(rows, hasViolations);
+        // 表格内容读入内存，避免把磁盘读取计入校验耗时
+        xlsxFile = new MockMultipartFile(file.getName(), file.getName(),
+                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", Files.readAllBytes(file.toPath()));
+        columnToFieldMap = ExcelFixtures.columnToFieldMap();
+        options = ExcelValidateOptions.createDefault(
+                readerType,
+                new ValidAssignmentStrDefaultHandler(),
+                StringUtil::trimBlankCharacter,
+                null
+        );
+    }
+
+    @Benchmark
+    public ValidatorResult<BenchmarkRowDTO> cellValid() {
+        ValidatorResult<BenchmarkRowDTO> result =
+                ExcelValidateUtil.cellValid(xlsxFile, columnToFieldMap, BenchmarkRowDTO.class, options);
+        // 校验结果与表格内容不符时说明基准测试本身有误，结果没有意义
+        if (result.isValid() == hasViolations) {
+            throw new IllegalStateException("校验结果不符合预期：rows=" + rows + ", hasViolations=" + hasViolations
+                    + ", readerType=" + readerType);
+        }
+        return result;
+    }
+
+}
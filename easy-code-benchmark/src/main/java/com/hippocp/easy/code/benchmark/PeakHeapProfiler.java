@@ -0,0 +1,73 @@
+package com.hippocp.easy.code.benchmark;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * 堆内存峰值分析器，JMH 没有内置该指标<br>
+ * 每轮迭代开始前重置各堆内存池的峰值，结束后输出：<br>
+ * ·heap.peak 各堆内存池峰值之和（MB），各内存池不一定同时达到峰值，因此为堆内存峰值的上限<br>
+ * ·heap.peak.tenured 老年代峰值（MB），反映校验过程中长期持有的对象，例如读取的数据与约束违反信息<br>
+ * 使用方式：-prof com.hippocp.easy.code.benchmark.PeakHeapProfiler
+ */
+public class PeakHeapProfiler implements InternalProfiler {
+
+    private static final double MB = 1024D * 1024D;
+
+    @Override
+    public String getDescription() {
+        return "堆内存峰值（各堆内存池峰值之和与老年代峰值）";
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams,
+                                                       IterationParams iterationParams,
+                                                       IterationResult result) {
+        long peak = 0;
+        long tenuredPeak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() != MemoryType.HEAP || !pool.isValid()) {
+                continue;
+            }
+            long used = pool.getPeakUsage().getUsed();
+            peak += used;
+            if (isTenured(pool.getName())) {
+                tenuredPeak += used;
+            }
+        }
+        return Arrays.asList(
+                new ScalarResult("·heap.peak", peak / MB, "MB", AggregationPolicy.MAX),
+                new ScalarResult("·heap.peak.tenured", tenuredPeak / MB, "MB", AggregationPolicy.MAX));
+    }
+
+    /**
+     * 是否为老年代内存池，例如 PS Old Gen、G1 Old Gen、Tenured Gen、CMS Old Gen
+     *
+     * @param poolName 内存池名称
+     * @return true-是 false-否
+     */
+    private static boolean isTenured(String poolName) {
+        return poolName.contains("Old") || poolName.contains("Tenured");
+    }
+
+}
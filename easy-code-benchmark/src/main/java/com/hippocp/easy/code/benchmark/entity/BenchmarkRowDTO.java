@@ -0,0 +1,30 @@
+package com.hippocp.easy.code.benchmark.entity;
+
+import com.hippocp.easy.code.util.string.StringUtil;
+import lombok.Data;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * 基准测试表格数据实体类，覆盖整数、小数、日期、字符串四种属性类型
+ */
+@Data
+public class BenchmarkRowDTO implements Serializable {
+
+    @NotNull(message = "数据编号" + StringUtil.NOT_BLANK_MSG_TEMPLATE)
+    private Long dataCode;
+
+    @NotBlank(message = "姓名" + StringUtil.NOT_BLANK_MSG_TEMPLATE)
+    private String name;
+
+    @NotNull(message = "年龄" + StringUtil.NOT_BLANK_MSG_TEMPLATE)
+    private Integer age;
+
+    private Double salary;
+
+    private Date birthday;
+
+}
@@ -0,0 +1,297 @@
+package com.hippocp.easy.code.monitor.capture;
+
+import cn.hutool.core.bean.BeanUtil;
+import cn.hutool.core.bean.PropDesc;
+import cn.hutool.core.util.ArrayUtil;
+
+import java.lang.reflect.Array;
+import java.time.temporal.TemporalAccessor;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * 按字节预算写出对象的json字符串，逐个元素、逐个属性写出，超过预算立即停止，不会先完整序列化再截断<br>
+ * 字节数按UTF-8编码计算，超过预算时在结尾追加截断提示<br>
+ * 1. 字符串、数字、布尔值、枚举、日期直接写出，日期写出毫秒数<br>
+ * 2. Map、集合、数组逐个元素写出<br>
+ * 3. JavaBean 通过 getter 逐个属性写出，其它对象写出 toString<br>
+ * 超过最大嵌套层数的对象写出 toString，避免循环引用
+ */
+public class BoundedValueWriter {
+
+    /**
+     * 最大嵌套层数
+     */
+    private static final int MAX_DEPTH = 8;
+
+    /**
+     * 超过预算时抛出，用于立即结束写出，不记录调用栈
+     */
+    private static final RuntimeException BUDGET_EXHAUSTED = new RuntimeException(null, null, false, false) {
+    };
+
+    /**
+     * 写出结果
+     */
+    private final StringBuilder out;
+    /**
+     * 剩余字节预算
+     */
+    private long remaining;
+
+    private BoundedValueWriter(StringBuilder out, int maxBytes) {
+        this.out = out;
+        this.remaining = maxBytes <= 0 ? Long.MAX_VALUE : maxBytes;
+    }
+
+    /**
+     * 写出对象的json字符串
+     *
+     * @param value    对象
+     * @param maxBytes 字节预算，小于等于0时不限制
+     * @return json字符串，超过预算时截断并追加截断提示
+     */
+    public static String toJsonStr(Object value, int maxBytes) {
+        StringBuilder out = new StringBuilder(maxBytes <= 0 ? 256 : Math.min(maxBytes, 4096));
+        new BoundedValueWriter(out, maxBytes).write(value, true, maxBytes);
+        return out.toString();
+    }
+
+    /**
+     * 写出对象的字符串，超过预算立即停止<br>
+     * 字符串逐个字符写出，不复制；Map、集合、数组按 toString 的格式逐个元素写出；
+     * 其它对象写出 toString，toString 本身无法中途停止
+     *
+     * @param value    对象
+     * @param maxBytes 字节预算，小于等于0时不限制
+     * @return 字符串，超过预算时截断并追加截断提示
+     */
+    public static String toStr(Object value, int maxBytes) {
+        StringBuilder out = new StringBuilder(maxBytes <= 0 ? 64 : Math.min(maxBytes, 4096));
+        new BoundedValueWriter(out, maxBytes).write(value, false, maxBytes);
+        return out.toString();
+    }
+
+    private void write(Object value, boolean isJson, int maxBytes) {
+        try {
+            if (isJson) {
+                writeValue(value, 0);
+            } else {
+                writeText(value, 0);
+            }
+        } catch (RuntimeException e) {
+            if (e != BUDGET_EXHAUSTED) {
+                throw e;
+            }
+            out.append("...（已截断，超过").append(maxBytes).append("字节）");
+        }
+    }
+
+    private void writeValue(Object value, int depth) {
+        if (value == null) {
+            writeRaw("null");
+        } else if (value instanceof CharSequence) {
+            writeString((CharSequence) value);
+        } else if (value instanceof Character) {
+            writeString(value.toString());
+        } else if (value instanceof Number || value instanceof Boolean) {
+            writeRaw(value.toString());
+        } else if (value instanceof Enum) {
+            writeString(((Enum<?>) value).name());
+        } else if (value instanceof Date) {
+            writeRaw(String.valueOf(((Date) value).getTime()));
+        } else if (value instanceof TemporalAccessor) {
+            writeString(value.toString());
+        } else if (depth >= MAX_DEPTH) {
+            writeString(value.toString());
+        } else if (value instanceof Map) {
+            writeMap((Map<?, ?>) value, depth + 1);
+        } else if (value instanceof Iterable) {
+            writeIterator(((Iterable<?>) value).iterator(), depth + 1);
+        } else if (ArrayUtil.isArray(value)) {
+            writeArray(value, depth + 1);
+        } else if (BeanUtil.isReadableBean(value.getClass())) {
+            writeBean(value, depth + 1);
+        } else {
+            writeString(value.toString());
+        }
+    }
+
+    /**
+     * 按 toString 的格式写出对象，Map、集合、数组逐个元素写出
+     *
+     * @param value 对象
+     * @param depth 嵌套层数
+     */
+    private void writeText(Object value, int depth) {
+        if (value == null) {
+            writeRaw("null");
+        } else if (value instanceof CharSequence) {
+            writeRaw((CharSequence) value);
+        } else if (depth >= MAX_DEPTH) {
+            writeRaw(value.toString());
+        } else if (value instanceof Map) {
+            // 与 AbstractMap#toString 格式相同
+            writeRaw("{");
+            boolean isFirst = true;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (!isFirst) {
+                    writeRaw(", ");
+                }
+                isFirst = false;
+                writeText(entry.getKey(), depth + 1);
+                writeRaw("=");
+                writeText(entry.getValue(), depth + 1);
+            }
+            writeRaw("}");
+        } else if (value instanceof Collection) {
+            // 与 AbstractCollection#toString 格式相同
+            writeRaw("[");
+            boolean isFirst = true;
+            for (Object element : (Collection<?>) value) {
+                if (!isFirst) {
+                    writeRaw(", ");
+                }
+                isFirst = false;
+                writeText(element, depth + 1);
+            }
+            writeRaw("]");
+        } else if (ArrayUtil.isArray(value)) {
+            // 与 Arrays#toString 格式相同
+            writeRaw("[");
+            int length = Array.getLength(value);
+            for (int i = 0; i < length; i++) {
+                if (i > 0) {
+                    writeRaw(", ");
+                }
+                writeText(Array.get(value, i), depth + 1);
+            }
+            writeRaw("]");
+        } else {
+            writeRaw(value.toString());
+        }
+    }
+
+    private void writeMap(Map<?, ?> map, int depth) {
+        writeRaw("{");
+        boolean isFirst = true;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!isFirst) {
+                writeRaw(",");
+            }
+            isFirst = false;
+            writeString(String.valueOf(entry.getKey()));
+            writeRaw(":");
+            writeValue(entry.getValue(), depth);
+        }
+        writeRaw("}");
+    }
+
+    private void writeIterator(Iterator<?> iterator, int depth) {
+        writeRaw("[");
+        boolean isFirst = true;
+        while (iterator.hasNext()) {
+            if (!isFirst) {
+                writeRaw(",");
+            }
+            isFirst = false;
+            writeValue(iterator.next(), depth);
+        }
+        writeRaw("]");
+    }
+
+    private void writeArray(Object array, int depth) {
+        writeRaw("[");
+        int length = Array.getLength(array);
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                writeRaw(",");
+            }
+            writeValue(Array.get(array, i), depth);
+        }
+        writeRaw("]");
+    }
+
+    private void writeBean(Object bean, int depth) {
+        writeRaw("{");
+        boolean isFirst = true;
+        for (PropDesc prop : BeanUtil.getBeanDesc(bean.getClass()).getProps()) {
+            if (!prop.isReadable(false)) {
+                continue;
+            }
+            Object propValue = prop.getValue(bean);
+            // 与hutool json一致，忽略值为null的属性
+            if (propValue == null) {
+                continue;
+            }
+            if (!isFirst) {
+                writeRaw(",");
+            }
+            isFirst = false;
+            writeString(prop.getFieldName());
+            writeRaw(":");
+            writeValue(propValue, depth);
+        }
+        writeRaw("}");
+    }
+
+    private void writeString(CharSequence str) {
+        writeRaw("\"");
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            switch (c) {
+                case '"':
+                    writeEscaped("\\\"");
+                    break;
+                case '\\':
+                    writeEscaped("\\\\");
+                    break;
+                case '\n':
+                    writeEscaped("\\n");
+                    break;
+                case '\r':
+                    writeEscaped("\\r");
+                    break;
+                case '\t':
+                    writeEscaped("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        // 其它控制字符按JSON规范转义为4位十六进制的Unicode转义序列
+                        writeEscaped((c < 0x10 ? "\\u000" : "\\u00") + Integer.toHexString(c));
+                    } else {
+                        writeChar(c);
+                    }
+                    break;
+            }
+        }
+        writeRaw("\"");
+    }
+
+    private void writeEscaped(String escaped) {
+        consume(escaped.length());
+        out.append(escaped);
+    }
+
+    private void writeRaw(CharSequence str) {
+        for (int i = 0; i < str.length(); i++) {
+            writeChar(str.charAt(i));
+        }
+    }
+
+    private void writeChar(char c) {
+        // 按UTF-8编码计算字节数，代理对在高位代理处一次计4字节，避免截断在代理对中间
+        consume(c < 0x80 ? 1 : c < 0x800 ? 2 : Character.isHighSurrogate(c) ? 4 : Character.isLowSurrogate(c) ? 0 : 3);
+        out.append(c);
+    }
+
+    private void consume(int bytes) {
+        if (remaining < bytes) {
+            throw BUDGET_EXHAUSTED;
+        }
+        remaining -= bytes;
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.hippocp.easy.code.monitor.capture;
+
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 监控日志记录策略，在请求线程中、任何序列化之前决定本次请求是否记录入参值与返回结果<br>
+ * 记录时由{@link BoundedValueWriter}按字节预算逐个属性写出，超过预算立即停止，不会先完整序列化再截断
+ */
+public class MonitorCapturePolicy {
+
+    /**
+     * 默认字节预算，不限制，与引入记录策略之前完整记录入参值与返回结果的行为一致
+     */
+    public static final int DEFAULT_MAX_BYTES = 0;
+
+    /**
+     * 默认采样率
+     */
+    public static final int DEFAULT_SAMPLE_RATE = 100;
+
+    /**
+     * 接口路径匹配器
+     */
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    /**
+     * 记录策略
+     */
+    private final MonitorCapturePolicyEnum policy;
+    /**
+     * 入参值与返回结果各自的字节预算，小于等于0时不限制
+     */
+    private final int maxBytes;
+    /**
+     * 采样率，{@link MonitorCapturePolicyEnum#SAMPLED}时每 sampleRate 次请求记录1次
+     */
+    private final int sampleRate;
+    /**
+     * 接口路径模式（Ant风格，不包含应用上下文路径），{@link MonitorCapturePolicyEnum#ENDPOINT_PATTERN}时使用
+     */
+    private final List<String> endpointPatterns;
+    /**
+     * 请求计数，用于采样
+     */
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * 默认记录策略，全部记录，不截断
+     *
+     * @return {@link MonitorCapturePolicy}
+     */
+    public static MonitorCapturePolicy createDefault() {
+        return new MonitorCapturePolicy(MonitorCapturePolicyEnum.SIZE_CAPPED, DEFAULT_MAX_BYTES,
+                DEFAULT_SAMPLE_RATE, null);
+    }
+
+    /**
+     * 创建监控日志记录策略
+     *
+     * @param policy           记录策略
+     * @param maxBytes         入参值与返回结果各自的字节预算，小于等于0时不限制
+     * @param sampleRate       采样率，{@link MonitorCapturePolicyEnum#SAMPLED}时每 sampleRate 次请求记录1次
+     * @param endpointPatterns 接口路径模式（Ant风格，不包含应用上下文路径）
+     */
+    public MonitorCapturePolicy(MonitorCapturePolicyEnum policy,
+                                int maxBytes,
+                                int sampleRate,
+                                List<String> endpointPatterns) {
+        if (policy == null) {
+            throw new IllegalArgumentException("记录策略不能为null");
+        }
+        if (sampleRate <= 0) {
+            throw new IllegalArgumentException("采样率必须大于0");
+        }
+        this.policy = policy;
+        this.maxBytes = maxBytes;
+        this.sampleRate = sampleRate;
+        this.endpointPatterns = endpointPatterns == null ? Collections.emptyList() : endpointPatterns;
+    }
+
+    /**
+     * 本次请求是否记录入参值与返回结果
+     *
+     * @param endpointPath 请求路径（不包含应用上下文路径），没有Web请求时为null
+     * @return 布尔值，true-是，false-否
+     */
+    public boolean isCapture(String endpointPath) {
+        switch (policy) {
+            case NONE:
+                return false;
+            case SAMPLED:
+                return sequence.getAndIncrement() % sampleRate == 0;
+            case ENDPOINT_PATTERN:
+                if (endpointPath == null) {
+                    return false;
+                }
+                for (String pattern : endpointPatterns) {
+                    if (PATH_MATCHER.match(pattern, endpointPath)) {
+                        return true;
+                    }
+                }
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    public MonitorCapturePolicyEnum getPolicy() {
+        return policy;
+    }
+
+    public int getMaxBytes() {
+        return maxBytes;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    public List<String> getEndpointPatterns() {
+        return endpointPatterns;
+    }
+
+}
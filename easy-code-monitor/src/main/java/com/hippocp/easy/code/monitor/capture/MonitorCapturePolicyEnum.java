@@ -0,0 +1,50 @@
+package com.hippocp.easy.code.monitor.capture;
+
+/**
+ * 监控日志记录策略枚举类，决定是否记录被监控方法的入参值与返回结果
+ */
+public enum MonitorCapturePolicyEnum {
+
+    /**
+     * 不记录，只记录参数名与执行时长
+     */
+    NONE("不记录入参值与返回结果"),
+
+    /**
+     * 限制大小，全部记录，超过字节预算的部分截断
+     */
+    SIZE_CAPPED("全部记录，超过字节预算时截断"),
+
+    /**
+     * 采样，每 sampleRate 次请求记录1次，超过字节预算时截断
+     */
+    SAMPLED("按采样率记录，超过字节预算时截断"),
+
+    /**
+     * 按接口路径，只记录请求路径匹配 endpointPatterns 的请求，超过字节预算时截断
+     */
+    ENDPOINT_PATTERN("只记录请求路径匹配的请求，超过字节预算时截断");
+
+    /**
+     * 描述
+     */
+    private final String description;
+
+    MonitorCapturePolicyEnum(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("MonitorCapturePolicyEnum{");
+        sb.append("name=").append(name());
+        sb.append(", description='").append(description).append('\'');
+        sb.append('}');
+        return sb.toString();
+    }
+
+}
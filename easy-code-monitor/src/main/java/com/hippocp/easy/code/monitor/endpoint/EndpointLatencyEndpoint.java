@@ -0,0 +1,45 @@
+package com.hippocp.easy.code.monitor.endpoint;
+
+import com.hippocp.easy.code.monitor.metrics.EndpointLatencyRegistry;
+import com.hippocp.easy.code.monitor.metrics.EndpointLatencySnapshot;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 接口耗时查询接口，返回{@link EndpointLatencyRegistry}中各接口的耗时快照<br>
+ * 请求路径由 easy.endpoint-latency.endpoint-path 配置，默认为 /easy/endpoint-latency
+ */
+@RestController
+public class EndpointLatencyEndpoint {
+
+    /**
+     * 接口耗时注册表
+     */
+    private final EndpointLatencyRegistry registry;
+
+    public EndpointLatencyEndpoint(EndpointLatencyRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * 查询接口耗时
+     *
+     * @param endpoint 接口名称包含的关键字，为空时返回所有接口
+     * @return 耗时快照，按99分位耗时从大到小排列
+     */
+    @GetMapping("${easy.endpoint-latency.endpoint-path:/easy/endpoint-latency}")
+    public List<EndpointLatencySnapshot> snapshots(@RequestParam(required = false) String endpoint) {
+        List<EndpointLatencySnapshot> snapshots = registry.getSnapshots();
+        if (endpoint == null || endpoint.isEmpty()) {
+            return snapshots;
+        }
+        return snapshots.stream()
+                .filter(snapshot -> snapshot.getEndpoint().contains(endpoint))
+                .collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,298 @@
+package com.hippocp.easy.code.monitor.log;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 异步监控日志写入器，请求线程只把监控事件放入{@link MonitorLogRingBuffer}，
+ * 后台线程取出后格式化并输出日志，慢速磁盘不再影响请求耗时；输出方式可通过重写{@link #write(HttpRequestMonitorEvent)}修改<br>
+ * 队列已满时按{@link MonitorLogOverflowPolicyEnum}处理，丢弃的数量由后台线程定期以WARN级别输出<br>
+ * 通过{@link MonitorLog#setAsyncWriter(AsyncMonitorLogWriter)}设置后生效，调用{@link #start()}启动后台线程，
+ * {@link #close()}停止时输出队列中剩余的监控事件，包括停止时正在入队的监控事件；未启动或已停止时在请求线程中同步输出
+ */
+public class AsyncMonitorLogWriter implements Closeable {
+
+    /**
+     * 日志对象
+     */
+    private static final Logger log = LoggerFactory.getLogger(AsyncMonitorLogWriter.class);
+
+    /**
+     * 默认队列深度
+     */
+    public static final int DEFAULT_QUEUE_DEPTH = 1024;
+
+    /**
+     * 默认采样率，{@link MonitorLogOverflowPolicyEnum#SAMPLE}时每 sampleRate 个监控事件保留1个
+     */
+    public static final int DEFAULT_SAMPLE_RATE = 10;
+
+    /**
+     * 后台线程空闲时的等待时间（纳秒）
+     */
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    /**
+     * 请求线程等待队列腾出空间的间隔（纳秒）
+     */
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    /**
+     * 停止时等待后台线程输出剩余监控事件的时间（毫秒）
+     */
+    private static final long CLOSE_TIMEOUT_MILLIS = 5000;
+
+    /**
+     * 监控事件队列
+     */
+    private final MonitorLogRingBuffer<HttpRequestMonitorEvent> ringBuffer;
+    /**
+     * 队列溢出策略
+     */
+    private final MonitorLogOverflowPolicyEnum overflowPolicy;
+    /**
+     * 采样率
+     */
+    private final int sampleRate;
+    /**
+     * 高水位，{@link MonitorLogOverflowPolicyEnum#SAMPLE}时队列达到该数量后开始采样
+     */
+    private final int highWaterMark;
+    /**
+     * 超过高水位后的监控事件计数，用于采样
+     */
+    private final AtomicLong overflowSequence = new AtomicLong();
+    /**
+     * 累计丢弃的监控事件数量
+     */
+    private final LongAdder droppedCount = new LongAdder();
+    /**
+     * 正在提交的监控事件数量，停止后后台线程等待其归零，避免停止时刚入队的监控事件无人输出
+     */
+    private final AtomicInteger activeOffers = new AtomicInteger();
+    /**
+     * 后台线程
+     */
+    private Thread writerThread;
+    /**
+     * 是否运行中
+     */
+    private volatile boolean running;
+    /**
+     * 后台线程是否正在等待，等待时入队后唤醒
+     */
+    private volatile boolean parked;
+
+    public AsyncMonitorLogWriter() {
+        this(DEFAULT_QUEUE_DEPTH, MonitorLogOverflowPolicyEnum.DROP, DEFAULT_SAMPLE_RATE);
+    }
+
+    /**
+     * 创建异步监控日志写入器
+     *
+     * @param queueDepth     队列深度，向上取整为2的幂
+     * @param overflowPolicy 队列溢出策略
+     * @param sampleRate     采样率，{@link MonitorLogOverflowPolicyEnum#SAMPLE}时每 sampleRate 个监控事件保留1个
+     */
+    public AsyncMonitorLogWriter(int queueDepth, MonitorLogOverflowPolicyEnum overflowPolicy, int sampleRate) {
+        if (overflowPolicy == null) {
+            throw new IllegalArgumentException("队列溢出策略不能为null");
+        }
+        if (sampleRate <= 0) {
+            throw new IllegalArgumentException("采样率必须大于0");
+        }
+        this.ringBuffer = new MonitorLogRingBuffer<>(queueDepth);
+        this.overflowPolicy = overflowPolicy;
+        this.sampleRate = sampleRate;
+        this.highWaterMark = ringBuffer.capacity() - (ringBuffer.capacity() >> 2);
+    }
+
+    /**
+     * 启动后台线程，重复调用无效
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        writerThread = new Thread(this::drainLoop, "easy-monitor-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * 提交监控事件，按队列溢出策略处理队列已满的情况
+     *
+     * @param event 监控事件
+     */
+    public void offer(HttpRequestMonitorEvent event) {
+        // 先登记再检查运行状态，后台线程看到停止并且没有正在提交的监控事件后才退出
+        activeOffers.incrementAndGet();
+        try {
+            if (!running) {
+                // 未启动或已停止，同步输出
+                write(event);
+                return;
+            }
+            boolean isOffered;
+            switch (overflowPolicy) {
+                case SAMPLE:
+                    // 超过高水位后按采样率保留
+                    isOffered = (ringBuffer.size() < highWaterMark
+                            || overflowSequence.incrementAndGet() % sampleRate == 0)
+                            && ringBuffer.offer(event);
+                    break;
+                case BLOCK:
+                    while (!(isOffered = ringBuffer.offer(event))) {
+                        if (!running) {
+                            write(event);
+                            return;
+                        }
+                        wakeUp();
+                        LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+                    }
+                    break;
+                default:
+                    isOffered = ringBuffer.offer(event);
+                    break;
+            }
+            if (isOffered) {
+                if (parked) {
+                    wakeUp();
+                }
+            } else {
+                droppedCount.increment();
+            }
+        } finally {
+            activeOffers.decrementAndGet();
+        }
+    }
+
+    /**
+     * 停止后台线程，等待输出队列中剩余的监控事件
+     */
+    @Override
+    public void close() {
+        Thread thread;
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            running = false;
+            thread = writerThread;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 后台线程：取出监控事件并输出，停止后输出剩余的监控事件
+     */
+    private void drainLoop() {
+        long reportedDroppedCount = 0;
+        while (true) {
+            HttpRequestMonitorEvent event = ringBuffer.poll();
+            if (event != null) {
+                writeQuietly(event);
+                continue;
+            }
+            // 队列已空，输出丢弃数量
+            long dropped = droppedCount.sum();
+            if (dropped != reportedDroppedCount && log.isWarnEnabled()) {
+                log.warn("监控日志队列已满，累计丢弃{}条监控日志", dropped);
+            }
+            reportedDroppedCount = dropped;
+            if (!running) {
+                // 停止前可能有请求线程刚刚入队，没有正在提交的监控事件后新的监控事件只会同步输出
+                if (activeOffers.get() == 0 && ringBuffer.isEmpty()) {
+                    return;
+                }
+                Thread.yield();
+                continue;
+            }
+            parked = true;
+            // 设置等待标记后再次检查，避免错过唤醒
+            if (ringBuffer.isEmpty()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            parked = false;
+        }
+    }
+
+    /**
+     * 输出监控事件，默认由{@link MonitorLog#write(HttpRequestMonitorEvent)}格式化并输出日志<br>
+     * 通常在后台线程中调用，未启动或已停止时在请求线程中调用
+     *
+     * @param event HTTP请求监控事件
+     */
+    protected void write(HttpRequestMonitorEvent event) {
+        MonitorLog.write(event);
+    }
+
+    private void writeQuietly(HttpRequestMonitorEvent event) {
+        try {
+            write(event);
+        } catch (RuntimeException e) {
+            // 格式化失败不能终止后台线程
+            log.error("无法输出监控日志：", e);
+        }
+    }
+
+    private void wakeUp() {
+        Thread thread = writerThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    public MonitorLogOverflowPolicyEnum getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * 队列深度
+     *
+     * @return 队列深度
+     */
+    public int getQueueDepth() {
+        return ringBuffer.capacity();
+    }
+
+    /**
+     * 队列中等待输出的监控事件数量
+     *
+     * @return 监控事件数量
+     */
+    public int getQueueSize() {
+        return ringBuffer.size();
+    }
+
+    /**
+     * 累计丢弃的监控事件数量
+     *
+     * @return 监控事件数量
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+}
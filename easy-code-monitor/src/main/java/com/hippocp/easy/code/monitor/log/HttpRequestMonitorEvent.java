@@ -0,0 +1,89 @@
+package com.hippocp.easy.code.monitor.log;
+
+import com.hippocp.easy.code.monitor.sampling.MonitorSampleReasonEnum;
+import lombok.Data;
+
+/**
+ * HTTP请求监控事件，在请求线程中只记录监控数据，格式化与输出日志由{@link MonitorLog#write(HttpRequestMonitorEvent)}完成<br>
+ * 入参值与返回结果在请求线程中按字节预算转换为字符串后才交给{@link AsyncMonitorLogWriter}，
+ * 后台线程格式化时不再访问业务对象，请求结束后业务对象被修改也不影响日志内容
+ */
+@Data
+public class HttpRequestMonitorEvent {
+
+    /**
+     * 是否存在Web请求，为false时可能被定时任务或普通调用
+     */
+    private boolean isRequestPresent;
+
+    /**
+     * 请求方IP地址
+     */
+    private String ipAddress;
+
+    /**
+     * 请求URL
+     */
+    private String url;
+
+    /**
+     * HTTP请求方法
+     */
+    private String httpMethod;
+
+    /**
+     * 被监控方法所在类全限定名
+     */
+    private String className;
+
+    /**
+     * 被监控方法名
+     */
+    private String methodName;
+
+    /**
+     * 参数名
+     */
+    private String[] argNames;
+
+    /**
+     * 是否记录入参值与返回结果，由{@link com.hippocp.easy.code.monitor.capture.MonitorCapturePolicy}决定
+     */
+    private boolean isCapture;
+
+    /**
+     * 入参值与返回结果各自的字节预算，小于等于0时不限制
+     */
+    private int captureMaxBytes;
+
+    /**
+     * 参数值，已按字节预算转换为字符串，不记录时为null
+     */
+    private String[] argValues;
+
+    /**
+     * 被监控方法运行结果，已按字节预算转换为json字符串，不记录或运行结果为null时为null
+     */
+    private String resultJson;
+
+    /**
+     * 被监控方法抛出的异常信息，未抛出异常时为null
+     */
+    private String errorMessage;
+
+    /**
+     * 采样原因，未设置监控日志采样器时为null
+     */
+    private MonitorSampleReasonEnum sampleReason;
+
+    /**
+     * 被监控方法执行时长（毫秒）
+     */
+    private long executeTime;
+
+    /**
+     * 切面方法与被监控方法总执行时长（毫秒），不包含格式化与输出日志
+     */
+    private long aspectExecuteTime;
+
+}
@@ -1,7 +1,11 @@
 package com.hippocp.easy.code.monitor.log;
 
 import cn.hutool.core.util.ArrayUtil;
-import cn.hutool.json.JSONUtil;
+import com.hippocp.easy.code.monitor.capture.BoundedValueWriter;
+import com.hippocp.easy.code.monitor.capture.MonitorCapturePolicy;
+import com.hippocp.easy.code.monitor.metrics.EndpointLatencyRegistry;
+import com.hippocp.easy.code.monitor.sampling.MonitorSampleReasonEnum;
+import com.hippocp.easy.code.monitor.sampling.MonitorSampler;
 import com.hippocp.easy.code.util.network.IpAddressUtil;
 import com.hippocp.easy.code.util.string.StringUtil;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -12,9 +16,19 @@ import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import javax.servlet.http.HttpServletRequest;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
 
 /**
- * 监控日志类
+ * 监控日志类<br>
+ * 请求线程中只记录{@link HttpRequestMonitorEvent}，设置了{@link AsyncMonitorLogWriter}时由其后台线程格式化并输出，
+ * 否则在请求线程中同步输出<br>
+ * 是否记录入参值与返回结果由{@link MonitorCapturePolicy}在请求线程中决定，记录时在请求线程中按字节预算转换为字符串，
+ * 入参值在被监控方法执行之前转换，不受业务逻辑修改入参的影响；返回结果在决定输出后才转换，未输出的请求不序列化返回结果；
+ * 未开启INFO级别日志时不记录任何监控信息<br>
+ * 设置了{@link EndpointLatencyRegistry}时，无论是否输出监控日志，都按纳秒记录每次请求的耗时<br>
+ * 设置了{@link MonitorSampler}时，被监控方法执行完毕后由其决定是否输出本次请求的监控日志，否则全部输出；
+ * 被监控方法抛出异常时同样记录监控日志
  *
  * @author ZhouYifan
  * @date 2022/1/5
@@ -26,6 +40,83 @@ public class MonitorLog {
      */
     private static final Logger log = LoggerFactory.getLogger(MonitorLog.class);
 
+    /**
+     * 按记录策略未记录入参值与返回结果时的提示
+     */
+    private static final String NOT_CAPTURED = "（按记录策略未记录）";
+
+    /**
+     * 异步监控日志写入器，为null时同步输出
+     */
+    private static volatile AsyncMonitorLogWriter asyncWriter;
+
+    /**
+     * 监控日志记录策略
+     */
+    private static volatile MonitorCapturePolicy capturePolicy = MonitorCapturePolicy.createDefault();
+
+    /**
+     * 接口耗时注册表，为null时不记录
+     */
+    private static volatile EndpointLatencyRegistry latencyRegistry;
+
+    /**
+     * 监控日志采样器，为null时全部输出
+     */
+    private static volatile MonitorSampler sampler;
+
+    /**
+     * 设置异步监控日志写入器
+     *
+     * @param writer 异步监控日志写入器，为null时同步输出
+     */
+    public static void setAsyncWriter(AsyncMonitorLogWriter writer) {
+        asyncWriter = writer;
+    }
+
+    public static AsyncMonitorLogWriter getAsyncWriter() {
+        return asyncWriter;
+    }
+
+    /**
+     * 设置监控日志记录策略
+     *
+     * @param policy 监控日志记录策略，为null时使用默认记录策略{@link MonitorCapturePolicy#createDefault()}
+     */
+    public static void setCapturePolicy(MonitorCapturePolicy policy) {
+        capturePolicy = policy == null ? MonitorCapturePolicy.createDefault() : policy;
+    }
+
+    public static MonitorCapturePolicy getCapturePolicy() {
+        return capturePolicy;
+    }
+
+    /**
+     * 设置接口耗时注册表
+     *
+     * @param registry 接口耗时注册表，为null时不记录
+     */
+    public static void setLatencyRegistry(EndpointLatencyRegistry registry) {
+        latencyRegistry = registry;
+    }
+
+    public static EndpointLatencyRegistry getLatencyRegistry() {
+        return latencyRegistry;
+    }
+
+    /**
+     * 设置监控日志采样器
+     *
+     * @param monitorSampler 监控日志采样器，为null时全部输出
+     */
+    public static void setSampler(MonitorSampler monitorSampler) {
+        sampler = monitorSampler;
+    }
+
+    public static MonitorSampler getSampler() {
+        return sampler;
+    }
+
     /**
      * HTTP请求监控日志<br>
      * 切点由调用者决定<br>
@@ -35,20 +126,194 @@ public class MonitorLog {
      */
     public static Object httpRequestMonitorLogRecord(ProceedingJoinPoint joinPoint) throws Throwable {
 
+        EndpointLatencyRegistry registry = latencyRegistry;
+        // 未开启INFO级别日志时只记录耗时
+        if (!log.isInfoEnabled()) {
+            return registry == null ? joinPoint.proceed() : proceedAndRecord(joinPoint, registry);
+        }
+
         // 切面方法开始执行时间
-        long aspectStartExecuteTime = System.currentTimeMillis();
+        long aspectStartExecuteTime = System.nanoTime();
+
+        HttpRequestMonitorEvent event = new HttpRequestMonitorEvent();
+        MonitorCapturePolicy policy = capturePolicy;
+        // 获取 ServletRequestAttributes
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+
+        if (attributes != null) {
+            // 获取 HttpServletRequest
+            HttpServletRequest request = attributes.getRequest();
+            event.setRequestPresent(true);
+            // 记录请求的 IP地址
+            event.setIpAddress(IpAddressUtil.getIpAddress(request));
+            // 记录请求 url
+            event.setUrl(request.getRequestURL().toString());
+            // 记录Http method
+            event.setHttpMethod(request.getMethod());
+
+            MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
+            // 记录被调用 controller 层方法类全限定名以及执行方法
+            event.setClassName(methodSignature.getDeclaringTypeName());
+            event.setMethodName(methodSignature.getName());
+            event.setArgNames(methodSignature.getParameterNames());
+
+            // 序列化之前决定是否记录入参值与返回结果
+            String endpointPath = request.getRequestURI().substring(request.getContextPath().length());
+            event.setCapture(policy.isCapture(endpointPath));
+            if (event.isCapture()) {
+                // 在执行被监控方法之前转换入参值，记录的是请求到达时的入参，不受业务逻辑修改入参的影响
+                event.setArgValues(toArgValues(joinPoint.getArgs(), policy.getMaxBytes()));
+            }
+        } else {
+            event.setCapture(policy.isCapture(null));
+        }
+        event.setCaptureMaxBytes(policy.getMaxBytes());
+
+        // 处理方法
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        // 被监控方法开始执行时间
+        long startExecuteTime = System.nanoTime();
+        Object result = null;
+        Throwable error = null;
+        try {
+            // 执行业务逻辑
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            error = e;
+            throw e;
+        } finally {
+            // 被监控方法执行时长
+            long executeTime = System.nanoTime() - startExecuteTime;
+            if (registry != null) {
+                recordQuietly(registry, method, executeTime, error != null);
+            }
+            try {
+                // 执行完毕后决定是否输出
+                MonitorSampler monitorSampler = sampler;
+                MonitorSampleReasonEnum sampleReason = monitorSampler == null
+                        ? null : monitorSampler.sample(method, executeTime, error != null);
+                if (monitorSampler == null || sampleReason != null) {
+                    event.setSampleReason(sampleReason);
+                    if (error != null) {
+                        event.setErrorMessage(error.toString());
+                    }
+                    event.setExecuteTime(TimeUnit.NANOSECONDS.toMillis(executeTime));
+                    // 切面方法与被监控方法总执行时长
+                    event.setAspectExecuteTime(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - aspectStartExecuteTime));
+                    emit(event, error == null ? result : null);
+                }
+            } catch (RuntimeException e) {
+                // 在 finally 中采样、序列化与输出，不能覆盖被监控方法的执行结果或异常
+                log.error("无法输出监控日志：", e);
+            }
+        }
+
+        // 返回被监控方法执行结果
+        return result;
+
+    }
 
-        StringBuffer logMsg = new StringBuffer();
+    /**
+     * 按字节预算将参数值逐个转换为字符串
+     *
+     * @param args     参数值
+     * @param maxBytes 每个参数值的字节预算，小于等于0时不限制
+     * @return 参数值字符串，参数值为null时返回null
+     */
+    private static String[] toArgValues(Object[] args, int maxBytes) {
+        if (args == null) {
+            return null;
+        }
+        String[] argValues = new String[args.length];
+        for (int i = 0; i < args.length; i++) {
+            argValues[i] = BoundedValueWriter.toStr(args[i], maxBytes);
+        }
+        return argValues;
+    }
+
+    /**
+     * 输出监控事件，设置了异步监控日志写入器时交给其后台线程<br>
+     * 记录返回结果时，先在请求线程中按字节预算转换为字符串，交给后台线程的监控事件不再引用业务对象
+     *
+     * @param event  HTTP请求监控事件，记录入参值时已在执行被监控方法之前转换为字符串
+     * @param result 被监控方法运行结果，抛出异常时为null
+     */
+    private static void emit(HttpRequestMonitorEvent event, Object result) {
+        AsyncMonitorLogWriter writer = asyncWriter;
+        if (event.isCapture() && result != null) {
+            event.setResultJson(BoundedValueWriter.toJsonStr(result, event.getCaptureMaxBytes()));
+        }
+        if (writer == null) {
+            write(event);
+        } else {
+            writer.offer(event);
+        }
+    }
+
+    /**
+     * 执行被监控方法并记录耗时，不记录监控日志
+     *
+     * @param joinPoint 连接点
+     * @param registry  接口耗时注册表
+     * @return 被监控方法执行结果
+     * @throws Throwable 所有异常和错误基类
+     */
+    private static Object proceedAndRecord(ProceedingJoinPoint joinPoint, EndpointLatencyRegistry registry) throws Throwable {
+        long startExecuteTime = System.nanoTime();
+        boolean isError = true;
+        try {
+            Object result = joinPoint.proceed();
+            isError = false;
+            return result;
+        } finally {
+            recordQuietly(registry, ((MethodSignature) joinPoint.getSignature()).getMethod(),
+                    System.nanoTime() - startExecuteTime, isError);
+        }
+    }
+
+    /**
+     * 记录请求耗时，在 finally 中调用，记录失败不能覆盖被监控方法的执行结果或异常
+     *
+     * @param registry 接口耗时注册表
+     * @param method   处理方法
+     * @param nanos    耗时（纳秒）
+     * @param isError  是否抛出异常
+     */
+    private static void recordQuietly(EndpointLatencyRegistry registry, Method method, long nanos, boolean isError) {
+        try {
+            registry.record(method, nanos, isError);
+        } catch (RuntimeException e) {
+            log.error("无法记录接口耗时：", e);
+        }
+    }
+
+    /**
+     * 格式化并输出HTTP请求监控日志
+     *
+     * @param event HTTP请求监控事件
+     */
+    public static void write(HttpRequestMonitorEvent event) {
+        // 输出日志信息
+        if (log.isInfoEnabled()) {
+            log.info(format(event));
+        }
+    }
+
+    /**
+     * 格式化HTTP请求监控日志
+     *
+     * @param event HTTP请求监控事件
+     * @return 日志信息
+     */
+    public static String format(HttpRequestMonitorEvent event) {
+        StringBuilder logMsg = new StringBuilder(512);
         // 获取当前系统换行符
         String lineBreak = StringUtil.presentOsLineBreak();
         // 日志添加
         logMsg.append("----------------监控到controller层HTTP接口方法执行----------------");
         logMsg.append(lineBreak);
 
-        // 获取 ServletRequestAttributes
-        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-
-        if (attributes == null) {
+        if (!event.isRequestPresent()) {
 
             logMsg.append("ServletRequestAttributes对象为null");
             logMsg.append(lineBreak);
@@ -60,96 +325,70 @@ public class MonitorLog {
             logMsg.append(lineBreak);
 
         } else {
-            // 获取 HttpServletRequest
-            HttpServletRequest request = attributes.getRequest();
-
-            // 记录请求的 IP地址
-            String ipAddress = IpAddressUtil.getIpAddress(request);
-            logMsg.append("request side IP address : ").append(ipAddress);
+            logMsg.append("request side IP address : ").append(event.getIpAddress());
             logMsg.append(lineBreak);
-
-            // 记录请求 url
-            String url = request.getRequestURL().toString();
-            logMsg.append("request URL             : ").append(url);
+            logMsg.append("request URL             : ").append(event.getUrl());
             logMsg.append(lineBreak);
-
-            // 记录Http method
-            String httpMethod = request.getMethod();
-            logMsg.append("HTTP Method             : ").append(httpMethod);
+            logMsg.append("HTTP Method             : ").append(event.getHttpMethod());
             logMsg.append(lineBreak);
-
-
-            MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
-            // 类全限定名
-            String className = methodSignature.getDeclaringTypeName();
-            // 方法名
-            String methodName = methodSignature.getName();
-
-            // 记录被调用 controller 层方法类全限定名以及执行方法
-            logMsg.append("Class Method            : ").append(className).append(".").append(methodName);
+            logMsg.append("Class Method            : ").append(event.getClassName()).append(".").append(event.getMethodName());
             logMsg.append(lineBreak);
 
             // 记录请求入参
             logMsg.append("Request Args            : ");
             logMsg.append(lineBreak);
             // 参数值
-            Object[] args = joinPoint.getArgs();
+            String[] argValues = event.getArgValues();
             // 参数名
-            String[] argNames = methodSignature.getParameterNames();
-            //
-            boolean isNotEmptyArgs = ArrayUtil.isNotEmpty(args);
-            boolean isNotEmptyArgNames = ArrayUtil.isNotEmpty(argNames);
-            // 参数值和参数名都不为空时
-            if (isNotEmptyArgs && isNotEmptyArgNames) {
-                // 循环拼接记录参数
-                for (int i = 0; i < args.length; i++) {
-                    logMsg.append("参数名：").append(argNames[i]).append("，")
-                            .append("参数值：").append(args[i]).append("。").append(lineBreak);
+            String[] argNames = event.getArgNames();
+            if (ArrayUtil.isNotEmpty(argNames)) {
+                // 循环拼接记录参数，参数值已按字节预算截断
+                for (int i = 0; i < argNames.length; i++) {
+                    logMsg.append("参数名：").append(argNames[i]).append("，").append("参数值：");
+                    if (!event.isCapture()) {
+                        logMsg.append(NOT_CAPTURED);
+                    } else if (ArrayUtil.isNotEmpty(argValues) && i < argValues.length) {
+                        logMsg.append(argValues[i]);
+                    }
+                    logMsg.append("。").append(lineBreak);
                 }
             }
-
         }
 
-        // 被监控方法开始执行时间
-        long startExecuteTime = System.currentTimeMillis();
-        // 执行业务逻辑
-        Object result = joinPoint.proceed();
-        // 被监控方法结束执行时间
-        long endExecuteTime = System.currentTimeMillis();
-
         String resultJson = "";
-        // 被监控方法运行结果不为空，则转换为json字符串以此查看响应结果
-        if (result != null) {
-            resultJson = JSONUtil.toJsonStr(result);
+        if (!event.isCapture()) {
+            resultJson = NOT_CAPTURED;
+        } else if (event.getResultJson() != null) {
+            // 被监控方法运行结果不为空，已按字节预算转换为json字符串以此查看响应结果
+            resultJson = event.getResultJson();
         }
 
         // 记录方法返回结果
         logMsg.append("Method return value     : ").append(resultJson);
         logMsg.append(lineBreak);
 
-        // 被监控方法执行时长
-        long countExecuteTime = endExecuteTime - startExecuteTime;
+        // 记录被监控方法抛出的异常
+        if (event.getErrorMessage() != null) {
+            logMsg.append("Exception               : ").append(event.getErrorMessage());
+            logMsg.append(lineBreak);
+        }
+
         // 记录被监控方法执行时长
-        logMsg.append("被监控方法执行时长         : ").append(countExecuteTime).append(" ms");
+        logMsg.append("被监控方法执行时长         : ").append(event.getExecuteTime()).append(" ms");
         logMsg.append(lineBreak);
 
-        // 切面方法结束执行时间
-        long aspectEndExecuteTime = System.currentTimeMillis();
         // 记录切面方法与被监控方法总执行时长
-        long aspectCountExecuteTime = aspectEndExecuteTime - aspectStartExecuteTime;
-        logMsg.append("切面方法与被监控方法总执行时长   : ").append(aspectCountExecuteTime).append(" ms");
+        logMsg.append("切面方法与被监控方法总执行时长   : ").append(event.getAspectExecuteTime()).append(" ms");
         logMsg.append(lineBreak);
 
-        logMsg.append("----------------本次监控信息记录完毕----------------");
-
-        // 输出日志信息
-        if (log.isInfoEnabled()) {
-            log.info(logMsg.toString());
+        // 记录采样原因
+        if (event.getSampleReason() != null) {
+            logMsg.append("采样原因                 : ").append(event.getSampleReason().getDescription());
+            logMsg.append(lineBreak);
         }
 
-        // 返回被监控方法执行结果
-        return result;
-
+        logMsg.append("----------------本次监控信息记录完毕----------------");
+        return logMsg.toString();
     }
 
 }
@@ -0,0 +1,45 @@
+package com.hippocp.easy.code.monitor.log;
+
+/**
+ * 监控日志队列溢出策略枚举类，异步输出监控日志时队列已满或接近已满的处理方式
+ */
+public enum MonitorLogOverflowPolicyEnum {
+
+    /**
+     * 丢弃，队列已满时丢弃新的监控事件，请求线程不等待
+     */
+    DROP("丢弃，队列已满时丢弃新的监控事件"),
+
+    /**
+     * 采样，队列超过高水位时每 sampleRate 个监控事件只保留1个，队列已满时丢弃
+     */
+    SAMPLE("采样，队列超过高水位时按采样率保留监控事件"),
+
+    /**
+     * 阻塞，队列已满时请求线程等待后台线程腾出空间，不丢弃监控事件
+     */
+    BLOCK("阻塞，队列已满时请求线程等待");
+
+    /**
+     * 描述
+     */
+    private final String description;
+
+    MonitorLogOverflowPolicyEnum(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("MonitorLogOverflowPolicyEnum{");
+        sb.append("name=").append(name());
+        sb.append(", description='").append(description).append('\'');
+        sb.append('}');
+        return sb.toString();
+    }
+
+}
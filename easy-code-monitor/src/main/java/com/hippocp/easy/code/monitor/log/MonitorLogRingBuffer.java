@@ -0,0 +1,128 @@
+package com.hippocp.easy.code.monitor.log;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 有界无锁环形队列，多个生产者、单个消费者<br>
+ * 每个槽位记录序号，生产者通过CAS占用写入位置，消费者按序号判断槽位是否已写入，入队与出队都不加锁，也不分配对象<br>
+ * 容量向上取整为2的幂
+ *
+ * @param <E> 元素类型
+ */
+public class MonitorLogRingBuffer<E> {
+
+    /**
+     * 槽位
+     */
+    private final AtomicReferenceArray<E> buffer;
+    /**
+     * 槽位序号，等于写入位置时可写入，等于写入位置+1时可读取
+     */
+    private final AtomicLongArray sequences;
+    /**
+     * 容量 - 1，用于计算槽位下标
+     */
+    private final int mask;
+    /**
+     * 下一个写入位置
+     */
+    private final AtomicLong tail = new AtomicLong();
+    /**
+     * 下一个读取位置，只由消费者修改
+     */
+    private volatile long head;
+
+    /**
+     * 创建有界无锁环形队列
+     *
+     * @param capacity 容量，向上取整为2的幂
+     */
+    public MonitorLogRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("队列容量必须大于0");
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * 入队，可由多个线程同时调用
+     *
+     * @param element 元素，不能为null
+     * @return 布尔值，true-入队成功，false-队列已满
+     */
+    public boolean offer(E element) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    buffer.lazySet(index, element);
+                    // 发布槽位，消费者看到序号后才读取
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                // 槽位尚未被消费者腾出
+                return false;
+            }
+            // 写入位置已被其它生产者占用，重试
+        }
+    }
+
+    /**
+     * 出队，只能由一个线程调用
+     *
+     * @return 元素，队列为空时返回null
+     */
+    public E poll() {
+        long position = head;
+        int index = (int) position & mask;
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        E element = buffer.get(index);
+        buffer.lazySet(index, null);
+        head = position + 1;
+        // 腾出槽位，供下一轮写入
+        sequences.set(index, position + mask + 1);
+        return element;
+    }
+
+    /**
+     * 队列中的元素数量，并发时为近似值
+     *
+     * @return 元素数量
+     */
+    public int size() {
+        long size = tail.get() - head;
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    /**
+     * 队列是否为空，并发时为近似值
+     *
+     * @return 布尔值，true-是，false-否
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * 容量
+     *
+     * @return 容量
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+}
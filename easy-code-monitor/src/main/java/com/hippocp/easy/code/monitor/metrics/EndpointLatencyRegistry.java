@@ -0,0 +1,123 @@
+package com.hippocp.easy.code.monitor.metrics;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 接口耗时注册表，按处理方法保存{@link LatencyHistogram}<br>
+ * 每个处理方法第一次记录时创建直方图，之后记录耗时不加锁也不分配对象<br>
+ * 通过{@link com.hippocp.easy.code.monitor.log.MonitorLog#setLatencyRegistry(EndpointLatencyRegistry)}设置后，
+ * Http请求监控切面会记录每次请求的耗时，与是否输出监控日志无关
+ */
+public class EndpointLatencyRegistry {
+
+    /**
+     * 快照中的分位
+     */
+    private static final double[] SNAPSHOT_QUANTILES = {0.5, 0.95, 0.99};
+
+    /**
+     * 处理方法 -》耗时直方图
+     */
+    private final Map<Method, EndpointHistogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * 记录一次请求耗时
+     *
+     * @param method  处理方法
+     * @param nanos   耗时（纳秒）
+     * @param isError 是否抛出异常
+     */
+    public void record(Method method, long nanos, boolean isError) {
+        EndpointHistogram histogram = histograms.get(method);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(method, EndpointHistogram::new);
+        }
+        histogram.histogram.record(nanos, isError);
+    }
+
+    /**
+     * 获取处理方法的耗时直方图
+     *
+     * @param method 处理方法
+     * @return {@link LatencyHistogram}，没有记录时返回null
+     */
+    public LatencyHistogram getHistogram(Method method) {
+        EndpointHistogram histogram = histograms.get(method);
+        return histogram == null ? null : histogram.histogram;
+    }
+
+    /**
+     * 获取处理方法的耗时快照
+     *
+     * @param method 处理方法
+     * @return {@link EndpointLatencySnapshot}，没有记录时返回null
+     */
+    public EndpointLatencySnapshot getSnapshot(Method method) {
+        EndpointHistogram histogram = histograms.get(method);
+        return histogram == null ? null : histogram.snapshot();
+    }
+
+    /**
+     * 获取所有接口的耗时快照
+     *
+     * @return 耗时快照，按99分位耗时从大到小排列
+     */
+    public List<EndpointLatencySnapshot> getSnapshots() {
+        List<EndpointLatencySnapshot> snapshots = new ArrayList<>(histograms.size());
+        for (EndpointHistogram histogram : histograms.values()) {
+            snapshots.add(histogram.snapshot());
+        }
+        snapshots.sort(Comparator.comparingLong(EndpointLatencySnapshot::getP99Nanos).reversed());
+        return snapshots;
+    }
+
+    /**
+     * 清空所有接口的记录
+     */
+    public void reset() {
+        for (EndpointHistogram histogram : histograms.values()) {
+            histogram.histogram.reset();
+        }
+    }
+
+    /**
+     * 接口及其耗时直方图
+     */
+    private static class EndpointHistogram {
+
+        /**
+         * 接口，处理方法所在类全限定名.方法名
+         */
+        private final String endpoint;
+        /**
+         * 耗时直方图
+         */
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        private EndpointHistogram(Method method) {
+            this.endpoint = method.getDeclaringClass().getName() + "." + method.getName();
+        }
+
+        private EndpointLatencySnapshot snapshot() {
+            long[] values = histogram.valuesAtQuantiles(SNAPSHOT_QUANTILES);
+            long count = histogram.getCount();
+            EndpointLatencySnapshot snapshot = new EndpointLatencySnapshot();
+            snapshot.setEndpoint(endpoint);
+            snapshot.setCount(count);
+            snapshot.setErrorCount(histogram.getErrorCount());
+            snapshot.setMeanNanos(count == 0 ? 0 : histogram.getTotalNanos() / count);
+            snapshot.setP50Nanos(values[0]);
+            snapshot.setP95Nanos(values[1]);
+            snapshot.setP99Nanos(values[2]);
+            snapshot.setMaxNanos(histogram.getMaxNanos());
+            return snapshot;
+        }
+
+    }
+
+}
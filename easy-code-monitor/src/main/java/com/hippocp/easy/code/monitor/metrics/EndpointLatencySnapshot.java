@@ -0,0 +1,51 @@
+package com.hippocp.easy.code.monitor.metrics;
+
+import lombok.Data;
+
+/**
+ * 接口耗时快照，耗时单位均为纳秒
+ */
+@Data
+public class EndpointLatencySnapshot {
+
+    /**
+     * 接口，处理方法所在类全限定名.方法名
+     */
+    private String endpoint;
+
+    /**
+     * 请求次数
+     */
+    private long count;
+
+    /**
+     * 抛出异常的次数
+     */
+    private long errorCount;
+
+    /**
+     * 平均耗时
+     */
+    private long meanNanos;
+
+    /**
+     * 50分位耗时
+     */
+    private long p50Nanos;
+
+    /**
+     * 95分位耗时
+     */
+    private long p95Nanos;
+
+    /**
+     * 99分位耗时
+     */
+    private long p99Nanos;
+
+    /**
+     * 最大耗时
+     */
+    private long maxNanos;
+
+}
@@ -0,0 +1,212 @@
+package com.hippocp.easy.code.monitor.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 无锁耗时直方图，纳秒精度，按HDR直方图的对数-线性分桶<br>
+ * 小于{@link #LINEAR_BUCKET_COUNT}纳秒的耗时每纳秒一个桶，之后每个2的幂区间等分为{@link #SUB_BUCKET_COUNT}个桶，
+ * 分位数相对误差不超过约3%，超过{@link #MAX_TRACKABLE_NANOS}纳秒的耗时计入最后一个桶，最大值仍精确记录<br>
+ * 记录耗时只做原子累加，不加锁也不分配对象；读取分位数时遍历各桶，读取期间的并发记录可能只被部分计入
+ */
+public class LatencyHistogram {
+
+    /**
+     * 每个2的幂区间的子桶数量的位数
+     */
+    private static final int SUB_BUCKET_BITS = 5;
+
+    /**
+     * 每个2的幂区间的子桶数量
+     */
+    public static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * 线性桶数量，小于该值的耗时每纳秒一个桶
+     */
+    public static final int LINEAR_BUCKET_COUNT = SUB_BUCKET_COUNT << 1;
+
+    /**
+     * 最高位上限，约73分钟
+     */
+    private static final int MAX_HIGHEST_BIT = 42;
+
+    /**
+     * 可精确分桶的最大耗时（纳秒）
+     */
+    public static final long MAX_TRACKABLE_NANOS = (1L << (MAX_HIGHEST_BIT + 1)) - 1;
+
+    /**
+     * 线性桶之后的第一个最高位
+     */
+    private static final int FIRST_LOG_BIT = SUB_BUCKET_BITS + 1;
+
+    /**
+     * 桶数量
+     */
+    private static final int BUCKET_COUNT = LINEAR_BUCKET_COUNT + (MAX_HIGHEST_BIT - FIRST_LOG_BIT + 1) * SUB_BUCKET_COUNT;
+
+    /**
+     * 各桶计数
+     */
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    /**
+     * 异常次数
+     */
+    private final AtomicLong errorCount = new AtomicLong();
+    /**
+     * 总耗时（纳秒）
+     */
+    private final AtomicLong totalNanos = new AtomicLong();
+    /**
+     * 最大耗时（纳秒）
+     */
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * 记录一次耗时
+     *
+     * @param nanos   耗时（纳秒），小于0时按0记录
+     * @param isError 是否抛出异常
+     */
+    public void record(long nanos, boolean isError) {
+        long value = Math.max(nanos, 0);
+        buckets.incrementAndGet(bucketIndex(value));
+        totalNanos.addAndGet(value);
+        if (isError) {
+            errorCount.incrementAndGet();
+        }
+        long max;
+        while (value > (max = maxNanos.get()) && !maxNanos.compareAndSet(max, value)) {
+            // 其它线程已更新最大值，重新比较
+        }
+    }
+
+    /**
+     * 记录次数
+     *
+     * @return 记录次数
+     */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            count += buckets.get(i);
+        }
+        return count;
+    }
+
+    public long getErrorCount() {
+        return errorCount.get();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.get();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * 读取分位数
+     *
+     * @param quantile 分位，取值范围 0~1，例如 0.99
+     * @return 分位数耗时（纳秒），所在桶的上界且不超过最大耗时，没有记录时返回0
+     */
+    public long getValueAtQuantile(double quantile) {
+        return valuesAtQuantiles(quantile)[0];
+    }
+
+    /**
+     * 一次遍历读取多个分位数
+     *
+     * @param quantiles 分位，取值范围 0~1，须按升序排列
+     * @return 各分位数耗时（纳秒），没有记录时均为0
+     */
+    public long[] valuesAtQuantiles(double... quantiles) {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        long[] values = new long[quantiles.length];
+        if (total == 0) {
+            return values;
+        }
+        long max = maxNanos.get();
+        int q = 0;
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT && q < quantiles.length; i++) {
+            cumulative += counts[i];
+            while (q < quantiles.length && cumulative >= Math.max(1, (long) Math.ceil(quantiles[q] * total))) {
+                // 最后一个桶没有上界，取最大耗时
+                values[q++] = i == BUCKET_COUNT - 1 ? max : Math.min(bucketUpperBound(i), max);
+            }
+        }
+        while (q < quantiles.length) {
+            values[q++] = max;
+        }
+        return values;
+    }
+
+    /**
+     * 与耗时位于同一个桶的最小耗时，同一个桶内的耗时无法区分
+     *
+     * @param nanos 耗时（纳秒）
+     * @return 所在桶的下界（纳秒）
+     */
+    public static long lowestEquivalentValue(long nanos) {
+        int index = bucketIndex(Math.max(nanos, 0));
+        return index == 0 ? 0 : bucketUpperBound(index - 1) + 1;
+    }
+
+    /**
+     * 清空记录
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        errorCount.set(0);
+        totalNanos.set(0);
+        maxNanos.set(0);
+    }
+
+    /**
+     * 计算耗时所在的桶，超过{@link #MAX_TRACKABLE_NANOS}的耗时位于最后一个桶<br>
+     * 小于{@link #LINEAR_BUCKET_COUNT}的耗时每纳秒一个桶，之后每个2的幂区间等分为{@link #SUB_BUCKET_COUNT}个桶
+     *
+     * @param nanos 耗时（纳秒），不小于0
+     * @return 桶下标
+     */
+    public static int bucketIndex(long nanos) {
+        if (nanos < LINEAR_BUCKET_COUNT) {
+            return (int) nanos;
+        }
+        int highestBit = 63 - Long.numberOfLeadingZeros(nanos);
+        if (highestBit > MAX_HIGHEST_BIT) {
+            return BUCKET_COUNT - 1;
+        }
+        int shift = highestBit - SUB_BUCKET_BITS;
+        int subBucket = (int) (nanos >>> shift) - SUB_BUCKET_COUNT;
+        return LINEAR_BUCKET_COUNT + (highestBit - FIRST_LOG_BIT) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * 桶的上界，与{@link #bucketIndex(long)}互逆，上界加1位于下一个桶
+     *
+     * @param index 桶下标，不超过{@link #bucketIndex(long) bucketIndex(MAX_TRACKABLE_NANOS)}
+     * @return 该桶可记录的最大耗时（纳秒）
+     */
+    public static long bucketUpperBound(int index) {
+        if (index < LINEAR_BUCKET_COUNT) {
+            return index;
+        }
+        int offset = index - LINEAR_BUCKET_COUNT;
+        int shift = offset / SUB_BUCKET_COUNT + 1;
+        long subBucket = SUB_BUCKET_COUNT + offset % SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+}
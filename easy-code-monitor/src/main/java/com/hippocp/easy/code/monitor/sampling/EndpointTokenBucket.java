@@ -0,0 +1,58 @@
+package com.hippocp.easy.code.monitor.sampling;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 无锁令牌桶，按通用信元速率算法（GCRA）实现，只保存理论到达时间，获取令牌只做一次CAS，不分配对象
+ */
+public class EndpointTokenBucket {
+
+    /**
+     * 生成一个令牌的间隔（纳秒）
+     */
+    private final long intervalNanos;
+    /**
+     * 允许提前的时间（纳秒），等于 (突发数量 - 1) × 间隔
+     */
+    private final long toleranceNanos;
+    /**
+     * 理论到达时间（纳秒）
+     */
+    private final AtomicLong theoreticalArrivalNanos;
+
+    /**
+     * 创建令牌桶
+     *
+     * @param permitsPerSecond 每秒生成的令牌数，须大于0
+     * @param burst            突发数量，最多可连续获取的令牌数，小于1时按1处理
+     */
+    public EndpointTokenBucket(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("每秒生成的令牌数必须大于0");
+        }
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.toleranceNanos = intervalNanos * (Math.max(burst, 1) - 1);
+        this.theoreticalArrivalNanos = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * 尝试获取一个令牌
+     *
+     * @return 布尔值，true-获取成功，false-令牌不足
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            long now = System.nanoTime();
+            long arrival = theoreticalArrivalNanos.get();
+            long start = arrival - now > 0 ? arrival : now;
+            if (start - now > toleranceNanos) {
+                return false;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(arrival, start + intervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+}
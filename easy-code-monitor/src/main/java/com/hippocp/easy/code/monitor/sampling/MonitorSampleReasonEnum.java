@@ -0,0 +1,50 @@
+package com.hippocp.easy.code.monitor.sampling;
+
+/**
+ * 监控日志采样原因枚举类
+ */
+public enum MonitorSampleReasonEnum {
+
+    /**
+     * 被监控方法抛出异常
+     */
+    ERROR("异常请求"),
+
+    /**
+     * 执行时长超过慢请求阈值
+     */
+    SLOW("慢请求"),
+
+    /**
+     * 执行时长位于该接口耗时分布的尾部
+     */
+    TAIL("尾部采样"),
+
+    /**
+     * 按比例采样，并且未超过该接口的限流
+     */
+    RATIO("比例采样");
+
+    /**
+     * 描述
+     */
+    private final String description;
+
+    MonitorSampleReasonEnum(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("MonitorSampleReasonEnum{");
+        sb.append("name=").append(name());
+        sb.append(", description='").append(description).append('\'');
+        sb.append('}');
+        return sb.toString();
+    }
+
+}
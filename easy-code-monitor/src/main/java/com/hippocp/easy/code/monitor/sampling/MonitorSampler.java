@@ -0,0 +1,221 @@
+package com.hippocp.easy.code.monitor.sampling;
+
+import com.hippocp.easy.code.monitor.metrics.EndpointLatencyRegistry;
+import com.hippocp.easy.code.monitor.metrics.LatencyHistogram;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 监控日志采样器，被监控方法执行完毕后决定是否输出本次请求的监控日志，按以下顺序判断：<br>
+ * 1. 抛出异常时总是输出<br>
+ * 2. 执行时长超过慢请求阈值时总是输出<br>
+ * 3. 尾部采样：执行时长不小于该接口耗时分布的 tailQuantile 分位数时输出，耗时分布来自{@link EndpointLatencyRegistry}，
+ * 分位数每秒刷新一次，记录次数少于{@link #TAIL_MIN_COUNT}时不采样<br>
+ * 4. 其余请求按比例采样，采中后还需获取该接口令牌桶中的令牌，限制每个接口每秒输出的数量<br>
+ * 前三项不受令牌桶限制；除尾部采样分位数每秒刷新一次外，判断过程不加锁，只在每个接口第一次请求时分配对象
+ */
+public class MonitorSampler {
+
+    /**
+     * 尾部采样的最少记录次数
+     */
+    public static final long TAIL_MIN_COUNT = 100;
+
+    /**
+     * 尾部采样分位数的刷新间隔（纳秒）
+     */
+    private static final long TAIL_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * 采样比例，取值范围 0~1
+     */
+    private final double ratio;
+    /**
+     * 每个接口每秒最多按比例采样的数量，小于等于0时不限制
+     */
+    private final double endpointPermitsPerSecond;
+    /**
+     * 每个接口按比例采样的突发数量
+     */
+    private final int endpointBurst;
+    /**
+     * 慢请求阈值（纳秒），小于等于0时不判断
+     */
+    private final long slowThresholdNanos;
+    /**
+     * 抛出异常时是否总是输出
+     */
+    private final boolean isAlwaysOnError;
+    /**
+     * 尾部采样分位，取值范围 0~1，小于等于0时不进行尾部采样
+     */
+    private final double tailQuantile;
+    /**
+     * 接口耗时注册表，尾部采样时使用
+     */
+    private final EndpointLatencyRegistry latencyRegistry;
+    /**
+     * 尾部采样的耗时分布由采样器自行记录，未提供接口耗时注册表时为true
+     */
+    private final boolean isOwnLatencyRegistry;
+    /**
+     * 处理方法 -》采样状态
+     */
+    private final Map<Method, EndpointSampleState> states = new ConcurrentHashMap<>();
+
+    /**
+     * 创建监控日志采样器
+     *
+     * @param ratio                    采样比例，取值范围 0~1
+     * @param endpointPermitsPerSecond 每个接口每秒最多按比例采样的数量，小于等于0时不限制
+     * @param endpointBurst            每个接口按比例采样的突发数量
+     * @param slowThresholdMillis      慢请求阈值（毫秒），小于等于0时不判断
+     * @param isAlwaysOnError          抛出异常时是否总是输出
+     * @param tailQuantile             尾部采样分位，取值范围 0~1，例如 0.99，小于等于0时不进行尾部采样
+     * @param latencyRegistry          接口耗时注册表，为null时采样器自行记录尾部采样需要的耗时分布
+     */
+    public MonitorSampler(double ratio,
+                          double endpointPermitsPerSecond,
+                          int endpointBurst,
+                          long slowThresholdMillis,
+                          boolean isAlwaysOnError,
+                          double tailQuantile,
+                          EndpointLatencyRegistry latencyRegistry) {
+        if (ratio < 0 || ratio > 1) {
+            throw new IllegalArgumentException("采样比例的取值范围为0~1");
+        }
+        if (tailQuantile >= 1) {
+            throw new IllegalArgumentException("尾部采样分位必须小于1");
+        }
+        this.ratio = ratio;
+        this.endpointPermitsPerSecond = endpointPermitsPerSecond;
+        this.endpointBurst = endpointBurst;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        this.isAlwaysOnError = isAlwaysOnError;
+        this.tailQuantile = tailQuantile;
+        this.isOwnLatencyRegistry = latencyRegistry == null && tailQuantile > 0;
+        this.latencyRegistry = isOwnLatencyRegistry ? new EndpointLatencyRegistry() : latencyRegistry;
+    }
+
+    /**
+     * 决定是否输出本次请求的监控日志
+     *
+     * @param method       处理方法
+     * @param executeNanos 被监控方法执行时长（纳秒）
+     * @param isError      被监控方法是否抛出异常
+     * @return 采样原因，不输出时返回null
+     */
+    public MonitorSampleReasonEnum sample(Method method, long executeNanos, boolean isError) {
+        if (isOwnLatencyRegistry) {
+            latencyRegistry.record(method, executeNanos, isError);
+        }
+        if (isError && isAlwaysOnError) {
+            return MonitorSampleReasonEnum.ERROR;
+        }
+        if (slowThresholdNanos > 0 && executeNanos >= slowThresholdNanos) {
+            return MonitorSampleReasonEnum.SLOW;
+        }
+        EndpointSampleState state = null;
+        if (tailQuantile > 0) {
+            state = getState(method);
+            long tailThresholdNanos = state.getTailThresholdNanos(method);
+            if (tailThresholdNanos > 0 && executeNanos >= tailThresholdNanos) {
+                return MonitorSampleReasonEnum.TAIL;
+            }
+        }
+        if (ratio <= 0 || (ratio < 1 && ThreadLocalRandom.current().nextDouble() >= ratio)) {
+            return null;
+        }
+        if (endpointPermitsPerSecond > 0) {
+            if (state == null) {
+                state = getState(method);
+            }
+            if (!state.tokenBucket.tryAcquire()) {
+                return null;
+            }
+        }
+        return MonitorSampleReasonEnum.RATIO;
+    }
+
+    private EndpointSampleState getState(Method method) {
+        EndpointSampleState state = states.get(method);
+        if (state == null) {
+            state = states.computeIfAbsent(method, key -> new EndpointSampleState());
+        }
+        return state;
+    }
+
+    public double getRatio() {
+        return ratio;
+    }
+
+    public double getEndpointPermitsPerSecond() {
+        return endpointPermitsPerSecond;
+    }
+
+    public int getEndpointBurst() {
+        return endpointBurst;
+    }
+
+    public long getSlowThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(slowThresholdNanos);
+    }
+
+    public boolean isAlwaysOnError() {
+        return isAlwaysOnError;
+    }
+
+    public double getTailQuantile() {
+        return tailQuantile;
+    }
+
+    /**
+     * 接口采样状态
+     */
+    private class EndpointSampleState {
+
+        /**
+         * 令牌桶，不限制时为null
+         */
+        private final EndpointTokenBucket tokenBucket = endpointPermitsPerSecond > 0
+                ? new EndpointTokenBucket(endpointPermitsPerSecond, endpointBurst) : null;
+        /**
+         * 尾部采样阈值（纳秒），为0时不采样
+         */
+        private volatile long tailThresholdNanos;
+        /**
+         * 下次刷新尾部采样阈值的时间（纳秒）
+         */
+        private volatile long tailRefreshNanos = System.nanoTime();
+
+        /**
+         * 获取尾部采样阈值，到达刷新时间时从耗时分布重新计算，并发刷新时只有一个线程计算
+         *
+         * @param method 处理方法
+         * @return 尾部采样阈值（纳秒），为0时不采样
+         */
+        private long getTailThresholdNanos(Method method) {
+            long refreshNanos = tailRefreshNanos;
+            long now = System.nanoTime();
+            if (now - refreshNanos >= 0 && latencyRegistry != null) {
+                synchronized (this) {
+                    if (refreshNanos == tailRefreshNanos) {
+                        LatencyHistogram histogram = latencyRegistry.getHistogram(method);
+                        // 取分位数所在桶的下界，与分位数位于同一个桶的耗时同样采样
+                        tailThresholdNanos = histogram == null || histogram.getCount() < TAIL_MIN_COUNT
+                                ? 0 : Math.max(1, LatencyHistogram.lowestEquivalentValue(
+                                histogram.getValueAtQuantile(tailQuantile)));
+                        tailRefreshNanos = now + TAIL_REFRESH_NANOS;
+                    }
+                }
+            }
+            return tailThresholdNanos;
+        }
+
+    }
+
+}
@@ -0,0 +1,195 @@
+package com.hippocp.monitor.capture;
+
+import com.hippocp.easy.code.monitor.capture.BoundedValueWriter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * 按字节预算写出对象测试
+ */
+public class BoundedValueWriterTest {
+
+    @Test
+    public void toJsonStrTest() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("name", "张三");
+        map.put("age", 18);
+        map.put("tags", Arrays.asList("a", "b"));
+        map.put("empty", null);
+        Assert.assertEquals("{\"name\":\"张三\",\"age\":18,\"tags\":[\"a\",\"b\"],\"empty\":null}",
+                BoundedValueWriter.toJsonStr(map, 0));
+        Assert.assertEquals("[1,2,3]", BoundedValueWriter.toJsonStr(new int[]{1, 2, 3}, 0));
+        Assert.assertEquals("null", BoundedValueWriter.toJsonStr(null, 0));
+
+        // JavaBean 逐个属性写出，忽略值为null的属性
+        User user = new User();
+        user.setId(1L);
+        Assert.assertEquals("{\"id\":1}", BoundedValueWriter.toJsonStr(user, 0));
+    }
+
+    @Test
+    public void escapeTest() {
+        Assert.assertEquals("\"a\\\"b\\\\c\\nd\\re\\tf\"", BoundedValueWriter.toJsonStr("a\"b\\c\nd\re\tf", 0));
+        // 其它控制字符转义为4位十六进制的Unicode转义序列，转义后的6个字节一起计入预算
+        Assert.assertEquals("\"a\\u0000b\\u001fc\\u0008\"", BoundedValueWriter.toJsonStr("a\u0000b\u001fc\b", 0));
+        Assert.assertTrue(BoundedValueWriter.toJsonStr("a\u0001b", 4).startsWith("\"a..."));
+        Assert.assertEquals("{\"k\\\"ey\":\"v\"}",
+                BoundedValueWriter.toJsonStr(Collections.singletonMap("k\"ey", "v"), 0));
+    }
+
+    @Test
+    public void truncateTest() {
+        String marker = "...（已截断，超过10字节）";
+        String json = BoundedValueWriter.toJsonStr(Arrays.asList("abcdef", "ghijkl"), 10);
+        Assert.assertEquals("[\"abcdef\"," + marker, json);
+        assertWithinBudget(json, marker, 10);
+
+        // 转义字符整体计入预算，不会截断在转义字符中间
+        Assert.assertEquals("\"abc" + "...（已截断，超过5字节）", BoundedValueWriter.toJsonStr("abc\"\"\"\"\"\"", 5));
+        Assert.assertEquals("\"abc\\\"\\\"\\\"" + marker, BoundedValueWriter.toJsonStr("abc\"\"\"\"\"\"", 10));
+
+        // 多字节字符按UTF-8计算，代理对不会被截断
+        Assert.assertEquals("张" + "...（已截断，超过4字节）", BoundedValueWriter.toStr("张三", 4));
+        String emoji = "a😀b";
+        Assert.assertEquals("a" + "...（已截断，超过4字节）", BoundedValueWriter.toStr(emoji, 4));
+        Assert.assertEquals("a😀" + "...（已截断，超过5字节）", BoundedValueWriter.toStr(emoji, 5));
+        Assert.assertEquals(emoji, BoundedValueWriter.toStr(emoji, 6));
+
+        // 恰好用完预算时不截断
+        Assert.assertEquals("\"abc\"", BoundedValueWriter.toJsonStr("abc", 5));
+    }
+
+    @Test
+    public void budgetExhaustedStopsEarlyTest() {
+        // 超过预算立即停止，不会先完整遍历再截断
+        CountingCollection collection = new CountingCollection(1_000_000);
+        String json = BoundedValueWriter.toJsonStr(collection, 32);
+        Assert.assertTrue(json.endsWith("...（已截断，超过32字节）"));
+        Assert.assertTrue("预期只遍历预算内的元素，实际遍历" + collection.nextCount, collection.nextCount < 32);
+
+        collection = new CountingCollection(1_000_000);
+        String str = BoundedValueWriter.toStr(collection, 32);
+        Assert.assertTrue(str.startsWith("[0, 1, 2, "));
+        Assert.assertTrue(str.endsWith("...（已截断，超过32字节）"));
+        Assert.assertTrue("预期只遍历预算内的元素，实际遍历" + collection.nextCount, collection.nextCount < 32);
+
+        // 预算用完的信号可以重复使用，多次截断互不影响
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals("\"ab" + "...（已截断，超过3字节）", BoundedValueWriter.toJsonStr("abcdef", 3));
+        }
+    }
+
+    @Test
+    public void otherExceptionTest() {
+        // 预算用完以外的异常照常抛出，不会被当作截断
+        Object broken = new Object() {
+            @Override
+            public String toString() {
+                throw new IllegalStateException("toString失败");
+            }
+        };
+        try {
+            BoundedValueWriter.toStr(broken, 100);
+            Assert.fail("预期抛出toString的异常");
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("toString失败", e.getMessage());
+        }
+    }
+
+    @Test
+    public void toStrTest() {
+        List<Object> list = Arrays.asList(1, "a", null, Collections.singletonMap("k", "v"));
+        Assert.assertEquals(list.toString(), BoundedValueWriter.toStr(list, 0));
+        Assert.assertEquals("[1, 2]", BoundedValueWriter.toStr(new int[]{1, 2}, 0));
+        Assert.assertEquals("null", BoundedValueWriter.toStr(null, 0));
+        Assert.assertEquals("18", BoundedValueWriter.toStr(18, 0));
+
+        // 字符串逐个字符写出
+        StringBuilder longText = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            longText.append('x');
+        }
+        Assert.assertEquals("xxxxxxxxxx...（已截断，超过10字节）", BoundedValueWriter.toStr(longText, 10));
+        Assert.assertEquals(longText.toString(), BoundedValueWriter.toStr(longText, 0));
+    }
+
+    private static void assertWithinBudget(String written, String marker, int maxBytes) {
+        String content = written.substring(0, written.length() - marker.length());
+        Assert.assertTrue(content.getBytes(StandardCharsets.UTF_8).length <= maxBytes);
+    }
+
+    /**
+     * 记录遍历次数的集合
+     */
+    private static class CountingCollection extends AbstractCollection<Integer> {
+
+        private final int size;
+        private int nextCount;
+
+        CountingCollection(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return new Iterator<Integer>() {
+
+                private int cursor;
+
+                @Override
+                public boolean hasNext() {
+                    return cursor < size;
+                }
+
+                @Override
+                public Integer next() {
+                    if (cursor >= size) {
+                        throw new NoSuchElementException();
+                    }
+                    nextCount++;
+                    return cursor++;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+    }
+
+    public static class User {
+
+        private Long id;
+        private String name;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.hippocp.monitor.capture;
+
+import com.hippocp.easy.code.monitor.capture.MonitorCapturePolicy;
+import com.hippocp.easy.code.monitor.capture.MonitorCapturePolicyEnum;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+/**
+ * 监控日志记录策略测试
+ */
+public class MonitorCapturePolicyTest {
+
+    @Test
+    public void createDefaultTest() {
+        MonitorCapturePolicy policy = MonitorCapturePolicy.createDefault();
+        Assert.assertEquals(MonitorCapturePolicyEnum.SIZE_CAPPED, policy.getPolicy());
+        Assert.assertEquals("预期默认不限制字节预算", 0, policy.getMaxBytes());
+        Assert.assertTrue(policy.isCapture("/user"));
+        Assert.assertTrue(policy.isCapture(null));
+    }
+
+    @Test
+    public void noneTest() {
+        MonitorCapturePolicy policy = new MonitorCapturePolicy(MonitorCapturePolicyEnum.NONE, 0, 1, null);
+        Assert.assertFalse(policy.isCapture("/user"));
+        Assert.assertFalse(policy.isCapture(null));
+    }
+
+    @Test
+    public void sampledTest() {
+        MonitorCapturePolicy policy = new MonitorCapturePolicy(MonitorCapturePolicyEnum.SAMPLED, 0, 3, null);
+        // 每3次请求记录1次，第一次记录
+        boolean[] expected = {true, false, false, true, false, false, true};
+        for (boolean isCapture : expected) {
+            Assert.assertEquals(isCapture, policy.isCapture("/user"));
+        }
+    }
+
+    @Test
+    public void endpointPatternTest() {
+        MonitorCapturePolicy policy = new MonitorCapturePolicy(MonitorCapturePolicyEnum.ENDPOINT_PATTERN, 0, 1,
+                Arrays.asList("/user/**", "/order/*/detail"));
+        Assert.assertTrue(policy.isCapture("/user"));
+        Assert.assertTrue(policy.isCapture("/user/1/address"));
+        Assert.assertTrue(policy.isCapture("/order/1/detail"));
+        Assert.assertFalse(policy.isCapture("/order/1"));
+        Assert.assertFalse("预期没有Web请求时不记录", policy.isCapture(null));
+
+        // 未配置接口路径模式时不记录
+        policy = new MonitorCapturePolicy(MonitorCapturePolicyEnum.ENDPOINT_PATTERN, 0, 1, null);
+        Assert.assertFalse(policy.isCapture("/user"));
+        Assert.assertTrue(policy.getEndpointPatterns().isEmpty());
+    }
+
+    @Test
+    public void illegalArgumentTest() {
+        try {
+            new MonitorCapturePolicy(null, 0, 1, null);
+            Assert.fail("预期记录策略为null时抛出异常");
+        } catch (IllegalArgumentException ignored) {
+            // 预期
+        }
+        try {
+            new MonitorCapturePolicy(MonitorCapturePolicyEnum.SAMPLED, 0, 0, null);
+            Assert.fail("预期采样率小于等于0时抛出异常");
+        } catch (IllegalArgumentException ignored) {
+            // 预期
+        }
+    }
+
+}
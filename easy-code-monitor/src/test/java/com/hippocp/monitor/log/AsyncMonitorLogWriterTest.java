@@ -0,0 +1,207 @@
+package com.hippocp.monitor.log;
+
+import com.hippocp.easy.code.monitor.log.AsyncMonitorLogWriter;
+import com.hippocp.easy.code.monitor.log.HttpRequestMonitorEvent;
+import com.hippocp.easy.code.monitor.log.MonitorLogOverflowPolicyEnum;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 异步监控日志写入器测试，写入器输出到内存队列，可阻塞后台线程使队列填满
+ */
+public class AsyncMonitorLogWriterTest {
+
+    @Test
+    public void dropPolicyTest() throws Exception {
+        RecordingWriter writer = new RecordingWriter(4, MonitorLogOverflowPolicyEnum.DROP, 10);
+        writer.start();
+        try {
+            writer.blockOn(event(0));
+            for (int i = 1; i <= 4; i++) {
+                writer.offer(event(i));
+            }
+            Assert.assertEquals(4, writer.getQueueSize());
+            writer.offer(event(5));
+            Assert.assertEquals("预期队列已满时丢弃新的监控事件", 1, writer.getDroppedCount());
+            Assert.assertEquals(4, writer.getQueueSize());
+        } finally {
+            writer.release();
+            writer.close();
+        }
+        Assert.assertEquals(5, writer.written.size());
+        Assert.assertFalse(writer.writtenNames().contains("5"));
+    }
+
+    @Test
+    public void samplePolicyTest() throws Exception {
+        // 容量8，高水位6，超过高水位后每2个监控事件保留1个
+        RecordingWriter writer = new RecordingWriter(8, MonitorLogOverflowPolicyEnum.SAMPLE, 2);
+        writer.start();
+        try {
+            writer.blockOn(event(0));
+            for (int i = 1; i <= 6; i++) {
+                writer.offer(event(i));
+            }
+            Assert.assertEquals(0, writer.getDroppedCount());
+            for (int i = 7; i <= 16; i++) {
+                writer.offer(event(i));
+            }
+            // 超过高水位后的10个监控事件：按采样率保留2个后队列已满，其余8个丢弃
+            Assert.assertEquals(8, writer.getQueueSize());
+            Assert.assertEquals(8, writer.getDroppedCount());
+        } finally {
+            writer.release();
+            writer.close();
+        }
+        Assert.assertEquals(9, writer.written.size());
+        Assert.assertTrue(writer.writtenNames().contains("8"));
+        Assert.assertTrue(writer.writtenNames().contains("10"));
+    }
+
+    @Test
+    public void blockPolicyTest() throws Exception {
+        RecordingWriter writer = new RecordingWriter(2, MonitorLogOverflowPolicyEnum.BLOCK, 10);
+        writer.start();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            writer.blockOn(event(0));
+            writer.offer(event(1));
+            writer.offer(event(2));
+            Future<?> blocked = executor.submit(() -> writer.offer(event(3)));
+            try {
+                blocked.get(100, TimeUnit.MILLISECONDS);
+                Assert.fail("预期队列已满时请求线程等待");
+            } catch (TimeoutException ignored) {
+                // 预期
+            }
+            writer.release();
+            blocked.get(5, TimeUnit.SECONDS);
+        } finally {
+            writer.release();
+            writer.close();
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(0, writer.getDroppedCount());
+        Assert.assertEquals(4, writer.written.size());
+    }
+
+    @Test
+    public void closeDrainsConcurrentProducersTest() throws Exception {
+        for (MonitorLogOverflowPolicyEnum policy : MonitorLogOverflowPolicyEnum.values()) {
+            int producers = 4;
+            int perProducer = 5000;
+            RecordingWriter writer = new RecordingWriter(16, policy, 4);
+            writer.release();
+            writer.start();
+            ExecutorService executor = Executors.newFixedThreadPool(producers);
+            try {
+                CountDownLatch started = new CountDownLatch(producers);
+                List<Future<?>> futures = new ArrayList<>();
+                for (int p = 0; p < producers; p++) {
+                    int base = p * perProducer;
+                    futures.add(executor.submit(() -> {
+                        started.countDown();
+                        for (int i = 0; i < perProducer; i++) {
+                            writer.offer(event(base + i));
+                        }
+                    }));
+                }
+                // 生产者仍在提交时停止，停止后提交的监控事件同步输出
+                started.await();
+                writer.close();
+                Assert.assertFalse(writer.isRunning());
+                for (Future<?> future : futures) {
+                    future.get(30, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+            Assert.assertEquals(policy + "：预期停止后队列中没有剩余的监控事件", 0, writer.getQueueSize());
+            Assert.assertEquals(policy + "：预期每个监控事件要么输出要么计入丢弃数量",
+                    producers * perProducer, writer.written.size() + writer.getDroppedCount());
+            Assert.assertEquals(policy + "：预期监控事件不重复输出",
+                    writer.written.size(), writer.writtenNames().size());
+            if (policy == MonitorLogOverflowPolicyEnum.BLOCK) {
+                Assert.assertEquals(0, writer.getDroppedCount());
+            }
+        }
+    }
+
+    @Test
+    public void notStartedTest() {
+        RecordingWriter writer = new RecordingWriter(4, MonitorLogOverflowPolicyEnum.DROP, 10);
+        writer.release();
+        // 未启动时同步输出
+        writer.offer(event(1));
+        Assert.assertEquals(1, writer.written.size());
+        Assert.assertEquals(0, writer.getQueueSize());
+        Assert.assertEquals(4, writer.getQueueDepth());
+        writer.close();
+    }
+
+    private static HttpRequestMonitorEvent event(int id) {
+        HttpRequestMonitorEvent event = new HttpRequestMonitorEvent();
+        event.setMethodName(String.valueOf(id));
+        return event;
+    }
+
+    /**
+     * 输出到内存队列的写入器，关闭闸门时后台线程在输出第一个监控事件时等待
+     */
+    private static class RecordingWriter extends AsyncMonitorLogWriter {
+
+        private final Queue<HttpRequestMonitorEvent> written = new ConcurrentLinkedQueue<>();
+        private final CountDownLatch gate = new CountDownLatch(1);
+        private final CountDownLatch entered = new CountDownLatch(1);
+
+        RecordingWriter(int queueDepth, MonitorLogOverflowPolicyEnum overflowPolicy, int sampleRate) {
+            super(queueDepth, overflowPolicy, sampleRate);
+        }
+
+        /**
+         * 提交监控事件并等待后台线程取出，之后后台线程阻塞，直到{@link #release()}
+         */
+        void blockOn(HttpRequestMonitorEvent event) throws InterruptedException {
+            offer(event);
+            Assert.assertTrue("预期后台线程取出第一个监控事件", entered.await(5, TimeUnit.SECONDS));
+        }
+
+        void release() {
+            gate.countDown();
+        }
+
+        Set<String> writtenNames() {
+            Set<String> names = new HashSet<>();
+            for (HttpRequestMonitorEvent event : written) {
+                names.add(event.getMethodName());
+            }
+            return names;
+        }
+
+        @Override
+        protected void write(HttpRequestMonitorEvent event) {
+            entered.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            written.add(event);
+        }
+
+    }
+
+}
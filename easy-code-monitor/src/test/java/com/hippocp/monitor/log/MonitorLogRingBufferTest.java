@@ -0,0 +1,129 @@
+package com.hippocp.monitor.log;
+
+import com.hippocp.easy.code.monitor.log.MonitorLogRingBuffer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 有界无锁环形队列测试
+ */
+public class MonitorLogRingBufferTest {
+
+    @Test
+    public void capacityTest() {
+        Assert.assertEquals(1, new MonitorLogRingBuffer<Integer>(1).capacity());
+        Assert.assertEquals(2, new MonitorLogRingBuffer<Integer>(2).capacity());
+        Assert.assertEquals(8, new MonitorLogRingBuffer<Integer>(5).capacity());
+        Assert.assertEquals(1024, new MonitorLogRingBuffer<Integer>(1024).capacity());
+        try {
+            new MonitorLogRingBuffer<Integer>(0);
+            Assert.fail("预期容量为0时抛出异常");
+        } catch (IllegalArgumentException ignored) {
+            // 预期
+        }
+    }
+
+    @Test
+    public void fillAndOverflowTest() {
+        MonitorLogRingBuffer<Integer> ringBuffer = new MonitorLogRingBuffer<>(4);
+        Assert.assertTrue(ringBuffer.isEmpty());
+        Assert.assertNull(ringBuffer.poll());
+        for (int i = 0; i < 4; i++) {
+            Assert.assertTrue(ringBuffer.offer(i));
+        }
+        Assert.assertEquals(4, ringBuffer.size());
+        Assert.assertFalse("预期队列已满时入队失败", ringBuffer.offer(4));
+        Assert.assertEquals(4, ringBuffer.size());
+
+        // 腾出一个槽位后可以再次入队，按先进先出取出
+        Assert.assertEquals(Integer.valueOf(0), ringBuffer.poll());
+        Assert.assertTrue(ringBuffer.offer(4));
+        Assert.assertFalse(ringBuffer.offer(5));
+        for (int i = 1; i <= 4; i++) {
+            Assert.assertEquals(Integer.valueOf(i), ringBuffer.poll());
+        }
+        Assert.assertNull(ringBuffer.poll());
+        Assert.assertTrue(ringBuffer.isEmpty());
+    }
+
+    @Test
+    public void wraparoundTest() {
+        // 序号绕过槽位数组多轮后，槽位下标与序号仍然对应
+        MonitorLogRingBuffer<Long> ringBuffer = new MonitorLogRingBuffer<>(4);
+        long next = 0;
+        long expected = 0;
+        for (int round = 0; round < 10_000; round++) {
+            // 每轮写入的数量不同，使写入位置与槽位边界错开
+            int count = round % 4 + 1;
+            for (int i = 0; i < count; i++) {
+                Assert.assertTrue(ringBuffer.offer(next++));
+            }
+            Assert.assertEquals(count, ringBuffer.size());
+            for (int i = 0; i < count; i++) {
+                Assert.assertEquals(Long.valueOf(expected++), ringBuffer.poll());
+            }
+            Assert.assertNull(ringBuffer.poll());
+        }
+        Assert.assertEquals(next, expected);
+    }
+
+    @Test
+    public void concurrentProducersTest() throws Exception {
+        int producers = 4;
+        int perProducer = 20_000;
+        MonitorLogRingBuffer<Integer> ringBuffer = new MonitorLogRingBuffer<>(64);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int base = p * perProducer;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!ringBuffer.offer(base + i)) {
+                            Thread.yield();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+
+            // 单个消费者取出全部元素，同一生产者的元素保持入队顺序
+            int[] lastSeen = new int[producers];
+            Arrays.fill(lastSeen, -1);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            int received = 0;
+            while (received < producers * perProducer) {
+                Integer element = ringBuffer.poll();
+                if (element == null) {
+                    Assert.assertTrue("预期在30秒内取出全部元素", System.nanoTime() < deadline);
+                    Thread.yield();
+                    continue;
+                }
+                int producer = element / perProducer;
+                int index = element % perProducer;
+                Assert.assertEquals(lastSeen[producer] + 1, index);
+                lastSeen[producer] = index;
+                received++;
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            Assert.assertNull(ringBuffer.poll());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.hippocp.monitor.log;
+
+import com.hippocp.easy.code.monitor.log.HttpRequestMonitorEvent;
+import com.hippocp.easy.code.monitor.log.MonitorLog;
+import com.hippocp.easy.code.monitor.metrics.EndpointLatencyRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * 监控日志格式化测试
+ */
+public class MonitorLogTest {
+
+    @Test
+    public void formatTest() {
+        HttpRequestMonitorEvent event = new HttpRequestMonitorEvent();
+        event.setRequestPresent(true);
+        event.setUrl("http://localhost/user");
+        event.setHttpMethod("GET");
+        event.setClassName("UserController");
+        event.setMethodName("get");
+        event.setArgNames(new String[]{"id", "name"});
+        event.setCapture(true);
+        // 入参值与返回结果在请求线程中已转换为字符串
+        event.setArgValues(new String[]{"1", "张三"});
+        event.setResultJson("{\"id\":1}");
+        String message = MonitorLog.format(event);
+        Assert.assertTrue(message.contains("参数名：id，参数值：1。"));
+        Assert.assertTrue(message.contains("参数名：name，参数值：张三。"));
+        Assert.assertTrue(message.contains("Method return value     : {\"id\":1}"));
+
+        // 按记录策略未记录
+        event.setCapture(false);
+        event.setArgValues(null);
+        event.setResultJson(null);
+        message = MonitorLog.format(event);
+        Assert.assertTrue(message.contains("参数名：id，参数值：（按记录策略未记录）。"));
+        Assert.assertTrue(message.contains("Method return value     : （按记录策略未记录）"));
+    }
+
+    @Test
+    public void recordFailureTest() throws Throwable {
+        // 记录耗时失败不能覆盖被监控方法的执行结果或异常
+        MonitorLog.setLatencyRegistry(new EndpointLatencyRegistry() {
+            @Override
+            public void record(Method method, long nanos, boolean isError) {
+                throw new IllegalStateException("记录失败");
+            }
+        });
+        try {
+            Assert.assertEquals("张三", MonitorLog.httpRequestMonitorLogRecord(joinPoint(() -> "张三")));
+            IllegalArgumentException error = new IllegalArgumentException("业务异常");
+            try {
+                MonitorLog.httpRequestMonitorLogRecord(joinPoint(() -> {
+                    throw error;
+                }));
+                Assert.fail("预期抛出被监控方法的异常");
+            } catch (IllegalArgumentException e) {
+                Assert.assertSame(error, e);
+            }
+        } finally {
+            MonitorLog.setLatencyRegistry(null);
+        }
+    }
+
+    /**
+     * 创建连接点，只实现切面用到的方法
+     *
+     * @param proceed 被监控方法
+     * @return 连接点
+     */
+    private static ProceedingJoinPoint joinPoint(Proceed proceed) throws NoSuchMethodException {
+        Method method = MonitorLogTest.class.getMethod("formatTest");
+        MethodSignature signature = (MethodSignature) Proxy.newProxyInstance(MonitorLogTest.class.getClassLoader(),
+                new Class<?>[]{MethodSignature.class}, (proxy, invoked, args) -> {
+                    if ("getMethod".equals(invoked.getName())) {
+                        return method;
+                    }
+                    throw new UnsupportedOperationException(invoked.getName());
+                });
+        return (ProceedingJoinPoint) Proxy.newProxyInstance(MonitorLogTest.class.getClassLoader(),
+                new Class<?>[]{ProceedingJoinPoint.class}, (proxy, invoked, args) -> {
+                    switch (invoked.getName()) {
+                        case "proceed":
+                            return proceed.proceed();
+                        case "getSignature":
+                            return signature;
+                        default:
+                            throw new UnsupportedOperationException(invoked.getName());
+                    }
+                });
+    }
+
+    private interface Proceed {
+
+        Object proceed() throws Throwable;
+
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.hippocp.monitor.metrics;
+
+import com.hippocp.easy.code.monitor.metrics.EndpointLatencyRegistry;
+import com.hippocp.easy.code.monitor.metrics.EndpointLatencySnapshot;
+import com.hippocp.easy.code.monitor.metrics.LatencyHistogram;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * 接口耗时注册表测试
+ */
+public class EndpointLatencyRegistryTest {
+
+    @Test
+    public void recordTest() throws NoSuchMethodException {
+        Method list = UserController.class.getMethod("list");
+        EndpointLatencyRegistry registry = new EndpointLatencyRegistry();
+        Assert.assertNull(registry.getHistogram(list));
+        Assert.assertNull(registry.getSnapshot(list));
+
+        for (int i = 1; i <= 100; i++) {
+            registry.record(list, i * 1000L, i == 100);
+        }
+        LatencyHistogram histogram = registry.getHistogram(list);
+        Assert.assertNotNull(histogram);
+        Assert.assertSame(histogram, registry.getHistogram(list));
+        Assert.assertEquals(100, histogram.getCount());
+
+        EndpointLatencySnapshot snapshot = registry.getSnapshot(list);
+        Assert.assertEquals(UserController.class.getName() + ".list", snapshot.getEndpoint());
+        Assert.assertEquals(100, snapshot.getCount());
+        Assert.assertEquals(1, snapshot.getErrorCount());
+        Assert.assertEquals(50500, snapshot.getMeanNanos());
+        Assert.assertEquals(100000, snapshot.getMaxNanos());
+        Assert.assertEquals(histogram.getValueAtQuantile(0.5), snapshot.getP50Nanos());
+        Assert.assertEquals(histogram.getValueAtQuantile(0.95), snapshot.getP95Nanos());
+        Assert.assertEquals(histogram.getValueAtQuantile(0.99), snapshot.getP99Nanos());
+        Assert.assertTrue(snapshot.getP50Nanos() <= snapshot.getP95Nanos());
+        Assert.assertTrue(snapshot.getP95Nanos() <= snapshot.getP99Nanos());
+    }
+
+    @Test
+    public void snapshotsTest() throws NoSuchMethodException {
+        Method list = UserController.class.getMethod("list");
+        Method detail = UserController.class.getMethod("detail");
+        EndpointLatencyRegistry registry = new EndpointLatencyRegistry();
+        registry.record(list, 1000, false);
+        registry.record(detail, 1000000, false);
+
+        // 按99分位耗时从大到小排列
+        List<EndpointLatencySnapshot> snapshots = registry.getSnapshots();
+        Assert.assertEquals(2, snapshots.size());
+        Assert.assertEquals(UserController.class.getName() + ".detail", snapshots.get(0).getEndpoint());
+        Assert.assertEquals(UserController.class.getName() + ".list", snapshots.get(1).getEndpoint());
+
+        // 清空后保留接口，记录归零
+        registry.reset();
+        EndpointLatencySnapshot snapshot = registry.getSnapshot(list);
+        Assert.assertEquals(0, snapshot.getCount());
+        Assert.assertEquals(0, snapshot.getMeanNanos());
+        Assert.assertEquals(0, snapshot.getP99Nanos());
+        Assert.assertEquals(2, registry.getSnapshots().size());
+    }
+
+    public static class UserController {
+
+        public void list() {
+        }
+
+        public void detail() {
+        }
+
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.hippocp.monitor.metrics;
+
+import com.hippocp.easy.code.monitor.metrics.LatencyHistogram;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 耗时直方图测试
+ */
+public class LatencyHistogramTest {
+
+    /**
+     * 最后一个桶的下标
+     */
+    private static final int LAST_INDEX = LatencyHistogram.bucketIndex(LatencyHistogram.MAX_TRACKABLE_NANOS);
+
+    @Test
+    public void linearBucketTest() {
+        Assert.assertEquals(0, LatencyHistogram.bucketIndex(0));
+        Assert.assertEquals(1, LatencyHistogram.bucketIndex(1));
+        for (int nanos = 0; nanos < LatencyHistogram.LINEAR_BUCKET_COUNT; nanos++) {
+            Assert.assertEquals(nanos, LatencyHistogram.bucketIndex(nanos));
+            Assert.assertEquals(nanos, LatencyHistogram.bucketUpperBound(nanos));
+        }
+        Assert.assertEquals(0, LatencyHistogram.lowestEquivalentValue(0));
+        Assert.assertEquals(1, LatencyHistogram.lowestEquivalentValue(1));
+    }
+
+    @Test
+    public void powerOfTwoTransitionTest() {
+        for (int bit = 1; bit < 63; bit++) {
+            long powerOfTwo = 1L << bit;
+            int index = LatencyHistogram.bucketIndex(powerOfTwo);
+            int previousIndex = LatencyHistogram.bucketIndex(powerOfTwo - 1);
+            if (powerOfTwo > LatencyHistogram.MAX_TRACKABLE_NANOS) {
+                // 超过可精确分桶的最大耗时，计入最后一个桶
+                Assert.assertEquals("2^" + bit, LAST_INDEX, index);
+                continue;
+            }
+            // 2的幂是新桶的下界，前一个值是上一个桶的上界
+            Assert.assertEquals("2^" + bit, previousIndex + 1, index);
+            Assert.assertEquals("2^" + bit, powerOfTwo - 1, LatencyHistogram.bucketUpperBound(previousIndex));
+            Assert.assertEquals("2^" + bit, powerOfTwo, LatencyHistogram.lowestEquivalentValue(powerOfTwo));
+            if (powerOfTwo >= LatencyHistogram.LINEAR_BUCKET_COUNT) {
+                // 对数区间的桶宽大于1，2的幂之后的值与其位于同一个桶
+                Assert.assertEquals("2^" + bit, powerOfTwo, LatencyHistogram.lowestEquivalentValue(powerOfTwo + 1));
+            }
+        }
+    }
+
+    @Test
+    public void bucketBoundTest() {
+        // 每个桶的上界落在该桶内，上界加1落在下一个桶
+        for (int index = 0; index < LAST_INDEX; index++) {
+            long upperBound = LatencyHistogram.bucketUpperBound(index);
+            Assert.assertEquals(index, LatencyHistogram.bucketIndex(upperBound));
+            Assert.assertEquals(index + 1, LatencyHistogram.bucketIndex(upperBound + 1));
+            long lowerBound = LatencyHistogram.lowestEquivalentValue(upperBound);
+            if (index >= LatencyHistogram.LINEAR_BUCKET_COUNT) {
+                // 桶宽不超过下界的 1 / 子桶数量
+                Assert.assertTrue("桶" + index, (upperBound - lowerBound + 1) * LatencyHistogram.SUB_BUCKET_COUNT <= lowerBound);
+            }
+        }
+        Assert.assertEquals(LatencyHistogram.MAX_TRACKABLE_NANOS, LatencyHistogram.bucketUpperBound(LAST_INDEX));
+        Assert.assertEquals(LAST_INDEX, LatencyHistogram.bucketIndex(LatencyHistogram.MAX_TRACKABLE_NANOS + 1));
+        Assert.assertEquals(LAST_INDEX, LatencyHistogram.bucketIndex(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void quantileAccuracyTest() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        int count = 100000;
+        // 1微秒 ~ 100毫秒均匀分布
+        for (int i = 1; i <= count; i++) {
+            histogram.record(i * 1000L, i % 100 == 0);
+        }
+        Assert.assertEquals(count, histogram.getCount());
+        Assert.assertEquals(count / 100, histogram.getErrorCount());
+        Assert.assertEquals(count * 1000L, histogram.getMaxNanos());
+        Assert.assertEquals(1000L * count * (count + 1) / 2, histogram.getTotalNanos());
+
+        double[] quantiles = {0.5, 0.9, 0.95, 0.99, 0.999};
+        long[] values = histogram.valuesAtQuantiles(quantiles);
+        for (int i = 0; i < quantiles.length; i++) {
+            long expected = (long) Math.ceil(quantiles[i] * count) * 1000L;
+            Assert.assertEquals(values[i], histogram.getValueAtQuantile(quantiles[i]));
+            // 取所在桶的上界，不小于精确值，相对误差不超过约3%
+            Assert.assertTrue("分位" + quantiles[i], values[i] >= expected);
+            Assert.assertTrue("分位" + quantiles[i] + "：" + values[i], values[i] - expected <= expected * 0.03);
+        }
+        Assert.assertEquals(count * 1000L, histogram.getValueAtQuantile(1));
+    }
+
+    @Test
+    public void boundaryValueTest() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assert.assertEquals(0, histogram.getValueAtQuantile(0.99));
+        Assert.assertArrayEquals(new long[]{0, 0}, histogram.valuesAtQuantiles(0.5, 0.99));
+
+        // 小于0的耗时按0记录
+        histogram.record(-1, false);
+        Assert.assertEquals(0, histogram.getValueAtQuantile(1));
+        Assert.assertEquals(0, histogram.getTotalNanos());
+
+        // 超过可精确分桶的最大耗时，最大值仍精确记录
+        histogram.record(Long.MAX_VALUE, true);
+        Assert.assertEquals(2, histogram.getCount());
+        Assert.assertEquals(0, histogram.getValueAtQuantile(0.5));
+        Assert.assertEquals(Long.MAX_VALUE, histogram.getValueAtQuantile(1));
+        Assert.assertEquals(Long.MAX_VALUE, histogram.getMaxNanos());
+
+        histogram.reset();
+        Assert.assertEquals(0, histogram.getCount());
+        Assert.assertEquals(0, histogram.getErrorCount());
+        Assert.assertEquals(0, histogram.getMaxNanos());
+        Assert.assertEquals(0, histogram.getValueAtQuantile(1));
+    }
+
+}
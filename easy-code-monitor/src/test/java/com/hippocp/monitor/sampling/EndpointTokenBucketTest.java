@@ -0,0 +1,51 @@
+package com.hippocp.monitor.sampling;
+
+import com.hippocp.easy.code.monitor.sampling.EndpointTokenBucket;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 令牌桶测试
+ */
+public class EndpointTokenBucketTest {
+
+    @Test
+    public void burstTest() {
+        // 每100毫秒生成一个令牌，最多连续获取3个
+        EndpointTokenBucket bucket = new EndpointTokenBucket(10, 3);
+        Assert.assertTrue(bucket.tryAcquire());
+        Assert.assertTrue(bucket.tryAcquire());
+        Assert.assertTrue(bucket.tryAcquire());
+        Assert.assertFalse(bucket.tryAcquire());
+        Assert.assertFalse(bucket.tryAcquire());
+
+        // 突发数量小于1时按1处理
+        bucket = new EndpointTokenBucket(10, 0);
+        Assert.assertTrue(bucket.tryAcquire());
+        Assert.assertFalse(bucket.tryAcquire());
+    }
+
+    @Test
+    public void refillTest() throws InterruptedException {
+        EndpointTokenBucket bucket = new EndpointTokenBucket(10, 2);
+        Assert.assertTrue(bucket.tryAcquire());
+        Assert.assertTrue(bucket.tryAcquire());
+        Assert.assertFalse(bucket.tryAcquire());
+
+        // 150毫秒后生成1个令牌
+        Thread.sleep(150);
+        Assert.assertTrue(bucket.tryAcquire());
+        Assert.assertFalse(bucket.tryAcquire());
+    }
+
+    @Test
+    public void illegalArgumentTest() {
+        try {
+            new EndpointTokenBucket(0, 1);
+            Assert.fail("预期每秒生成的令牌数小于等于0时抛出异常");
+        } catch (IllegalArgumentException ignored) {
+            // 预期
+        }
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.hippocp.monitor.sampling;
+
+import com.hippocp.easy.code.monitor.metrics.EndpointLatencyRegistry;
+import com.hippocp.easy.code.monitor.sampling.MonitorSampleReasonEnum;
+import com.hippocp.easy.code.monitor.sampling.MonitorSampler;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 监控日志采样器测试
+ */
+public class MonitorSamplerTest {
+
+    private Method list;
+    private Method detail;
+
+    @Before
+    public void initMethod() throws NoSuchMethodException {
+        list = UserController.class.getMethod("list");
+        detail = UserController.class.getMethod("detail");
+    }
+
+    @Test
+    public void errorTest() {
+        MonitorSampler sampler = new MonitorSampler(0, 0, 0, 0, true, 0, null);
+        Assert.assertEquals(MonitorSampleReasonEnum.ERROR, sampler.sample(list, 1000, true));
+        Assert.assertNull(sampler.sample(list, 1000, false));
+
+        sampler = new MonitorSampler(0, 0, 0, 0, false, 0, null);
+        Assert.assertNull(sampler.sample(list, 1000, true));
+    }
+
+    @Test
+    public void slowTest() {
+        MonitorSampler sampler = new MonitorSampler(0, 0, 0, 100, false, 0, null);
+        Assert.assertEquals(100, sampler.getSlowThresholdMillis());
+        Assert.assertEquals(MonitorSampleReasonEnum.SLOW, sampler.sample(list, TimeUnit.MILLISECONDS.toNanos(100), false));
+        Assert.assertNull(sampler.sample(list, TimeUnit.MILLISECONDS.toNanos(99), false));
+    }
+
+    @Test
+    public void ratioTest() {
+        MonitorSampler sampler = new MonitorSampler(1, 0, 0, 0, false, 0, null);
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(MonitorSampleReasonEnum.RATIO, sampler.sample(list, 1000, false));
+        }
+
+        sampler = new MonitorSampler(0, 0, 0, 0, false, 0, null);
+        for (int i = 0; i < 100; i++) {
+            Assert.assertNull(sampler.sample(list, 1000, false));
+        }
+
+        // 按比例采样，10000次中采中的次数接近一半
+        sampler = new MonitorSampler(0.5, 0, 0, 0, false, 0, null);
+        int sampled = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (sampler.sample(list, 1000, false) != null) {
+                sampled++;
+            }
+        }
+        Assert.assertTrue("采中" + sampled + "次", sampled > 4000 && sampled < 6000);
+    }
+
+    @Test
+    public void endpointTokenBucketTest() {
+        // 每个接口每秒最多10个，突发3个
+        MonitorSampler sampler = new MonitorSampler(1, 10, 3, 100, true, 0, null);
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(MonitorSampleReasonEnum.RATIO, sampler.sample(list, 1000, false));
+        }
+        Assert.assertNull(sampler.sample(list, 1000, false));
+
+        // 异常与慢请求不受令牌桶限制
+        Assert.assertEquals(MonitorSampleReasonEnum.ERROR, sampler.sample(list, 1000, true));
+        Assert.assertEquals(MonitorSampleReasonEnum.SLOW, sampler.sample(list, TimeUnit.SECONDS.toNanos(1), false));
+
+        // 每个接口一个令牌桶
+        Assert.assertEquals(MonitorSampleReasonEnum.RATIO, sampler.sample(detail, 1000, false));
+    }
+
+    @Test
+    public void tailTest() {
+        // 1 ~ 1000 微秒均匀分布
+        EndpointLatencyRegistry registry = new EndpointLatencyRegistry();
+        for (int i = 1; i <= 1000; i++) {
+            registry.record(list, i * 1000L, false);
+        }
+        MonitorSampler sampler = new MonitorSampler(0, 0, 0, 0, false, 0.9, registry);
+        Assert.assertEquals(MonitorSampleReasonEnum.TAIL, sampler.sample(list, 1000000, false));
+        Assert.assertEquals(MonitorSampleReasonEnum.TAIL, sampler.sample(list, 900000, false));
+        Assert.assertNull(sampler.sample(list, 500000, false));
+
+        // 记录次数不足时不进行尾部采样
+        registry.record(detail, 1000, false);
+        Assert.assertNull(sampler.sample(detail, 1000000, false));
+
+        // 未提供接口耗时注册表时自行记录
+        sampler = new MonitorSampler(0, 0, 0, 0, false, 0.9, null);
+        Assert.assertNull(sampler.sample(list, 1000000, false));
+    }
+
+    @Test
+    public void illegalArgumentTest() {
+        double[][] illegalArguments = {{-0.1, 0}, {1.1, 0}, {0.5, 1}};
+        for (double[] arguments : illegalArguments) {
+            try {
+                new MonitorSampler(arguments[0], 0, 0, 0, false, arguments[1], null);
+                Assert.fail("预期采样比例为" + arguments[0] + "、尾部采样分位为" + arguments[1] + "时抛出异常");
+            } catch (IllegalArgumentException ignored) {
+                // 预期
+            }
+        }
+    }
+
+    public static class UserController {
+
+        public void list() {
+        }
+
+        public void detail() {
+        }
+
+    }
+
+}
@@ -4,12 +4,23 @@ import com.hippocp.easy.code.exception.aspect.advice.ExceptionHandlerAdvice;
 import com.hippocp.easy.code.exception.config.ExceptionHandlerProperties;
 import com.hippocp.easy.code.exception.handler.GlobalExceptionHandler;
 import com.hippocp.easy.code.monitor.aspect.HttpRequestMonitorLogAdvice;
+import com.hippocp.easy.code.monitor.capture.MonitorCapturePolicy;
+import com.hippocp.easy.code.monitor.endpoint.EndpointLatencyEndpoint;
+import com.hippocp.easy.code.monitor.log.AsyncMonitorLogWriter;
+import com.hippocp.easy.code.monitor.log.MonitorLog;
+import com.hippocp.easy.code.monitor.metrics.EndpointLatencyRegistry;
+import com.hippocp.easy.code.monitor.sampling.MonitorSampler;
+import com.hippocp.easy.code.util.excel.ExcelImportScheduler;
+import com.hippocp.easy.code.util.excel.ExcelValidateUtil;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 
 import javax.annotation.Resource;
 
@@ -97,10 +108,171 @@ public class EasyAutoConfiguration {
             matchIfMissing = true)
     public HttpRequestMonitorLogAdvice setHttpRequestMonitorLogAdvice() {
         HttpRequestMonitorLogAdvice httpRequestMonitorLogAdvice = new HttpRequestMonitorLogAdvice();
+        EasyProperties.MonitorLog monitorLog = easyProperties.getMonitorLog();
+        MonitorCapturePolicy capturePolicy = new MonitorCapturePolicy(
+                monitorLog.getCapturePolicy(),
+                (int) Math.min(monitorLog.getCaptureMaxSize().toBytes(), Integer.MAX_VALUE),
+                monitorLog.getCaptureSampleRate(),
+                monitorLog.getCaptureEndpointPatterns()
+        );
+        MonitorLog.setCapturePolicy(capturePolicy);
         if (log.isInfoEnabled()) {
-            log.info("已开启Http请求监控日志增强，已实例化 HttpRequestMonitorLogAdvice");
+            log.info("已开启Http请求监控日志增强，入参值与返回结果记录策略为：{}，已实例化 HttpRequestMonitorLogAdvice",
+                    capturePolicy.getPolicy().name());
         }
         return httpRequestMonitorLogAdvice;
     }
 
+    /**
+     * 当配置<br>
+     * easy.monitor-log.async=true<br>
+     * 并且<br>
+     * 当{@link HttpRequestMonitorLogAdvice}实例存在、{@link AsyncMonitorLogWriter}实例不存在时，
+     * 将{@link AsyncMonitorLogWriter}的实例放入spring容器，
+     * 启动后台线程并设置为{@link MonitorLog}的异步写入器，容器关闭时输出剩余的监控日志<br>
+     * 未开启时在请求线程中同步输出监控日志，不会丢失；开启后队列溢出时按 easy.monitor-log.overflow-policy 处理，
+     * 默认丢弃，需要完整监控日志时配置为 block
+     *
+     * @return {@link AsyncMonitorLogWriter}
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnBean(HttpRequestMonitorLogAdvice.class)
+    @ConditionalOnMissingBean(AsyncMonitorLogWriter.class)
+    @ConditionalOnProperty(prefix = EasyPropertiesConstant.PREFIX,
+            name = "monitor-log.async",
+            havingValue = "true")
+    public AsyncMonitorLogWriter setAsyncMonitorLogWriter() {
+        EasyProperties.MonitorLog monitorLog = easyProperties.getMonitorLog();
+        AsyncMonitorLogWriter asyncMonitorLogWriter = new AsyncMonitorLogWriter(
+                monitorLog.getQueueDepth(),
+                monitorLog.getOverflowPolicy(),
+                monitorLog.getSampleRate()
+        );
+        asyncMonitorLogWriter.start();
+        MonitorLog.setAsyncWriter(asyncMonitorLogWriter);
+        if (log.isInfoEnabled()) {
+            log.info("已开启Http请求监控日志异步输出，队列深度为：{}，溢出策略为：{}，已实例化 AsyncMonitorLogWriter",
+                    asyncMonitorLogWriter.getQueueDepth(), monitorLog.getOverflowPolicy().name());
+        }
+        return asyncMonitorLogWriter;
+    }
+
+    /**
+     * 当配置<br>
+     * easy.http-request-monitor-log-advice=true 或者未填写此配置<br>
+     * 并且<br>
+     * easy.endpoint-latency.enabled=true 或者未填写此配置<br>
+     * 并且<br>
+     * 当{@link EndpointLatencyRegistry}实例不存在时，将{@link EndpointLatencyRegistry}的实例放入spring容器，
+     * 并设置为{@link MonitorLog}的接口耗时注册表
+     *
+     * @return {@link EndpointLatencyRegistry}
+     */
+    @Bean
+    @ConditionalOnMissingBean(EndpointLatencyRegistry.class)
+    @ConditionalOnProperty(prefix = EasyPropertiesConstant.PREFIX,
+            name = {"http-request-monitor-log-advice", "endpoint-latency.enabled"},
+            havingValue = "true",
+            matchIfMissing = true)
+    public EndpointLatencyRegistry setEndpointLatencyRegistry() {
+        EndpointLatencyRegistry endpointLatencyRegistry = new EndpointLatencyRegistry();
+        MonitorLog.setLatencyRegistry(endpointLatencyRegistry);
+        if (log.isInfoEnabled()) {
+            log.info("已开启接口耗时统计，已实例化 EndpointLatencyRegistry");
+        }
+        return endpointLatencyRegistry;
+    }
+
+    /**
+     * 当配置<br>
+     * easy.endpoint-latency.endpoint-enabled=true<br>
+     * 并且<br>
+     * 当{@link EndpointLatencyRegistry}实例存在、{@link EndpointLatencyEndpoint}实例不存在时，
+     * 将{@link EndpointLatencyEndpoint}的实例放入spring容器
+     *
+     * @param endpointLatencyRegistry 接口耗时注册表
+     * @return {@link EndpointLatencyEndpoint}
+     */
+    @Bean
+    @ConditionalOnBean(EndpointLatencyRegistry.class)
+    @ConditionalOnMissingBean(EndpointLatencyEndpoint.class)
+    @ConditionalOnProperty(prefix = EasyPropertiesConstant.PREFIX,
+            name = "endpoint-latency.endpoint-enabled",
+            havingValue = "true")
+    public EndpointLatencyEndpoint setEndpointLatencyEndpoint(EndpointLatencyRegistry endpointLatencyRegistry) {
+        EndpointLatencyEndpoint endpointLatencyEndpoint = new EndpointLatencyEndpoint(endpointLatencyRegistry);
+        if (log.isInfoEnabled()) {
+            log.info("已开启接口耗时查询接口，请求路径为：{}，已实例化 EndpointLatencyEndpoint",
+                    easyProperties.getEndpointLatency().getEndpointPath());
+        }
+        return endpointLatencyEndpoint;
+    }
+
+    /**
+     * 当配置<br>
+     * easy.monitor-log.sampling-enabled=true<br>
+     * 并且<br>
+     * 当{@link MonitorSampler}实例不存在时，将{@link MonitorSampler}的实例放入spring容器，
+     * 并设置为{@link MonitorLog}的监控日志采样器；存在{@link EndpointLatencyRegistry}实例时尾部采样使用其耗时分布
+     *
+     * @param endpointLatencyRegistry 接口耗时注册表
+     * @return {@link MonitorSampler}
+     */
+    @Bean
+    @ConditionalOnMissingBean(MonitorSampler.class)
+    @ConditionalOnProperty(prefix = EasyPropertiesConstant.PREFIX,
+            name = "monitor-log.sampling-enabled",
+            havingValue = "true")
+    public MonitorSampler setMonitorSampler(ObjectProvider<EndpointLatencyRegistry> endpointLatencyRegistry) {
+        EasyProperties.MonitorLog monitorLog = easyProperties.getMonitorLog();
+        MonitorSampler monitorSampler = new MonitorSampler(
+                monitorLog.getSamplingRatio(),
+                monitorLog.getSamplingEndpointPermitsPerSecond(),
+                monitorLog.getSamplingEndpointBurst(),
+                monitorLog.getSamplingSlowThreshold().toMillis(),
+                monitorLog.getSamplingAlwaysOnError(),
+                monitorLog.getSamplingTailQuantile(),
+                endpointLatencyRegistry.getIfAvailable()
+        );
+        MonitorLog.setSampler(monitorSampler);
+        if (log.isInfoEnabled()) {
+            log.info("已开启Http请求监控日志采样，采样比例为：{}，慢请求阈值为：{} ms，已实例化 MonitorSampler",
+                    monitorSampler.getRatio(), monitorSampler.getSlowThresholdMillis());
+        }
+        return monitorSampler;
+    }
+
+    /**
+     * 当配置<br>
+     * easy.excel-import.enabled=true<br>
+     * 并且<br>
+     * 当{@link ExcelImportScheduler}实例不存在时，将{@link ExcelImportScheduler}的实例放入spring容器，
+     * 并设置为{@link ExcelValidateUtil}的导入调度器
+     *
+     * @return {@link ExcelImportScheduler}
+     */
+    @Bean
+    @ConditionalOnMissingBean(ExcelImportScheduler.class)
+    @ConditionalOnProperty(prefix = EasyPropertiesConstant.PREFIX,
+            name = "excel-import.enabled",
+            havingValue = "true")
+    public ExcelImportScheduler setExcelImportScheduler() {
+        EasyProperties.ExcelImport excelImport = easyProperties.getExcelImport();
+        DataSize heapBudget = excelImport.getHeapBudget();
+        long heapBudgetBytes = heapBudget == null ? Runtime.getRuntime().maxMemory() / 2 : heapBudget.toBytes();
+        ExcelImportScheduler excelImportScheduler = new ExcelImportScheduler(
+                excelImport.getPermits(),
+                heapBudgetBytes,
+                excelImport.getHeapExpansionFactor(),
+                excelImport.getQueueTimeout().toMillis(),
+                excelImport.getMaxQueueLength()
+        );
+        ExcelValidateUtil.setImportScheduler(excelImportScheduler);
+        if (log.isInfoEnabled()) {
+            log.info("已开启Excel表格导入调度，许可数为：{}，堆内存预算为：{}字节，已实例化 ExcelImportScheduler",
+                    excelImport.getPermits(), heapBudgetBytes);
+        }
+        return excelImportScheduler;
+    }
+
 }
@@ -1,7 +1,19 @@
 package com.hippocp.easy.code.config;
 
+import com.hippocp.easy.code.monitor.capture.MonitorCapturePolicy;
+import com.hippocp.easy.code.monitor.capture.MonitorCapturePolicyEnum;
+import com.hippocp.easy.code.monitor.log.AsyncMonitorLogWriter;
+import com.hippocp.easy.code.monitor.log.MonitorLogOverflowPolicyEnum;
+import com.hippocp.easy.code.monitor.metrics.EndpointLatencyRegistry;
+import com.hippocp.easy.code.monitor.sampling.MonitorSampler;
+import com.hippocp.easy.code.util.excel.ExcelImportScheduler;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * easy外部化配置属性
@@ -28,4 +40,164 @@ public class EasyProperties {
      */
     private Boolean httpRequestMonitorLogAdvice;
 
+    /**
+     * Http请求监控日志输出配置
+     */
+    private MonitorLog monitorLog = new MonitorLog();
+
+    /**
+     * 接口耗时统计配置
+     */
+    private EndpointLatency endpointLatency = new EndpointLatency();
+
+    /**
+     * Excel表格导入调度配置
+     */
+    private ExcelImport excelImport = new ExcelImport();
+
+    /**
+     * Http请求监控日志输出配置，详见{@link AsyncMonitorLogWriter}、{@link MonitorCapturePolicy}、{@link MonitorSampler}
+     */
+    @Data
+    public static class MonitorLog {
+
+        /**
+         * 是否异步输出监控日志，无此配置属性时视为同步输出<br>
+         * 异步输出时队列溢出按{@link #overflowPolicy}处理，默认丢弃监控日志
+         */
+        private Boolean async;
+
+        /**
+         * 队列深度，向上取整为2的幂
+         */
+        private Integer queueDepth = AsyncMonitorLogWriter.DEFAULT_QUEUE_DEPTH;
+
+        /**
+         * 队列溢出策略，drop-丢弃，sample-采样，block-阻塞，仅在{@link #async}为true时生效
+         */
+        private MonitorLogOverflowPolicyEnum overflowPolicy = MonitorLogOverflowPolicyEnum.DROP;
+
+        /**
+         * 采样率，溢出策略为 sample 时队列超过高水位后每 sampleRate 条监控日志保留1条
+         */
+        private Integer sampleRate = AsyncMonitorLogWriter.DEFAULT_SAMPLE_RATE;
+
+        /**
+         * 入参值与返回结果记录策略，none-不记录，size-capped-限制大小，sampled-采样，endpoint-pattern-按接口路径
+         */
+        private MonitorCapturePolicyEnum capturePolicy = MonitorCapturePolicyEnum.SIZE_CAPPED;
+
+        /**
+         * 入参值与返回结果各自的字节预算，超过时截断，为0时不限制，默认不限制
+         */
+        private DataSize captureMaxSize = DataSize.ofBytes(MonitorCapturePolicy.DEFAULT_MAX_BYTES);
+
+        /**
+         * 记录策略为 sampled 时，每 captureSampleRate 次请求记录1次
+         */
+        private Integer captureSampleRate = MonitorCapturePolicy.DEFAULT_SAMPLE_RATE;
+
+        /**
+         * 记录策略为 endpoint-pattern 时，只记录请求路径匹配的请求，Ant风格，不包含应用上下文路径，例如 /user/**
+         */
+        private List<String> captureEndpointPatterns = new ArrayList<>();
+
+        /**
+         * 是否开启监控日志采样，无此配置属性时视为不开启，全部输出
+         */
+        private Boolean samplingEnabled;
+
+        /**
+         * 采样比例，取值范围 0~1
+         */
+        private Double samplingRatio = 1.0;
+
+        /**
+         * 每个接口每秒最多按比例采样的数量，为0时不限制
+         */
+        private Double samplingEndpointPermitsPerSecond = 0.0;
+
+        /**
+         * 每个接口按比例采样的突发数量
+         */
+        private Integer samplingEndpointBurst = 10;
+
+        /**
+         * 慢请求阈值，执行时长超过该值时总是输出，为0时不判断
+         */
+        private Duration samplingSlowThreshold = Duration.ofSeconds(1);
+
+        /**
+         * 被监控方法抛出异常时是否总是输出
+         */
+        private Boolean samplingAlwaysOnError = true;
+
+        /**
+         * 尾部采样分位，执行时长不小于该接口耗时分布的该分位数时输出，为0时不进行尾部采样
+         */
+        private Double samplingTailQuantile = 0.99;
+
+    }
+
+    /**
+     * 接口耗时统计配置，详见{@link EndpointLatencyRegistry}
+     */
+    @Data
+    public static class EndpointLatency {
+
+        /**
+         * 是否开启接口耗时统计，无此配置属性时视为开启
+         */
+        private Boolean enabled;
+
+        /**
+         * 是否开启接口耗时查询接口，无此配置属性时视为不开启
+         */
+        private Boolean endpointEnabled;
+
+        /**
+         * 接口耗时查询接口的请求路径
+         */
+        private String endpointPath = "/easy/endpoint-latency";
+
+    }
+
+    /**
+     * Excel表格导入调度配置，详见{@link ExcelImportScheduler}
+     */
+    @Data
+    public static class ExcelImport {
+
+        /**
+         * 是否开启Excel表格导入调度，无此配置属性时视为不开启，同时导入的数量不受限制
+         */
+        private Boolean enabled;
+
+        /**
+         * 许可数，最多同时导入的数量，默认为处理器数量
+         */
+        private Integer permits = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * 堆内存预算，正在导入的估算堆内存之和不超过该值，无此配置属性时为最大堆内存的一半
+         */
+        private DataSize heapBudget;
+
+        /**
+         * 堆内存膨胀系数，估算的堆内存 = 文件大小 × 该系数
+         */
+        private Double heapExpansionFactor = ExcelImportScheduler.DEFAULT_HEAP_EXPANSION_FACTOR;
+
+        /**
+         * 排队超时时间，为0时不排队，小于0时一直等待
+         */
+        private Duration queueTimeout = Duration.ofSeconds(30);
+
+        /**
+         * 最多排队数量，小于0时不限制
+         */
+        private Integer maxQueueLength = 100;
+
+    }
+
 }
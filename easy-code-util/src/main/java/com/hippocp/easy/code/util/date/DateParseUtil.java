@@ -1,13 +1,18 @@
 package com.hippocp.easy.code.util.date;
 
+import cn.hutool.core.date.DateTime;
 import cn.hutool.core.date.DateUtil;
-import cn.hutool.core.util.StrUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
 import java.util.Date;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Date转换工具类，包含转换方法和判断类型方法
@@ -25,37 +30,86 @@ public class DateParseUtil {
 
 
     /**
-     * 时间格式校验正则，目标yyyy/M/d（1位或2位月份、日期） HH:mm:ss，利用预编译功能，加快正则匹配速度
+     * 预编译的常用日期格式，按Excel表格中出现的频率排列，第一个为Excel表格日期格式 yyyy/M/d HH:mm:ss<br>
+     * 月份、日期、小时均可为1位或2位
      */
-    private static final Pattern PATTERN =
-            Pattern.compile("(\\d{4}/(\\d|\\d{2})/(\\d|\\d{2})\\s(\\d|\\d{2}):\\d{2}:\\d{2})");
+    private static final DateTimeFormatter[] FORMATTERS = {
+            DateTimeFormatter.ofPattern("uuuu/M/d H:mm:ss"),
+            DateTimeFormatter.ofPattern("uuuu-M-d H:mm:ss"),
+            DateTimeFormatter.ofPattern("uuuu/M/d"),
+            DateTimeFormatter.ofPattern("uuuu-M-d"),
+            DateTimeFormatter.ofPattern("uuuu年M月d日 H时m分s秒"),
+            DateTimeFormatter.ofPattern("uuuu年M月d日"),
+            DateTimeFormatter.ofPattern("uuuu/M/d H:mm"),
+            DateTimeFormatter.ofPattern("uuuu-M-d H:mm"),
+            DateTimeFormatter.ofPattern("uuuu-M-d'T'H:mm:ss")
+    };
 
 
     /**
      * 字符串转换为Date<br>
-     * 特殊处理格式 yyyy/M/d HH:mm:ss 为匹配Excel表格日期格式<br>
-     * 若不匹配上述日期格式则使用通用转换，可应对16种时间格式，见parse方法注释<br>
+     * 先逐个尝试预编译的常用日期格式，格式不匹配时不会抛出异常，Excel表格日期格式 yyyy/M/d HH:mm:ss 最先尝试<br>
+     * 均不匹配时使用通用转换，可应对16种时间格式，见parse方法注释<br>
      *
      * @param dateStr 日期字符串
-     * @return {@link Date}
+     * @return {@link Date}，无法转换时返回null
      * @see DateUtil#parse(CharSequence)
      */
     public static Date parseDate(String dateStr) {
-        Date date = null;
-        Matcher matcher = PATTERN.matcher(dateStr);
-        try {
-            if (matcher.matches()) {
-                // 匹配正则，使用特殊格式转换
-                date = DateUtil.parse(dateStr, "yyyy/M/d HH:mm:ss");
-            } else {
-                // 不匹配正则，使用通用转换，可应对16种时间格式，见parse方法注释
-                date = DateUtil.parse(dateStr);
+        if (dateStr == null) {
+            return null;
+        }
+        String text = dateStr.trim();
+        ParsePosition position = new ParsePosition(0);
+        for (DateTimeFormatter formatter : FORMATTERS) {
+            position.setIndex(0);
+            position.setErrorIndex(-1);
+            TemporalAccessor parsed = formatter.parseUnresolved(text, position);
+            if (parsed == null || position.getErrorIndex() >= 0 || position.getIndex() != text.length()) {
+                continue;
             }
+            return toDate(parsed);
+        }
+        try {
+            // 不匹配常用格式，使用通用转换，可应对16种时间格式，见parse方法注释
+            return DateUtil.parse(text);
         } catch (Exception e) {
-            String msg = StrUtil.format("字符串 -》转换为 java.util.Date 错误，参数值：{}", dateStr);
-            log.warn(msg, e);
+            // 单元格内容有误属于数据问题，由校验结果提示，不打印异常堆栈
+            if (log.isDebugEnabled()) {
+                log.debug("字符串 -》转换为 java.util.Date 错误，参数值：{}，原因：{}", dateStr, e.getMessage());
+            }
+            return null;
         }
-        return date;
+    }
+
+
+    /**
+     * 将按预编译格式解析出的日期字段转换为Date
+     *
+     * @param parsed 未解析的日期字段
+     * @return {@link Date}，日期不存在（例如2月30日）时返回null
+     */
+    private static Date toDate(TemporalAccessor parsed) {
+        try {
+            LocalDateTime dateTime = LocalDateTime.of(
+                    (int) parsed.getLong(ChronoField.YEAR),
+                    (int) parsed.getLong(ChronoField.MONTH_OF_YEAR),
+                    (int) parsed.getLong(ChronoField.DAY_OF_MONTH),
+                    fieldOf(parsed, ChronoField.HOUR_OF_DAY),
+                    fieldOf(parsed, ChronoField.MINUTE_OF_HOUR),
+                    fieldOf(parsed, ChronoField.SECOND_OF_MINUTE));
+            return new DateTime(dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        } catch (DateTimeException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("日期不存在：{}", e.getMessage());
+            }
+            return null;
+        }
+    }
+
+
+    private static int fieldOf(TemporalAccessor parsed, ChronoField field) {
+        return parsed.isSupported(field) ? (int) parsed.getLong(field) : 0;
     }
 
 
@@ -49,6 +49,11 @@ public class EasyConstraintViolationImpl<T> implements ConstraintViolation<T>, S
 
     private ConstraintDescriptor<?> constraintDescriptor;
 
+    /**
+     * 缓存的哈希值，0表示尚未计算
+     */
+    private transient int hashCode;
+
 
     /**
      * 构建{@link EasyConstraintViolationImpl}
@@ -205,8 +210,13 @@ public class EasyConstraintViolationImpl<T> implements ConstraintViolation<T>, S
 
     @Override
     public int hashCode() {
-        int result = Objects.hash(message, messageTemplate, rootBean, rootBeanClass, leafBeanInstance, executableReturnValue, propertyPath, argName, value, constraintDescriptor);
-        result = 31 * result + Arrays.hashCode(executableParameters);
+        // 属性创建后不再改变，缓存哈希值，避免放入Set时反复计算全部属性的哈希值
+        int result = hashCode;
+        if (result == 0) {
+            result = Objects.hash(message, messageTemplate, rootBean, rootBeanClass, leafBeanInstance, executableReturnValue, propertyPath, argName, value, constraintDescriptor);
+            result = 31 * result + Arrays.hashCode(executableParameters);
+            hashCode = result;
+        }
         return result;
     }
 }
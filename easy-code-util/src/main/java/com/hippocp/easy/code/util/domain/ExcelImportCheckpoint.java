@@ -0,0 +1,51 @@
+package com.hippocp.easy.code.util.domain;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * Excel表格导入检查点，记录可恢复导入已提交到的位置<br>
+ * 每批数据交给消费者后更新，导入失败后重试时从 lastCommittedRowIndex 的下一行继续读取
+ */
+@Data
+public class ExcelImportCheckpoint implements Serializable {
+
+    /**
+     * 导入标识，同一个文件的多次重试应使用相同的标识，例如文件摘要
+     */
+    private String importId;
+
+    /**
+     * 最后提交的行号索引（从0开始计数），该行及之前的行均已处理，-1表示尚未提交
+     */
+    private int lastCommittedRowIndex = -1;
+
+    /**
+     * 累计约束违反信息数量，包含之前各次导入
+     */
+    private int violationCount;
+
+    /**
+     * 累计已交给消费者的数据行数，包含之前各次导入
+     */
+    private int consumedRowCount;
+
+    /**
+     * 是否已读取到表格末尾
+     */
+    private boolean isCompleted;
+
+    /**
+     * 最后更新时间，毫秒时间戳
+     */
+    private long updateTime;
+
+    public ExcelImportCheckpoint() {
+    }
+
+    public ExcelImportCheckpoint(String importId) {
+        this.importId = importId;
+    }
+
+}
@@ -21,7 +21,14 @@ public enum ExcelReaderTypeEnum {
     /**
      * 数据读取类型器 2，不带校验
      */
-    NOTVALID(2, "不带校验器，不在数据读取过程中附加校验");
+    NOTVALID(2, "不带校验器，不在数据读取过程中附加校验"),
+
+    /**
+     * 数据读取类型器 3，流式读取，带校验<br>
+     * 基于POI事件模型（XSSF SAX）逐行读取、转换、校验，不将整个工作簿加载到内存，内存占用不随表格行数增长<br>
+     * 读取数据时进行的校验与 {@link #VALID} 相同，仅支持 .xlsx 文件，并且标题行须位于数据起始行之前<br>
+     */
+    SAX(3, "流式读取，基于POI事件模型逐行读取、转换、校验");
 
     /**
      * 编号
@@ -0,0 +1,30 @@
+package com.hippocp.easy.code.util.domain;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.Serializable;
+
+/**
+ * Excel表格一行数据，包含可读性行号与该行转换完成的JavaBean
+ */
+@Getter
+@ToString
+public class ExcelRowData<T> implements Serializable {
+
+    /**
+     * 可读性行号，即Excel表格中显示的行号，从1开始计数
+     */
+    private final int readabilityRowNum;
+
+    /**
+     * 该行转换完成的JavaBean
+     */
+    private final T data;
+
+    public ExcelRowData(int readabilityRowNum, T data) {
+        this.readabilityRowNum = readabilityRowNum;
+        this.data = data;
+    }
+
+}
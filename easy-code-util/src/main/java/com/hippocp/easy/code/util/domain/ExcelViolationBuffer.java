@@ -0,0 +1,361 @@
+package com.hippocp.easy.code.util.domain;
+
+import com.hippocp.easy.code.domain.validate.ConstraintError;
+import com.hippocp.easy.code.util.excel.ExcelValidateUtil;
+import com.hippocp.easy.code.util.parse.ConstraintErrorParseUtil;
+
+import javax.validation.ConstraintViolation;
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * 紧凑的约束违反信息缓冲区，只能追加，按加入顺序保存<br>
+ * 单元格格式错误按列存放在数组中：可读性行号、列编号、正确格式提示消息编号与单元格值，
+ * 列与提示消息分别登记在字典中，每条错误不再创建{@link EasyConstraintViolationImpl}，也不计算哈希值<br>
+ * 同一单元格（行号、列、正确格式提示消息均相同）的格式错误只保存一次，按行追加时只需查找末尾同一行的错误<br>
+ * 其它约束违反信息按原对象保存，与{@link LinkedHashSet}一样去除重复的信息<br>
+ * 该类实现{@link Set}接口，遍历时按需创建{@link EasyConstraintViolationImpl}；
+ * 需要{@link ConstraintError}时请使用{@link #asConstraintErrors()}，按下标按需创建，不经过约束违反信息对象<br>
+ * 注意：该类不是线程安全的
+ */
+public class ExcelViolationBuffer extends AbstractSet<ConstraintViolation<?>> implements Serializable {
+
+    /**
+     * 约束违反信息对象（非单元格格式错误）的提示消息编号
+     */
+    private static final int VIOLATION_OBJECT = -1;
+
+    /**
+     * 可读性行号
+     */
+    private int[] rowNums = new int[16];
+    /**
+     * 列编号，对应 columnTitles、columnArgNames 下标
+     */
+    private int[] columnIds = new int[16];
+    /**
+     * 正确格式提示消息编号，对应 rightFormats 下标；为 VIOLATION_OBJECT 时 values 中为约束违反信息对象
+     */
+    private int[] templateIds = new int[16];
+    /**
+     * 单元格值或约束违反信息对象
+     */
+    private Object[] values = new Object[16];
+    /**
+     * 约束违反信息数量
+     */
+    private int size;
+
+    /**
+     * 列字典：表格标题 -》列编号
+     */
+    private final Map<String, Integer> columnIdMap = new HashMap<>(16);
+    private final List<String> columnTitles = new ArrayList<>();
+    private final List<String> columnArgNames = new ArrayList<>();
+    /**
+     * 正确格式提示消息字典：提示消息 -》编号
+     */
+    private final Map<String, Integer> templateIdMap = new HashMap<>(8);
+    private final List<String> rightFormats = new ArrayList<>();
+    /**
+     * 约束违反信息对象，用于去除重复的信息，首次加入时创建
+     */
+    private Set<ConstraintViolation<?>> violationObjects;
+    /**
+     * 已追加的单元格格式错误中最大的可读性行号
+     */
+    private int maxCellRowNum;
+    /**
+     * 单元格格式错误是否按行号升序追加，乱序追加后去重时从头查找
+     */
+    private boolean isCellRowOrdered = true;
+
+    /**
+     * 追加一条单元格格式错误，同一单元格已存在相同提示消息的错误时忽略
+     *
+     * @param readabilityRowNum 可读性行号
+     * @param title             表格标题
+     * @param argName           JavaBean属性名称
+     * @param value             单元格值
+     * @param rightFormat       正确格式提示消息
+     * @return 是否追加
+     */
+    public boolean addCellViolation(int readabilityRowNum, String title, String argName, Object value, String rightFormat) {
+        Integer columnId = columnIdMap.get(title);
+        if (columnId == null) {
+            columnId = columnTitles.size();
+            columnIdMap.put(title, columnId);
+            columnTitles.add(title);
+            columnArgNames.add(argName);
+        }
+        Integer templateId = templateIdMap.get(rightFormat);
+        if (templateId == null) {
+            templateId = rightFormats.size();
+            templateIdMap.put(rightFormat, templateId);
+            rightFormats.add(rightFormat);
+        }
+        if (containsCell(readabilityRowNum, columnId, templateId)) {
+            return false;
+        }
+        if (readabilityRowNum < maxCellRowNum) {
+            isCellRowOrdered = false;
+        }
+        maxCellRowNum = Math.max(maxCellRowNum, readabilityRowNum);
+        append(readabilityRowNum, columnId, templateId, value);
+        return true;
+    }
+
+    /**
+     * 是否已存在相同的单元格格式错误<br>
+     * 按行号升序追加时从末尾向前查找，遇到更小的行号即停止
+     *
+     * @param rowNum     可读性行号
+     * @param columnId   列编号
+     * @param templateId 正确格式提示消息编号
+     * @return true-是 false-否
+     */
+    private boolean containsCell(int rowNum, int columnId, int templateId) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (templateIds[i] == VIOLATION_OBJECT) {
+                continue;
+            }
+            if (rowNums[i] == rowNum && columnIds[i] == columnId && templateIds[i] == templateId) {
+                return true;
+            }
+            if (isCellRowOrdered && rowNums[i] < rowNum) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 追加一条约束违反信息，已存在相同的信息时忽略
+     *
+     * @param violation 约束违反信息
+     * @return 是否追加
+     */
+    @Override
+    public boolean add(ConstraintViolation<?> violation) {
+        if (violationObjects == null) {
+            violationObjects = new HashSet<>();
+        }
+        if (!violationObjects.add(violation)) {
+            return false;
+        }
+        append(0, -1, VIOLATION_OBJECT, violation);
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        truncate(0);
+    }
+
+    /**
+     * 只保留前 newSize 条约束违反信息
+     *
+     * @param newSize 保留的数量
+     */
+    public void truncate(int newSize) {
+        for (int i = newSize; i < size; i++) {
+            if (templateIds[i] == VIOLATION_OBJECT) {
+                violationObjects.remove(values[i]);
+            }
+            values[i] = null;
+        }
+        size = Math.min(size, newSize);
+    }
+
+    /**
+     * 获取第 index 条约束违反信息，单元格格式错误按需创建{@link EasyConstraintViolationImpl}
+     *
+     * @param index 下标
+     * @return 约束违反信息
+     */
+    public ConstraintViolation<?> getViolation(int index) {
+        checkIndex(index);
+        if (templateIds[index] == VIOLATION_OBJECT) {
+            return (ConstraintViolation<?>) values[index];
+        }
+        String dataStr = String.valueOf(values[index]);
+        return EasyConstraintViolationImpl.forBeanValidation(messageOf(index, dataStr), argNameOf(index), dataStr);
+    }
+
+    /**
+     * 获取第 index 条约束错误对象，单元格格式错误不创建约束违反信息对象
+     *
+     * @param index 下标
+     * @return {@link ConstraintError}
+     */
+    public ConstraintError getConstraintError(int index) {
+        checkIndex(index);
+        if (templateIds[index] == VIOLATION_OBJECT) {
+            return ConstraintErrorParseUtil.getConstraintError((ConstraintViolation<?>) values[index]);
+        }
+        String dataStr = String.valueOf(values[index]);
+        return new ConstraintError(argNameOf(index), dataStr, messageOf(index, dataStr));
+    }
+
+    /**
+     * 第 index 条约束违反信息是否为单元格格式错误
+     *
+     * @param index 下标
+     * @return true-单元格格式错误，可获取行号与表格标题 false-约束违反信息对象
+     */
+    public boolean isCellViolation(int index) {
+        checkIndex(index);
+        return templateIds[index] != VIOLATION_OBJECT;
+    }
+
+    /**
+     * 获取第 index 条单元格格式错误的可读性行号
+     *
+     * @param index 下标
+     * @return 可读性行号，约束违反信息对象返回0
+     */
+    public int getRowNum(int index) {
+        checkIndex(index);
+        return rowNums[index];
+    }
+
+    /**
+     * 获取第 index 条单元格格式错误的表格标题
+     *
+     * @param index 下标
+     * @return 表格标题，约束违反信息对象返回null
+     */
+    public String getColumnTitle(int index) {
+        checkIndex(index);
+        return templateIds[index] == VIOLATION_OBJECT ? null : columnTitles.get(columnIds[index]);
+    }
+
+    /**
+     * 获取第 index 条约束违反信息的提示消息
+     *
+     * @param index                   下标
+     * @param isReadabilityRowNumJoin 单元格格式错误是否拼接可读性行号，约束违反信息对象返回原提示消息
+     * @return 提示消息
+     */
+    public String getMessage(int index, boolean isReadabilityRowNumJoin) {
+        checkIndex(index);
+        if (templateIds[index] == VIOLATION_OBJECT) {
+            return ((ConstraintViolation<?>) values[index]).getMessage();
+        }
+        return ExcelValidateUtil.constraintViolationMsgBuild(isReadabilityRowNumJoin, rowNums[index],
+                columnTitles.get(columnIds[index]), String.valueOf(values[index]), rightFormats.get(templateIds[index]));
+    }
+
+    /**
+     * 约束错误对象列表视图，按下标按需创建{@link ConstraintError}，不复制缓冲区
+     *
+     * @return 不可修改的约束错误对象列表
+     */
+    public List<ConstraintError> asConstraintErrors() {
+        return new ConstraintErrorView(this);
+    }
+
+    @Override
+    public Iterator<ConstraintViolation<?>> iterator() {
+        return new Iterator<ConstraintViolation<?>>() {
+
+            private int cursor;
+            private int last = -1;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < size;
+            }
+
+            @Override
+            public ConstraintViolation<?> next() {
+                if (cursor >= size) {
+                    throw new NoSuchElementException();
+                }
+                last = cursor++;
+                return getViolation(last);
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0) {
+                    throw new IllegalStateException();
+                }
+                removeAt(last);
+                cursor = last;
+                last = -1;
+            }
+        };
+    }
+
+    private void append(int rowNum, int columnId, int templateId, Object value) {
+        if (size == rowNums.length) {
+            int capacity = size * 2;
+            rowNums = Arrays.copyOf(rowNums, capacity);
+            columnIds = Arrays.copyOf(columnIds, capacity);
+            templateIds = Arrays.copyOf(templateIds, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        rowNums[size] = rowNum;
+        columnIds[size] = columnId;
+        templateIds[size] = templateId;
+        values[size] = value;
+        size++;
+    }
+
+    private void removeAt(int index) {
+        if (templateIds[index] == VIOLATION_OBJECT) {
+            violationObjects.remove(values[index]);
+        }
+        int moved = size - index - 1;
+        System.arraycopy(rowNums, index + 1, rowNums, index, moved);
+        System.arraycopy(columnIds, index + 1, columnIds, index, moved);
+        System.arraycopy(templateIds, index + 1, templateIds, index, moved);
+        System.arraycopy(values, index + 1, values, index, moved);
+        values[--size] = null;
+    }
+
+    private String argNameOf(int index) {
+        return columnArgNames.get(columnIds[index]);
+    }
+
+    private String messageOf(int index, String dataStr) {
+        return ExcelValidateUtil.constraintViolationMsgBuild(true, rowNums[index],
+                columnTitles.get(columnIds[index]), dataStr, rightFormats.get(templateIds[index]));
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * 约束错误对象列表视图
+     */
+    private static class ConstraintErrorView extends AbstractList<ConstraintError> implements RandomAccess, Serializable {
+
+        private final ExcelViolationBuffer buffer;
+
+        ConstraintErrorView(ExcelViolationBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public ConstraintError get(int index) {
+            return buffer.getConstraintError(index);
+        }
+
+        @Override
+        public int size() {
+            return buffer.size();
+        }
+
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.hippocp.easy.code.util.domain;
+
+/**
+ * 按文件头识别的文件内容类型枚举类
+ */
+public enum FileContentTypeEnum {
+
+    /**
+     * Excel2007以上版本，zip压缩包，且包含 [Content_Types].xml 条目
+     */
+    XLSX(".xlsx", "Excel2007以上版本（Office Open XML）"),
+
+    /**
+     * Excel2007以下版本，OLE2复合文档
+     */
+    XLS(".xls", "Excel2007以下版本（OLE2复合文档）"),
+
+    /**
+     * 其它zip压缩包
+     */
+    ZIP(".zip", "zip压缩包"),
+
+    /**
+     * 无法识别
+     */
+    UNKNOWN(null, "无法识别");
+
+    /**
+     * 该类型文件的扩展名
+     */
+    private final String suffix;
+
+    /**
+     * 描述
+     */
+    private final String description;
+
+    FileContentTypeEnum(String suffix, String description) {
+        this.suffix = suffix;
+        this.description = description;
+    }
+
+    /**
+     * 根据扩展名获取可以按文件头识别的文件内容类型
+     *
+     * @param suffix 文件扩展名，例如 .xlsx
+     * @return 文件内容类型，该扩展名无法按文件头识别时返回null
+     */
+    public static FileContentTypeEnum ofSuffix(String suffix) {
+        for (FileContentTypeEnum type : values()) {
+            if (type.suffix != null && type.suffix.equalsIgnoreCase(suffix)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("FileContentTypeEnum{");
+        sb.append("suffix='").append(suffix).append('\'');
+        sb.append(", description='").append(description).append('\'');
+        sb.append('}');
+        return sb.toString();
+    }
+
+    public String getSuffix() {
+        return suffix;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
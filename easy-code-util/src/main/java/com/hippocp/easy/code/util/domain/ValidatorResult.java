@@ -3,13 +3,16 @@ package com.hippocp.easy.code.util.domain;
 import cn.hutool.core.collection.CollUtil;
 import com.hippocp.easy.code.domain.validate.ConstraintError;
 import com.hippocp.easy.code.util.parse.ConstraintErrorParseUtil;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 import javax.validation.ConstraintViolation;
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 
 /**
  * 校验器校验结果类<br>
@@ -18,7 +21,8 @@ import java.util.Set;
  * data 校验解析出的数据 例如：校验Excel表格后解析出数据<br>
  * violationSet T 约束违反信息<br>
  * readViolationSet ? 约束违反信息<br>
- * constraintError 约束错误对象使用 violationSet 与 readViolationSet 中数据创建<br>
+ * constraintError 约束错误对象使用 violationSet 与 readViolationSet 中数据创建，提示消息在读取时才拼接<br>
+ * constraintErrorCount 约束错误总数<br>
  *
  * @author ZhouYifan
  * @date 2022/1/7
@@ -55,21 +59,85 @@ public class ValidatorResult<T> implements Serializable {
     private List<ConstraintError> constraintError;
 
     /**
-     * 生成属性 constraintError，校验器会主动调用该方法，无需手动调用
+     * 约束错误总数，constraintError 被截断时大于其长度<br>
+     *
+     * @see ValidatorResult#limitConstraintError(int)
+     */
+    private int constraintErrorCount;
+
+    /**
+     * JavaBean约束违反信息 -》可读性行号，按对象标识查找，用于生成错误报告<br>
+     * 不作为属性公开，也不参与序列化
+     *
+     * @see ValidatorResult#rowNumOf(ConstraintViolation)
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient Map<ConstraintViolation<?>, Integer> violationRowNumMap;
+
+    /**
+     * 生成属性 constraintError，校验器会主动调用该方法，无需手动调用<br>
+     * 读取过程中的约束违反信息为{@link ExcelViolationBuffer}时，生成的列表按下标按需创建约束错误对象，不复制缓冲区；
+     * 列表仍可修改，首次修改时才复制为{@link ArrayList}
      */
     public void generateConstraintError() {
         List<ConstraintError> errors = ConstraintErrorParseUtil.getConstraintErrorForType(this.violationSet);
         List<ConstraintError> readErrors = ConstraintErrorParseUtil.getConstraintError(this.readViolationSet);
-        List<ConstraintError> list = new ArrayList<>();
         boolean isNotEmptyErrors = CollUtil.isNotEmpty(errors);
-        if (isNotEmptyErrors) {
-            list.addAll(errors);
-        }
         boolean isNotEmptyReadErrors = CollUtil.isNotEmpty(readErrors);
-        if (isNotEmptyReadErrors) {
-            list.addAll(readErrors);
+        if (isNotEmptyErrors && isNotEmptyReadErrors) {
+            this.constraintError = new LazyCopyList<>(new ConcatList<>(errors, readErrors));
+        } else if (isNotEmptyErrors) {
+            this.constraintError = new LazyCopyList<>(errors);
+        } else if (isNotEmptyReadErrors) {
+            this.constraintError = new LazyCopyList<>(readErrors);
+        } else {
+            this.constraintError = new ArrayList<>();
+        }
+        this.constraintErrorCount = this.constraintError.size();
+    }
+
+    /**
+     * 截断属性 constraintError，只保留前 maxCount 个约束错误对象<br>
+     * 截断后的列表为原列表的视图，超出的约束错误对象不会创建，也不会拼接提示消息；约束违反信息不受影响<br>
+     * 截断后的列表仍可修改，首次修改时才复制为{@link ArrayList}，不影响原列表
+     *
+     * @param maxCount 最多保留的数量，小于等于0时不截断
+     */
+    public void limitConstraintError(int maxCount) {
+        if (maxCount > 0 && this.constraintError != null && this.constraintError.size() > maxCount) {
+            this.constraintError = new LazyCopyList<>(new HeadList<>(this.constraintError, maxCount));
+        }
+    }
+
+    /**
+     * 记录约束违反信息所在的可读性行号，校验器会主动调用该方法
+     *
+     * @param violation         约束违反信息
+     * @param readabilityRowNum 可读性行号
+     */
+    public void putViolationRowNum(ConstraintViolation<?> violation, int readabilityRowNum) {
+        if (this.violationRowNumMap == null) {
+            this.violationRowNumMap = new IdentityHashMap<>();
+        }
+        this.violationRowNumMap.put(violation, readabilityRowNum);
+    }
+
+    /**
+     * 获取约束违反信息所在的可读性行号<br>
+     * 读取过程中的单元格格式错误请使用{@link ExcelViolationBuffer#getRowNum(int)}
+     *
+     * @param violation 约束违反信息
+     * @return 可读性行号，未记录时返回0，例如自定义校验器返回的约束违反信息
+     */
+    public int rowNumOf(ConstraintViolation<?> violation) {
+        if (this.violationRowNumMap == null) {
+            return 0;
         }
-        this.constraintError = list;
+        Integer rowNum = this.violationRowNumMap.get(violation);
+        return rowNum == null ? 0 : rowNum;
     }
 
     public ValidatorResult(Boolean isValid) {
@@ -92,4 +160,107 @@ public class ValidatorResult<T> implements Serializable {
     private ValidatorResult() {
     }
 
+    /**
+     * 只读视图的可修改包装，读取时直接读取视图，首次修改时复制为{@link ArrayList}，之后的读写都在副本上进行
+     */
+    private static class LazyCopyList<E> extends AbstractList<E> implements RandomAccess, Serializable {
+
+        private final List<E> view;
+        private ArrayList<E> copy;
+
+        LazyCopyList(List<E> view) {
+            this.view = view;
+        }
+
+        @Override
+        public E get(int index) {
+            return copy == null ? view.get(index) : copy.get(index);
+        }
+
+        @Override
+        public int size() {
+            return copy == null ? view.size() : copy.size();
+        }
+
+        @Override
+        public E set(int index, E element) {
+            return copy().set(index, element);
+        }
+
+        @Override
+        public void add(int index, E element) {
+            copy().add(index, element);
+            modCount++;
+        }
+
+        @Override
+        public E remove(int index) {
+            E removed = copy().remove(index);
+            modCount++;
+            return removed;
+        }
+
+        private ArrayList<E> copy() {
+            if (copy == null) {
+                copy = new ArrayList<>(view);
+            }
+            return copy;
+        }
+
+    }
+
+    /**
+     * 两个列表首尾相接的只读视图
+     */
+    private static class ConcatList<E> extends AbstractList<E> implements RandomAccess, Serializable {
+
+        private final List<E> head;
+        private final List<E> tail;
+
+        ConcatList(List<E> head, List<E> tail) {
+            this.head = head;
+            this.tail = tail;
+        }
+
+        @Override
+        public E get(int index) {
+            int headSize = head.size();
+            return index < headSize ? head.get(index) : tail.get(index - headSize);
+        }
+
+        @Override
+        public int size() {
+            return head.size() + tail.size();
+        }
+
+    }
+
+    /**
+     * 列表前若干个元素的只读视图
+     */
+    private static class HeadList<E> extends AbstractList<E> implements RandomAccess, Serializable {
+
+        private final List<E> list;
+        private final int size;
+
+        HeadList(List<E> list, int size) {
+            this.list = list;
+            this.size = size;
+        }
+
+        @Override
+        public E get(int index) {
+            if (index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return list.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+    }
+
 }
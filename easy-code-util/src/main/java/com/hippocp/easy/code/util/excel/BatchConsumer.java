@@ -0,0 +1,26 @@
+package com.hippocp.easy.code.util.excel;
+
+import com.hippocp.easy.code.util.domain.ExcelRowData;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Excel表格批量数据消费回调接口<br>
+ * 通过校验的数据每凑满一批，校验器将立即调用该接口中的方法，适用于边读取边批量写入数据库<br>
+ * 参考方法如下：<br>
+ * {@link ExcelValidateUtil#cellValid(MultipartFile, Map, Class, ExcelValidateOptions, int, BatchConsumer)}
+ */
+@FunctionalInterface
+public interface BatchConsumer<T> {
+
+    /**
+     * 消费一批通过校验的数据
+     *
+     * @param batch 一批数据，按Excel表格行号顺序排列，最后一批的数量可能小于批大小<br>
+     *              注意：方法返回后校验器不再持有该列表，可以放心保存
+     */
+    void accept(List<ExcelRowData<T>> batch);
+
+}
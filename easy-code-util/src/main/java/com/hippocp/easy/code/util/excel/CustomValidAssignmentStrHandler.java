@@ -1,6 +1,7 @@
 package com.hippocp.easy.code.util.excel;
 
 import com.hippocp.easy.code.util.domain.CustomValidatorResult;
+import com.hippocp.easy.code.util.excel.plan.ExcelColumnPlan;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.Map;
@@ -37,4 +38,23 @@ public interface CustomValidAssignmentStrHandler {
             Map<String, Object> tempStorageMap
     );
 
+    /**
+     * 单元格值校验与重新赋值，校验器逐行导入时调用该方法<br>
+     * 默认将单元格值转为字符串后调用{@link #validAssignmentStr(Class, String, String, String, int, Map)}；
+     * 实现类可以重写该方法，直接校验 POI 读取到的数字、日期等单元格值，避免转为字符串再解析
+     *
+     * @param column            列导入计划，包含属性类型与表格标题
+     * @param cellValue         单元格值，空单元格为null
+     * @param readabilityRowNum 可读性行号
+     * @param tempStorageMap    临时存储Map，JavaBean属性名称-key，自定义的新值-value
+     * @return {@link CustomValidatorResult}
+     */
+    default CustomValidatorResult<?> validAssignment(ExcelColumnPlan column,
+                                                     Object cellValue,
+                                                     int readabilityRowNum,
+                                                     Map<String, Object> tempStorageMap) {
+        return validAssignmentStr(column.getFieldType(), column.getFieldName(), String.valueOf(cellValue),
+                column.getTitle(), readabilityRowNum, tempStorageMap);
+    }
+
 }
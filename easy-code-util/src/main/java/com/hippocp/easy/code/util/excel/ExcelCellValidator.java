@@ -0,0 +1,27 @@
+package com.hippocp.easy.code.util.excel;
+
+import com.hippocp.easy.code.util.domain.ExcelViolationBuffer;
+import com.hippocp.easy.code.util.excel.plan.ExcelColumnPlan;
+
+import java.util.Map;
+
+/**
+ * 单元格校验回调接口<br>
+ * 自定义校验与赋值处理器同时实现该接口时，校验器逐行导入将调用该方法，
+ * 校验不通过的单元格直接追加到{@link ExcelViolationBuffer}，不再为每个单元格创建约束违反信息对象<br>
+ * 参考实现：{@link com.hippocp.easy.code.util.excel.handler.ValidAssignmentStrDefaultHandler}
+ */
+@FunctionalInterface
+public interface ExcelCellValidator {
+
+    /**
+     * 校验单元格值，需要重新赋值时放入临时存储Map
+     *
+     * @param column         列导入计划，包含属性类型与表格标题
+     * @param cellValue      单元格值，空单元格为null
+     * @param tempStorageMap 临时存储Map，JavaBean属性名称-key，自定义的新值-value
+     * @return 校验不通过时返回正确格式提示消息，例如{@link ExcelValidateUtil#INTEGER_RIGHT_FORMAT}；校验通过返回null
+     */
+    String validCell(ExcelColumnPlan column, Object cellValue, Map<String, Object> tempStorageMap);
+
+}
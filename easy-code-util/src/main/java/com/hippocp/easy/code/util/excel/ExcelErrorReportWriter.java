@@ -0,0 +1,354 @@
+package com.hippocp.easy.code.util.excel;
+
+import cn.hutool.core.util.StrUtil;
+import com.hippocp.easy.code.domain.validate.ConstraintError;
+import com.hippocp.easy.code.util.domain.ExcelViolationBuffer;
+import com.hippocp.easy.code.util.domain.ValidatorResult;
+import com.hippocp.easy.code.util.excel.sax.ExcelRowHandler;
+import com.hippocp.easy.code.util.parse.ConstraintErrorParseUtil;
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import javax.validation.ConstraintViolation;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.*;
+
+/**
+ * Excel表格错误报告写入器，将上传的表格逐行写回，标出格式有误的单元格，并在最后追加一列错误信息<br>
+ * 配合{@link com.hippocp.easy.code.util.excel.sax.XlsxStreamReader}逐行读取原表格，通过 POI SXSSF 写入，
+ * 内存中只保留固定行数的窗口，其余行写入临时文件，最终直接写入输出流，内存占用不随表格行数增长<br>
+ * 注意：<br>
+ * 1.只写回单元格的值，不保留原表格的样式、合并单元格与公式（公式写入其计算结果）<br>
+ * 2.无法定位行号的约束违反信息（例如自定义校验器返回的约束违反信息）写入单独的工作表<br>
+ * 3.使用完毕请调用{@link #close()}删除临时文件<br>
+ * 参考方法：{@link ExcelValidateUtil#writeErrorReport(org.springframework.web.multipart.MultipartFile, Map, ValidatorResult, ExcelValidateOptions, OutputStream)}
+ */
+public class ExcelErrorReportWriter implements ExcelRowHandler, Closeable {
+
+    /**
+     * 默认内存中保留的行数
+     */
+    public static final int DEFAULT_ROW_ACCESS_WINDOW_SIZE = 100;
+
+    /**
+     * 错误信息列标题
+     */
+    public static final String ERROR_COLUMN_TITLE = "错误信息";
+
+    /**
+     * 无法定位行号的错误信息所在的工作表名称
+     */
+    public static final String UNLOCATED_SHEET_NAME = "其它错误信息";
+
+    /**
+     * 同一行多条错误信息的分隔符
+     */
+    private static final String MESSAGE_SEPARATOR = "；";
+
+    private final SXSSFWorkbook workbook;
+
+    private final Sheet sheet;
+
+    /**
+     * 标题所在行
+     */
+    private final int headerRowIndex;
+
+    /**
+     * 可读性行号 -》该行的错误，按行号排序，写入后移除
+     */
+    private final TreeMap<Integer, RowErrors> rowErrorsMap = new TreeMap<>();
+
+    /**
+     * 无法定位行号的错误信息
+     */
+    private final List<String> unlocatedMessages = new ArrayList<>();
+
+    /**
+     * JavaBean属性名称 -》表格标题
+     */
+    private final Map<String, String> fieldToColumnMap;
+
+    /**
+     * 表格标题 -》列索引，读取到标题行后赋值
+     */
+    private final Map<String, Integer> titleIndexMap = new HashMap<>(16);
+
+    /**
+     * 错误信息列索引，读取到标题行后赋值
+     */
+    private int errorColumnIndex = -1;
+
+    private final CellStyle dateStyle;
+
+    private final CellStyle errorStyle;
+
+    private final CellStyle errorDateStyle;
+
+    /**
+     * 创建错误报告写入器
+     *
+     * @param result                  校验器校验结果
+     * @param columnToFieldMap        表格列映射map，与校验时相同
+     * @param headerRowIndex          标题所在行，须位于数据起始行之前
+     * @param rowAccessWindowSize     内存中保留的行数，小于等于0时使用{@link #DEFAULT_ROW_ACCESS_WINDOW_SIZE}
+     * @param isReadabilityRowNumJoin 错误信息是否拼接可读性行号
+     */
+    public ExcelErrorReportWriter(ValidatorResult<?> result,
+                                  Map<String, String> columnToFieldMap,
+                                  int headerRowIndex,
+                                  int rowAccessWindowSize,
+                                  boolean isReadabilityRowNumJoin) {
+        this.headerRowIndex = headerRowIndex;
+        this.fieldToColumnMap = new HashMap<>(columnToFieldMap.size() * 2);
+        for (Map.Entry<String, String> entry : columnToFieldMap.entrySet()) {
+            fieldToColumnMap.put(entry.getValue(), entry.getKey());
+        }
+        collectReadViolations(result.getReadViolationSet(), isReadabilityRowNumJoin);
+        collectViolations(result);
+
+        this.workbook = new SXSSFWorkbook(rowAccessWindowSize > 0 ? rowAccessWindowSize : DEFAULT_ROW_ACCESS_WINDOW_SIZE);
+        // 临时文件压缩存储，减少磁盘占用
+        workbook.setCompressTempFiles(true);
+        this.sheet = workbook.createSheet();
+
+        short dateFormat = workbook.createDataFormat().getFormat("yyyy-mm-dd hh:mm:ss");
+        this.dateStyle = workbook.createCellStyle();
+        dateStyle.setDataFormat(dateFormat);
+        this.errorStyle = workbook.createCellStyle();
+        errorStyle.setFillForegroundColor(IndexedColors.ROSE.getIndex());
+        errorStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+        this.errorDateStyle = workbook.createCellStyle();
+        errorDateStyle.cloneStyleFrom(errorStyle);
+        errorDateStyle.setDataFormat(dateFormat);
+    }
+
+    /**
+     * 工作表名称与原表格保持一致，须在写入第一行之前调用
+     *
+     * @param sheetName 工作表名称
+     */
+    public void setSheetName(String sheetName) {
+        workbook.setSheetName(workbook.getSheetIndex(sheet), sheetName);
+    }
+
+    @Override
+    public boolean handle(int rowIndex, List<Object> rowCells) {
+        if (rowIndex == headerRowIndex) {
+            writeHeaderRow(sheet.createRow(rowIndex), rowCells);
+            return true;
+        }
+        // 标题行之前的行原样写回
+        if (rowIndex < headerRowIndex) {
+            writeRow(rowIndex, rowCells, null);
+            return true;
+        }
+        writeMissingRows(rowIndex);
+        writeRow(rowIndex, rowCells, rowErrorsMap.remove(rowIndex + 1));
+        return true;
+    }
+
+    /**
+     * 写入剩余的错误信息并输出工作簿
+     *
+     * @param out 输出流，不会关闭
+     * @throws IOException 无法写入
+     */
+    public void write(OutputStream out) throws IOException {
+        writeMissingRows(Integer.MAX_VALUE);
+        if (!unlocatedMessages.isEmpty()) {
+            Sheet unlocatedSheet = workbook.createSheet(UNLOCATED_SHEET_NAME);
+            unlocatedSheet.createRow(0).createCell(0).setCellValue(ERROR_COLUMN_TITLE);
+            for (int i = 0; i < unlocatedMessages.size(); i++) {
+                unlocatedSheet.createRow(i + 1).createCell(0).setCellValue(unlocatedMessages.get(i));
+            }
+        }
+        workbook.write(out);
+        out.flush();
+    }
+
+    /**
+     * 删除 SXSSF 写入的临时文件
+     */
+    @Override
+    public void close() throws IOException {
+        workbook.dispose();
+        workbook.close();
+    }
+
+    /**
+     * 写入原表格中不存在的行上的错误，例如读取时被跳过的空行，SXSSF 要求按行号顺序写入
+     *
+     * @param rowIndex 即将写入的行号索引，写入该行之前的错误行
+     */
+    private void writeMissingRows(int rowIndex) {
+        while (!rowErrorsMap.isEmpty() && rowErrorsMap.firstKey() - 1 < rowIndex) {
+            Map.Entry<Integer, RowErrors> entry = rowErrorsMap.pollFirstEntry();
+            writeRow(entry.getKey() - 1, Collections.emptyList(), entry.getValue());
+        }
+    }
+
+    /**
+     * 写入一行数据，标出有错误的单元格并写入错误信息
+     *
+     * @param rowIndex  行号索引
+     * @param rowCells  行单元格数据
+     * @param rowErrors 该行的错误，没有错误时为null
+     */
+    private void writeRow(int rowIndex, List<Object> rowCells, RowErrors rowErrors) {
+        Row row = sheet.createRow(rowIndex);
+        for (int i = 0; i < rowCells.size(); i++) {
+            Object value = rowCells.get(i);
+            if (value == null) {
+                continue;
+            }
+            boolean isError = rowErrors != null && rowErrors.columnIndexes.contains(i);
+            writeCell(row.createCell(columnIndexOf(i)), value, isError);
+        }
+        if (rowErrors != null) {
+            // 单元格为空的错误列同样标出
+            for (Integer columnIndex : rowErrors.columnIndexes) {
+                if (columnIndex >= rowCells.size() || rowCells.get(columnIndex) == null) {
+                    row.createCell(columnIndexOf(columnIndex)).setCellStyle(errorStyle);
+                }
+            }
+            // 未读取到标题行时，错误信息写在数据之后
+            if (errorColumnIndex < 0) {
+                errorColumnIndex = rowCells.size();
+            }
+            row.createCell(errorColumnIndex).setCellValue(rowErrors.messages.toString());
+        }
+    }
+
+    /**
+     * 写入标题行，记录各标题所在列，追加错误信息列标题
+     *
+     * @param row      行
+     * @param rowCells 行单元格数据
+     */
+    private void writeHeaderRow(Row row, List<Object> rowCells) {
+        for (int i = 0; i < rowCells.size(); i++) {
+            Object value = rowCells.get(i);
+            if (value != null) {
+                titleIndexMap.putIfAbsent(StrUtil.toString(value), i);
+                writeCell(row.createCell(i), value, false);
+            }
+        }
+        errorColumnIndex = rowCells.size();
+        row.createCell(errorColumnIndex).setCellValue(ERROR_COLUMN_TITLE);
+        // 读取到标题行后才能确定列索引
+        for (RowErrors rowErrors : rowErrorsMap.values()) {
+            for (String title : rowErrors.titles) {
+                Integer columnIndex = titleIndexMap.get(title);
+                if (columnIndex != null) {
+                    rowErrors.columnIndexes.add(columnIndex);
+                }
+            }
+        }
+    }
+
+    /**
+     * 原表格的列索引在错误信息列及之后时后移一列，避免覆盖错误信息
+     *
+     * @param columnIndex 原表格的列索引
+     * @return 写入的列索引
+     */
+    private int columnIndexOf(int columnIndex) {
+        return errorColumnIndex >= 0 && columnIndex >= errorColumnIndex ? columnIndex + 1 : columnIndex;
+    }
+
+    private void writeCell(Cell cell, Object value, boolean isError) {
+        ExcelExportUtil.setCellValue(cell, value, isError ? errorDateStyle : dateStyle);
+        // 日期单元格已设置带日期格式的错误样式
+        if (isError && cell.getCellStyle() != errorDateStyle) {
+            cell.setCellStyle(errorStyle);
+        }
+    }
+
+    /**
+     * 收集读取过程中的约束违反信息，单元格格式错误可直接定位行与列
+     *
+     * @param readViolationSet        读取过程中的约束违反信息
+     * @param isReadabilityRowNumJoin 错误信息是否拼接可读性行号
+     */
+    private void collectReadViolations(Set<ConstraintViolation<?>> readViolationSet, boolean isReadabilityRowNumJoin) {
+        if (readViolationSet == null) {
+            return;
+        }
+        if (readViolationSet instanceof ExcelViolationBuffer) {
+            ExcelViolationBuffer buffer = (ExcelViolationBuffer) readViolationSet;
+            for (int i = 0; i < buffer.size(); i++) {
+                if (buffer.isCellViolation(i)) {
+                    addError(buffer.getRowNum(i), buffer.getColumnTitle(i), buffer.getMessage(i, isReadabilityRowNumJoin));
+                } else {
+                    unlocatedMessages.add(buffer.getMessage(i, isReadabilityRowNumJoin));
+                }
+            }
+            return;
+        }
+        for (ConstraintViolation<?> violation : readViolationSet) {
+            unlocatedMessages.add(violation.getMessage());
+        }
+    }
+
+    /**
+     * 收集JavaBean约束违反信息，按校验时记录的行号定位行，按属性名称定位列
+     *
+     * @param result 校验器校验结果
+     */
+    private void collectViolations(ValidatorResult<?> result) {
+        Set<? extends ConstraintViolation<?>> violationSet = result.getViolationSet();
+        if (violationSet == null) {
+            return;
+        }
+        for (ConstraintViolation<?> violation : violationSet) {
+            int rowNum = result.rowNumOf(violation);
+            if (rowNum <= 0) {
+                unlocatedMessages.add(violation.getMessage());
+                continue;
+            }
+            ConstraintError constraintError = ConstraintErrorParseUtil.getConstraintError(violation);
+            addError(rowNum, fieldToColumnMap.get(constraintError.getArgsName()), constraintError.getMessage());
+        }
+    }
+
+    private void addError(int rowNum, String title, String message) {
+        if (rowNum <= headerRowIndex + 1) {
+            unlocatedMessages.add(message);
+            return;
+        }
+        RowErrors rowErrors = rowErrorsMap.computeIfAbsent(rowNum, key -> new RowErrors());
+        if (title != null) {
+            rowErrors.titles.add(title);
+        }
+        if (rowErrors.messages.length() > 0) {
+            rowErrors.messages.append(MESSAGE_SEPARATOR);
+        }
+        rowErrors.messages.append(message);
+    }
+
+    /**
+     * 一行的错误
+     */
+    private static class RowErrors {
+
+        /**
+         * 有错误的表格标题
+         */
+        private final Set<String> titles = new LinkedHashSet<>(4);
+
+        /**
+         * 有错误的列索引，读取到标题行后赋值
+         */
+        private final Set<Integer> columnIndexes = new HashSet<>(4);
+
+        /**
+         * 错误信息
+         */
+        private final StringBuilder messages = new StringBuilder();
+
+    }
+
+}
@@ -0,0 +1,270 @@
+package com.hippocp.easy.code.util.excel;
+
+import com.hippocp.easy.code.util.excel.plan.ExcelColumnPlan;
+import com.hippocp.easy.code.util.excel.plan.ExcelImportPlan;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Excel表格导出工具类，与{@link ExcelValidateUtil#cellValid}相对应<br>
+ * 使用与导入相同的表格列映射map，逐行从{@link Iterator}或{@link Stream}取出数据，通过 POI SXSSF 写入，
+ * 内存中只保留固定行数的窗口，其余行写入压缩的临时文件，最终直接写入输出流，内存占用不随导出行数增长<br>
+ * 属性值通过缓存的取值句柄读取（见{@link ExcelImportPlan}），逐行导出时不再进行反射查找<br>
+ * 超出单个工作表的行数上限（1048576行）时自动新建工作表继续写入
+ */
+public class ExcelExportUtil {
+
+    /**
+     * 日志
+     */
+    private static final Logger log = LoggerFactory.getLogger(ExcelExportUtil.class);
+
+    /**
+     * 默认内存中保留的行数
+     */
+    public static final int DEFAULT_ROW_ACCESS_WINDOW_SIZE = 100;
+
+    /**
+     * 默认工作表名称
+     */
+    public static final String DEFAULT_SHEET_NAME = "Sheet1";
+
+    /**
+     * 日期单元格格式
+     */
+    private static final String DATE_FORMAT = "yyyy-mm-dd hh:mm:ss";
+
+    /**
+     * double 能精确表示的最大整数 2^53
+     */
+    private static final long MAX_EXACT_LONG = 1L << 53;
+
+    /**
+     * Excel 数字单元格最多显示的有效数字位数
+     */
+    private static final int MAX_EXACT_PRECISION = 15;
+
+    /**
+     * 导出数据，第一行为标题行，列顺序与表格列映射map的遍历顺序相同
+     *
+     * @param rows             数据，逐行取出，导出结束或失败后关闭
+     * @param beanType         JavaBean类型，也可以是{@link Map}，此时按JavaBean属性名称作为key取值
+     * @param columnToFieldMap 表格列映射map，表格列标题-key，JavaBean属性名称-value，与导入时相同
+     * @param out              输出流，不会关闭
+     * @param <T>              JavaBean
+     * @return 导出的数据行数
+     * @throws IOException 无法写入输出流
+     */
+    public static <T> long export(Stream<? extends T> rows,
+                                  Class<T> beanType,
+                                  Map<String, String> columnToFieldMap,
+                                  OutputStream out) throws IOException {
+        try (Stream<? extends T> stream = rows) {
+            return export(stream.iterator(), beanType, columnToFieldMap, out);
+        }
+    }
+
+    /**
+     * 导出数据，第一行为标题行，列顺序与表格列映射map的遍历顺序相同
+     *
+     * @param rows             数据，逐行取出
+     * @param beanType         JavaBean类型，也可以是{@link Map}，此时按JavaBean属性名称作为key取值
+     * @param columnToFieldMap 表格列映射map，表格列标题-key，JavaBean属性名称-value，与导入时相同
+     * @param out              输出流，不会关闭
+     * @param <T>              JavaBean
+     * @return 导出的数据行数
+     * @throws IOException 无法写入输出流
+     */
+    public static <T> long export(Iterator<? extends T> rows,
+                                  Class<T> beanType,
+                                  Map<String, String> columnToFieldMap,
+                                  OutputStream out) throws IOException {
+        return export(rows, beanType, columnToFieldMap, DEFAULT_SHEET_NAME, DEFAULT_ROW_ACCESS_WINDOW_SIZE, 0, out);
+    }
+
+    /**
+     * 导出数据，第一行为标题行，列顺序与表格列映射map的遍历顺序相同
+     *
+     * @param rows                数据，逐行取出
+     * @param beanType            JavaBean类型，也可以是{@link Map}，此时按JavaBean属性名称作为key取值
+     * @param columnToFieldMap    表格列映射map，表格列标题-key，JavaBean属性名称-value，与导入时相同
+     * @param sheetName           工作表名称，写满后新建的工作表依次命名为 sheetName(2)、sheetName(3)……
+     * @param rowAccessWindowSize 内存中保留的行数，小于等于0时使用{@link #DEFAULT_ROW_ACCESS_WINDOW_SIZE}
+     * @param maxRowsPerSheet     每个工作表最多写入的数据行数（不含标题行），小于等于0或超出上限时使用工作表的行数上限
+     * @param out                 输出流，不会关闭
+     * @param <T>                 JavaBean
+     * @return 导出的数据行数
+     * @throws IOException 无法写入输出流
+     */
+    public static <T> long export(Iterator<? extends T> rows,
+                                  Class<T> beanType,
+                                  Map<String, String> columnToFieldMap,
+                                  String sheetName,
+                                  int rowAccessWindowSize,
+                                  int maxRowsPerSheet,
+                                  OutputStream out) throws IOException {
+        // 标题与取值方式，按映射map的遍历顺序
+        List<String> titles = new ArrayList<>(columnToFieldMap.keySet());
+        List<String> fieldNames = new ArrayList<>(columnToFieldMap.values());
+        boolean isMapType = Map.class.isAssignableFrom(beanType);
+        ExcelColumnPlan[] columnPlans = new ExcelColumnPlan[fieldNames.size()];
+        if (!isMapType) {
+            ExcelImportPlan<T> plan = ExcelImportPlan.of(beanType, columnToFieldMap);
+            for (int i = 0; i < columnPlans.length; i++) {
+                // 属性不存在时，构建导入计划时已记录日志，该列导出为空
+                columnPlans[i] = plan.getColumn(fieldNames.get(i));
+            }
+        }
+
+        int sheetRowLimit = SpreadsheetVersion.EXCEL2007.getLastRowIndex();
+        int rowsPerSheet = maxRowsPerSheet > 0 && maxRowsPerSheet < sheetRowLimit ? maxRowsPerSheet : sheetRowLimit;
+        SXSSFWorkbook workbook = new SXSSFWorkbook(
+                rowAccessWindowSize > 0 ? rowAccessWindowSize : DEFAULT_ROW_ACCESS_WINDOW_SIZE);
+        try {
+            // 临时文件压缩存储，减少磁盘占用
+            workbook.setCompressTempFiles(true);
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.createDataFormat().getFormat(DATE_FORMAT));
+
+            long count = 0;
+            int sheetCount = 1;
+            Sheet sheet = createSheet(workbook, sheetName, titles);
+            int rowIndex = 1;
+            while (rows.hasNext()) {
+                if (rowIndex > rowsPerSheet) {
+                    sheet = createSheet(workbook, sheetName + "(" + ++sheetCount + ")", titles);
+                    rowIndex = 1;
+                }
+                T bean = rows.next();
+                Row row = sheet.createRow(rowIndex++);
+                count++;
+                if (bean == null) {
+                    continue;
+                }
+                for (int i = 0; i < columnPlans.length; i++) {
+                    Object value;
+                    if (isMapType) {
+                        value = ((Map<?, ?>) bean).get(fieldNames.get(i));
+                    } else {
+                        value = columnPlans[i] == null ? null : columnPlans[i].get(bean);
+                    }
+                    if (value != null) {
+                        setCellValue(row.createCell(i), value, dateStyle);
+                    }
+                }
+            }
+            workbook.write(out);
+            out.flush();
+            if (log.isInfoEnabled()) {
+                log.info("Excel表格导出完成，共导出{}行数据，{}个工作表", count, sheetCount);
+            }
+            return count;
+        } finally {
+            // 删除 SXSSF 写入的临时文件
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    /**
+     * 按值的类型写入单元格，数字、日期、布尔写入对应类型的单元格，其它值写入字符串<br>
+     * 无法用 double 精确表示的数字写入字符串，避免丢失精度：绝对值超过 2^53 的整数、有效数字超过15位的{@link BigDecimal}
+     *
+     * @param cell      单元格
+     * @param value     值，不能为null
+     * @param dateStyle 日期单元格样式，为null时不设置样式
+     */
+    static void setCellValue(Cell cell, Object value, CellStyle dateStyle) {
+        if (value instanceof Number) {
+            if (isExactDouble((Number) value)) {
+                cell.setCellValue(((Number) value).doubleValue());
+            } else {
+                cell.setCellValue(value.toString());
+            }
+        } else if (value instanceof CharSequence) {
+            cell.setCellValue(value.toString());
+        } else if (value instanceof Date) {
+            cell.setCellValue((Date) value);
+            setStyle(cell, dateStyle);
+        } else if (value instanceof LocalDateTime) {
+            cell.setCellValue((LocalDateTime) value);
+            setStyle(cell, dateStyle);
+        } else if (value instanceof LocalDate) {
+            cell.setCellValue((LocalDate) value);
+            setStyle(cell, dateStyle);
+        } else if (value instanceof Calendar) {
+            cell.setCellValue((Calendar) value);
+            setStyle(cell, dateStyle);
+        } else if (value instanceof Boolean) {
+            cell.setCellValue((Boolean) value);
+        } else {
+            cell.setCellValue(value.toString());
+        }
+    }
+
+    /**
+     * 数字能否用 double 精确表示并在 Excel 中完整显示
+     *
+     * @param value 数字
+     * @return true-是 false-否
+     */
+    private static boolean isExactDouble(Number value) {
+        if (value instanceof Long || value instanceof AtomicLong || value instanceof LongAdder) {
+            long longValue = value.longValue();
+            return longValue >= -MAX_EXACT_LONG && longValue <= MAX_EXACT_LONG;
+        }
+        if (value instanceof BigInteger) {
+            return ((BigInteger) value).bitLength() <= 53;
+        }
+        if (value instanceof BigDecimal) {
+            BigDecimal decimal = (BigDecimal) value;
+            return decimal.signum() == 0 || (decimal.stripTrailingZeros().precision() <= MAX_EXACT_PRECISION
+                    && !Double.isInfinite(decimal.doubleValue()));
+        }
+        return true;
+    }
+
+    private static void setStyle(Cell cell, CellStyle style) {
+        if (style != null) {
+            cell.setCellStyle(style);
+        }
+    }
+
+    /**
+     * 新建工作表并写入标题行
+     *
+     * @param workbook  工作簿
+     * @param sheetName 工作表名称
+     * @param titles    标题
+     * @return 工作表
+     */
+    private static Sheet createSheet(SXSSFWorkbook workbook, String sheetName, List<String> titles) {
+        Sheet sheet = workbook.createSheet(sheetName);
+        Row header = sheet.createRow(0);
+        for (int i = 0; i < titles.size(); i++) {
+            header.createCell(i).setCellValue(titles.get(i));
+        }
+        return sheet;
+    }
+
+    private ExcelExportUtil() {
+    }
+
+}
@@ -0,0 +1,167 @@
+package com.hippocp.easy.code.util.excel;
+
+import cn.hutool.poi.excel.ExcelReader;
+import cn.hutool.poi.excel.ExcelUtil;
+import com.hippocp.easy.code.util.excel.csv.CsvStreamReader;
+import com.hippocp.easy.code.util.excel.sax.ExcelRowHandler;
+import com.hippocp.easy.code.util.excel.sax.XlsxStreamReader;
+import com.hippocp.easy.code.util.file.UploadedFileHandle;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Excel表格标题探测器，只读取到标题行为止，不读取整个工作簿<br>
+ * .xlsx 文件使用{@link XlsxStreamReader}流式解析工作表，.csv 文件使用{@link CsvStreamReader}按默认编码与分隔符流式读取，
+ * 读到标题行后立即停止；其它格式使用 hutool ExcelReader 读取<br>
+ * 在Web请求中，读取到的标题会缓存在当前请求中，同一请求内对同一上传文件的重复探测不会再次打开文件
+ */
+public class ExcelHeaderProbe {
+
+    /**
+     * 请求属性名称，存放当前请求中已读取的表格标题
+     */
+    private static final String CACHE_ATTRIBUTE = ExcelHeaderProbe.class.getName() + ".CACHE";
+
+    /**
+     * 读取第一个工作表指定行的表格标题，在Web请求中优先使用当前请求绑定的{@link ExcelImportSession}或缓存
+     *
+     * @param multipartFile 上传的Excel表格文件
+     * @param titleRowNum   表格标题行号，从0开始，0为Excel表格第一行
+     * @return 标题行单元格数据，不可修改；标题行不存在时返回空列表
+     * @throws IOException 无法读取Excel表格
+     */
+    public static List<Object> readHeader(MultipartFile multipartFile, int titleRowNum) throws IOException {
+        // 当前请求绑定了导入会话时，与会话共用解析结果
+        ExcelImportSession session = ExcelImportSession.current(multipartFile);
+        if (session != null) {
+            return session.getHeader(titleRowNum);
+        }
+        Map<Integer, List<Object>> fileCache = getRequestCache(multipartFile);
+        if (fileCache == null) {
+            return probe(multipartFile, titleRowNum);
+        }
+        List<Object> header = fileCache.get(titleRowNum);
+        if (header == null) {
+            header = probe(multipartFile, titleRowNum);
+            fileCache.put(titleRowNum, header);
+        }
+        return header;
+    }
+
+    /**
+     * 读取第一个工作表指定行的表格标题，不使用缓存
+     *
+     * @param multipartFile 上传的Excel表格文件
+     * @param titleRowNum   表格标题行号，从0开始，0为Excel表格第一行
+     * @return 标题行单元格数据，不可修改；标题行不存在时返回空列表
+     * @throws IOException 无法读取Excel表格
+     */
+    public static List<Object> probe(MultipartFile multipartFile, int titleRowNum) throws IOException {
+        // .csv 文件不是Excel工作簿，hutool ExcelReader 无法读取
+        if (ExcelValidateUtil.isCsv(multipartFile)) {
+            try (CsvStreamReader reader = CsvStreamReader.open(multipartFile, StandardCharsets.UTF_8,
+                    CsvStreamReader.DEFAULT_DELIMITER)) {
+                return probe(reader, titleRowNum);
+            }
+        }
+
+        // 非 .xlsx 文件无法流式读取，使用 hutool ExcelReader
+        if (ExcelValidateUtil.isNotExcelXLSX(multipartFile)) {
+            try (
+                    InputStream fis = UploadedFileHandle.openStream(multipartFile);
+                    ExcelReader reader = ExcelUtil.getReader(fis)
+            ) {
+                return Collections.unmodifiableList(reader.readRow(titleRowNum));
+            }
+        }
+
+        try (XlsxStreamReader reader = XlsxStreamReader.open(multipartFile)) {
+            return probe(reader, titleRowNum);
+        }
+    }
+
+    /**
+     * 使用已打开的流式读取器读取第一个工作表指定行的表格标题，读到标题行后立即停止
+     *
+     * @param reader      流式读取器，不会关闭
+     * @param titleRowNum 表格标题行号，从0开始，0为Excel表格第一行
+     * @return 标题行单元格数据，不可修改；标题行不存在时返回空列表
+     * @throws IOException 无法读取Excel表格
+     */
+    public static List<Object> probe(XlsxStreamReader reader, int titleRowNum) throws IOException {
+        List<Object> header = new ArrayList<>();
+        reader.read(0, titleRowHandler(header, titleRowNum));
+        return Collections.unmodifiableList(header);
+    }
+
+    /**
+     * 使用已打开的 .csv 读取器读取指定行的表格标题，读到标题行后立即停止
+     *
+     * @param reader      .csv 读取器，不会关闭，只能读取一次
+     * @param titleRowNum 表格标题行号，从0开始，0为第一行
+     * @return 标题行单元格数据，不可修改；标题行不存在时返回空列表
+     * @throws IOException 无法读取 .csv 文件
+     */
+    public static List<Object> probe(CsvStreamReader reader, int titleRowNum) throws IOException {
+        List<Object> header = new ArrayList<>();
+        reader.read(titleRowHandler(header, titleRowNum));
+        return Collections.unmodifiableList(header);
+    }
+
+    /**
+     * 创建读取标题行的行处理器，跳过标题行之前的行，读到标题行后停止读取
+     *
+     * @param header      标题行单元格数据，读取到标题行时写入
+     * @param titleRowNum 表格标题行号，从0开始
+     * @return {@link ExcelRowHandler}
+     */
+    private static ExcelRowHandler titleRowHandler(List<Object> header, int titleRowNum) {
+        return new ExcelRowHandler() {
+            @Override
+            public boolean handle(int rowIndex, List<Object> rowCells) {
+                if (rowIndex == titleRowNum) {
+                    header.addAll(rowCells);
+                }
+                // 读到标题行或已越过标题行，停止读取
+                return rowIndex < titleRowNum;
+            }
+
+            @Override
+            public boolean isSkipRow(int rowIndex) {
+                return rowIndex < titleRowNum;
+            }
+        };
+    }
+
+    /**
+     * 获取当前请求中指定上传文件的标题缓存
+     *
+     * @param multipartFile 上传的Excel表格文件
+     * @return 标题行号 -》标题行单元格数据，不在Web请求中时返回null
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<Integer, List<Object>> getRequestCache(MultipartFile multipartFile) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        // 上传文件在请求内不会改变，按对象标识缓存
+        Map<MultipartFile, Map<Integer, List<Object>>> cache = (Map<MultipartFile, Map<Integer, List<Object>>>)
+                attributes.getAttribute(CACHE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cache == null) {
+            cache = new IdentityHashMap<>(4);
+            attributes.setAttribute(CACHE_ATTRIBUTE, cache, RequestAttributes.SCOPE_REQUEST);
+        }
+        return cache.computeIfAbsent(multipartFile, file -> new HashMap<>(4));
+    }
+
+    private ExcelHeaderProbe() {
+    }
+
+}
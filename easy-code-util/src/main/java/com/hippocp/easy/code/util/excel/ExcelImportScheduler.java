@@ -0,0 +1,357 @@
+package com.hippocp.easy.code.util.excel;
+
+import com.hippocp.easy.code.util.excel.exception.ExcelImportRejectedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Excel表格导入调度器，限制同时解析与校验的Excel表格数量及其占用的堆内存<br>
+ * 每次导入按文件大小估算需要的堆内存（文件大小 × 堆内存膨胀系数，不超过堆内存预算），满足以下条件时才开始导入：<br>
+ * 1. 正在导入的数量小于许可数<br>
+ * 2. 正在导入的估算堆内存加上本次估算不超过堆内存预算<br>
+ * 不满足时按先来先到排队，排队已满、排队超时或排队时线程被中断时抛出{@link ExcelImportRejectedException}，
+ * 并发上传大文件时降级为排队或快速拒绝，而不是耗尽堆内存<br>
+ * 同一线程内嵌套获取许可时直接返回空许可，不重复占用，例如{@link ExcelValidateUtil}的公共方法相互调用时<br>
+ * 通过{@link ExcelValidateUtil#setImportScheduler(ExcelImportScheduler)}设置后，
+ * {@link ExcelValidateUtil}中读取表格数据的方法会自动获取许可
+ */
+public class ExcelImportScheduler {
+
+    /**
+     * 日志
+     */
+    private static final Logger log = LoggerFactory.getLogger(ExcelImportScheduler.class);
+
+    /**
+     * 默认堆内存膨胀系数，.xlsx 文件为压缩包，解析后占用的堆内存通常是文件大小的数倍
+     */
+    public static final double DEFAULT_HEAP_EXPANSION_FACTOR = 8;
+
+    /**
+     * 嵌套获取许可时返回的空许可，关闭时不做任何事
+     */
+    private static final Permit NESTED_PERMIT = new Permit(null, 0);
+
+    /**
+     * 许可数，最多同时导入的数量
+     */
+    private final int permits;
+    /**
+     * 堆内存预算（字节），小于等于0时不限制
+     */
+    private final long heapBudget;
+    /**
+     * 堆内存膨胀系数，估算的堆内存 = 文件大小 × 该系数
+     */
+    private final double heapExpansionFactor;
+    /**
+     * 排队超时时间（毫秒），等于0时不排队，小于0时一直等待
+     */
+    private final long queueTimeoutMillis;
+    /**
+     * 最多排队数量，小于0时不限制
+     */
+    private final int maxQueueLength;
+
+    /**
+     * 公平锁，保护以下状态
+     */
+    private final ReentrantLock lock = new ReentrantLock(true);
+    /**
+     * 释放许可时唤醒排队线程
+     */
+    private final Condition released = lock.newCondition();
+    /**
+     * 排队中的导入，按先来先到排列，只有队首可以开始导入
+     */
+    private final Deque<Object> waiters = new ArrayDeque<>();
+    /**
+     * 当前线程持有的许可，用于嵌套获取
+     */
+    private final ThreadLocal<Permit> heldPermit = new ThreadLocal<>();
+    /**
+     * 正在导入的数量
+     */
+    private int running;
+    /**
+     * 正在导入的估算堆内存（字节）
+     */
+    private long usedHeap;
+    /**
+     * 累计拒绝的数量
+     */
+    private long rejectedCount;
+
+    /**
+     * 创建Excel表格导入调度器
+     *
+     * @param permits             许可数，最多同时导入的数量
+     * @param heapBudget          堆内存预算（字节），小于等于0时不限制
+     * @param heapExpansionFactor 堆内存膨胀系数，估算的堆内存 = 文件大小 × 该系数
+     * @param queueTimeoutMillis  排队超时时间（毫秒），等于0时不排队，小于0时一直等待
+     * @param maxQueueLength      最多排队数量，小于0时不限制
+     */
+    public ExcelImportScheduler(int permits,
+                                long heapBudget,
+                                double heapExpansionFactor,
+                                long queueTimeoutMillis,
+                                int maxQueueLength) {
+        if (permits <= 0) {
+            throw new IllegalArgumentException("许可数必须大于0");
+        }
+        if (heapExpansionFactor <= 0) {
+            throw new IllegalArgumentException("堆内存膨胀系数必须大于0");
+        }
+        this.permits = permits;
+        this.heapBudget = heapBudget;
+        this.heapExpansionFactor = heapExpansionFactor;
+        this.queueTimeoutMillis = queueTimeoutMillis;
+        this.maxQueueLength = maxQueueLength;
+    }
+
+    /**
+     * 获取导入许可，不满足导入条件时排队等待<br>
+     * 使用完毕请在获取许可的线程中关闭，推荐使用 try-with-resources
+     *
+     * @param fileSize 文件大小（字节），用于估算堆内存
+     * @return 导入许可
+     * @throws ExcelImportRejectedException 排队已满、排队超时或排队时线程被中断
+     */
+    public Permit acquire(long fileSize) {
+        // 同一线程内嵌套获取，不重复占用；许可在其它线程中关闭时不再视为持有
+        Permit held = heldPermit.get();
+        if (held != null && !held.closed.get()) {
+            return NESTED_PERMIT;
+        }
+        long heapEstimate = estimateHeap(fileSize);
+        lock.lock();
+        try {
+            if (!waiters.isEmpty() || !isAdmittable(heapEstimate)) {
+                await(heapEstimate);
+            }
+            running++;
+            usedHeap += heapEstimate;
+            Permit permit = new Permit(this, heapEstimate);
+            heldPermit.set(permit);
+            return permit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 估算导入需要的堆内存
+     *
+     * @param fileSize 文件大小（字节）
+     * @return 估算的堆内存（字节），不超过堆内存预算，保证单个大文件在没有其它导入时仍可导入
+     */
+    public long estimateHeap(long fileSize) {
+        double estimate = Math.max(fileSize, 0) * heapExpansionFactor;
+        if (heapBudget > 0 && estimate > heapBudget) {
+            return heapBudget;
+        }
+        return estimate >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) estimate;
+    }
+
+    /**
+     * 排队等待，直到位于队首并且满足导入条件，调用前须持有锁
+     *
+     * @param heapEstimate 估算的堆内存（字节）
+     * @throws ExcelImportRejectedException 排队已满、排队超时或排队时线程被中断
+     */
+    private void await(long heapEstimate) {
+        if (queueTimeoutMillis == 0) {
+            throw reject("Excel表格导入繁忙，请稍后重试");
+        }
+        if (maxQueueLength >= 0 && waiters.size() >= maxQueueLength) {
+            throw reject("Excel表格导入排队已满，请稍后重试");
+        }
+        Object waiter = new Object();
+        waiters.addLast(waiter);
+        try {
+            long nanos = TimeUnit.MILLISECONDS.toNanos(queueTimeoutMillis);
+            while (waiters.peekFirst() != waiter || !isAdmittable(heapEstimate)) {
+                if (queueTimeoutMillis < 0) {
+                    released.await();
+                } else if (nanos <= 0) {
+                    throw reject("Excel表格导入排队超时，请稍后重试");
+                } else {
+                    nanos = released.awaitNanos(nanos);
+                }
+            }
+        } catch (InterruptedException e) {
+            // 恢复中断状态
+            Thread.currentThread().interrupt();
+            throw reject("Excel表格导入排队时线程被中断", e);
+        } finally {
+            waiters.remove(waiter);
+            // 队首已变化，唤醒其它排队线程重新检查
+            released.signalAll();
+        }
+    }
+
+    /**
+     * 是否满足导入条件，调用前须持有锁
+     *
+     * @param heapEstimate 估算的堆内存（字节）
+     * @return 布尔值，true-是，false-否
+     */
+    private boolean isAdmittable(long heapEstimate) {
+        if (running >= permits) {
+            return false;
+        }
+        return heapBudget <= 0 || usedHeap + heapEstimate <= heapBudget;
+    }
+
+    private ExcelImportRejectedException reject(String message) {
+        return reject(message, null);
+    }
+
+    private ExcelImportRejectedException reject(String message, Throwable cause) {
+        rejectedCount++;
+        if (log.isWarnEnabled()) {
+            log.warn("{}，正在导入{}个，排队{}个，估算堆内存{}字节", message, running, waiters.size(), usedHeap);
+        }
+        return cause == null ? new ExcelImportRejectedException(message) : new ExcelImportRejectedException(message, cause);
+    }
+
+    /**
+     * 释放许可
+     *
+     * @param permit 导入许可
+     */
+    private void release(Permit permit) {
+        if (heldPermit.get() == permit) {
+            heldPermit.remove();
+        }
+        lock.lock();
+        try {
+            running--;
+            usedHeap -= permit.heapEstimate;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getPermits() {
+        return permits;
+    }
+
+    public long getHeapBudget() {
+        return heapBudget;
+    }
+
+    public double getHeapExpansionFactor() {
+        return heapExpansionFactor;
+    }
+
+    public long getQueueTimeoutMillis() {
+        return queueTimeoutMillis;
+    }
+
+    public int getMaxQueueLength() {
+        return maxQueueLength;
+    }
+
+    /**
+     * 正在导入的数量
+     *
+     * @return 正在导入的数量
+     */
+    public int getRunning() {
+        lock.lock();
+        try {
+            return running;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 排队中的数量
+     *
+     * @return 排队中的数量
+     */
+    public int getWaiting() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 正在导入的估算堆内存
+     *
+     * @return 估算堆内存（字节）
+     */
+    public long getUsedHeap() {
+        lock.lock();
+        try {
+            return usedHeap;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 累计拒绝的数量
+     *
+     * @return 累计拒绝的数量
+     */
+    public long getRejectedCount() {
+        lock.lock();
+        try {
+            return rejectedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 导入许可，关闭时释放，重复关闭无效
+     */
+    public static final class Permit implements AutoCloseable {
+
+        /**
+         * 所属调度器，嵌套获取的空许可为null
+         */
+        private final ExcelImportScheduler scheduler;
+        /**
+         * 估算的堆内存（字节）
+         */
+        private final long heapEstimate;
+        /**
+         * 是否已释放，并发关闭时只有一个线程释放
+         */
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Permit(ExcelImportScheduler scheduler, long heapEstimate) {
+            this.scheduler = scheduler;
+            this.heapEstimate = heapEstimate;
+        }
+
+        public long getHeapEstimate() {
+            return heapEstimate;
+        }
+
+        @Override
+        public void close() {
+            if (scheduler == null || !closed.compareAndSet(false, true)) {
+                return;
+            }
+            scheduler.release(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,302 @@
+package com.hippocp.easy.code.util.excel;
+
+import cn.hutool.poi.excel.ExcelReader;
+import cn.hutool.poi.excel.ExcelUtil;
+import com.hippocp.easy.code.util.domain.FileContentTypeEnum;
+import com.hippocp.easy.code.util.excel.csv.CsvStreamReader;
+import com.hippocp.easy.code.util.excel.sax.XlsxSharedStrings;
+import com.hippocp.easy.code.util.excel.sax.XlsxStreamReader;
+import com.hippocp.easy.code.util.file.FileContentSniffer;
+import com.hippocp.easy.code.util.file.UploadedFileHandle;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Excel表格导入会话，一次上传只打开一次<br>
+ * 扩展名与文件头校验、表格标题校验、单元格校验共用同一份解析结果：<br>
+ * 1. 上传文件只读取一次，保存在{@link UploadedFileHandle}中，文件头由{@link FileContentSniffer}从句柄读取<br>
+ * 2. 表格标题与流式读取共用同一个{@link XlsxStreamReader}，hutool ExcelReader 也建立在同一个文件包上<br>
+ * 3. 读取到的表格标题按行号缓存<br>
+ * 通过{@link #bind(MultipartFile)}绑定到当前Web请求后，{@link ExcelValidateUtil}与 easy-code-validate 中的约束校验器
+ * 会自动复用该会话，请求结束时自动关闭；通过{@link #open(MultipartFile)}打开的会话需要调用方关闭<br>
+ * 绑定会话时同时绑定上传文件句柄，当前请求已绑定上传文件句柄时，会话与其它解析器共用该句柄<br>
+ * 注意：该类不是线程安全的
+ */
+public class ExcelImportSession implements Closeable {
+
+    /**
+     * 日志
+     */
+    private static final Logger log = LoggerFactory.getLogger(ExcelImportSession.class);
+
+    /**
+     * 请求属性名称，存放当前请求中绑定的导入会话
+     */
+    private static final String SESSION_ATTRIBUTE = ExcelImportSession.class.getName() + ".SESSIONS";
+
+    /**
+     * 上传的Excel表格文件
+     */
+    private final MultipartFile multipartFile;
+    /**
+     * 扩展名是否为 .xlsx
+     */
+    private final boolean isXlsxExtension;
+    /**
+     * 表格标题行号 -》标题行单元格数据
+     */
+    private final Map<Integer, List<Object>> headerCache = new HashMap<>(4);
+    /**
+     * 上传文件句柄
+     */
+    private final UploadedFileHandle uploadedFile;
+    /**
+     * 上传文件句柄是否由会话打开，由会话打开的句柄在关闭会话时关闭
+     */
+    private final boolean isOwnUploadedFile;
+    /**
+     * 堆内共享字符串占用阈值（估算字节数），打开流式读取器时使用
+     */
+    private long sharedStringsSpillThreshold = XlsxSharedStrings.DEFAULT_SPILL_THRESHOLD;
+    /**
+     * 流式读取器
+     */
+    private XlsxStreamReader streamReader;
+    /**
+     * hutool Excel读取器
+     */
+    private ExcelReader excelReader;
+    /**
+     * hutool Excel读取器是否建立在流式读取器的文件包上
+     */
+    private boolean isSharedWorkbook;
+    /**
+     * 是否已关闭
+     */
+    private boolean closed;
+
+    private ExcelImportSession(MultipartFile multipartFile, boolean isBound) {
+        this.multipartFile = multipartFile;
+        this.isXlsxExtension = ExcelValidateUtil.isExcelXLSX(multipartFile);
+        UploadedFileHandle bound = isBound
+                ? UploadedFileHandle.bind(multipartFile)
+                : UploadedFileHandle.current(multipartFile);
+        this.uploadedFile = bound != null ? bound : UploadedFileHandle.open(multipartFile);
+        this.isOwnUploadedFile = bound == null;
+    }
+
+    /**
+     * 打开导入会话，不绑定到Web请求，使用完毕请调用{@link #close()}关闭
+     *
+     * @param multipartFile 上传的Excel表格文件
+     * @return {@link ExcelImportSession}
+     */
+    public static ExcelImportSession open(MultipartFile multipartFile) {
+        return new ExcelImportSession(multipartFile, false);
+    }
+
+    /**
+     * 打开导入会话并绑定到当前Web请求，同一请求内同一上传文件只会打开一个会话，请求结束时自动关闭
+     *
+     * @param multipartFile 上传的Excel表格文件
+     * @return {@link ExcelImportSession}
+     * @throws IllegalStateException 当前线程没有Web请求
+     */
+    public static ExcelImportSession bind(MultipartFile multipartFile) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            throw new IllegalStateException("当前线程没有Web请求，无法绑定Excel表格导入会话");
+        }
+        return getSessions(attributes, true).computeIfAbsent(multipartFile, file -> new ExcelImportSession(file, true));
+    }
+
+    /**
+     * 获取当前Web请求中绑定的导入会话
+     *
+     * @param multipartFile 上传的Excel表格文件
+     * @return {@link ExcelImportSession}，没有绑定时返回null
+     */
+    public static ExcelImportSession current(MultipartFile multipartFile) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null || multipartFile == null) {
+            return null;
+        }
+        Map<MultipartFile, ExcelImportSession> sessions = getSessions(attributes, false);
+        return sessions == null ? null : sessions.get(multipartFile);
+    }
+
+    /**
+     * 判断上传文件是否为 .xlsx 文件，扩展名与文件头都须符合
+     *
+     * @return 布尔值，true-是，false-否
+     */
+    public boolean isExcelXLSX() {
+        if (!isXlsxExtension) {
+            return false;
+        }
+        if (closed) {
+            log.error("Excel表格导入会话已关闭，无法读取文件头");
+            return false;
+        }
+        // 文件头识别结果按上传文件缓存
+        return FileContentSniffer.sniff(uploadedFile) == FileContentTypeEnum.XLSX;
+    }
+
+    /**
+     * 读取第一个工作表指定行的表格标题，同一行号只读取一次<br>
+     * hutool ExcelReader 已打开时直接读取，否则 .xlsx 文件与 .csv 文件流式读取到标题行为止
+     *
+     * @param titleRowNum 表格标题行号，从0开始，0为Excel表格第一行
+     * @return 标题行单元格数据，不可修改；标题行不存在时返回空列表
+     * @throws IOException 无法读取Excel表格
+     */
+    public List<Object> getHeader(int titleRowNum) throws IOException {
+        List<Object> header = headerCache.get(titleRowNum);
+        if (header == null) {
+            if (excelReader == null && isExcelXLSX()) {
+                header = ExcelHeaderProbe.probe(getStreamReader(), titleRowNum);
+            } else if (ExcelValidateUtil.isCsv(multipartFile)) {
+                try (CsvStreamReader reader = CsvStreamReader.open(uploadedFile, StandardCharsets.UTF_8,
+                        CsvStreamReader.DEFAULT_DELIMITER)) {
+                    header = ExcelHeaderProbe.probe(reader, titleRowNum);
+                }
+            } else {
+                header = Collections.unmodifiableList(getExcelReader().readRow(titleRowNum));
+            }
+            headerCache.put(titleRowNum, header);
+        }
+        return header;
+    }
+
+    /**
+     * 获取流式读取器，仅支持 .xlsx 文件<br>
+     * 读取器由会话管理，请勿关闭
+     *
+     * @return {@link XlsxStreamReader}
+     * @throws IOException 文件无法读取或不是合法的 .xlsx 文件
+     */
+    public XlsxStreamReader getStreamReader() throws IOException {
+        return getStreamReader(sharedStringsSpillThreshold);
+    }
+
+    /**
+     * 获取流式读取器，仅支持 .xlsx 文件，尚未打开时按指定的共享字符串表堆内存阈值打开<br>
+     * 读取器在会话中只打开一次，已打开时沿用打开时的阈值，例如先读取了表格标题；
+     * 需要统一阈值时请在首次读取前调用{@link #setSharedStringsSpillThreshold(long)}<br>
+     * 读取器由会话管理，请勿关闭
+     *
+     * @param sharedStringsSpillThreshold 堆内共享字符串占用阈值（估算字节数），超过后写入临时文件，小于0时不写入临时文件
+     * @return {@link XlsxStreamReader}
+     * @throws IOException 文件无法读取或不是合法的 .xlsx 文件
+     */
+    public XlsxStreamReader getStreamReader(long sharedStringsSpillThreshold) throws IOException {
+        checkOpen();
+        if (streamReader == null) {
+            streamReader = XlsxStreamReader.open(uploadedFile.getFile(), sharedStringsSpillThreshold);
+        }
+        return streamReader;
+    }
+
+    /**
+     * 获取 hutool Excel读取器，读取第一个工作表<br>
+     * .xlsx 文件在流式读取器的文件包上创建工作簿，不会再次打开与解压文件；其它文件由 hutool 按文件内容识别格式<br>
+     * 读取器由会话管理，请勿关闭
+     *
+     * @return {@link ExcelReader}
+     * @throws IOException 无法读取Excel表格
+     */
+    public ExcelReader getExcelReader() throws IOException {
+        checkOpen();
+        if (excelReader == null) {
+            if (isExcelXLSX()) {
+                excelReader = new ExcelReader(new XSSFWorkbook(getStreamReader().getPackage()), 0);
+                isSharedWorkbook = true;
+            } else {
+                try (InputStream in = uploadedFile.openStream()) {
+                    excelReader = ExcelUtil.getReader(in);
+                }
+            }
+        }
+        return excelReader;
+    }
+
+    public MultipartFile getMultipartFile() {
+        return multipartFile;
+    }
+
+    public UploadedFileHandle getUploadedFile() {
+        return uploadedFile;
+    }
+
+    public long getSharedStringsSpillThreshold() {
+        return sharedStringsSpillThreshold;
+    }
+
+    /**
+     * 设置打开流式读取器时使用的共享字符串表堆内存阈值，流式读取器已打开时不再生效
+     *
+     * @param sharedStringsSpillThreshold 堆内共享字符串占用阈值（估算字节数），超过后写入临时文件，小于0时不写入临时文件
+     */
+    public void setSharedStringsSpillThreshold(long sharedStringsSpillThreshold) {
+        this.sharedStringsSpillThreshold = sharedStringsSpillThreshold;
+    }
+
+    /**
+     * 关闭会话，释放读取器并删除临时文件
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        // .xlsx 工作簿建立在流式读取器的文件包上，由流式读取器释放
+        if (excelReader != null && !isSharedWorkbook) {
+            excelReader.close();
+        }
+        if (streamReader != null) {
+            streamReader.close();
+        }
+        if (isOwnUploadedFile) {
+            uploadedFile.close();
+        }
+    }
+
+    private void checkOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Excel表格导入会话已关闭");
+        }
+    }
+
+    /**
+     * 获取当前请求中绑定的导入会话
+     *
+     * @param attributes Web请求属性
+     * @param create     不存在时是否创建，创建时注册请求结束回调关闭所有会话
+     * @return 上传文件 -》导入会话，按对象标识区分上传文件
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<MultipartFile, ExcelImportSession> getSessions(RequestAttributes attributes, boolean create) {
+        Map<MultipartFile, ExcelImportSession> sessions = (Map<MultipartFile, ExcelImportSession>)
+                attributes.getAttribute(SESSION_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (sessions == null && create) {
+            Map<MultipartFile, ExcelImportSession> created = new IdentityHashMap<>(4);
+            attributes.setAttribute(SESSION_ATTRIBUTE, created, RequestAttributes.SCOPE_REQUEST);
+            attributes.registerDestructionCallback(SESSION_ATTRIBUTE,
+                    () -> created.values().forEach(ExcelImportSession::close), RequestAttributes.SCOPE_REQUEST);
+            sessions = created;
+        }
+        return sessions;
+    }
+
+}
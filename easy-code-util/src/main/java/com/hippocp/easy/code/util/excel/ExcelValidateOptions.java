@@ -1,9 +1,14 @@
 package com.hippocp.easy.code.util.excel;
 
 import com.hippocp.easy.code.util.domain.ExcelReaderTypeEnum;
+import com.hippocp.easy.code.util.domain.ValidatorResult;
+import com.hippocp.easy.code.util.excel.csv.CsvStreamReader;
+import com.hippocp.easy.code.util.excel.sax.XlsxSharedStrings;
 import lombok.Data;
 
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Excel表格校验选项类，通过此类定制各种校验选项
@@ -14,6 +19,11 @@ import java.io.Serializable;
 @Data
 public class ExcelValidateOptions<T> implements Serializable {
 
+    /**
+     * 默认并行校验时每个任务校验的行数
+     */
+    public static final int DEFAULT_PARALLEL_VALIDATE_CHUNK_SIZE = 1000;
+
     /**
      * 表格标题所在行，如果标题行在读取的内容行中间，这行做为数据将忽略
      */
@@ -50,6 +60,51 @@ public class ExcelValidateOptions<T> implements Serializable {
      * 分组校验
      */
     private final Class<?>[] groups;
+    /**
+     * JavaBean验证器并行校验线程池，例如{@link java.util.concurrent.ForkJoinPool#commonPool()}<br>
+     * 默认为null，在当前线程逐行校验；线程池由调用方管理，校验完成后不会关闭
+     */
+    private transient ExecutorService parallelValidateExecutor;
+    /**
+     * 并行校验时每个任务校验的行数，默认{@link #DEFAULT_PARALLEL_VALIDATE_CHUNK_SIZE}
+     */
+    private int parallelValidateChunkSize = DEFAULT_PARALLEL_VALIDATE_CHUNK_SIZE;
+    /**
+     * 多工作表校验时并行读取工作表的线程池<br>
+     * 默认为null，按CPU核数与工作表数量中较小者创建临时线程池，校验完成后关闭；指定的线程池由调用方管理
+     */
+    private transient ExecutorService parallelSheetExecutor;
+    /**
+     * 流式读取时堆内共享字符串表占用阈值（估算字节数），超过后其余字符串写入内存映射临时文件，
+     * 默认{@link XlsxSharedStrings#DEFAULT_SPILL_THRESHOLD}，小于0时全部保存在堆内存中
+     */
+    private long sharedStringsSpillThreshold = XlsxSharedStrings.DEFAULT_SPILL_THRESHOLD;
+    /**
+     * 最多收集的约束违反信息数量，达到后立即停止读取与校验，默认0不限制<br>
+     * 例如设置为10，则只收集前10条约束违反信息
+     */
+    private int maxViolationCount;
+    /**
+     * 最多允许的校验不通过行数，达到后立即停止读取与校验，默认0不限制<br>
+     * 设置为1时即快速失败，遇到第一行校验不通过的数据就停止
+     */
+    private int maxInvalidRowCount;
+    /**
+     * 校验结果中最多生成的约束错误对象数量，默认0不限制<br>
+     * 与{@link #maxViolationCount}不同，该选项不影响读取与校验，约束违反信息全部保留，
+     * 仅限制{@link ValidatorResult#getConstraintError()}的长度，超出的约束错误对象不会拼接提示消息，
+     * 约束错误总数见{@link ValidatorResult#getConstraintErrorCount()}
+     */
+    private int maxConstraintErrorCount;
+    /**
+     * 读取 .csv 文件时的文件编码名称，默认UTF-8<br>
+     * Excel 另存为的 .csv 文件在中文系统下通常为GBK编码
+     */
+    private String csvCharset = StandardCharsets.UTF_8.name();
+    /**
+     * 读取 .csv 文件时的分隔符，默认{@link CsvStreamReader#DEFAULT_DELIMITER}
+     */
+    private char csvDelimiter = CsvStreamReader.DEFAULT_DELIMITER;
 
     /**
      * 创建默认校验选项
@@ -133,4 +188,27 @@ public class ExcelValidateOptions<T> implements Serializable {
         this.customValidator = customValidator;
         this.groups = groups;
     }
+
+    /**
+     * 复制校验选项，回调接口、分组与线程池引用同一对象<br>
+     * 多工作表并行校验时每个工作表使用各自的副本，各工作表的错误预算由副本单独创建，
+     * 校验过程中调用方修改选项也不会影响正在进行的校验
+     *
+     * @return {@link ExcelValidateOptions} 校验选项副本
+     */
+    public ExcelValidateOptions<T> copy() {
+        ExcelValidateOptions<T> copy = new ExcelValidateOptions<>(headerRowIndex, startRowIndex, isReturnExcelDataObj,
+                isReadabilityRowNumJoin, excelReaderTypeEnum, customValidAssignmentStrHandler, customFormatStrHandler,
+                customValidator, groups);
+        copy.parallelValidateExecutor = parallelValidateExecutor;
+        copy.parallelValidateChunkSize = parallelValidateChunkSize;
+        copy.parallelSheetExecutor = parallelSheetExecutor;
+        copy.sharedStringsSpillThreshold = sharedStringsSpillThreshold;
+        copy.maxViolationCount = maxViolationCount;
+        copy.maxInvalidRowCount = maxInvalidRowCount;
+        copy.maxConstraintErrorCount = maxConstraintErrorCount;
+        copy.csvCharset = csvCharset;
+        copy.csvDelimiter = csvDelimiter;
+        return copy;
+    }
 }
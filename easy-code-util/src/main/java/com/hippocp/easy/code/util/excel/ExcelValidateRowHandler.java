@@ -0,0 +1,511 @@
+package com.hippocp.easy.code.util.excel;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.util.ObjectUtil;
+import cn.hutool.core.util.StrUtil;
+import com.hippocp.easy.code.util.domain.CustomValidatorResult;
+import com.hippocp.easy.code.util.domain.EasyConstraintViolationImpl;
+import com.hippocp.easy.code.util.domain.ExcelImportCheckpoint;
+import com.hippocp.easy.code.util.domain.ExcelRowData;
+import com.hippocp.easy.code.util.domain.ExcelViolationBuffer;
+import com.hippocp.easy.code.util.excel.checkpoint.ExcelCheckpointStore;
+import com.hippocp.easy.code.util.excel.exception.ExcelValidateException;
+import com.hippocp.easy.code.util.excel.plan.ExcelColumnPlan;
+import com.hippocp.easy.code.util.excel.plan.ExcelImportPlan;
+import com.hippocp.easy.code.util.excel.sax.ExcelRowHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * 流式读取Excel表格时的行校验处理器<br>
+ * 逐行完成 读取 -》自定义校验与赋值 -》自定义字符串格式化 -》转换为JavaBean -》JavaBean验证器校验，
+ * 处理完一行即可丢弃该行的原始数据<br>
+ * 设置了{@link BatchConsumer}时，通过校验的数据每凑满一批立即交给消费者，不在内存中保留全部数据<br>
+ * 由{@link ExcelValidateUtil#cellValidBySax(org.springframework.web.multipart.MultipartFile, Map, Class, ExcelValidateOptions)}使用
+ */
+public class ExcelValidateRowHandler<T> implements ExcelRowHandler {
+
+    /**
+     * 日志
+     */
+    private static final Logger log = LoggerFactory.getLogger(ExcelValidateRowHandler.class);
+
+    /**
+     * 表格标题所在行
+     */
+    private final int headerRowIndex;
+    /**
+     * 表格起始行（包含，从0开始计数）
+     */
+    private final int startRowIndex;
+    /**
+     * 表格列映射map，表格列标题-key，JavaBean属性名称-value
+     */
+    private final Map<String, String> columnToFieldMap;
+    /**
+     * 需要校验的JavaBean
+     */
+    private final Class<T> beanType;
+    /**
+     * beanType是否为Map
+     */
+    private final boolean isMapType;
+    /**
+     * 是否保留每行数据对象，用于返回Excel表格数据或执行自定义校验器
+     */
+    private final boolean isRetainData;
+    /**
+     * 自定义校验与赋值处理器
+     */
+    private final CustomValidAssignmentStrHandler customValidAssignmentStrHandler;
+    /**
+     * 自定义字符串格式化处理器
+     */
+    private final CustomFormatStrHandler customFormatStrHandler;
+    /**
+     * JavaBean验证器
+     */
+    private final Validator validator;
+    /**
+     * 分组校验
+     */
+    private final Class<?>[] groups;
+    /**
+     * 导入计划，beanType为Map时为null
+     */
+    private final ExcelImportPlan<T> importPlan;
+
+    /**
+     * 列索引 -》表格列标题，读取到标题行后初始化
+     */
+    private String[] columnTitles;
+    /**
+     * 列索引 -》JavaBean属性名称，没有映射关系的列为null
+     */
+    private String[] columnFieldNames;
+    /**
+     * 列索引 -》列计划，没有对应属性的列为null
+     */
+    private ExcelColumnPlan[] columnPlans;
+    /**
+     * 暂存Map，每行复用
+     */
+    private final Map<String, Object> tempStorageMap = new HashMap<>(16);
+
+    /**
+     * 表格数据
+     */
+    private final List<T> dataList = new ArrayList<>();
+    /**
+     * JavaBean约束违反信息
+     */
+    private final Set<ConstraintViolation<T>> violationSet = new LinkedHashSet<>();
+    /**
+     * JavaBean约束违反信息 -》可读性行号，按对象标识查找
+     */
+    private final Map<ConstraintViolation<T>, Integer> violationRowNumMap = new IdentityHashMap<>();
+    /**
+     * 数据读取过程中产生的校验约束违反信息
+     */
+    private final Set<ConstraintViolation<?>> readViolationSet = new ExcelViolationBuffer();
+    /**
+     * 已处理的数据行数
+     */
+    private int rowCount;
+
+    /**
+     * 错误预算，为null时不限制
+     */
+    private ExcelViolationBudget violationBudget;
+    /**
+     * 是否因错误预算用完而停止读取
+     */
+    private boolean isBudgetExhausted;
+
+    /**
+     * 批量数据消费者，为null时不进行消费
+     */
+    private BatchConsumer<T> batchConsumer;
+    /**
+     * 批大小
+     */
+    private int batchSize;
+    /**
+     * 按批执行的自定义校验器，消费模式下使用
+     */
+    private CustomValidator<T> batchCustomValidator;
+    /**
+     * 等待消费的一批数据
+     */
+    private List<ExcelRowData<T>> batch;
+    /**
+     * 已交给消费者的数据行数
+     */
+    private int consumedRowCount;
+
+    /**
+     * 检查点存储，为null时不保存检查点
+     */
+    private ExcelCheckpointStore checkpointStore;
+    /**
+     * 检查点，每提交一批数据后更新并保存
+     */
+    private ExcelImportCheckpoint checkpoint;
+    /**
+     * 之前各次导入累计的约束违反信息数量
+     */
+    private int baseViolationCount;
+    /**
+     * 之前各次导入累计交给消费者的数据行数
+     */
+    private int baseConsumedRowCount;
+    /**
+     * 是否有一批数据被自定义校验器拒绝，保存检查点时拒绝后检查点不再前进，之后通过校验的数据不再交给消费者
+     */
+    private boolean isBatchRejected;
+    /**
+     * 当前处理的行号索引
+     */
+    private int currentRowIndex = -1;
+
+    public ExcelValidateRowHandler(int headerRowIndex,
+                                   int startRowIndex,
+                                   Map<String, String> columnToFieldMap,
+                                   Class<T> beanType,
+                                   boolean isRetainData,
+                                   CustomValidAssignmentStrHandler customValidAssignmentStrHandler,
+                                   CustomFormatStrHandler customFormatStrHandler,
+                                   Validator validator,
+                                   Class<?>... groups) {
+        this.headerRowIndex = headerRowIndex;
+        this.startRowIndex = startRowIndex;
+        this.columnToFieldMap = columnToFieldMap;
+        this.beanType = beanType;
+        this.isMapType = Map.class.isAssignableFrom(beanType);
+        this.isRetainData = isRetainData;
+        this.customValidAssignmentStrHandler = customValidAssignmentStrHandler;
+        this.customFormatStrHandler = customFormatStrHandler;
+        this.validator = validator;
+        this.groups = groups;
+        this.importPlan = isMapType ? null : ExcelImportPlan.of(beanType, columnToFieldMap);
+    }
+
+    @Override
+    public boolean isSkipRow(int rowIndex) {
+        // 起始行之前的行不解析单元格内容，标题行除外
+        return rowIndex != headerRowIndex && rowIndex < startRowIndex;
+    }
+
+    @Override
+    public boolean handle(int rowIndex, List<Object> rowCells) {
+        currentRowIndex = rowIndex;
+        // 标题行
+        if (rowIndex == headerRowIndex) {
+            initHeader(rowCells);
+            return true;
+        }
+        // 起始行之前的行、空行，跳过
+        if (rowIndex < startRowIndex || isEmptyRow(rowCells)) {
+            return true;
+        }
+        // 未读取到标题行
+        if (columnTitles == null) {
+            throw new ExcelValidateException("流式读取未读取到第" + (headerRowIndex + 1) + "行的表格标题");
+        }
+
+        rowCount++;
+        int violationCount = readViolationSet.size() + violationSet.size();
+        handleDataRow(rowIndex, rowCells);
+        // 该行校验不通过，检查错误预算
+        if (violationBudget != null && readViolationSet.size() + violationSet.size() > violationCount) {
+            violationBudget.recordInvalidRow();
+            isBudgetExhausted = checkBudget();
+            if (isBudgetExhausted) {
+                log.info("校验错误已达到上限，在第{}行停止读取", rowIndex + 1);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 错误预算是否已用完，超出预算的约束违反信息将被移除，先移除JavaBean约束违反信息
+     *
+     * @return true-是 false-否
+     */
+    private boolean checkBudget() {
+        int violationCount = readViolationSet.size() + violationSet.size();
+        violationBudget.trim(violationSet, violationCount);
+        violationBudget.trim(readViolationSet, readViolationSet.size() + violationSet.size());
+        return violationBudget.isExhausted(readViolationSet.size() + violationSet.size());
+    }
+
+    /**
+     * 根据标题行初始化列索引与JavaBean属性的映射关系
+     *
+     * @param rowCells 标题行单元格数据
+     */
+    protected void initHeader(List<Object> rowCells) {
+        int size = rowCells.size();
+        columnTitles = new String[size];
+        columnFieldNames = new String[size];
+        for (int i = 0; i < size; i++) {
+            String title = StrUtil.toStringOrNull(rowCells.get(i));
+            columnTitles[i] = title;
+            if (title != null) {
+                // 没有映射关系时，与 hutool ExcelReader 一致，使用标题作为key
+                columnFieldNames[i] = columnToFieldMap.getOrDefault(title, title);
+            }
+        }
+        if (!isMapType) {
+            // 映射的属性不存在时，构建导入计划时已记录日志
+            columnPlans = importPlan.columnsOf(rowCells);
+        }
+    }
+
+    /**
+     * 处理一行表格数据
+     *
+     * @param rowIndex 行号索引
+     * @param rowCells 行单元格数据
+     */
+    @SuppressWarnings("unchecked")
+    protected void handleDataRow(int rowIndex, List<Object> rowCells) {
+        // beanType为Map，不进行读取过程中的校验
+        if (isMapType) {
+            // 当前行对象，JavaBean属性名称-key，单元格数据-value
+            Map<String, Object> rowData = new HashMap<>(columnFieldNames.length * 2);
+            for (int i = 0; i < columnFieldNames.length; i++) {
+                if (columnFieldNames[i] != null) {
+                    rowData.put(columnFieldNames[i], i < rowCells.size() ? rowCells.get(i) : null);
+                }
+            }
+            acceptValidRow(rowIndex, (T) rowData);
+            return;
+        }
+
+        // 执行读取过程中的校验，并将单元格直接写入JavaBean
+        T bean = ExcelValidateUtil.bindRow(importPlan, columnPlans, rowCells, rowIndex + 1, tempStorageMap,
+                readViolationSet, customValidAssignmentStrHandler, customFormatStrHandler);
+        // 当前行读取过程中的校验不通过，无法转换为JavaBean
+        if (bean == null) {
+            return;
+        }
+
+        // 执行JavaBean验证器
+        Set<ConstraintViolation<T>> singleConstraintViolations = ObjectUtil.isEmpty(groups)
+                ? validator.validate(bean)
+                : validator.validate(bean, groups);
+        if (CollUtil.isNotEmpty(singleConstraintViolations)) {
+            violationSet.addAll(singleConstraintViolations);
+            for (ConstraintViolation<T> violation : singleConstraintViolations) {
+                violationRowNumMap.put(violation, rowIndex + 1);
+            }
+            if (batchConsumer != null) {
+                // 消费模式下不通过校验的行不交给消费者
+                return;
+            }
+        }
+
+        acceptValidRow(rowIndex, bean);
+    }
+
+    /**
+     * 接收一行通过校验的数据，按需保留或放入待消费批次
+     *
+     * @param rowIndex 行号索引
+     * @param bean     该行数据对象
+     */
+    protected void acceptValidRow(int rowIndex, T bean) {
+        if (batchConsumer == null) {
+            if (isRetainData) {
+                dataList.add(bean);
+            }
+            return;
+        }
+        // 检查点停在被拒绝的批次之前，之后的数据重试时会重新读取，此处不再消费，避免重复消费
+        if (isBatchRejected && checkpointStore != null) {
+            return;
+        }
+        batch.add(new ExcelRowData<>(rowIndex + 1, bean));
+        if (batch.size() >= batchSize) {
+            flushBatch();
+        }
+    }
+
+    /**
+     * 将待消费批次交给消费者<br>
+     * 存在自定义校验器时，先对该批数据执行自定义校验器，不通过则该批数据不交给消费者<br>
+     * 被拒绝的批次不保存检查点，检查点停在上一个已消费的批次，重试时从被拒绝的批次重新读取与校验，
+     * 因此检查点中只需要保存约束违反信息数量，不需要保存被拒绝批次的约束违反信息
+     */
+    protected void flushBatch() {
+        if (batch == null || batch.isEmpty()) {
+            return;
+        }
+        List<ExcelRowData<T>> currentBatch = batch;
+        batch = new ArrayList<>(batchSize);
+
+        if (batchCustomValidator != null) {
+            List<T> beanList = new ArrayList<>(currentBatch.size());
+            for (ExcelRowData<T> row : currentBatch) {
+                beanList.add(row.getData());
+            }
+            CustomValidatorResult<T> result = batchCustomValidator.isValid(beanList);
+            if (!result.isValid()) {
+                Set<EasyConstraintViolationImpl<T>> set = result.getConstraintViolationSet();
+                if (CollUtil.isEmpty(set)) {
+                    throw new ExcelValidateException("自定义校验器校验不通过时，约束违反提示信息Set不能为空");
+                }
+                violationSet.addAll(set);
+                isBatchRejected = true;
+                return;
+            }
+        }
+
+        batchConsumer.accept(currentBatch);
+        consumedRowCount += currentBatch.size();
+        saveCheckpoint(false);
+    }
+
+    /**
+     * 读取结束，将最后一批不足批大小的数据交给消费者<br>
+     * 未因错误预算用完而停止读取且没有批次被拒绝时，检查点标记为已完成
+     */
+    public void finish() {
+        flushBatch();
+        if (!isBudgetExhausted && !isBatchRejected) {
+            saveCheckpoint(true);
+        }
+    }
+
+    /**
+     * 更新并保存检查点，当前行及之前的行均已处理完毕<br>
+     * 有批次被拒绝后不再保存，检查点停在被拒绝的批次之前
+     *
+     * @param isCompleted 是否已读取到表格末尾
+     */
+    protected void saveCheckpoint(boolean isCompleted) {
+        if (checkpointStore == null || isBatchRejected) {
+            return;
+        }
+        if (currentRowIndex > checkpoint.getLastCommittedRowIndex()) {
+            checkpoint.setLastCommittedRowIndex(currentRowIndex);
+        }
+        checkpoint.setViolationCount(getTotalViolationCount());
+        checkpoint.setConsumedRowCount(baseConsumedRowCount + consumedRowCount);
+        checkpoint.setCompleted(isCompleted);
+        checkpoint.setUpdateTime(System.currentTimeMillis());
+        try {
+            checkpointStore.save(checkpoint);
+        } catch (IOException e) {
+            throw new ExcelValidateException("无法保存Excel表格导入检查点：" + checkpoint.getImportId(), e);
+        }
+    }
+
+    /**
+     * 设置批量数据消费者，设置后通过校验的数据不再保留在数据列表中
+     *
+     * @param batchSize            批大小，必须大于0
+     * @param batchConsumer        批量数据消费者
+     * @param batchCustomValidator 按批执行的自定义校验器，可以为null
+     */
+    public void setBatchConsumer(int batchSize, BatchConsumer<T> batchConsumer, CustomValidator<T> batchCustomValidator) {
+        if (batchSize <= 0) {
+            throw new ExcelValidateException("批大小必须大于0");
+        }
+        this.batchSize = batchSize;
+        this.batchConsumer = batchConsumer;
+        this.batchCustomValidator = batchCustomValidator;
+        this.batch = new ArrayList<>(batchSize);
+    }
+
+    /**
+     * 设置检查点存储，每提交一批数据后保存检查点<br>
+     * 检查点中已累计的约束违反信息数量与已消费行数将计入本次导入
+     *
+     * @param checkpointStore 检查点存储
+     * @param checkpoint      恢复自的检查点，首次导入时为新建的检查点
+     */
+    public void setCheckpoint(ExcelCheckpointStore checkpointStore, ExcelImportCheckpoint checkpoint) {
+        this.checkpointStore = checkpointStore;
+        this.checkpoint = checkpoint;
+        this.baseViolationCount = checkpoint.getViolationCount();
+        this.baseConsumedRowCount = checkpoint.getConsumedRowCount();
+    }
+
+    /**
+     * 设置错误预算，预算用完时停止读取
+     *
+     * @param violationBudget 错误预算，为null时不限制
+     */
+    public void setViolationBudget(ExcelViolationBudget violationBudget) {
+        this.violationBudget = violationBudget;
+    }
+
+    /**
+     * 是否为空行，即所有单元格均为null或空白字符串
+     *
+     * @param rowCells 行单元格数据
+     * @return true-是 false-否
+     */
+    protected static boolean isEmptyRow(List<Object> rowCells) {
+        for (Object cell : rowCells) {
+            if (cell == null) {
+                continue;
+            }
+            if (!(cell instanceof CharSequence) || StrUtil.isNotBlank((CharSequence) cell)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public List<T> getDataList() {
+        return dataList;
+    }
+
+    public Set<ConstraintViolation<T>> getViolationSet() {
+        return violationSet;
+    }
+
+    /**
+     * 获取JavaBean约束违反信息所在的可读性行号，错误预算移除的约束违反信息仍然保留在其中
+     *
+     * @return JavaBean约束违反信息 -》可读性行号
+     */
+    public Map<ConstraintViolation<T>, Integer> getViolationRowNumMap() {
+        return violationRowNumMap;
+    }
+
+    public Set<ConstraintViolation<?>> getReadViolationSet() {
+        return readViolationSet;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getConsumedRowCount() {
+        return consumedRowCount;
+    }
+
+    /**
+     * 获取累计约束违反信息数量，包含检查点中之前各次导入的数量
+     *
+     * @return 约束违反信息数量
+     */
+    public int getTotalViolationCount() {
+        return baseViolationCount + readViolationSet.size() + violationSet.size();
+    }
+
+    public boolean isBudgetExhausted() {
+        return isBudgetExhausted;
+    }
+
+}
@@ -1,16 +1,24 @@
 package com.hippocp.easy.code.util.excel;
 
-import cn.hutool.core.bean.BeanUtil;
-import cn.hutool.core.bean.copier.CopyOptions;
 import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.collection.CollectionUtil;
-import cn.hutool.core.map.MapUtil;
+import cn.hutool.core.util.ArrayUtil;
 import cn.hutool.core.util.StrUtil;
 import cn.hutool.poi.excel.ExcelReader;
 import cn.hutool.poi.excel.ExcelUtil;
+import com.hippocp.easy.code.domain.validate.ConstraintError;
 import com.hippocp.easy.code.util.domain.*;
+import com.hippocp.easy.code.util.excel.checkpoint.ExcelCheckpointStore;
+import com.hippocp.easy.code.util.excel.checkpoint.FileExcelCheckpointStore;
+import com.hippocp.easy.code.util.excel.csv.CsvStreamReader;
 import com.hippocp.easy.code.util.excel.exception.ExcelValidateException;
+import com.hippocp.easy.code.util.excel.plan.ExcelColumnPlan;
+import com.hippocp.easy.code.util.excel.plan.ExcelImportPlan;
+import com.hippocp.easy.code.util.excel.sax.XlsxSharedStrings;
+import com.hippocp.easy.code.util.excel.sax.XlsxStreamReader;
 import com.hippocp.easy.code.util.file.MultipartFileUtil;
+import com.hippocp.easy.code.util.file.UploadedFileHandle;
+import com.hippocp.easy.code.util.parse.ConstraintErrorParseUtil;
 import com.hippocp.easy.code.util.string.StringUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,10 +28,17 @@ import javax.validation.ConstraintViolation;
 import javax.validation.Validation;
 import javax.validation.Validator;
 import javax.validation.ValidatorFactory;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.lang.reflect.Field;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 
 
 /**
@@ -46,6 +61,11 @@ public class ExcelValidateUtil {
      */
     private static final Logger log = LoggerFactory.getLogger(ExcelValidateUtil.class);
 
+    /**
+     * Excel表格导入调度器，为null时不限制同时导入的数量
+     */
+    private static volatile ExcelImportScheduler importScheduler;
+
     /**
      * Excel2007以下版本扩展名（不包含2007版本）
      */
@@ -56,6 +76,11 @@ public class ExcelValidateUtil {
      */
     public static final String XLSX_SUFFIX = ".xlsx";
 
+    /**
+     * 逗号分隔值文件扩展名
+     */
+    public static final String CSV_SUFFIX = ".csv";
+
     /**
      * 整数校验正确格式提示消息
      */
@@ -81,6 +106,105 @@ public class ExcelValidateUtil {
             DATE_RIGHT_FORMAT
     );
 
+    /**
+     * 设置Excel表格导入调度器，之后读取表格数据的方法会按文件大小获取导入许可，
+     * 详见{@link ExcelImportScheduler}
+     *
+     * @param scheduler Excel表格导入调度器，为null时不限制同时导入的数量
+     */
+    public static void setImportScheduler(ExcelImportScheduler scheduler) {
+        importScheduler = scheduler;
+    }
+
+    public static ExcelImportScheduler getImportScheduler() {
+        return importScheduler;
+    }
+
+    /**
+     * 按上传文件大小获取导入许可
+     *
+     * @param multipartFile 上传文件
+     * @return 导入许可，未设置导入调度器时返回null
+     * @throws com.hippocp.easy.code.util.excel.exception.ExcelImportRejectedException 排队已满、排队超时或排队时线程被中断
+     */
+    protected static ExcelImportScheduler.Permit acquireImportPermit(MultipartFile multipartFile) {
+        ExcelImportScheduler scheduler = importScheduler;
+        return scheduler == null ? null : scheduler.acquire(multipartFile.getSize());
+    }
+
+    /**
+     * 按本地文件大小获取导入许可
+     *
+     * @param file 本地文件
+     * @return 导入许可，未设置导入调度器时返回null
+     * @throws com.hippocp.easy.code.util.excel.exception.ExcelImportRejectedException 排队已满、排队超时或排队时线程被中断
+     */
+    protected static ExcelImportScheduler.Permit acquireImportPermit(File file) {
+        ExcelImportScheduler scheduler = importScheduler;
+        return scheduler == null ? null : scheduler.acquire(file.length());
+    }
+
+    /**
+     * 持有按上传文件大小获取的导入许可执行任务，任务结束后释放许可
+     *
+     * @param multipartFile 上传文件
+     * @param task          任务
+     * @param <R>           任务结果
+     * @param <E>           任务抛出的异常
+     * @return 任务结果
+     * @throws E 任务抛出的异常
+     * @throws com.hippocp.easy.code.util.excel.exception.ExcelImportRejectedException 排队已满、排队超时或排队时线程被中断
+     */
+    protected static <R, E extends Exception> R withImportPermit(MultipartFile multipartFile,
+                                                                 ImportTask<R, E> task) throws E {
+        return withPermit(acquireImportPermit(multipartFile), task);
+    }
+
+    /**
+     * 持有按本地文件大小获取的导入许可执行任务，任务结束后释放许可
+     *
+     * @param file 本地文件
+     * @param task 任务
+     * @param <R>  任务结果
+     * @param <E>  任务抛出的异常
+     * @return 任务结果
+     * @throws E 任务抛出的异常
+     * @throws com.hippocp.easy.code.util.excel.exception.ExcelImportRejectedException 排队已满、排队超时或排队时线程被中断
+     */
+    protected static <R, E extends Exception> R withImportPermit(File file, ImportTask<R, E> task) throws E {
+        return withPermit(acquireImportPermit(file), task);
+    }
+
+    private static <R, E extends Exception> R withPermit(ExcelImportScheduler.Permit permit,
+                                                         ImportTask<R, E> task) throws E {
+        try {
+            return task.call();
+        } finally {
+            if (permit != null) {
+                permit.close();
+            }
+        }
+    }
+
+    /**
+     * 持有导入许可执行的任务
+     *
+     * @param <R> 任务结果
+     * @param <E> 任务抛出的异常
+     */
+    @FunctionalInterface
+    protected interface ImportTask<R, E extends Exception> {
+
+        /**
+         * 执行任务
+         *
+         * @return 任务结果
+         * @throws E 任务抛出的异常
+         */
+        R call() throws E;
+
+    }
+
     /**
      * 判断Excel文件扩展名是否为 .xlsx
      *
@@ -115,6 +239,16 @@ public class ExcelValidateUtil {
         return !MultipartFileUtil.isEqualsFileSuffix(multipartFile, XLS_SUFFIX);
     }
 
+    /**
+     * 判断文件扩展名是否为 .csv
+     *
+     * @param multipartFile 待校验文件 {@link MultipartFile}
+     * @return 布尔值，true-是，false-否
+     */
+    public static boolean isCsv(MultipartFile multipartFile) {
+        return MultipartFileUtil.isEqualsFileSuffix(multipartFile, CSV_SUFFIX);
+    }
+
     /**
      * 校验Excel表格标题与参照是否相同，只校验表格标题是否存在，而不在乎其顺序<br>
      * 默认取Excel表格的第一行数据作为表格标题
@@ -129,6 +263,7 @@ public class ExcelValidateUtil {
 
     /**
      * 校验Excel表格标题与参照是否相同，只校验表格标题是否存在，而不在乎其顺序<br>
+     * 表格标题由{@link ExcelHeaderProbe}读取，不读取标题行之后的数据
      *
      * @param xlsFile     {@link MultipartFile}
      * @param excelTitles String数组
@@ -136,15 +271,9 @@ public class ExcelValidateUtil {
      * @return 布尔值，true-是，false-否
      */
     public static boolean excelTitleEquals(MultipartFile xlsFile, String[] excelTitles, int titleRowNum) {
-        try (
-                // 获取文件输入流 自动关闭输入流
-                InputStream fis = xlsFile.getInputStream();
-                // 获取Excel读取器 自动关闭hutool工具Excel读取器
-                ExcelReader reader = ExcelUtil.getReader(fis)
-        ) {
-
-            // Object类型列标题
-            List<Object> objectColumnTitleList = reader.readRow(titleRowNum);
+        try {
+            // Object类型列标题，只读取到标题行为止，同一请求内重复校验时使用缓存
+            List<Object> objectColumnTitleList = ExcelHeaderProbe.readHeader(xlsFile, titleRowNum);
             // Excel表格列标题校验，true-通过校验 false未通过校验
             boolean isPassValidate = columnTitleValidate(objectColumnTitleList, excelTitles);
             return isPassValidate;
@@ -250,11 +379,29 @@ public class ExcelValidateUtil {
         // Excel表格读取器类型
         ExcelReaderTypeEnum excelReaderTypeEnum = options.getExcelReaderTypeEnum();
 
+        // .csv 文件不经过POI，逐行读取、转换、校验
+        if (isCsv(xlsxFile)) {
+            return cellValidByCsv(xlsxFile, columnToFieldMap, beanType, options);
+        }
+
+        boolean isSaxRead = ExcelReaderTypeEnum.SAX.getCode().equals(excelReaderTypeEnum.getCode());
+        // 流式读取，逐行读取、转换、校验
+        if (isSaxRead) {
+            return cellValidBySax(xlsxFile, columnToFieldMap, beanType, options);
+        }
+
+        // JavaBean验证器并行校验线程池，为null时逐行校验
+        ExecutorService parallelValidateExecutor = options.getParallelValidateExecutor();
+        // 并行校验时每个任务校验的行数
+        int parallelValidateChunkSize = options.getParallelValidateChunkSize();
+        // 错误预算，为null时不限制
+        ExcelViolationBudget violationBudget = ExcelViolationBudget.of(options);
+
         boolean isNoReadValid = ExcelReaderTypeEnum.NOTVALID.getCode().equals(excelReaderTypeEnum.getCode());
         // 不需要读取数据时校验
         if (isNoReadValid) {
             // 执行
-            return cellValid(
+            return limitConstraintError(cellValidWithoutReadValidate(
                     xlsxFile,
                     headerRowIndex,
                     startRowIndex,
@@ -263,11 +410,14 @@ public class ExcelValidateUtil {
                     isReadabilityRowNumJoin,
                     beanType,
                     customValidator,
-                    groups);
+                    parallelValidateExecutor,
+                    parallelValidateChunkSize,
+                    violationBudget,
+                    groups), options);
         }
 
         // 默认执行，读取数据时校验
-        return cellValid(
+        return limitConstraintError(cellValidWithReadValidate(
                 xlsxFile,
                 headerRowIndex,
                 startRowIndex,
@@ -278,7 +428,10 @@ public class ExcelValidateUtil {
                 customValidAssignmentStrHandler,
                 customFormatStrHandler,
                 customValidator,
-                groups);
+                parallelValidateExecutor,
+                parallelValidateChunkSize,
+                violationBudget,
+                groups), options);
     }
 
 
@@ -309,26 +462,79 @@ public class ExcelValidateUtil {
                                                    Class<T> beanType,
                                                    CustomValidator<T> customValidator,
                                                    Class<?>... groups) {
-        // 存放表格数据
-        List<T> excelDataList;
-        try {
-            // 读表格数据
-            excelDataList = readExcelData(xlsxFile, headerRowIndex, startRowIndex, columnToFieldMap, beanType);
-        } catch (IOException e) {
-            log.error("无法读取Excel表格数据：", e);
-            // 则校验不通过
-            return new ValidatorResult<>(false);
-        }
-        // Excel表格列业务相关校验器
-        return cellValidaBase(
+        return cellValidWithoutReadValidate(
+                xlsxFile,
                 headerRowIndex,
                 startRowIndex,
+                columnToFieldMap,
                 isReturnExcelDataObj,
                 isReadabilityRowNumJoin,
+                beanType,
                 customValidator,
-                excelDataList,
-                groups
-        );
+                null,
+                0,
+                null,
+                groups);
+    }
+
+
+    /**
+     * Excel表格列业务相关校验器，不会在读取数据时就开始校验，可并行执行JavaBean验证器
+     *
+     * @param xlsxFile                  Excel表格文件
+     * @param headerRowIndex            标题所在行，如果标题行在读取的内容行中间，这行做为数据将忽略
+     * @param startRowIndex             起始行（包含，从0开始计数）
+     * @param columnToFieldMap          表格列映射map
+     * @param isReturnExcelDataObj      是否返回Excel表格数据
+     * @param isReadabilityRowNumJoin   是否在JavaBean违反约束错误信息中拼接，违反约束数据所在的Excel表格行号
+     * @param beanType                  需要校验的JavaBean，其应描述Excel表格中的数据
+     * @param customValidator           自定义校验器列表
+     * @param parallelValidateExecutor  JavaBean验证器并行校验线程池，为null时逐行校验
+     * @param parallelValidateChunkSize 并行校验时每个任务校验的行数
+     * @param violationBudget           错误预算，预算用完时停止校验，为null时不限制
+     * @param groups                    分组校验
+     * @param <T>                       JavaBean
+     * @return {@link ValidatorResult} 校验器校验结果类
+     * @see ExcelValidateUtil#cellValid(MultipartFile, int, int, Map, boolean, boolean, Class, CustomValidator, Class[])
+     */
+    protected static <T> ValidatorResult<T> cellValidWithoutReadValidate(MultipartFile xlsxFile,
+                                                                         int headerRowIndex,
+                                                                         int startRowIndex,
+                                                                         Map<String, String> columnToFieldMap,
+                                                                         boolean isReturnExcelDataObj,
+                                                                         boolean isReadabilityRowNumJoin,
+                                                                         Class<T> beanType,
+                                                                         CustomValidator<T> customValidator,
+                                                                         ExecutorService parallelValidateExecutor,
+                                                                         int parallelValidateChunkSize,
+                                                                         ExcelViolationBudget violationBudget,
+                                                                         Class<?>... groups) {
+        // 按文件大小获取导入许可，未设置导入调度器时不限制
+        return withImportPermit(xlsxFile, () -> {
+            // 存放表格数据
+            List<T> excelDataList;
+            try {
+                // 读表格数据
+                excelDataList = readExcelData(xlsxFile, headerRowIndex, startRowIndex, columnToFieldMap, beanType);
+            } catch (IOException e) {
+                log.error("无法读取Excel表格数据：", e);
+                // 则校验不通过
+                return new ValidatorResult<>(false);
+            }
+            // Excel表格列业务相关校验器
+            return cellValidaBase(
+                    headerRowIndex,
+                    startRowIndex,
+                    isReturnExcelDataObj,
+                    isReadabilityRowNumJoin,
+                    customValidator,
+                    excelDataList,
+                    parallelValidateExecutor,
+                    parallelValidateChunkSize,
+                    violationBudget,
+                    groups
+            );
+        });
     }
 
 
@@ -363,39 +569,963 @@ public class ExcelValidateUtil {
                                                    CustomFormatStrHandler customFormatStrHandler,
                                                    CustomValidator<T> customValidator,
                                                    Class<?>... groups) {
-        // 存放表格数据
-        List<T> excelDataList;
-        Set<ConstraintViolation<?>> violationObjSet = new HashSet<>();
-        try {
-            // 读表格数据
-            excelDataList = readExcelDataAndValidate(
-                    xlsxFile,
+        return cellValidWithReadValidate(
+                xlsxFile,
+                headerRowIndex,
+                startRowIndex,
+                columnToFieldMap,
+                isReturnExcelDataObj,
+                isReadabilityRowNumJoin,
+                beanType,
+                customValidAssignmentStrHandler,
+                customFormatStrHandler,
+                customValidator,
+                null,
+                0,
+                null,
+                groups);
+    }
+
+
+    /**
+     * Excel表格列业务相关校验器，读取数据时就开始校验，可并行执行JavaBean验证器
+     *
+     * @param xlsxFile                        Excel表格文件
+     * @param headerRowIndex                  标题所在行，如果标题行在读取的内容行中间，这行做为数据将忽略
+     * @param startRowIndex                   起始行（包含，从0开始计数）
+     * @param columnToFieldMap                表格列映射map
+     * @param isReturnExcelDataObj            是否返回Excel表格数据
+     * @param isReadabilityRowNumJoin         是否在JavaBean违反约束错误信息中拼接，违反约束数据所在的Excel表格行号
+     * @param beanType                        需要校验的JavaBean，其应描述Excel表格中的数据
+     * @param customValidAssignmentStrHandler 自定义校验与赋值回调接口
+     * @param customFormatStrHandler          自定义字符串格式化回调接口
+     * @param customValidator                 自定义校验器列表
+     * @param parallelValidateExecutor        JavaBean验证器并行校验线程池，为null时逐行校验
+     * @param parallelValidateChunkSize       并行校验时每个任务校验的行数
+     * @param violationBudget                 错误预算，预算用完时停止读取与校验，为null时不限制
+     * @param groups                          分组校验
+     * @param <T>                             JavaBean
+     * @return {@link ValidatorResult} 校验器校验结果类
+     * @see ExcelValidateUtil#cellValid(MultipartFile, int, int, Map, boolean, boolean, Class, CustomValidAssignmentStrHandler, CustomFormatStrHandler, CustomValidator, Class[])
+     */
+    protected static <T> ValidatorResult<T> cellValidWithReadValidate(MultipartFile xlsxFile,
+                                                                      int headerRowIndex,
+                                                                      int startRowIndex,
+                                                                      Map<String, String> columnToFieldMap,
+                                                                      boolean isReturnExcelDataObj,
+                                                                      boolean isReadabilityRowNumJoin,
+                                                                      Class<T> beanType,
+                                                                      CustomValidAssignmentStrHandler customValidAssignmentStrHandler,
+                                                                      CustomFormatStrHandler customFormatStrHandler,
+                                                                      CustomValidator<T> customValidator,
+                                                                      ExecutorService parallelValidateExecutor,
+                                                                      int parallelValidateChunkSize,
+                                                                      ExcelViolationBudget violationBudget,
+                                                                      Class<?>... groups) {
+        // 按文件大小获取导入许可，未设置导入调度器时不限制
+        return withImportPermit(xlsxFile, () -> {
+            // 存放表格数据
+            List<T> excelDataList;
+            // 按读取顺序保存约束违反信息，单元格格式错误紧凑存放
+            Set<ConstraintViolation<?>> violationObjSet = new ExcelViolationBuffer();
+            try {
+                // 读表格数据
+                excelDataList = readExcelDataAndValidate(
+                        xlsxFile,
+                        headerRowIndex,
+                        startRowIndex,
+                        columnToFieldMap,
+                        beanType,
+                        violationObjSet,
+                        customValidAssignmentStrHandler,
+                        customFormatStrHandler,
+                        violationBudget
+                );
+            } catch (IOException e) {
+                log.error("无法读取Excel表格数据：", e);
+                // 则校验不通过
+                return new ValidatorResult<>(false);
+            }
+
+            // 校验不通过返回
+            if (CollUtil.isNotEmpty(violationObjSet)) {
+                ValidatorResult<T> result = new ValidatorResult<>(false, excelDataList, null, violationObjSet);
+                result.generateConstraintError();
+                // 日志
+                if (log.isInfoEnabled()) {
+                    log.info("表格读取过程中的校验是否通过：不通过");
+                }
+                return result;
+            }
+
+            // Excel表格列业务相关校验器
+            return cellValidaBase(
+                    headerRowIndex,
+                    startRowIndex,
+                    isReturnExcelDataObj,
+                    isReadabilityRowNumJoin,
+                    customValidator,
+                    excelDataList,
+                    parallelValidateExecutor,
+                    parallelValidateChunkSize,
+                    violationBudget,
+                    groups
+            );
+        });
+    }
+
+
+    /**
+     * Excel表格列业务相关校验器，流式读取，基于POI事件模型逐行读取、转换、校验<br>
+     * 读取数据时进行的校验与 {@link ExcelReaderTypeEnum#VALID} 相同，每行数据读取后立即执行JavaBean验证器，
+     * 不会将整个工作簿或全部行的Map加载到内存<br>
+     * 仅当 isReturnExcelDataObj 为true或存在自定义校验器时，才会保留每行的JavaBean对象<br>
+     * 注意：仅支持 .xlsx 文件，并且标题行须位于数据起始行之前
+     *
+     * @param xlsxFile         Excel表格文件
+     * @param columnToFieldMap 表格列映射map
+     * @param beanType         需要校验的JavaBean，其应描述Excel表格中的数据
+     * @param options          Excel表格校验选项
+     * @param <T>              JavaBean
+     * @return {@link ValidatorResult} 校验器校验结果类
+     */
+    public static <T> ValidatorResult<T> cellValidBySax(MultipartFile xlsxFile,
+                                                        Map<String, String> columnToFieldMap,
+                                                        Class<T> beanType,
+                                                        ExcelValidateOptions<T> options) {
+        // 按文件大小获取导入许可，未设置导入调度器时不限制
+        return withImportPermit(xlsxFile, () -> {
+            // 行校验处理器
+            ExcelValidateRowHandler<T> rowHandler = createSaxRowHandler(columnToFieldMap, beanType, options);
+
+            try {
+                readBySax(xlsxFile, rowHandler, options.getSharedStringsSpillThreshold());
+            } catch (IOException e) {
+                log.error("无法读取Excel表格数据：", e);
+                // 则校验不通过
+                return new ValidatorResult<>(false);
+            }
+
+            return buildSaxValidatorResult(rowHandler, options);
+        });
+    }
+
+
+    /**
+     * .csv 文件列业务相关校验器，与{@link #cellValidBySax(MultipartFile, Map, Class, ExcelValidateOptions)}
+     * 使用同一个行校验处理器，表格列映射map、校验选项、自定义处理器与校验结果均相同，单元格数据均为字符串<br>
+     * 上传文件直接读取输入流，不写入临时文件；文件编码与分隔符见{@link ExcelValidateOptions#getCsvCharset()}、
+     * {@link ExcelValidateOptions#getCsvDelimiter()}<br>
+     * 注意：标题行须位于数据起始行之前
+     *
+     * @param csvFile          .csv 文件
+     * @param columnToFieldMap 表格列映射map
+     * @param beanType         需要校验的JavaBean，其应描述表格中的数据
+     * @param options          Excel表格校验选项，读取方式选项对 .csv 文件无效
+     * @param <T>              JavaBean
+     * @return {@link ValidatorResult} 校验器校验结果类
+     */
+    public static <T> ValidatorResult<T> cellValidByCsv(MultipartFile csvFile,
+                                                        Map<String, String> columnToFieldMap,
+                                                        Class<T> beanType,
+                                                        ExcelValidateOptions<T> options) {
+        // 按文件大小获取导入许可，未设置导入调度器时不限制
+        return withImportPermit(csvFile, () -> {
+            ExcelValidateRowHandler<T> rowHandler = createSaxRowHandler(columnToFieldMap, beanType, options);
+            try (CsvStreamReader reader = CsvStreamReader.open(csvFile, Charset.forName(options.getCsvCharset()),
+                    options.getCsvDelimiter())) {
+                readByCsv(reader, rowHandler);
+            } catch (IOException e) {
+                log.error("无法读取.csv文件数据：", e);
+                // 则校验不通过
+                return new ValidatorResult<>(false);
+            }
+            return buildSaxValidatorResult(rowHandler, options);
+        });
+    }
+
+
+    /**
+     * 本地 .csv 文件列业务相关校验器，文件通过内存映射读取，其余与
+     * {@link #cellValidByCsv(MultipartFile, Map, Class, ExcelValidateOptions)}相同
+     *
+     * @param csvFile          本地 .csv 文件
+     * @param columnToFieldMap 表格列映射map
+     * @param beanType         需要校验的JavaBean，其应描述表格中的数据
+     * @param options          Excel表格校验选项，读取方式选项对 .csv 文件无效
+     * @param <T>              JavaBean
+     * @return {@link ValidatorResult} 校验器校验结果类
+     */
+    public static <T> ValidatorResult<T> cellValidByCsv(File csvFile,
+                                                        Map<String, String> columnToFieldMap,
+                                                        Class<T> beanType,
+                                                        ExcelValidateOptions<T> options) {
+        // 按文件大小获取导入许可，未设置导入调度器时不限制
+        return withImportPermit(csvFile, () -> {
+            ExcelValidateRowHandler<T> rowHandler = createSaxRowHandler(columnToFieldMap, beanType, options);
+            try (CsvStreamReader reader = CsvStreamReader.open(csvFile, Charset.forName(options.getCsvCharset()),
+                    options.getCsvDelimiter())) {
+                readByCsv(reader, rowHandler);
+            } catch (IOException e) {
+                log.error("无法读取.csv文件数据：", e);
+                // 则校验不通过
+                return new ValidatorResult<>(false);
+            }
+            return buildSaxValidatorResult(rowHandler, options);
+        });
+    }
+
+
+    /**
+     * 读取 .csv 文件全部行，逐行交给行校验处理器
+     *
+     * @param reader     .csv 流式读取器
+     * @param rowHandler 行校验处理器
+     * @param <T>        JavaBean
+     * @throws IOException 无法读取 .csv 文件数据
+     */
+    protected static <T> void readByCsv(CsvStreamReader reader, ExcelValidateRowHandler<T> rowHandler) throws IOException {
+        reader.read(rowHandler);
+        // 读取结束，消费最后一批数据
+        rowHandler.finish();
+        if (log.isInfoEnabled()) {
+            log.info("Excel表格校验工具读取.csv文件完成，共读取{}行数据", rowHandler.getRowCount());
+        }
+    }
+
+
+    /**
+     * 创建流式读取的行校验处理器
+     *
+     * @param columnToFieldMap 表格列映射map
+     * @param beanType         需要校验的JavaBean，其应描述Excel表格中的数据
+     * @param options          Excel表格校验选项
+     * @param <T>              JavaBean
+     * @return {@link ExcelValidateRowHandler} 行校验处理器
+     */
+    protected static <T> ExcelValidateRowHandler<T> createSaxRowHandler(Map<String, String> columnToFieldMap,
+                                                                       Class<T> beanType,
+                                                                       ExcelValidateOptions<T> options) {
+        int headerRowIndex = options.getHeaderRowIndex();
+        int startRowIndex = options.getStartRowIndex();
+        // 流式读取无法回头读取标题行
+        if (headerRowIndex > startRowIndex) {
+            throw new ExcelValidateException("流式读取要求表格标题行位于数据起始行之前");
+        }
+
+        ExcelValidateRowHandler<T> rowHandler = new ExcelValidateRowHandler<>(
+                headerRowIndex,
+                startRowIndex,
+                columnToFieldMap,
+                beanType,
+                options.isReturnExcelDataObj() || options.getCustomValidator() != null,
+                options.getCustomValidAssignmentStrHandler(),
+                options.getCustomFormatStrHandler(),
+                validatorFactory.getValidator(),
+                options.getGroups()
+        );
+        rowHandler.setViolationBudget(ExcelViolationBudget.of(options));
+        return rowHandler;
+    }
+
+
+    /**
+     * 根据流式读取完毕的行校验处理器构建校验结果，读取过程中校验通过时执行自定义校验器
+     *
+     * @param rowHandler 读取完毕的行校验处理器
+     * @param options    Excel表格校验选项
+     * @param <T>        JavaBean
+     * @return {@link ValidatorResult} 校验器校验结果类
+     */
+    protected static <T> ValidatorResult<T> buildSaxValidatorResult(ExcelValidateRowHandler<T> rowHandler,
+                                                                    ExcelValidateOptions<T> options) {
+        boolean isReturnExcelDataObj = options.isReturnExcelDataObj();
+        CustomValidator<T> customValidator = options.getCustomValidator();
+
+        List<T> excelDataList = rowHandler.getDataList();
+        Set<ConstraintViolation<T>> violationSet = rowHandler.getViolationSet();
+        Set<ConstraintViolation<?>> readViolationSet = rowHandler.getReadViolationSet();
+
+        // 读取过程中的校验或JavaBean验证器校验不通过返回
+        if (CollUtil.isNotEmpty(readViolationSet) || CollUtil.isNotEmpty(violationSet)) {
+            ValidatorResult<T> result = new ValidatorResult<>(false,
+                    isReturnExcelDataObj ? excelDataList : null, violationSet, readViolationSet);
+            result.generateConstraintError();
+            putViolationRowNums(result, rowHandler.getViolationRowNumMap());
+            if (log.isInfoEnabled()) {
+                log.info("流式读取过程中的校验是否通过：不通过");
+            }
+            return limitConstraintError(result, options);
+        }
+
+        // 执行自定义校验器
+        Set<EasyConstraintViolationImpl<T>> customViolationSet = executeCustomValidator(excelDataList, customValidator);
+        if (CollUtil.isNotEmpty(customViolationSet)) {
+            violationSet.addAll(customViolationSet);
+        }
+
+        // 判断校验是否通过
+        boolean isValid = isValid(violationSet);
+
+        if (log.isInfoEnabled()) {
+            log.info("自定义校验器校验是否通过：{}", isValid ? "通过" : "不通过");
+        }
+
+        // 构建校验器结果对象
+        return limitConstraintError(buildValidatorResult(isValid, isReturnExcelDataObj, excelDataList, violationSet),
+                options);
+    }
+
+
+    /**
+     * 将JavaBean约束违反信息所在的可读性行号记录到校验结果中
+     *
+     * @param result             校验器校验结果
+     * @param violationRowNumMap JavaBean约束违反信息 -》可读性行号
+     * @param <T>                JavaBean
+     */
+    private static <T> void putViolationRowNums(ValidatorResult<T> result,
+                                                Map<ConstraintViolation<T>, Integer> violationRowNumMap) {
+        for (Map.Entry<ConstraintViolation<T>, Integer> entry : violationRowNumMap.entrySet()) {
+            result.putViolationRowNum(entry.getKey(), entry.getValue());
+        }
+    }
+
+
+    /**
+     * 按校验选项截断校验结果中的约束错误对象
+     *
+     * @param result  校验器校验结果
+     * @param options Excel表格校验选项
+     * @param <T>     JavaBean
+     * @return 参数 result
+     * @see ExcelValidateOptions#getMaxConstraintErrorCount()
+     */
+    private static <T> ValidatorResult<T> limitConstraintError(ValidatorResult<T> result, ExcelValidateOptions<T> options) {
+        result.limitConstraintError(options.getMaxConstraintErrorCount());
+        return result;
+    }
+
+
+    /**
+     * 单元格校验，逐行消费通过校验的数据<br>
+     * 流式读取Excel表格，每一行数据通过校验后立即交给 rowConsumer，数据不会收集到返回结果中，
+     * 适用于边读取边写入数据库，内存占用不随表格行数增长<br>
+     * 注意：返回结果中 data 始终为null，不通过校验的行不会交给 rowConsumer
+     *
+     * @param xlsxFile         Excel表格文件
+     * @param columnToFieldMap 表格列映射map
+     * @param beanType         需要校验的JavaBean，其应描述Excel表格中的数据
+     * @param options          Excel表格校验选项
+     * @param rowConsumer      行数据消费回调接口
+     * @param <T>              JavaBean
+     * @return {@link ValidatorResult} 校验器校验结果，仅包含约束违反信息
+     * @see ExcelValidateUtil#cellValid(MultipartFile, Map, Class, ExcelValidateOptions, int, BatchConsumer)
+     */
+    public static <T> ValidatorResult<T> cellValid(MultipartFile xlsxFile,
+                                                   Map<String, String> columnToFieldMap,
+                                                   Class<T> beanType,
+                                                   ExcelValidateOptions<T> options,
+                                                   RowConsumer<T> rowConsumer) {
+        return cellValid(xlsxFile, columnToFieldMap, beanType, options, 1, batch -> {
+            for (ExcelRowData<T> row : batch) {
+                rowConsumer.accept(row.getReadabilityRowNum(), row.getData());
+            }
+        });
+    }
+
+
+    /**
+     * 单元格校验，批量消费通过校验的数据<br>
+     * 流式读取Excel表格，通过校验的数据每凑满 batchSize 条立即交给 batchConsumer，数据不会收集到返回结果中，
+     * 适用于边读取边批量写入数据库，内存占用只与批大小有关<br>
+     * Excel表格读取器类型为 {@link ExcelReaderTypeEnum#NOTVALID} 时不执行读取过程中的校验，其它类型均执行<br>
+     * 注意：<br>
+     * 1.返回结果中 data 始终为null，不通过校验的行不会交给 batchConsumer<br>
+     * 2.自定义校验器按批执行，参数为当前批次的数据，某批不通过校验时该批数据不会交给 batchConsumer，
+     * 因此自定义校验器无法进行跨批次的校验，例如整表唯一性校验<br>
+     * 3.仅支持 .xlsx 文件，并且标题行须位于数据起始行之前
+     *
+     * @param xlsxFile         Excel表格文件
+     * @param columnToFieldMap 表格列映射map
+     * @param beanType         需要校验的JavaBean，其应描述Excel表格中的数据
+     * @param options          Excel表格校验选项
+     * @param batchSize        批大小，必须大于0
+     * @param batchConsumer    批量数据消费回调接口
+     * @param <T>              JavaBean
+     * @return {@link ValidatorResult} 校验器校验结果，仅包含约束违反信息
+     */
+    public static <T> ValidatorResult<T> cellValid(MultipartFile xlsxFile,
+                                                   Map<String, String> columnToFieldMap,
+                                                   Class<T> beanType,
+                                                   ExcelValidateOptions<T> options,
+                                                   int batchSize,
+                                                   BatchConsumer<T> batchConsumer) {
+        return cellValid(xlsxFile, columnToFieldMap, beanType, options, batchSize, batchConsumer, null, null);
+    }
+
+
+    /**
+     * 单元格校验，批量消费通过校验的数据，可从检查点恢复<br>
+     * 与{@link ExcelValidateUtil#cellValid(MultipartFile, Map, Class, ExcelValidateOptions, int, BatchConsumer)}相同，
+     * 每一批数据交给 batchConsumer 后，将最后处理的行号与累计约束违反信息数量保存到检查点；
+     * 导入中途失败（例如 batchConsumer 抛出异常）后使用相同的导入标识重试，将直接越过已提交的行，
+     * 这些行不再解析、校验与消费<br>
+     * 一批数据被自定义校验器拒绝后，检查点停在该批次之前，之后通过校验的数据只校验不消费，检查点不会标记为已完成，
+     * 重试时从被拒绝的批次重新读取与校验，不会丢失被拒绝的数据行<br>
+     * 注意：<br>
+     * 1.导入标识须能唯一确定文件内容，例如文件摘要，文件内容变化后请使用新的导入标识<br>
+     * 2.检查点已完成时直接返回，校验是否通过取决于检查点中累计的约束违反信息数量，返回结果不包含之前各次导入的约束违反信息<br>
+     * 3.导入成功后检查点不会自动删除，需要时请调用{@link ExcelCheckpointStore#delete(String)}
+     *
+     * @param xlsxFile         Excel表格文件
+     * @param columnToFieldMap 表格列映射map
+     * @param beanType         需要校验的JavaBean，其应描述Excel表格中的数据
+     * @param options          Excel表格校验选项
+     * @param batchSize        批大小，必须大于0
+     * @param batchConsumer    批量数据消费回调接口
+     * @param checkpointStore  检查点存储，为null时不保存检查点，例如{@link FileExcelCheckpointStore}
+     * @param importId         导入标识，checkpointStore 不为null时不能为空
+     * @param <T>              JavaBean
+     * @return {@link ValidatorResult} 校验器校验结果，仅包含本次导入的约束违反信息
+     */
+    public static <T> ValidatorResult<T> cellValid(MultipartFile xlsxFile,
+                                                   Map<String, String> columnToFieldMap,
+                                                   Class<T> beanType,
+                                                   ExcelValidateOptions<T> options,
+                                                   int batchSize,
+                                                   BatchConsumer<T> batchConsumer,
+                                                   ExcelCheckpointStore checkpointStore,
+                                                   String importId) {
+        // 按文件大小获取导入许可，未设置导入调度器时不限制
+        return withImportPermit(xlsxFile, () -> {
+            int headerRowIndex = options.getHeaderRowIndex();
+            int startRowIndex = options.getStartRowIndex();
+            // 流式读取无法回头读取标题行
+            if (headerRowIndex > startRowIndex) {
+                throw new ExcelValidateException("流式读取要求表格标题行位于数据起始行之前");
+            }
+
+            // 读取检查点，从最后提交行的下一行继续读取
+            ExcelImportCheckpoint checkpoint = null;
+            if (checkpointStore != null) {
+                if (StrUtil.isBlank(importId)) {
+                    throw new ExcelValidateException("保存检查点时导入标识不能为空");
+                }
+                try {
+                    checkpoint = checkpointStore.load(importId);
+                } catch (IOException e) {
+                    throw new ExcelValidateException("无法读取Excel表格导入检查点：" + importId, e);
+                }
+                if (checkpoint == null) {
+                    checkpoint = new ExcelImportCheckpoint(importId);
+                } else if (checkpoint.isCompleted()) {
+                    if (log.isInfoEnabled()) {
+                        log.info("导入{}已完成，跳过读取，累计约束违反信息{}条", importId, checkpoint.getViolationCount());
+                    }
+                    return new ValidatorResult<>(checkpoint.getViolationCount() == 0);
+                } else {
+                    startRowIndex = Math.max(startRowIndex, checkpoint.getLastCommittedRowIndex() + 1);
+                    if (log.isInfoEnabled()) {
+                        log.info("导入{}从检查点恢复，从第{}行继续读取", importId, startRowIndex + 1);
+                    }
+                }
+            }
+            // 是否在读取数据时校验
+            boolean isReadValid = !ExcelReaderTypeEnum.NOTVALID.getCode().equals(options.getExcelReaderTypeEnum().getCode());
+
+            // 行校验处理器，不保留数据
+            ExcelValidateRowHandler<T> rowHandler = new ExcelValidateRowHandler<>(
                     headerRowIndex,
                     startRowIndex,
                     columnToFieldMap,
                     beanType,
-                    violationObjSet,
-                    customValidAssignmentStrHandler,
-                    customFormatStrHandler
+                    false,
+                    isReadValid ? options.getCustomValidAssignmentStrHandler() : null,
+                    isReadValid ? options.getCustomFormatStrHandler() : null,
+                    validatorFactory.getValidator(),
+                    options.getGroups()
             );
+            rowHandler.setViolationBudget(ExcelViolationBudget.of(options));
+            rowHandler.setBatchConsumer(batchSize, batchConsumer, options.getCustomValidator());
+            if (checkpoint != null) {
+                rowHandler.setCheckpoint(checkpointStore, checkpoint);
+            }
+
+            try {
+                readBySax(xlsxFile, rowHandler, options.getSharedStringsSpillThreshold());
+            } catch (IOException e) {
+                log.error("无法读取Excel表格数据：", e);
+                // 则校验不通过
+                return new ValidatorResult<>(false);
+            }
+
+            Set<ConstraintViolation<T>> violationSet = rowHandler.getViolationSet();
+            Set<ConstraintViolation<?>> readViolationSet = rowHandler.getReadViolationSet();
+            // 从检查点恢复时，之前各次导入的约束违反信息同样计入
+            boolean isValid = rowHandler.getTotalViolationCount() == 0;
+
+            if (log.isInfoEnabled()) {
+                log.info("消费模式校验是否通过：{}，已交给消费者{}行数据", isValid ? "通过" : "不通过",
+                        rowHandler.getConsumedRowCount());
+            }
+
+            ValidatorResult<T> result = new ValidatorResult<>(isValid, null, violationSet, readViolationSet);
+            result.generateConstraintError();
+            putViolationRowNums(result, rowHandler.getViolationRowNumMap());
+            return limitConstraintError(result, options);
+        });
+    }
+
+
+    /**
+     * 多工作表单元格校验，按工作表索引选择工作表<br>
+     * 各工作表布局相同，使用同一个表格列映射map与校验选项，并行流式读取与校验，详见
+     * {@link ExcelValidateUtil#cellValidBySheetName(MultipartFile, Map, Class, ExcelValidateOptions, String...)}
+     *
+     * @param xlsxFile         Excel表格文件
+     * @param columnToFieldMap 表格列映射map
+     * @param beanType         需要校验的JavaBean，其应描述Excel表格中的数据
+     * @param options          Excel表格校验选项
+     * @param sheetIndexes     工作表索引（从0开始计数），为空时校验所有工作表
+     * @param <T>              JavaBean
+     * @return 工作表名称 -》该工作表的校验结果，按选择的顺序
+     */
+    public static <T> Map<String, ValidatorResult<T>> cellValidBySheetIndex(MultipartFile xlsxFile,
+                                                                           Map<String, String> columnToFieldMap,
+                                                                           Class<T> beanType,
+                                                                           ExcelValidateOptions<T> options,
+                                                                           int... sheetIndexes) {
+        return cellValidSheets(xlsxFile, columnToFieldMap, beanType, options, reader -> {
+            if (ArrayUtil.isEmpty(sheetIndexes)) {
+                return allSheetIndexes(reader);
+            }
+            int sheetCount = reader.getSheetNames().size();
+            for (int sheetIndex : sheetIndexes) {
+                if (sheetIndex < 0 || sheetIndex >= sheetCount) {
+                    throw new ExcelValidateException("Excel表格中不存在索引为 " + sheetIndex + " 的工作表");
+                }
+            }
+            return sheetIndexes;
+        });
+    }
+
+
+    /**
+     * 多工作表单元格校验，按工作表名称选择工作表<br>
+     * 各工作表布局相同，使用同一个表格列映射map与校验选项。工作表在有界线程池中并行流式读取与校验，
+     * 线程数不超过CPU核数，与工作表数量无关，见{@link ExcelValidateOptions#getParallelSheetExecutor()}<br>
+     * 注意：<br>
+     * 1.仅支持 .xlsx 文件，读取方式与{@link ExcelReaderTypeEnum#SAX}相同，并且标题行须位于数据起始行之前<br>
+     * 2.每个工作表使用各自的校验选项副本，自定义校验器与错误预算相互独立，自定义回调接口会被多个线程同时调用，须线程安全<br>
+     * 3.需要合并为一个校验结果时使用{@link ExcelValidateUtil#mergeSheetResults(Map, ExcelValidateOptions)}，
+     * 合并时按工作表顺序对全部约束违反信息应用错误预算
+     *
+     * @param xlsxFile         Excel表格文件
+     * @param columnToFieldMap 表格列映射map
+     * @param beanType         需要校验的JavaBean，其应描述Excel表格中的数据
+     * @param options          Excel表格校验选项
+     * @param sheetNames       工作表名称，为空时校验所有工作表
+     * @param <T>              JavaBean
+     * @return 工作表名称 -》该工作表的校验结果，按选择的顺序
+     * @throws ExcelValidateException Excel表格无法读取或选择的工作表不存在
+     */
+    public static <T> Map<String, ValidatorResult<T>> cellValidBySheetName(MultipartFile xlsxFile,
+                                                                          Map<String, String> columnToFieldMap,
+                                                                          Class<T> beanType,
+                                                                          ExcelValidateOptions<T> options,
+                                                                          String... sheetNames) {
+        return cellValidSheets(xlsxFile, columnToFieldMap, beanType, options, reader -> {
+            if (ArrayUtil.isEmpty(sheetNames)) {
+                return allSheetIndexes(reader);
+            }
+            int[] sheetIndexes = new int[sheetNames.length];
+            for (int i = 0; i < sheetNames.length; i++) {
+                sheetIndexes[i] = reader.getSheetNames().indexOf(sheetNames[i]);
+                if (sheetIndexes[i] < 0) {
+                    throw new ExcelValidateException("Excel表格中不存在名称为 " + sheetNames[i] + " 的工作表");
+                }
+            }
+            return sheetIndexes;
+        });
+    }
+
+
+    /**
+     * 多工作表单元格校验，所有工作表共用一个流式读取器，共享字符串表与样式只解析一次
+     *
+     * @param xlsxFile         Excel表格文件
+     * @param columnToFieldMap 表格列映射map
+     * @param beanType         需要校验的JavaBean，其应描述Excel表格中的数据
+     * @param options          Excel表格校验选项
+     * @param sheetSelector    根据流式读取器选择需要校验的工作表索引
+     * @param <T>              JavaBean
+     * @return 工作表名称 -》该工作表的校验结果，按选择的顺序
+     */
+    protected static <T> Map<String, ValidatorResult<T>> cellValidSheets(MultipartFile xlsxFile,
+                                                                         Map<String, String> columnToFieldMap,
+                                                                         Class<T> beanType,
+                                                                         ExcelValidateOptions<T> options,
+                                                                         Function<XlsxStreamReader, int[]> sheetSelector) {
+        // 按文件大小获取导入许可，未设置导入调度器时不限制
+        return withImportPermit(xlsxFile, () -> {
+            // 当前请求绑定了导入会话时，与会话共用流式读取器
+            ExcelImportSession session = ExcelImportSession.current(xlsxFile);
+            try {
+                if (session != null) {
+                    XlsxStreamReader reader = session.getStreamReader(options.getSharedStringsSpillThreshold());
+                    return cellValidSheets(reader, columnToFieldMap, beanType, options, sheetSelector);
+                }
+                try (XlsxStreamReader reader = XlsxStreamReader.open(xlsxFile, options.getSharedStringsSpillThreshold())) {
+                    return cellValidSheets(reader, columnToFieldMap, beanType, options, sheetSelector);
+                }
+            } catch (IOException e) {
+                throw new ExcelValidateException("无法读取Excel表格数据", e);
+            }
+        });
+    }
+
+
+    /**
+     * 在有界线程池中并行校验选择的工作表
+     *
+     * @param reader           流式读取器，不会关闭
+     * @param columnToFieldMap 表格列映射map
+     * @param beanType         需要校验的JavaBean，其应描述Excel表格中的数据
+     * @param options          Excel表格校验选项
+     * @param sheetSelector    根据流式读取器选择需要校验的工作表索引
+     * @param <T>              JavaBean
+     * @return 工作表名称 -》该工作表的校验结果，按选择的顺序
+     */
+    private static <T> Map<String, ValidatorResult<T>> cellValidSheets(XlsxStreamReader reader,
+                                                                       Map<String, String> columnToFieldMap,
+                                                                       Class<T> beanType,
+                                                                       ExcelValidateOptions<T> options,
+                                                                       Function<XlsxStreamReader, int[]> sheetSelector) {
+        int[] sheetIndexes = sheetSelector.apply(reader);
+        List<String> sheetNames = reader.getSheetNames();
+        Map<String, ValidatorResult<T>> sheetResults = new LinkedHashMap<>(sheetIndexes.length * 2);
+        // 只有一个工作表时在当前线程校验
+        if (sheetIndexes.length == 1) {
+            int sheetIndex = sheetIndexes[0];
+            sheetResults.put(sheetNames.get(sheetIndex),
+                    cellValidSheet(reader, sheetIndex, columnToFieldMap, beanType, options.copy()));
+            return sheetResults;
+        }
+
+        ExecutorService executor = options.getParallelSheetExecutor();
+        // 未指定线程池时，线程数不超过CPU核数
+        boolean isTempExecutor = executor == null;
+        if (isTempExecutor) {
+            int threads = Math.min(Runtime.getRuntime().availableProcessors(), Math.max(sheetIndexes.length, 1));
+            executor = Executors.newFixedThreadPool(threads);
+        }
+        List<Future<ValidatorResult<T>>> futureList = new ArrayList<>(sheetIndexes.length);
+        try {
+            for (int sheetIndex : sheetIndexes) {
+                // 每个工作表使用各自的选项副本与错误预算，工作表之间不共享可变状态
+                ExcelValidateOptions<T> sheetOptions = options.copy();
+                futureList.add(executor.submit(
+                        () -> cellValidSheet(reader, sheetIndex, columnToFieldMap, beanType, sheetOptions)));
+            }
+            for (int i = 0; i < sheetIndexes.length; i++) {
+                sheetResults.put(sheetNames.get(sheetIndexes[i]), futureList.get(i).get());
+            }
+        } catch (InterruptedException e) {
+            cancelAll(futureList);
+            Thread.currentThread().interrupt();
+            throw new ExcelValidateException("多工作表校验被中断", e);
+        } catch (ExecutionException e) {
+            cancelAll(futureList);
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new ExcelValidateException("多工作表校验失败", cause);
+        } finally {
+            if (isTempExecutor) {
+                executor.shutdownNow();
+            }
+        }
+        return sheetResults;
+    }
+
+
+    /**
+     * 流式读取并校验一个工作表
+     *
+     * @param reader           流式读取器，不会关闭
+     * @param sheetIndex       工作表索引（从0开始计数）
+     * @param columnToFieldMap 表格列映射map
+     * @param beanType         需要校验的JavaBean，其应描述Excel表格中的数据
+     * @param options          Excel表格校验选项
+     * @param <T>              JavaBean
+     * @return {@link ValidatorResult} 该工作表的校验结果，行号为工作表内的行号
+     */
+    private static <T> ValidatorResult<T> cellValidSheet(XlsxStreamReader reader,
+                                                         int sheetIndex,
+                                                         Map<String, String> columnToFieldMap,
+                                                         Class<T> beanType,
+                                                         ExcelValidateOptions<T> options) {
+        ExcelValidateRowHandler<T> rowHandler = createSaxRowHandler(columnToFieldMap, beanType, options);
+        try {
+            reader.read(sheetIndex, rowHandler);
+            rowHandler.finish();
         } catch (IOException e) {
-            log.error("无法读取Excel表格数据：", e);
+            log.error("无法读取Excel表格工作表 [ {} ] 的数据：", reader.getSheetNames().get(sheetIndex), e);
             // 则校验不通过
             return new ValidatorResult<>(false);
         }
+        if (log.isInfoEnabled()) {
+            log.info("Excel表格校验工具流式读取工作表 [ {} ] 完成，共读取{}行数据",
+                    reader.getSheetNames().get(sheetIndex), rowHandler.getRowCount());
+        }
+        return buildSaxValidatorResult(rowHandler, options);
+    }
 
-        // 校验不通过返回
-        if (CollUtil.isNotEmpty(violationObjSet)) {
-            ValidatorResult<T> result = new ValidatorResult<>(false, excelDataList, null, violationObjSet);
-            result.generateConstraintError();
-            // 日志
-            if (log.isInfoEnabled()) {
-                log.info("表格读取过程中的校验是否通过：不通过");
+
+    /**
+     * 合并多工作表校验结果，约束违反信息前拼接工作表名称，例如：工作表[Sheet2]第3行年龄未填写<br>
+     * 所有工作表都通过校验时合并结果才通过校验；所有工作表都返回数据时才合并数据，按工作表顺序拼接
+     *
+     * @param sheetResults 工作表名称 -》该工作表的校验结果
+     * @param <T>          JavaBean
+     * @return {@link ValidatorResult} 合并后的校验结果
+     */
+    public static <T> ValidatorResult<T> mergeSheetResults(Map<String, ValidatorResult<T>> sheetResults) {
+        return mergeSheetResults(sheetResults, null);
+    }
+
+
+    /**
+     * 合并多工作表校验结果，见{@link ExcelValidateUtil#mergeSheetResults(Map)}<br>
+     * 各工作表的错误预算相互独立，合并后按工作表顺序只保留{@link ExcelValidateOptions#getMaxViolationCount()}条约束违反信息，
+     * 并按{@link ExcelValidateOptions#getMaxConstraintErrorCount()}限制约束错误对象数量
+     *
+     * @param sheetResults 工作表名称 -》该工作表的校验结果
+     * @param options      多工作表校验时使用的校验选项，为null时不限制
+     * @param <T>          JavaBean
+     * @return {@link ValidatorResult} 合并后的校验结果
+     */
+    public static <T> ValidatorResult<T> mergeSheetResults(Map<String, ValidatorResult<T>> sheetResults,
+                                                           ExcelValidateOptions<T> options) {
+        boolean isValid = true;
+        boolean isAllData = true;
+        List<T> dataList = new ArrayList<>();
+        Set<ConstraintViolation<T>> violationSet = new LinkedHashSet<>();
+        Set<ConstraintViolation<?>> readViolationSet = new LinkedHashSet<>();
+        for (Map.Entry<String, ValidatorResult<T>> entry : sheetResults.entrySet()) {
+            String sheetName = entry.getKey();
+            ValidatorResult<T> result = entry.getValue();
+            isValid = isValid && result.isValid();
+            if (result.getData() == null) {
+                isAllData = false;
+            } else {
+                dataList.addAll(result.getData());
             }
-            return result;
+            if (CollUtil.isNotEmpty(result.getViolationSet())) {
+                for (ConstraintViolation<T> violation : result.getViolationSet()) {
+                    violationSet.add(sheetViolation(sheetName, violation));
+                }
+            }
+            if (CollUtil.isNotEmpty(result.getReadViolationSet())) {
+                for (ConstraintViolation<?> violation : result.getReadViolationSet()) {
+                    readViolationSet.add(sheetViolation(sheetName, violation));
+                }
+            }
+        }
+        ExcelViolationBudget violationBudget = options == null ? null : ExcelViolationBudget.of(options);
+        if (violationBudget != null) {
+            // 先移除JavaBean约束违反信息，仍超出预算时再移除读取过程中的约束违反信息
+            violationBudget.trim(violationSet, readViolationSet.size() + violationSet.size());
+            violationBudget.trim(readViolationSet, readViolationSet.size() + violationSet.size());
+        }
+        ValidatorResult<T> merged = new ValidatorResult<>(isValid, isAllData ? dataList : null,
+                violationSet, readViolationSet);
+        merged.generateConstraintError();
+        return options == null ? merged : limitConstraintError(merged, options);
+    }
+
+
+    /**
+     * 将约束违反信息转换为拼接了工作表名称的约束违反信息
+     *
+     * @param sheetName 工作表名称
+     * @param violation 约束违反信息
+     * @param <T>       JavaBean
+     * @return {@link EasyConstraintViolationImpl}
+     */
+    private static <T> EasyConstraintViolationImpl<T> sheetViolation(String sheetName, ConstraintViolation<?> violation) {
+        ConstraintError constraintError = ConstraintErrorParseUtil.getConstraintError(violation);
+        return EasyConstraintViolationImpl.forBeanValidation(
+                sheetMessageTemplate(sheetName, constraintError.getMessage()),
+                constraintError.getArgsName(),
+                constraintError.getArgsValue());
+    }
+
+
+    /**
+     * 获取工作表的所有索引
+     *
+     * @param reader 流式读取器
+     * @return 工作表索引，按工作簿中的顺序
+     */
+    private static int[] allSheetIndexes(XlsxStreamReader reader) {
+        int[] sheetIndexes = new int[reader.getSheetNames().size()];
+        for (int i = 0; i < sheetIndexes.length; i++) {
+            sheetIndexes[i] = i;
+        }
+        return sheetIndexes;
+    }
+
+
+    /**
+     * 流式读取Excel表格的第一个工作表，逐行交给行校验处理器
+     *
+     * @param xlsxFile   Excel表格文件
+     * @param rowHandler 行校验处理器
+     * @param <T>        JavaBean
+     * @throws IOException 无法读取Excel表格数据
+     */
+    protected static <T> void readBySax(MultipartFile xlsxFile, ExcelValidateRowHandler<T> rowHandler) throws IOException {
+        readBySax(xlsxFile, rowHandler, XlsxSharedStrings.DEFAULT_SPILL_THRESHOLD);
+    }
+
+
+    /**
+     * 流式读取Excel表格的第一个工作表，逐行交给行校验处理器
+     *
+     * @param xlsxFile                    Excel表格文件
+     * @param rowHandler                  行校验处理器
+     * @param sharedStringsSpillThreshold 堆内共享字符串占用阈值（估算字节数），超过后写入临时文件，小于0时不写入临时文件
+     * @param <T>                         JavaBean
+     * @throws IOException 无法读取Excel表格数据
+     */
+    protected static <T> void readBySax(MultipartFile xlsxFile,
+                                        ExcelValidateRowHandler<T> rowHandler,
+                                        long sharedStringsSpillThreshold) throws IOException {
+        // 当前请求绑定了导入会话时，与会话共用流式读取器
+        ExcelImportSession session = ExcelImportSession.current(xlsxFile);
+        if (session != null) {
+            // 默认读取第一个工作表
+            session.getStreamReader(sharedStringsSpillThreshold).read(0, rowHandler);
+            // 读取结束，消费最后一批数据
+            rowHandler.finish();
+        } else {
+            try (XlsxStreamReader reader = XlsxStreamReader.open(xlsxFile, sharedStringsSpillThreshold)) {
+                // 默认读取第一个工作表
+                reader.read(0, rowHandler);
+                // 读取结束，消费最后一批数据
+                rowHandler.finish();
+            }
+        }
+        if (log.isInfoEnabled()) {
+            log.info("Excel表格校验工具流式读取完成，共读取{}行数据", rowHandler.getRowCount());
+        }
+    }
+
+
+    /**
+     * 生成错误报告，将上传的表格写回输出流，标出格式有误的单元格，并在最后追加一列错误信息<br>
+     * 原表格逐行流式读取，通过 POI SXSSF 写入，内存中只保留{@link ExcelErrorReportWriter#DEFAULT_ROW_ACCESS_WINDOW_SIZE}行，
+     * 适合直接写入{@link javax.servlet.http.HttpServletResponse#getOutputStream()}，详见{@link ExcelErrorReportWriter}
+     *
+     * @param xlsxFile         校验时的Excel表格文件，仅支持 .xlsx 文件
+     * @param columnToFieldMap 表格列映射map，与校验时相同
+     * @param result           校验器校验结果
+     * @param options          校验时的Excel表格校验选项
+     * @param out              输出流，不会关闭
+     * @param <T>              JavaBean
+     * @throws IOException 无法读取Excel表格数据或无法写入输出流
+     */
+    public static <T> void writeErrorReport(MultipartFile xlsxFile,
+                                            Map<String, String> columnToFieldMap,
+                                            ValidatorResult<T> result,
+                                            ExcelValidateOptions<T> options,
+                                            OutputStream out) throws IOException {
+        writeErrorReport(xlsxFile, columnToFieldMap, result, options,
+                ExcelErrorReportWriter.DEFAULT_ROW_ACCESS_WINDOW_SIZE, out);
+    }
+
+
+    /**
+     * 生成错误报告，指定内存中保留的行数，详见
+     * {@link ExcelValidateUtil#writeErrorReport(MultipartFile, Map, ValidatorResult, ExcelValidateOptions, OutputStream)}
+     *
+     * @param xlsxFile            校验时的Excel表格文件，仅支持 .xlsx 文件
+     * @param columnToFieldMap    表格列映射map，与校验时相同
+     * @param result              校验器校验结果
+     * @param options             校验时的Excel表格校验选项
+     * @param rowAccessWindowSize 内存中保留的行数
+     * @param out                 输出流，不会关闭
+     * @param <T>                 JavaBean
+     * @throws IOException 无法读取Excel表格数据或无法写入输出流
+     */
+    public static <T> void writeErrorReport(MultipartFile xlsxFile,
+                                            Map<String, String> columnToFieldMap,
+                                            ValidatorResult<T> result,
+                                            ExcelValidateOptions<T> options,
+                                            int rowAccessWindowSize,
+                                            OutputStream out) throws IOException {
+        // 流式读取无法回头读取标题行
+        if (options.getHeaderRowIndex() > options.getStartRowIndex()) {
+            throw new ExcelValidateException("流式读取要求表格标题行位于数据起始行之前");
+        }
+        // 按文件大小获取导入许可，未设置导入调度器时不限制
+        withImportPermit(xlsxFile, () -> {
+            try (ExcelErrorReportWriter writer = new ExcelErrorReportWriter(result, columnToFieldMap,
+                    options.getHeaderRowIndex(), rowAccessWindowSize, options.isReadabilityRowNumJoin())) {
+                // 当前请求绑定了导入会话时，与会话共用流式读取器
+                ExcelImportSession session = ExcelImportSession.current(xlsxFile);
+                if (session != null) {
+                    writeErrorReport(session.getStreamReader(options.getSharedStringsSpillThreshold()), writer);
+                } else {
+                    try (XlsxStreamReader reader = XlsxStreamReader.open(xlsxFile, options.getSharedStringsSpillThreshold())) {
+                        writeErrorReport(reader, writer);
+                    }
+                }
+                writer.write(out);
+            }
+            return null;
+        });
+    }
+
+
+    /**
+     * 读取第一个工作表，逐行写入错误报告
+     *
+     * @param reader 流式读取器，不会关闭
+     * @param writer 错误报告写入器
+     * @throws IOException 无法读取Excel表格数据
+     */
+    private static void writeErrorReport(XlsxStreamReader reader, ExcelErrorReportWriter writer) throws IOException {
+        if (!reader.getSheetNames().isEmpty()) {
+            writer.setSheetName(reader.getSheetNames().get(0));
         }
+        reader.read(0, writer);
+    }
+
 
-        // Excel表格列业务相关校验器
+    /**
+     * 基础Excel表格列业务相关校验器
+     *
+     * @param headerRowIndex          标题所在行，如果标题行在读取的内容行中间，这行做为数据将忽略
+     * @param startRowIndex           起始行（包含，从0开始计数）
+     * @param isReturnExcelDataObj    是否返回Excel表格数据
+     * @param isReadabilityRowNumJoin 是否在JavaBean违反约束错误信息中拼接，违反约束数据所在的Excel表格行号
+     * @param customValidator         自定义校验器列表
+     * @param excelDataList           表格数据列表
+     * @param groups                  分组校验
+     * @param <T>                     JavaBean
+     * @return {@link ValidatorResult} 校验器校验结果类
+     */
+    public static <T> ValidatorResult<T> cellValidaBase(int headerRowIndex,
+                                                        int startRowIndex,
+                                                        boolean isReturnExcelDataObj,
+                                                        boolean isReadabilityRowNumJoin,
+                                                        CustomValidator<T> customValidator,
+                                                        List<T> excelDataList,
+                                                        Class<?>... groups) {
         return cellValidaBase(
                 headerRowIndex,
                 startRowIndex,
@@ -403,22 +1533,28 @@ public class ExcelValidateUtil {
                 isReadabilityRowNumJoin,
                 customValidator,
                 excelDataList,
+                null,
+                0,
+                null,
                 groups
         );
     }
 
 
     /**
-     * 基础Excel表格列业务相关校验器
+     * 基础Excel表格列业务相关校验器，可并行执行JavaBean验证器
      *
-     * @param headerRowIndex          标题所在行，如果标题行在读取的内容行中间，这行做为数据将忽略
-     * @param startRowIndex           起始行（包含，从0开始计数）
-     * @param isReturnExcelDataObj    是否返回Excel表格数据
-     * @param isReadabilityRowNumJoin 是否在JavaBean违反约束错误信息中拼接，违反约束数据所在的Excel表格行号
-     * @param customValidator         自定义校验器列表
-     * @param excelDataList           表格数据列表
-     * @param groups                  分组校验
-     * @param <T>                     JavaBean
+     * @param headerRowIndex            标题所在行，如果标题行在读取的内容行中间，这行做为数据将忽略
+     * @param startRowIndex             起始行（包含，从0开始计数）
+     * @param isReturnExcelDataObj      是否返回Excel表格数据
+     * @param isReadabilityRowNumJoin   是否在JavaBean违反约束错误信息中拼接，违反约束数据所在的Excel表格行号
+     * @param customValidator           自定义校验器列表
+     * @param excelDataList             表格数据列表
+     * @param parallelValidateExecutor  JavaBean验证器并行校验线程池，为null时逐行校验
+     * @param parallelValidateChunkSize 并行校验时每个任务校验的行数，小于等于0时使用默认值
+     * @param violationBudget           错误预算，预算用完时停止校验，为null时不限制
+     * @param groups                    分组校验
+     * @param <T>                       JavaBean
      * @return {@link ValidatorResult} 校验器校验结果类
      */
     public static <T> ValidatorResult<T> cellValidaBase(int headerRowIndex,
@@ -427,21 +1563,33 @@ public class ExcelValidateUtil {
                                                         boolean isReadabilityRowNumJoin,
                                                         CustomValidator<T> customValidator,
                                                         List<T> excelDataList,
+                                                        ExecutorService parallelValidateExecutor,
+                                                        int parallelValidateChunkSize,
+                                                        ExcelViolationBudget violationBudget,
                                                         Class<?>... groups) {
 
-        // JavaBean约束违反信息
-        Set<ConstraintViolation<T>> violationSet = new HashSet<>();
-        // 带可读性行号的单纯的束违反信息字符串列表
-        List<String> readabilityRowNumMsgList = new ArrayList<>();
+        // JavaBean约束违反信息，按行号顺序保存
+        Set<ConstraintViolation<T>> violationSet = new LinkedHashSet<>();
 
         // 执行JavaBean验证器
-        executeJavaBeanValidator(excelDataList, headerRowIndex, startRowIndex, isReadabilityRowNumJoin,
-                violationSet, readabilityRowNumMsgList, groups);
+        executeJavaBeanValidator(excelDataList, violationSet, parallelValidateExecutor, parallelValidateChunkSize,
+                violationBudget, groups);
 
         // 校验不通过返回
         if (CollUtil.isNotEmpty(violationSet)) {
             ValidatorResult<T> result = new ValidatorResult<>(false, excelDataList, violationSet, null);
             result.generateConstraintError();
+            // 按数据对象标识找到约束违反信息所在的行
+            Map<Object, Integer> dataIndexMap = new IdentityHashMap<>(excelDataList.size() * 2);
+            for (int i = 0; i < excelDataList.size(); i++) {
+                dataIndexMap.put(excelDataList.get(i), i);
+            }
+            for (ConstraintViolation<T> violation : violationSet) {
+                Integer dataIndex = dataIndexMap.get(violation.getRootBean());
+                if (dataIndex != null) {
+                    result.putViolationRowNum(violation, readabilityRowNumOf(headerRowIndex, startRowIndex, dataIndex));
+                }
+            }
             // 日志
             if (log.isInfoEnabled()) {
                 log.info("JavaBean验证器校验是否通过：不通过");
@@ -523,26 +1671,57 @@ public class ExcelValidateUtil {
             Map<String, String> columnToFieldMap,
             Class<T> beanType
     ) throws IOException {
-        // 存放表格数据
-        List<T> excelDataList;
+        // 当前请求绑定了导入会话时，与会话共用解析结果
+        ExcelImportSession session = ExcelImportSession.current(xlsxFile);
+        if (session != null) {
+            return readExcelData(session.getExcelReader(), headerRowIndex, startRowIndex, columnToFieldMap, beanType);
+        }
         // 读表格数据
         try (
                 // 获取文件输入流 自动关闭输入流
-                InputStream fis = xlsxFile.getInputStream();
+                InputStream fis = UploadedFileHandle.openStream(xlsxFile);
                 // 获取Excel读取器 自动关闭hutool工具Excel读取器
                 ExcelReader reader = ExcelUtil.getReader(fis)
         ) {
+            return readExcelData(reader, headerRowIndex, startRowIndex, columnToFieldMap, beanType);
+        }
+    }
 
+    /**
+     * 使用已打开的Excel读取器读取表格数据
+     *
+     * @param reader           hutool Excel读取器，不会关闭
+     * @param headerRowIndex   标题所在行，如果标题行在读取的内容行中间，这行做为数据将忽略
+     * @param startRowIndex    起始行（包含，从0开始计数）
+     * @param columnToFieldMap 表格列映射map
+     * @param beanType         需要校验的JavaBean，其应描述Excel表格中的数据
+     * @param <T>              JavaBean
+     * @return {@link List} 表格数据
+     */
+    protected static <T> List<T> readExcelData(
+            ExcelReader reader,
+            int headerRowIndex,
+            int startRowIndex,
+            Map<String, String> columnToFieldMap,
+            Class<T> beanType
+    ) {
+        // 存放表格数据
+        List<T> excelDataList;
+        if (Map.class.isAssignableFrom(beanType)) {
             // 根据map映射关系为JavaBean赋值
-            // 遍历map将key作为header，将value作为alias，调用reader#addHeaderAlias方法
-            columnToFieldMap.forEach(reader::addHeaderAlias);
+            // 将map的key作为header，value作为alias，读取器可能被共用，覆盖而不是追加别名
+            reader.setHeaderAlias(new LinkedHashMap<>(columnToFieldMap));
             // 读取Excel为Map的列表，读取所有行，默认第一行做为标题，数据从第二行开始 Map表示一行，标题为key，单元格内容为value
             excelDataList = reader.read(headerRowIndex, startRowIndex, Integer.MAX_VALUE, beanType);
-            // 日志输出
-            if (log.isInfoEnabled()) {
-                String lineBreak = StringUtil.presentOsLineBreak();
-                log.info("Excel表格校验工具读取到的表格数据如下：{}{}", lineBreak, excelDataList);
-            }
+        } else {
+            // 按导入计划将单元格直接写入JavaBean
+            excelDataList = readExcelBeans(reader, headerRowIndex, startRowIndex,
+                    ExcelImportPlan.of(beanType, columnToFieldMap), new HashSet<>(), null, null, null);
+        }
+        // 日志输出
+        if (log.isInfoEnabled()) {
+            String lineBreak = StringUtil.presentOsLineBreak();
+            log.info("Excel表格校验工具读取到的表格数据如下：{}{}", lineBreak, excelDataList);
         }
         return excelDataList;
     }
@@ -569,143 +1748,282 @@ public class ExcelValidateUtil {
             CustomValidAssignmentStrHandler customValidAssignmentStrHandler,
             CustomFormatStrHandler customFormatStrHandler
     ) throws IOException {
+        return readExcelDataAndValidate(xlsxFile, headerRowIndex, startRowIndex, columnToFieldMap, beanType,
+                formatViolationSet, customValidAssignmentStrHandler, customFormatStrHandler, null);
+    }
+
+
+    /**
+     * 读取Excel表格数据，读取过程中执行校验，错误预算用完时停止读取
+     *
+     * @param xlsxFile                        Excel表格文件
+     * @param headerRowIndex                  标题所在行，如果标题行在读取的内容行中间，这行做为数据将忽略
+     * @param startRowIndex                   起始行（包含，从0开始计数）
+     * @param columnToFieldMap                表格列映射map
+     * @param beanType                        需要校验的JavaBean，其应描述Excel表格中的数据
+     * @param formatViolationSet              针对 字符串 -》数字 字符串 -》日期校验 约束违反提示信息是否附加行号根据方法参数决定
+     * @param customValidAssignmentStrHandler 自定义校验与赋值回调接口
+     * @param customFormatStrHandler          自定义字符串格式化回调接口
+     * @param violationBudget                 错误预算，为null时不限制
+     * @param <T>                             JavaBean
+     * @return {@link List} 表格数据
+     * @throws IOException 无法读取Excel表格数据，getInputStream时发生异常
+     */
+    protected static <T> List<T> readExcelDataAndValidate(
+            MultipartFile xlsxFile,
+            int headerRowIndex,
+            int startRowIndex,
+            Map<String, String> columnToFieldMap,
+            Class<T> beanType,
+            Set<ConstraintViolation<?>> formatViolationSet,
+            CustomValidAssignmentStrHandler customValidAssignmentStrHandler,
+            CustomFormatStrHandler customFormatStrHandler,
+            ExcelViolationBudget violationBudget
+    ) throws IOException {
+
+        // 当前请求绑定了导入会话时，与会话共用解析结果
+        ExcelImportSession session = ExcelImportSession.current(xlsxFile);
+        if (session != null) {
+            return readExcelDataAndValidate(session.getExcelReader(), headerRowIndex, startRowIndex, columnToFieldMap,
+                    beanType, formatViolationSet, customValidAssignmentStrHandler, customFormatStrHandler, violationBudget);
+        }
 
         // 读表格数据
         try (
                 // 获取文件输入流 自动关闭输入流
-                InputStream fis = xlsxFile.getInputStream();
+                InputStream fis = UploadedFileHandle.openStream(xlsxFile);
                 // 获取Excel读取器 自动关闭hutool工具Excel读取器
                 ExcelReader reader = ExcelUtil.getReader(fis)
         ) {
+            return readExcelDataAndValidate(reader, headerRowIndex, startRowIndex, columnToFieldMap,
+                    beanType, formatViolationSet, customValidAssignmentStrHandler, customFormatStrHandler, violationBudget);
+        }
+    }
 
-            // 读取结束行（包含，从0开始计数）
-            int endRowIndex = Integer.MAX_VALUE;
-            // 根据map映射关系为JavaBean赋值
-            // 遍历map将key作为header，将value作为alias，调用reader#addHeaderAlias方法
-            columnToFieldMap.forEach(reader::addHeaderAlias);
-            // 获取表格数据列表
-            List<Map<String, Object>> excelDataList = reader.read(headerRowIndex, startRowIndex, endRowIndex);
 
-            // beanType为Map
-            if (Map.class.isAssignableFrom(beanType)) {
+    /**
+     * 使用已打开的Excel读取器读取表格数据，读取过程中执行校验，错误预算用完时停止读取
+     *
+     * @param reader                          hutool Excel读取器，不会关闭
+     * @param headerRowIndex                  标题所在行，如果标题行在读取的内容行中间，这行做为数据将忽略
+     * @param startRowIndex                   起始行（包含，从0开始计数）
+     * @param columnToFieldMap                表格列映射map
+     * @param beanType                        需要校验的JavaBean，其应描述Excel表格中的数据
+     * @param formatViolationSet              针对 字符串 -》数字 字符串 -》日期校验 约束违反提示信息是否附加行号根据方法参数决定
+     * @param customValidAssignmentStrHandler 自定义校验与赋值回调接口
+     * @param customFormatStrHandler          自定义字符串格式化回调接口
+     * @param violationBudget                 错误预算，为null时不限制
+     * @param <T>                             JavaBean
+     * @return {@link List} 表格数据
+     */
+    protected static <T> List<T> readExcelDataAndValidate(
+            ExcelReader reader,
+            int headerRowIndex,
+            int startRowIndex,
+            Map<String, String> columnToFieldMap,
+            Class<T> beanType,
+            Set<ConstraintViolation<?>> formatViolationSet,
+            CustomValidAssignmentStrHandler customValidAssignmentStrHandler,
+            CustomFormatStrHandler customFormatStrHandler,
+            ExcelViolationBudget violationBudget
+    ) {
 
-                // 强转后返回数据
-                return (List<T>) excelDataList;
+        // beanType为Map
+        if (Map.class.isAssignableFrom(beanType)) {
+            // 根据map映射关系为JavaBean赋值
+            // 将map的key作为header，value作为alias，读取器可能被共用，覆盖而不是追加别名
+            reader.setHeaderAlias(new LinkedHashMap<>(columnToFieldMap));
+            return asMapBeanList(reader.read(headerRowIndex, startRowIndex, Integer.MAX_VALUE), beanType);
+        }
 
-            }
+        // 预先解析并缓存的导入计划，包含每列对应的属性、类型转换器与赋值句柄
+        ExcelImportPlan<T> importPlan = ExcelImportPlan.of(beanType, columnToFieldMap);
+        // 逐行读取单元格，校验后直接写入JavaBean，不经过中间Map
+        List<T> excelDataBeanList = readExcelBeans(reader, headerRowIndex, startRowIndex, importPlan,
+                formatViolationSet, customValidAssignmentStrHandler, customFormatStrHandler, violationBudget);
 
-            // JavaBean属性名称-key，表格列标题-value
-            Map<String, String> fieldToColumnMap = MapUtil.reverse(columnToFieldMap);
-            // 行号索引
-            int rowIndex = startRowIndex;
-            // 可读性行号并不一定是1，从哪里开始由用户指定参数加1
-            int readabilityRowNum = startRowIndex + 1;
-            // 使用fori遍历表格数据行列表，防止出现并发修改异常
-            for (int i = 0; i < excelDataList.size(); i++) {
+        // formatViolations列表不为空，代表校验不通过
+        if (CollUtil.isNotEmpty(formatViolationSet)) {
 
-                // 如果该行是标题行则跳过
-                if (rowIndex == headerRowIndex) {
-                    continue;
-                }
+            // 快速失败，不浪费内存
+            return null;
 
-                // 当前行对象即Map，包含标题（此处标题已经为JavaBean属性名称）与单元格数据
-                Map<String, Object> rowData = excelDataList.get(i);
-                // 获取列标题对应的JavaBean属性
-                Set<Map.Entry<String, Object>> titleAndDataSet = rowData.entrySet();
-                // 暂存Map
-                Map<String, Object> tempStorageMap = new HashMap<>(16);
-
-                // 通过迭代器遍历表格列标题和数据Map，防止出现并发修改异常
-                Iterator<Map.Entry<String, Object>> iterator = titleAndDataSet.iterator();
-                while (iterator.hasNext()) {
-                    // 迭代器中下一个元素
-                    Map.Entry<String, Object> titleAndData = iterator.next();
-                    // JavaBean 属性名称
-                    String fieldName = titleAndData.getKey();
-                    // 表格标题
-                    String title = fieldToColumnMap.get(fieldName);
-                    // 属性
-                    Field field;
-                    try {
-                        // 根据属性名称获取
-                        field = beanType.getDeclaredField(fieldName);
-                    } catch (NoSuchFieldException e) {
-                        // 捕捉异常，而非抛出
-                        String msg = StrUtil.format("在类 [ {} ] 中没有找到名称为 [ {} ] 的字段",
-                                beanType.getName(), fieldName);
-                        log.error(msg, e);
-                        // 发生异常，未能获取到属性，结束当次循环，进入下次循环
-                        continue;
-                    }
+        }
 
-                    // 获取属性类型
-                    Class<?> fieldType = field.getType();
-                    // 表格列数据
-                    Object dataObj = titleAndData.getValue();
-                    // 表格数据转为字符串
-                    String dataStr = String.valueOf(dataObj);
-
-                    // 存在自定义校验与赋值处理器
-                    if (customValidAssignmentStrHandler != null) {
-                        // 执行自定义校验与赋值处理器
-                        executeCustomValidAssignmentStrHandler(
-                                fieldType,
-                                fieldName,
-                                dataStr,
-                                title,
-                                readabilityRowNum,
-                                tempStorageMap,
-                                formatViolationSet,
-                                customValidAssignmentStrHandler
-                        );
-                        //if结束
-                    }
+        // 返回表格数据JavaBean列表
+        return excelDataBeanList;
+    }
 
-                    boolean isNotNull = customFormatStrHandler != null;
-                    boolean isEmpty = CollUtil.isEmpty(formatViolationSet);
-                    // 自定义字符串格式化处理器不是空的 并且 约束违反信息Set是空的
-                    if (isNotNull && isEmpty) {
-                        // 执行自定义字符串格式化处理器
-                        Map<String, String> waitMergeMap = executeCustomFormatStrHandler(fieldType, dataStr,
-                                fieldName, customFormatStrHandler);
-                        // 不为空
-                        if (waitMergeMap != null) {
-                            // 合并到暂存Map
-                            tempStorageMap.putAll(waitMergeMap);
-                        }
-                    }
 
-                    // 内层循环结束
-                }
+    /**
+     * JavaBean为Map时，将hutool读取的Map列表作为JavaBean列表返回<br>
+     * 调用前须确认 beanType 为 Map 类型，此时 T 即为 Map，强转不会出现类型错误
+     *
+     * @param mapList  hutool读取的表格数据
+     * @param beanType 需要校验的JavaBean，Map 类型
+     * @param <T>      JavaBean
+     * @return {@link List} 表格数据
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> asMapBeanList(List<Map<String, Object>> mapList, Class<T> beanType) {
+        return (List<T>) mapList;
+    }
 
-                // 一行数据遍历结束，合并暂存Map
-                rowData.putAll(tempStorageMap);
-                // 行号索引计数加一
-                rowIndex++;
-                // 可读性行号计数加一
-                readabilityRowNum++;
 
-                // 外层循环结束
+    /**
+     * 逐行读取Excel表格，将单元格数据校验后直接写入JavaBean<br>
+     * 与 hutool ExcelReader 读取Map列表的规则一致：忽略标题行与空行，读取到工作表最后一行
+     *
+     * @param reader                          hutool Excel读取器
+     * @param headerRowIndex                  标题所在行，如果标题行在读取的内容行中间，这行做为数据将忽略
+     * @param startRowIndex                   起始行（包含，从0开始计数）
+     * @param importPlan                      导入计划
+     * @param readViolationSet                读取过程中产生的校验约束违反信息
+     * @param customValidAssignmentStrHandler 自定义校验与赋值回调接口，可以为null
+     * @param customFormatStrHandler          自定义字符串格式化回调接口，可以为null
+     * @param violationBudget                 错误预算，预算用完时停止读取，为null时不限制
+     * @param <T>                             JavaBean
+     * @return {@link List} 表格数据，读取过程中校验不通过的行不包含在内
+     */
+    protected static <T> List<T> readExcelBeans(ExcelReader reader,
+                                                int headerRowIndex,
+                                                int startRowIndex,
+                                                ExcelImportPlan<T> importPlan,
+                                                Set<ConstraintViolation<?>> readViolationSet,
+                                                CustomValidAssignmentStrHandler customValidAssignmentStrHandler,
+                                                CustomFormatStrHandler customFormatStrHandler,
+                                                ExcelViolationBudget violationBudget) {
+        // 列索引 -》列计划
+        ExcelColumnPlan[] columnPlans = importPlan.columnsOf(reader.readRow(headerRowIndex));
+        int firstRowIndex = Math.max(startRowIndex, reader.getSheet().getFirstRowNum());
+        int lastRowIndex = reader.getSheet().getLastRowNum();
+        List<T> excelDataBeanList = new ArrayList<>(Math.max(lastRowIndex - firstRowIndex + 1, 0));
+        // 暂存Map，每行复用
+        Map<String, Object> tempStorageMap = new HashMap<>(16);
+        for (int rowIndex = firstRowIndex; rowIndex <= lastRowIndex; rowIndex++) {
+            // 如果该行是标题行则跳过
+            if (rowIndex == headerRowIndex) {
+                continue;
+            }
+            List<Object> rowCells = reader.readRow(rowIndex);
+            // 空行跳过
+            if (CollUtil.isEmpty(rowCells)) {
+                continue;
+            }
+            T bean = bindRow(importPlan, columnPlans, rowCells, rowIndex + 1, tempStorageMap, readViolationSet,
+                    customValidAssignmentStrHandler, customFormatStrHandler);
+            if (bean != null) {
+                excelDataBeanList.add(bean);
+                continue;
+            }
+            // 该行校验不通过，错误预算用完时停止读取
+            if (violationBudget == null) {
+                continue;
+            }
+            violationBudget.recordInvalidRow();
+            if (isBudgetExhausted(violationBudget, readViolationSet)) {
+                log.info("读取过程中的校验错误已达到上限，在第{}行停止读取", rowIndex + 1);
+                break;
             }
+        }
+        return excelDataBeanList;
+    }
 
-            // formatViolations列表不为空，代表校验不通过
-            if (CollUtil.isNotEmpty(formatViolationSet)) {
 
-                // 快速失败，不浪费内存
-                return null;
+    /**
+     * 将一行单元格数据写入JavaBean<br>
+     * 依次执行自定义校验与赋值处理器、自定义字符串格式化处理器，处理器的结果覆盖单元格原值；
+     * 没有处理器时单元格值直接按列写入JavaBean，不转换为字符串
+     *
+     * @param importPlan                      导入计划
+     * @param columnPlans                     列索引 -》列计划
+     * @param rowCells                        行单元格数据，列表下标即列索引
+     * @param readabilityRowNum               可读性行号
+     * @param tempStorageMap                  暂存Map，每行复用，调用时会被清空
+     * @param readViolationSet                读取过程中产生的校验约束违反信息
+     * @param customValidAssignmentStrHandler 自定义校验与赋值回调接口，可以为null
+     * @param customFormatStrHandler          自定义字符串格式化回调接口，可以为null
+     * @param <T>                             JavaBean
+     * @return JavaBean，该行读取过程中校验不通过时返回null
+     */
+    protected static <T> T bindRow(ExcelImportPlan<T> importPlan,
+                                   ExcelColumnPlan[] columnPlans,
+                                   List<Object> rowCells,
+                                   int readabilityRowNum,
+                                   Map<String, Object> tempStorageMap,
+                                   Set<ConstraintViolation<?>> readViolationSet,
+                                   CustomValidAssignmentStrHandler customValidAssignmentStrHandler,
+                                   CustomFormatStrHandler customFormatStrHandler) {
+        // 没有处理器，直接写入
+        if (customValidAssignmentStrHandler == null && customFormatStrHandler == null) {
+            return importPlan.toBean(columnPlans, rowCells);
+        }
+
+        int readViolationCount = readViolationSet.size();
+        tempStorageMap.clear();
+        // 处理器支持单元格校验并且约束违反信息Set为紧凑缓冲区
+        boolean isCompact = readViolationSet instanceof ExcelViolationBuffer
+                && customValidAssignmentStrHandler instanceof ExcelCellValidator;
+        ExcelViolationBuffer violationBuffer = isCompact ? (ExcelViolationBuffer) readViolationSet : null;
+        ExcelCellValidator cellValidator = isCompact ? (ExcelCellValidator) customValidAssignmentStrHandler : null;
+        for (int i = 0; i < columnPlans.length; i++) {
+            ExcelColumnPlan column = columnPlans[i];
+            // 没有对应属性的列
+            if (column == null) {
+                continue;
+            }
+            Object dataObj = i < rowCells.size() ? rowCells.get(i) : null;
+
+            if (violationBuffer != null) {
+                // 格式错误直接追加到紧凑缓冲区，不创建约束违反信息对象
+                String rightFormat = cellValidator.validCell(column, dataObj, tempStorageMap);
+                if (rightFormat != null) {
+                    violationBuffer.addCellViolation(readabilityRowNum, column.getTitle(), column.getFieldName(),
+                            dataObj, rightFormat);
+                }
+            } else {
+                // 执行自定义校验与赋值处理器，单元格值按原类型交给处理器，不转为字符串
+                executeCustomValidAssignmentHandler(
+                        column,
+                        dataObj,
+                        readabilityRowNum,
+                        tempStorageMap,
+                        readViolationSet,
+                        customValidAssignmentStrHandler
+                );
+            }
 
+            // 自定义字符串格式化处理器不是空的 并且 目标属性是字符串类型 并且 约束违反信息Set是空的
+            // 空单元格保持null，不格式化为 "null" 字符串
+            boolean isFormat = customFormatStrHandler != null && dataObj != null && column.isStringType();
+            if (isFormat && CollUtil.isEmpty(readViolationSet)) {
+                tempStorageMap.put(column.getFieldName(), customFormatStrHandler.format(String.valueOf(dataObj)));
             }
+        }
+
+        // 当前行读取过程中的校验不通过，无法转换为JavaBean
+        if (readViolationSet.size() > readViolationCount) {
+            return null;
+        }
 
-            // 校验通过，Map转Bean
-            final List<T> excelDataBeanList = new ArrayList<>(excelDataList.size());
-            final CopyOptions copyOptions = CopyOptions.create().setIgnoreError(true);
-            for (Map<String, Object> map : excelDataList) {
-                excelDataBeanList.add(BeanUtil.toBean(map, beanType, copyOptions));
+        // 处理器未改变任何值，直接写入
+        if (tempStorageMap.isEmpty()) {
+            return importPlan.toBean(columnPlans, rowCells);
+        }
+        T bean = importPlan.newInstance();
+        for (int i = 0; i < columnPlans.length; i++) {
+            ExcelColumnPlan column = columnPlans[i];
+            if (column == null) {
+                continue;
             }
-            // 返回表格数据JavaBean列表
-            return excelDataBeanList;
-            // try 代码块结束
+            String fieldName = column.getFieldName();
+            // 处理器的结果覆盖单元格原值
+            Object value = tempStorageMap.containsKey(fieldName)
+                    ? tempStorageMap.get(fieldName)
+                    : (i < rowCells.size() ? rowCells.get(i) : null);
+            column.set(bean, value);
         }
+        return bean;
     }
 
 
@@ -743,6 +2061,48 @@ public class ExcelValidateUtil {
         CustomValidatorResult<?> result =
                 customValidAssignmentStrHandler.validAssignmentStr(fieldType, fieldName,
                         dataStr, title, readabilityRowNum, tempStorageMap);
+        mergeCustomValidAssignmentResult(result, formatViolationSet);
+    }
+
+
+    /**
+     * 执行自定义校验与赋值处理器，单元格值按原类型交给处理器<br>
+     * 与{@link #executeCustomValidAssignmentStrHandler(Class, String, String, String, int, Map, Set, CustomValidAssignmentStrHandler)}
+     * 相同，处理器可以直接校验 POI 读取到的数字、日期单元格值，无需转为字符串再解析
+     *
+     * @param column                          列导入计划
+     * @param dataObj                         单元格值
+     * @param readabilityRowNum               可读性行号
+     * @param tempStorageMap                  暂存Map，JavaBean属性名称-key，自定义的新值-value
+     * @param formatViolationSet              约束违反信息Set，处理器校验不通过时合并到该Set
+     * @param customValidAssignmentStrHandler 自定义校验与赋值处理器
+     */
+    protected static void executeCustomValidAssignmentHandler(
+            ExcelColumnPlan column,
+            Object dataObj,
+            int readabilityRowNum,
+            Map<String, Object> tempStorageMap,
+            Set<ConstraintViolation<?>> formatViolationSet,
+            CustomValidAssignmentStrHandler customValidAssignmentStrHandler
+    ) {
+        // 不存在自定义校验与赋值处理器
+        if (customValidAssignmentStrHandler == null) {
+            return;
+        }
+        CustomValidatorResult<?> result =
+                customValidAssignmentStrHandler.validAssignment(column, dataObj, readabilityRowNum, tempStorageMap);
+        mergeCustomValidAssignmentResult(result, formatViolationSet);
+    }
+
+
+    /**
+     * 合并自定义校验与赋值处理器的约束违反信息
+     *
+     * @param result             自定义校验与赋值处理器结果
+     * @param formatViolationSet 约束违反信息Set
+     */
+    private static void mergeCustomValidAssignmentResult(CustomValidatorResult<?> result,
+                                                         Set<ConstraintViolation<?>> formatViolationSet) {
         boolean isValid = result.isValid();
         // 校验通过
         if (isValid) {
@@ -802,14 +2162,18 @@ public class ExcelValidateUtil {
      * 例如：hibernate validator<br>
      *
      * @param excelDataList            表格数据列表
-     * @param headerRowIndex           标题所在行，如果标题行在读取的内容行中间，这行做为数据将忽略
-     * @param startRowIndex            起始行（包含，从0开始计数）
-     * @param isReadabilityRowNumJoin  是否在JavaBean违反约束错误信息中拼接，违反约束数据所在的Excel表格行号
+     * @param headerRowIndex           不再使用
+     * @param startRowIndex            不再使用
+     * @param isReadabilityRowNumJoin  不再使用
      * @param violationSet             JavaBean约束违反信息
-     * @param readabilityRowNumMsgList 带可读性行号的单纯的束违反信息字符串列表
+     * @param readabilityRowNumMsgList 不再填充，可以为null
      * @param groups                   分组校验
      * @param <T>                      JavaBean
+     * @deprecated 约束违反信息的可读性行号改为生成约束错误对象时按需拼接，见{@link ValidatorResult#rowNumOf(ConstraintViolation)}，
+     * 本方法不再填充 readabilityRowNumMsgList，
+     * 请使用{@link #executeJavaBeanValidator(List, Set, ExecutorService, int, ExcelViolationBudget, Class[])}
      */
+    @Deprecated
     protected static <T> void executeJavaBeanValidator(List<T> excelDataList,
                                                        int headerRowIndex,
                                                        int startRowIndex,
@@ -817,60 +2181,194 @@ public class ExcelValidateUtil {
                                                        Set<ConstraintViolation<T>> violationSet,
                                                        List<String> readabilityRowNumMsgList,
                                                        Class<?>... groups) {
+        executeJavaBeanValidator(excelDataList, violationSet, null, 0, null, groups);
+    }
 
-        // 校验实例
-        Validator validator = validatorFactory.getValidator();
-        // 可读性行号并不一定是1，从哪里开始由用户指定参数加1
-        int readabilityRowNum = startRowIndex + 1;
-        // 遍历beanList，校验JavaBean，例如进行非空校验、数字最小值校验，可以进行分组校验
-        for (T bean : excelDataList) {
-            // 单个JavaBean对象的校验，例如Excel表格对应一行数据
-            Set<ConstraintViolation<T>> singleConstraintViolations;
-
-            // 是否开启分组校验
-            if (groups == null) {
-                // groups可变参为空执行，普通校验
-                singleConstraintViolations = validator.validate(bean);
-            } else {
-                // groups可变参不为空执行，分组校验
-                singleConstraintViolations = validator.validate(bean, groups);
-            }
 
-            // 单个JavaBean对象约束违反信息为null
-            if (CollectionUtil.isEmpty(singleConstraintViolations)) {
-                // 结束当次循环，进入下次循环
-                continue;
-            }
+    /**
+     * 执行JavaBean验证器，具体实现来自校验框架<br>
+     * 例如：hibernate validator<br>
+     * 指定线程池时，表格数据按块拆分后提交到线程池并行校验，每块的校验结果按行号顺序合并，
+     * 校验结果与逐行校验完全一致；线程池由调用方管理，本方法不会关闭线程池<br>
+     *
+     * @param excelDataList             表格数据列表
+     * @param violationSet              JavaBean约束违反信息
+     * @param parallelValidateExecutor  JavaBean验证器并行校验线程池，为null时逐行校验
+     * @param parallelValidateChunkSize 并行校验时每个任务校验的行数，小于等于0时使用默认值
+     * @param violationBudget           错误预算，预算用完时停止校验并取消剩余的校验任务，为null时不限制
+     * @param groups                    分组校验
+     * @param <T>                       JavaBean
+     */
+    protected static <T> void executeJavaBeanValidator(List<T> excelDataList,
+                                                       Set<ConstraintViolation<T>> violationSet,
+                                                       ExecutorService parallelValidateExecutor,
+                                                       int parallelValidateChunkSize,
+                                                       ExcelViolationBudget violationBudget,
+                                                       Class<?>... groups) {
+        if (CollUtil.isEmpty(excelDataList)) {
+            return;
+        }
 
-            // 开启约束违反信息行号拼接，则执行，否则跳过
-            if (isReadabilityRowNumJoin) {
-                // 当单个JavaBean对象约束违反信息不为null时，遍历Set获取约束违反信息
-                // 内循环，遍历
-                for (ConstraintViolation<T> violation : singleConstraintViolations) {
-                    // @Pattern(regexp = "3|6|12", message = "{年龄群体列格式有误，错误内容: ${validatedValue}，正确格式：只能填写3、6、12，其中之一}")
-                    // 注解中的message
-                    String msg = violation.getMessage();
-                    // 拼接完成的约束违反信息
-                    String joinCompleteMsg = StrUtil.format("第{}行{}", readabilityRowNum, msg);
-                    readabilityRowNumMsgList.add(joinCompleteMsg);
-                    // 内循环结束
+        int size = excelDataList.size();
+        int chunkSize = parallelValidateChunkSize > 0
+                ? parallelValidateChunkSize : ExcelValidateOptions.DEFAULT_PARALLEL_VALIDATE_CHUNK_SIZE;
+        // 未指定线程池 或 数据不足一块，在当前线程逐行校验
+        if (parallelValidateExecutor == null || size <= chunkSize) {
+            // 校验实例
+            Validator validator = validatorFactory.getValidator();
+            for (int i = 0; i < size; i++) {
+                Set<ConstraintViolation<T>> singleConstraintViolations =
+                        validateRow(validator, excelDataList.get(i), groups);
+                boolean isExhausted = mergeRowViolations(singleConstraintViolations, violationSet, violationBudget);
+                if (isExhausted) {
+                    log.info("JavaBean验证器校验错误已达到上限，在第{}条数据停止校验", i + 1);
+                    return;
                 }
             }
+            return;
+        }
 
-            // 将约束违反信息合并到 violationSet
-            violationSet.addAll(singleConstraintViolations);
-            // 可读性表格标题行号
-            int readabilityHeaderRowIndex = headerRowIndex + 1;
-            // 如果当前行是Excel表格标题
-            if (readabilityHeaderRowIndex == readabilityRowNum) {
-                // 结束当次循环，进入下次循环，不加可读性行号
-                continue;
+        // 按块提交到线程池并行校验
+        List<Future<List<Set<ConstraintViolation<T>>>>> futureList = new ArrayList<>(size / chunkSize + 1);
+        for (int from = 0; from < size; from += chunkSize) {
+            List<T> chunk = excelDataList.subList(from, Math.min(from + chunkSize, size));
+            futureList.add(parallelValidateExecutor.submit(() -> validateRows(chunk, groups)));
+        }
+
+        // 按块顺序收集结果，按行号顺序合并约束违反信息
+        int index = 0;
+        try {
+            for (Future<List<Set<ConstraintViolation<T>>>> future : futureList) {
+                for (Set<ConstraintViolation<T>> singleConstraintViolations : future.get()) {
+                    boolean isExhausted = mergeRowViolations(singleConstraintViolations, violationSet,
+                            violationBudget);
+                    index++;
+                    if (isExhausted) {
+                        // 预算用完，取消剩余的校验任务
+                        cancelAll(futureList);
+                        log.info("JavaBean验证器校验错误已达到上限，在第{}条数据停止校验", index);
+                        return;
+                    }
+                }
             }
+        } catch (InterruptedException e) {
+            cancelAll(futureList);
+            Thread.currentThread().interrupt();
+            throw new ExcelValidateException("并行校验JavaBean时线程被中断", e);
+        } catch (ExecutionException e) {
+            cancelAll(futureList);
+            throw new ExcelValidateException("并行校验JavaBean失败", e.getCause());
+        }
+    }
+
+
+    /**
+     * 合并一行数据的约束违反信息
+     *
+     * @param singleConstraintViolations 该行数据的约束违反信息
+     * @param violationSet               JavaBean约束违反信息
+     * @param violationBudget            错误预算，为null时不限制
+     * @param <T>                        JavaBean
+     * @return 错误预算是否已用完，true-是 false-否
+     */
+    private static <T> boolean mergeRowViolations(Set<ConstraintViolation<T>> singleConstraintViolations,
+                                                  Set<ConstraintViolation<T>> violationSet,
+                                                  ExcelViolationBudget violationBudget) {
+        // 单个JavaBean对象约束违反信息为null
+        if (CollectionUtil.isEmpty(singleConstraintViolations)) {
+            return false;
+        }
+
+        // 将约束违反信息合并到 violationSet
+        violationSet.addAll(singleConstraintViolations);
+        if (violationBudget == null) {
+            return false;
+        }
+        violationBudget.recordInvalidRow();
+        return isBudgetExhausted(violationBudget, violationSet);
+    }
+
+
+    /**
+     * 错误预算是否已用完，超出预算的约束违反信息将被移除
+     *
+     * @param violationBudget 错误预算
+     * @param violationSet    约束违反信息Set，应保持插入顺序
+     * @return true-是 false-否
+     */
+    protected static boolean isBudgetExhausted(ExcelViolationBudget violationBudget, Set<?> violationSet) {
+        violationBudget.trim(violationSet, violationSet.size());
+        return violationBudget.isExhausted(violationSet.size());
+    }
+
+
+    /**
+     * 在当前线程逐行执行JavaBean验证器
+     *
+     * @param rows   表格数据
+     * @param groups 分组校验
+     * @param <T>    JavaBean
+     * @return 每行数据的约束违反信息，下标与表格数据一致
+     */
+    private static <T> List<Set<ConstraintViolation<T>>> validateRows(List<T> rows, Class<?>... groups) {
+        // 校验实例
+        Validator validator = validatorFactory.getValidator();
+        List<Set<ConstraintViolation<T>>> rowViolationList = new ArrayList<>(rows.size());
+        // 遍历beanList，校验JavaBean，例如进行非空校验、数字最小值校验，可以进行分组校验
+        for (T bean : rows) {
+            rowViolationList.add(validateRow(validator, bean, groups));
+        }
+        return rowViolationList;
+    }
 
-            // 加可读性行号
-            readabilityRowNum++;
-            // 外循环结束
+
+    /**
+     * 执行JavaBean验证器校验一行数据
+     *
+     * @param validator 校验实例
+     * @param bean      一行数据
+     * @param groups    分组校验
+     * @param <T>       JavaBean
+     * @return 约束违反信息
+     */
+    private static <T> Set<ConstraintViolation<T>> validateRow(Validator validator, T bean, Class<?>... groups) {
+        // 是否开启分组校验
+        if (groups == null) {
+            // groups可变参为空执行，普通校验
+            return validator.validate(bean);
+        }
+        // groups可变参不为空执行，分组校验
+        return validator.validate(bean, groups);
+    }
+
+
+    /**
+     * 取消所有未完成的并行校验任务
+     *
+     * @param futureList 并行校验任务列表
+     */
+    private static void cancelAll(List<? extends Future<?>> futureList) {
+        for (Future<?> future : futureList) {
+            future.cancel(true);
+        }
+    }
+
+
+    /**
+     * 计算表格数据列表中指定下标数据所在的可读性行号（从1开始计数）<br>
+     * 标题行在读取的内容行中间时，标题行之后的数据行号需要跳过标题行
+     *
+     * @param headerRowIndex 标题所在行
+     * @param startRowIndex  起始行（包含，从0开始计数）
+     * @param dataIndex      表格数据列表下标
+     * @return 可读性行号
+     */
+    protected static int readabilityRowNumOf(int headerRowIndex, int startRowIndex, int dataIndex) {
+        int rowIndex = startRowIndex + dataIndex;
+        if (headerRowIndex >= startRowIndex && rowIndex >= headerRowIndex) {
+            rowIndex++;
         }
+        return rowIndex + 1;
     }
 
 
@@ -975,7 +2473,8 @@ public class ExcelValidateUtil {
      * @return {@link String}提示消息
      */
     public static String isNullMessageTemplate(int readabilityRowNum, String title) {
-        return StrUtil.format("第{}行{}未填写", readabilityRowNum, title);
+        return new StringBuilder(32).append('第').append(readabilityRowNum).append('行')
+                .append(title).append("未填写").toString();
     }
 
     /**
@@ -987,7 +2486,7 @@ public class ExcelValidateUtil {
      * @return {@link String}提示消息
      */
     public static String errorHintMessageTemplate(String title, String errorValue, String rightFormat) {
-        return StrUtil.format("{}格式有误，错误内容: {}，正确格式：{}", title, errorValue, rightFormat);
+        return appendErrorHint(new StringBuilder(64), title, errorValue, rightFormat).toString();
     }
 
     /**
@@ -1000,7 +2499,34 @@ public class ExcelValidateUtil {
      * @return {@link String}提示消息
      */
     public static String errorHintMessageTemplate(int readabilityRowNum, String title, String errorValue, String rightFormat) {
-        return StrUtil.format("第{}行{}", readabilityRowNum, errorHintMessageTemplate(title, errorValue, rightFormat));
+        StringBuilder builder = new StringBuilder(64).append('第').append(readabilityRowNum).append('行');
+        return appendErrorHint(builder, title, errorValue, rightFormat).toString();
+    }
+
+    /**
+     * 拼接非法参数提示消息，与{@link StrUtil#format(CharSequence, Object...)}一样，null拼接为"null"<br>
+     * 提示消息只在读取约束错误对象时拼接，直接拼接而不解析模板
+     *
+     * @param builder     拼接目标
+     * @param title       表格列头标题
+     * @param errorValue  错误内容 即参数值
+     * @param rightFormat 正确格式
+     * @return 拼接目标
+     */
+    private static StringBuilder appendErrorHint(StringBuilder builder, String title, String errorValue, String rightFormat) {
+        return builder.append(title).append("格式有误，错误内容: ").append(errorValue)
+                .append("，正确格式：").append(rightFormat);
+    }
+
+    /**
+     * 多工作表校验，拼接工作表名称的提示消息模板 模板：工作表[{}]{}
+     *
+     * @param sheetName 工作表名称
+     * @param message   工作表内的提示消息
+     * @return {@link String}提示消息
+     */
+    public static String sheetMessageTemplate(String sheetName, String message) {
+        return "工作表[" + sheetName + ']' + message;
     }
 
     private ExcelValidateUtil() {
@@ -0,0 +1,96 @@
+package com.hippocp.easy.code.util.excel;
+
+import com.hippocp.easy.code.util.domain.ExcelViolationBuffer;
+
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * Excel表格校验错误预算，记录已收集的约束违反信息与校验不通过的行数，预算用完时停止读取与校验<br>
+ * 由{@link ExcelValidateOptions#getMaxViolationCount()}与{@link ExcelValidateOptions#getMaxInvalidRowCount()}创建，
+ * 两者都不限制时不创建预算<br>
+ * 注意：该类不是线程安全的，只能在合并校验结果的线程中使用
+ */
+public class ExcelViolationBudget {
+
+    /**
+     * 最多收集的约束违反信息数量，小于等于0时不限制
+     */
+    private final int maxViolationCount;
+    /**
+     * 最多允许的校验不通过行数，小于等于0时不限制
+     */
+    private final int maxInvalidRowCount;
+    /**
+     * 已记录的校验不通过行数
+     */
+    private int invalidRowCount;
+
+    public ExcelViolationBudget(int maxViolationCount, int maxInvalidRowCount) {
+        this.maxViolationCount = maxViolationCount;
+        this.maxInvalidRowCount = maxInvalidRowCount;
+    }
+
+    /**
+     * 根据校验选项创建错误预算
+     *
+     * @param options Excel表格校验选项
+     * @return {@link ExcelViolationBudget}，不限制时返回null
+     */
+    public static ExcelViolationBudget of(ExcelValidateOptions<?> options) {
+        if (options.getMaxViolationCount() <= 0 && options.getMaxInvalidRowCount() <= 0) {
+            return null;
+        }
+        return new ExcelViolationBudget(options.getMaxViolationCount(), options.getMaxInvalidRowCount());
+    }
+
+    /**
+     * 记录一行校验不通过的数据
+     */
+    public void recordInvalidRow() {
+        invalidRowCount++;
+    }
+
+    /**
+     * 预算是否已用完
+     *
+     * @param violationCount 已收集的约束违反信息数量
+     * @return true-是，应停止读取与校验 false-否
+     */
+    public boolean isExhausted(int violationCount) {
+        boolean isViolationExhausted = maxViolationCount > 0 && violationCount >= maxViolationCount;
+        boolean isInvalidRowExhausted = maxInvalidRowCount > 0 && invalidRowCount >= maxInvalidRowCount;
+        return isViolationExhausted || isInvalidRowExhausted;
+    }
+
+    /**
+     * 移除超出预算的约束违反信息，保留先加入的信息，约束违反信息Set应保持插入顺序
+     *
+     * @param violationSet   约束违反信息Set
+     * @param violationCount 已收集的约束违反信息数量，包含该Set
+     */
+    public void trim(Set<?> violationSet, int violationCount) {
+        int overflow = violationCount - maxViolationCount;
+        if (maxViolationCount <= 0 || overflow <= 0) {
+            return;
+        }
+        // 保留前 size - overflow 条
+        int retain = Math.max(violationSet.size() - overflow, 0);
+        if (violationSet instanceof ExcelViolationBuffer) {
+            ((ExcelViolationBuffer) violationSet).truncate(retain);
+            return;
+        }
+        Iterator<?> iterator = violationSet.iterator();
+        for (int i = 0; iterator.hasNext(); i++) {
+            iterator.next();
+            if (i >= retain) {
+                iterator.remove();
+            }
+        }
+    }
+
+    public int getInvalidRowCount() {
+        return invalidRowCount;
+    }
+
+}
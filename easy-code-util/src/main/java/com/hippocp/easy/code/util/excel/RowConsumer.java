@@ -0,0 +1,24 @@
+package com.hippocp.easy.code.util.excel;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.Map;
+
+/**
+ * Excel表格行数据消费回调接口<br>
+ * 每一行数据通过校验后，校验器将立即调用该接口中的方法，而不是将全部数据收集到{@link com.hippocp.easy.code.util.domain.ValidatorResult}中<br>
+ * 参考方法如下：<br>
+ * {@link ExcelValidateUtil#cellValid(MultipartFile, Map, Class, ExcelValidateOptions, RowConsumer)}
+ */
+@FunctionalInterface
+public interface RowConsumer<T> {
+
+    /**
+     * 消费一行通过校验的数据
+     *
+     * @param readabilityRowNum 可读性行号，即Excel表格中显示的行号
+     * @param bean              该行转换完成的JavaBean
+     */
+    void accept(int readabilityRowNum, T bean);
+
+}
@@ -0,0 +1,39 @@
+package com.hippocp.easy.code.util.excel.checkpoint;
+
+import com.hippocp.easy.code.util.domain.ExcelImportCheckpoint;
+
+import java.io.IOException;
+
+/**
+ * Excel表格导入检查点存储回调接口<br>
+ * 可恢复导入每提交一批数据，校验器将调用{@link #save(ExcelImportCheckpoint)}保存检查点<br>
+ * 默认实现见{@link FileExcelCheckpointStore}
+ */
+public interface ExcelCheckpointStore {
+
+    /**
+     * 读取检查点
+     *
+     * @param importId 导入标识
+     * @return {@link ExcelImportCheckpoint}，不存在时返回null
+     * @throws IOException 无法读取检查点
+     */
+    ExcelImportCheckpoint load(String importId) throws IOException;
+
+    /**
+     * 保存检查点，须保证写入失败时不会破坏上一次保存的检查点
+     *
+     * @param checkpoint 检查点
+     * @throws IOException 无法保存检查点
+     */
+    void save(ExcelImportCheckpoint checkpoint) throws IOException;
+
+    /**
+     * 删除检查点，不存在时忽略
+     *
+     * @param importId 导入标识
+     * @throws IOException 无法删除检查点
+     */
+    void delete(String importId) throws IOException;
+
+}
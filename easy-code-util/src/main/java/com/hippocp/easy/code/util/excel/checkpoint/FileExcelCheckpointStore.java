@@ -0,0 +1,123 @@
+package com.hippocp.easy.code.util.excel.checkpoint;
+
+import com.hippocp.easy.code.util.domain.ExcelImportCheckpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.Properties;
+import java.util.regex.Pattern;
+
+/**
+ * 本地文件检查点存储，每个导入标识对应目录下的一个 properties 文件<br>
+ * 先写入临时文件再原子替换，进程在写入过程中退出不会破坏上一次保存的检查点
+ */
+public class FileExcelCheckpointStore implements ExcelCheckpointStore {
+
+    /**
+     * 日志
+     */
+    private static final Logger log = LoggerFactory.getLogger(FileExcelCheckpointStore.class);
+
+    /**
+     * 检查点文件扩展名
+     */
+    private static final String SUFFIX = ".checkpoint";
+
+    /**
+     * 导入标识允许的字符，防止导入标识中的路径分隔符逃逸出存储目录
+     */
+    private static final Pattern IMPORT_ID_PATTERN = Pattern.compile("[0-9A-Za-z._-]+");
+
+    private static final String LAST_COMMITTED_ROW_INDEX = "lastCommittedRowIndex";
+    private static final String VIOLATION_COUNT = "violationCount";
+    private static final String CONSUMED_ROW_COUNT = "consumedRowCount";
+    private static final String COMPLETED = "completed";
+    private static final String UPDATE_TIME = "updateTime";
+
+    /**
+     * 存储目录
+     */
+    private final Path directory;
+
+    /**
+     * 创建本地文件检查点存储，目录不存在时创建
+     *
+     * @param directory 存储目录
+     * @throws IOException 无法创建存储目录
+     */
+    public FileExcelCheckpointStore(File directory) throws IOException {
+        this.directory = directory.toPath();
+        Files.createDirectories(this.directory);
+    }
+
+    @Override
+    public ExcelImportCheckpoint load(String importId) throws IOException {
+        Path file = fileOf(importId);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        ExcelImportCheckpoint checkpoint = new ExcelImportCheckpoint(importId);
+        try {
+            checkpoint.setLastCommittedRowIndex(Integer.parseInt(properties.getProperty(LAST_COMMITTED_ROW_INDEX, "-1")));
+            checkpoint.setViolationCount(Integer.parseInt(properties.getProperty(VIOLATION_COUNT, "0")));
+            checkpoint.setConsumedRowCount(Integer.parseInt(properties.getProperty(CONSUMED_ROW_COUNT, "0")));
+            checkpoint.setCompleted(Boolean.parseBoolean(properties.getProperty(COMPLETED, "false")));
+            checkpoint.setUpdateTime(Long.parseLong(properties.getProperty(UPDATE_TIME, "0")));
+        } catch (NumberFormatException e) {
+            throw new IOException("检查点文件格式有误：" + file, e);
+        }
+        return checkpoint;
+    }
+
+    @Override
+    public void save(ExcelImportCheckpoint checkpoint) throws IOException {
+        Path file = fileOf(checkpoint.getImportId());
+        Properties properties = new Properties();
+        properties.setProperty(LAST_COMMITTED_ROW_INDEX, String.valueOf(checkpoint.getLastCommittedRowIndex()));
+        properties.setProperty(VIOLATION_COUNT, String.valueOf(checkpoint.getViolationCount()));
+        properties.setProperty(CONSUMED_ROW_COUNT, String.valueOf(checkpoint.getConsumedRowCount()));
+        properties.setProperty(COMPLETED, String.valueOf(checkpoint.isCompleted()));
+        properties.setProperty(UPDATE_TIME, String.valueOf(checkpoint.getUpdateTime()));
+
+        Path tempFile = Files.createTempFile(directory, checkpoint.getImportId(), ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                properties.store(writer, null);
+            }
+            try {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                log.debug("文件系统不支持原子替换，使用普通替换", e);
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    @Override
+    public void delete(String importId) throws IOException {
+        Files.deleteIfExists(fileOf(importId));
+    }
+
+    /**
+     * 获取导入标识对应的检查点文件
+     *
+     * @param importId 导入标识
+     * @return 检查点文件路径
+     */
+    private Path fileOf(String importId) {
+        if (importId == null || !IMPORT_ID_PATTERN.matcher(importId).matches()) {
+            throw new IllegalArgumentException("导入标识只能包含数字、字母、点、下划线与短横线：" + importId);
+        }
+        return directory.resolve(importId + SUFFIX);
+    }
+
+}
@@ -0,0 +1,414 @@
+package com.hippocp.easy.code.util.excel.csv;
+
+import com.hippocp.easy.code.util.excel.sax.ExcelRowHandler;
+import com.hippocp.easy.code.util.file.UploadedFileHandle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * .csv 流式读取器，逐行解析并交由{@link ExcelRowHandler}处理，与 .xlsx 流式读取共用同一套行校验处理器<br>
+ * 本地文件通过内存映射读取并直接解码到复用的字符缓冲区，上传文件通过带缓冲的{@link Reader}读取，
+ * 分词在字符缓冲区上原地进行，每个单元格只在生成字符串时复制一次，跨缓冲区或包含转义双引号的单元格才会经过中间缓冲<br>
+ * 解析规则与 RFC 4180 相同：双引号包围的单元格可以包含分隔符、换行，两个连续双引号表示一个双引号；
+ * 兼容 \r\n、\n、\r 三种换行，忽略文件开头的 UTF-8 BOM；空单元格与 .xlsx 的空单元格相同，读取为null<br>
+ * 注意：行号索引为记录序号，单元格中包含换行时与文本行号不同；使用完毕请调用{@link #close()}关闭读取器
+ */
+public class CsvStreamReader implements Closeable {
+
+    /**
+     * 日志
+     */
+    private static final Logger log = LoggerFactory.getLogger(CsvStreamReader.class);
+
+    /**
+     * 默认分隔符
+     */
+    public static final char DEFAULT_DELIMITER = ',';
+
+    /**
+     * 默认字符缓冲区大小
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 双引号
+     */
+    private static final char QUOTE = '"';
+
+    /**
+     * UTF-8 BOM 解码后的字符
+     */
+    private static final char BOM = '\uFEFF';
+
+    /**
+     * 分隔符
+     */
+    private final char delimiter;
+
+    /**
+     * 字符来源，内存映射读取时为null
+     */
+    private final Reader reader;
+
+    /**
+     * 内存映射的文件内容，使用{@link Reader}读取时为null
+     */
+    private ByteBuffer mapped;
+
+    /**
+     * 内存映射读取时的解码器
+     */
+    private final CharsetDecoder decoder;
+
+    /**
+     * 字符缓冲区
+     */
+    private final char[] buf;
+
+    /**
+     * 包装字符缓冲区，供解码器写入
+     */
+    private final CharBuffer charBuffer;
+
+    /**
+     * 字符缓冲区当前读取位置
+     */
+    private int pos;
+
+    /**
+     * 字符缓冲区有效字符数
+     */
+    private int limit;
+
+    /**
+     * 是否已读取到文件末尾
+     */
+    private boolean eof;
+
+    /**
+     * 当前单元格在字符缓冲区中的起始位置，不在单元格中时为-1
+     */
+    private int fieldStart = -1;
+
+    /**
+     * 当前单元格跨缓冲区或包含转义双引号时，已读取的部分
+     */
+    private final StringBuilder pending = new StringBuilder();
+
+    /**
+     * 当前行是否跳过，跳过的行只查找行尾，不生成字符串
+     */
+    private boolean isSkipping;
+
+    /**
+     * 行单元格数据，逐行复用
+     */
+    private final List<Object> rowCells = new ArrayList<>();
+
+    /**
+     * 打开本地 .csv 文件，使用默认分隔符<br>
+     * 文件通过内存映射读取，不经过堆内的字节缓冲区
+     *
+     * @param file    .csv 文件
+     * @param charset 文件编码
+     * @return {@link CsvStreamReader}
+     * @throws IOException 文件无法读取
+     */
+    public static CsvStreamReader open(File file, Charset charset) throws IOException {
+        return open(file, charset, DEFAULT_DELIMITER);
+    }
+
+    /**
+     * 打开本地 .csv 文件<br>
+     * 文件通过内存映射读取，不经过堆内的字节缓冲区；超过2GB的文件无法一次映射，改为带缓冲读取
+     *
+     * @param file      .csv 文件
+     * @param charset   文件编码
+     * @param delimiter 分隔符
+     * @return {@link CsvStreamReader}
+     * @throws IOException 文件无法读取
+     */
+    public static CsvStreamReader open(File file, Charset charset, char delimiter) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size <= Integer.MAX_VALUE) {
+                // 映射建立后与通道无关，可以关闭通道
+                return new CsvStreamReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), charset, delimiter);
+            }
+        }
+        return new CsvStreamReader(new InputStreamReader(Files.newInputStream(file.toPath()), charset), delimiter);
+    }
+
+    /**
+     * 打开上传的 .csv 文件<br>
+     * 当前请求绑定了{@link UploadedFileHandle}时直接解码句柄中的文件内容，否则直接读取上传文件的输入流，不写入临时文件
+     *
+     * @param multipartFile 上传的 .csv 文件
+     * @param charset       文件编码
+     * @param delimiter     分隔符
+     * @return {@link CsvStreamReader}
+     * @throws IOException 文件无法读取
+     */
+    public static CsvStreamReader open(MultipartFile multipartFile, Charset charset, char delimiter) throws IOException {
+        UploadedFileHandle uploadedFile = UploadedFileHandle.current(multipartFile);
+        if (uploadedFile != null) {
+            return open(uploadedFile, charset, delimiter);
+        }
+        return new CsvStreamReader(new InputStreamReader(multipartFile.getInputStream(), charset), delimiter);
+    }
+
+    /**
+     * 从上传文件句柄打开 .csv 文件<br>
+     * 直接解码句柄中的文件内容，临时文件通过内存映射读取；超过2GB的文件无法一次映射，改为带缓冲读取
+     *
+     * @param uploadedFile 上传文件句柄，不会关闭
+     * @param charset      文件编码
+     * @param delimiter    分隔符
+     * @return {@link CsvStreamReader}
+     * @throws IOException 文件无法读取
+     */
+    public static CsvStreamReader open(UploadedFileHandle uploadedFile, Charset charset, char delimiter) throws IOException {
+        if (uploadedFile.size() <= Integer.MAX_VALUE) {
+            return new CsvStreamReader(uploadedFile.getBuffer(), charset, delimiter);
+        }
+        return new CsvStreamReader(new InputStreamReader(uploadedFile.openStream(), charset), delimiter);
+    }
+
+    /**
+     * 使用字符输入流创建读取器，读取器自带缓冲区，不需要再包装为{@link BufferedReader}
+     *
+     * @param reader    字符输入流，关闭读取器时关闭
+     * @param delimiter 分隔符
+     */
+    public CsvStreamReader(Reader reader, char delimiter) {
+        this.reader = reader;
+        this.decoder = null;
+        this.delimiter = delimiter;
+        this.buf = new char[DEFAULT_BUFFER_SIZE];
+        this.charBuffer = null;
+    }
+
+    private CsvStreamReader(ByteBuffer mapped, Charset charset, char delimiter) {
+        this.reader = null;
+        this.mapped = mapped;
+        // 与 InputStreamReader 一致，无法解码的字节替换为替换字符
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.delimiter = delimiter;
+        this.buf = new char[DEFAULT_BUFFER_SIZE];
+        this.charBuffer = CharBuffer.wrap(buf);
+    }
+
+    /**
+     * 从头读取全部行，只能调用一次
+     *
+     * @param rowHandler 行处理器
+     * @throws IOException 无法读取
+     */
+    public void read(ExcelRowHandler rowHandler) throws IOException {
+        // 忽略文件开头的 BOM
+        if (fill() && buf[pos] == BOM) {
+            pos++;
+        }
+        int rowIndex = 0;
+        while (true) {
+            isSkipping = rowHandler.isSkipRow(rowIndex);
+            if (!readRow()) {
+                return;
+            }
+            if (!isSkipping && !rowHandler.handle(rowIndex, rowCells)) {
+                // 行处理器要求停止读取，正常结束
+                if (log.isDebugEnabled()) {
+                    log.debug("行处理器要求停止读取，已提前结束 .csv 文件解析");
+                }
+                return;
+            }
+            rowIndex++;
+        }
+    }
+
+    /**
+     * 读取一行，单元格数据写入{@link #rowCells}
+     *
+     * @return 是否读取到一行，false-已读取到文件末尾
+     * @throws IOException 无法读取
+     */
+    private boolean readRow() throws IOException {
+        rowCells.clear();
+        if (!hasChar()) {
+            return false;
+        }
+        while (true) {
+            String value = hasChar() && buf[pos] == QUOTE ? readQuotedField() : readField();
+            if (!isSkipping) {
+                rowCells.add(value);
+            }
+            if (!hasChar()) {
+                return true;
+            }
+            char c = buf[pos++];
+            if (c == delimiter) {
+                continue;
+            }
+            // \r\n 视为一个换行
+            if (c == '\r' && hasChar() && buf[pos] == '\n') {
+                pos++;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 读取不带双引号的单元格，停在分隔符、换行或文件末尾
+     *
+     * @return 单元格数据，空单元格或跳过的行为null
+     * @throws IOException 无法读取
+     */
+    private String readField() throws IOException {
+        fieldStart = pos;
+        while (hasChar()) {
+            char c = buf[pos];
+            if (c == delimiter || c == '\n' || c == '\r') {
+                break;
+            }
+            pos++;
+        }
+        return takeField();
+    }
+
+    /**
+     * 读取双引号包围的单元格，当前位置为开头的双引号<br>
+     * 结束双引号之后到分隔符之前的字符按原样追加，与 Excel 打开 .csv 文件的行为相同
+     *
+     * @return 单元格数据，空单元格或跳过的行为null
+     * @throws IOException 无法读取
+     */
+    private String readQuotedField() throws IOException {
+        fieldStart = ++pos;
+        while (hasChar()) {
+            if (buf[pos] != QUOTE) {
+                pos++;
+                continue;
+            }
+            int end = pos++;
+            // 不跨缓冲区且不含转义双引号，直接由字符缓冲区生成字符串
+            if (pending.length() == 0 && pos < limit && isFieldEnd(buf[pos])) {
+                String value = isSkipping || end == fieldStart ? null : new String(buf, fieldStart, end - fieldStart);
+                fieldStart = -1;
+                return value;
+            }
+            if (!isSkipping) {
+                pending.append(buf, fieldStart, end - fieldStart);
+            }
+            fieldStart = pos;
+            if (hasChar() && buf[pos] == QUOTE) {
+                // 两个连续双引号，保留第二个双引号作为下一段的开头
+                pos++;
+                continue;
+            }
+            return readField();
+        }
+        // 双引号未闭合，读取到文件末尾
+        return takeField();
+    }
+
+    /**
+     * 取出当前单元格
+     *
+     * @return 单元格数据，空单元格或跳过的行为null
+     */
+    private String takeField() {
+        String value = null;
+        if (!isSkipping) {
+            if (pending.length() == 0) {
+                value = pos > fieldStart ? new String(buf, fieldStart, pos - fieldStart) : null;
+            } else {
+                value = pending.append(buf, fieldStart, pos - fieldStart).toString();
+                pending.setLength(0);
+            }
+        }
+        fieldStart = -1;
+        return value;
+    }
+
+    private boolean isFieldEnd(char c) {
+        return c == delimiter || c == '\n' || c == '\r';
+    }
+
+    /**
+     * 当前位置是否还有字符，字符缓冲区读取完毕时重新填充
+     *
+     * @return true-有 false-已读取到文件末尾
+     * @throws IOException 无法读取
+     */
+    private boolean hasChar() throws IOException {
+        return pos < limit || fill();
+    }
+
+    /**
+     * 重新填充字符缓冲区，当前单元格已读取的部分先保存到{@link #pending}
+     *
+     * @return 是否读取到新的字符
+     * @throws IOException 无法读取
+     */
+    private boolean fill() throws IOException {
+        if (eof) {
+            return false;
+        }
+        if (fieldStart >= 0) {
+            if (!isSkipping) {
+                pending.append(buf, fieldStart, limit - fieldStart);
+            }
+            fieldStart = 0;
+        }
+        pos = 0;
+        limit = 0;
+        int count = reader != null ? reader.read(buf, 0, buf.length) : decode();
+        if (count < 0) {
+            eof = true;
+            return false;
+        }
+        limit = count;
+        return count > 0 || fill();
+    }
+
+    /**
+     * 从内存映射的文件内容解码到字符缓冲区
+     *
+     * @return 解码的字符数，已解码完毕时返回-1
+     */
+    private int decode() {
+        charBuffer.clear();
+        // 文件内容已全部映射，始终是输入的结尾
+        decoder.decode(mapped, charBuffer, true);
+        if (charBuffer.position() == 0 && !mapped.hasRemaining()) {
+            decoder.flush(charBuffer);
+            return charBuffer.position() == 0 ? -1 : charBuffer.position();
+        }
+        return charBuffer.position();
+    }
+
+    @Override
+    public void close() throws IOException {
+        // 映射的内存由垃圾回收释放
+        mapped = null;
+        if (reader != null) {
+            reader.close();
+        }
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.hippocp.easy.code.util.excel.exception;
+
+/**
+ * Excel表格导入被拒绝异常，导入调度器排队已满、排队超时或排队时线程被中断时抛出<br>
+ * 调用方可以据此提示用户稍后重试
+ */
+public class ExcelImportRejectedException extends ExcelValidateException {
+
+    public ExcelImportRejectedException(String message) {
+        super(message);
+    }
+
+    public ExcelImportRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
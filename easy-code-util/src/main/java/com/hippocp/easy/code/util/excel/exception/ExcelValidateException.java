@@ -12,4 +12,8 @@ public class ExcelValidateException extends RuntimeException {
         super(message);
     }
 
+    public ExcelValidateException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
 }
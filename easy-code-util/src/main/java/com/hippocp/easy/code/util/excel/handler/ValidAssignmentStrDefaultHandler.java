@@ -3,22 +3,32 @@ package com.hippocp.easy.code.util.excel.handler;
 import cn.hutool.core.collection.CollUtil;
 import com.hippocp.easy.code.util.domain.CustomValidatorResult;
 import com.hippocp.easy.code.util.domain.EasyConstraintViolationImpl;
+import com.hippocp.easy.code.util.date.DateParseUtil;
 import com.hippocp.easy.code.util.excel.CustomValidAssignmentStrHandler;
+import com.hippocp.easy.code.util.excel.ExcelCellValidator;
+import com.hippocp.easy.code.util.excel.ExcelValidateUtil;
+import com.hippocp.easy.code.util.excel.plan.ExcelColumnPlan;
+import com.hippocp.easy.code.util.number.NumUtil;
 import com.hippocp.easy.code.util.string.StringUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
+import java.util.Date;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
 /**
  * 一个预设的自定义校验与赋值处理器，其中有3个子处理器<br>
+ * 逐行导入时按列导入计划中已确定的属性类型直接校验单元格值：数字、日期单元格无需转为字符串，
+ * 文本单元格逐字符判断是否为整数、小数，日期按预编译的常用格式解析<br>
+ * 同时实现{@link ExcelCellValidator}，逐行导入时格式错误直接追加到紧凑的约束违反信息缓冲区<br>
  *
  * @author ZhouYifan
  * @date 2022/1/13
  */
-public class ValidAssignmentStrDefaultHandler implements CustomValidAssignmentStrHandler {
+public class ValidAssignmentStrDefaultHandler implements CustomValidAssignmentStrHandler, ExcelCellValidator {
 
     private static final Logger log = LoggerFactory.getLogger(ValidAssignmentStrDefaultHandler.class);
 
@@ -72,4 +82,66 @@ public class ValidAssignmentStrDefaultHandler implements CustomValidAssignmentSt
 
     }
 
+    @Override
+    public CustomValidatorResult<?> validAssignment(ExcelColumnPlan column,
+                                                    Object cellValue,
+                                                    int readabilityRowNum,
+                                                    Map<String, Object> tempStorageMap) {
+        String rightFormat = validCell(column, cellValue, tempStorageMap);
+        // 校验通过
+        if (rightFormat == null) {
+            return CustomValidatorResult.passValid();
+        }
+
+        // 只有校验不通过时才需要单元格值的字符串形式
+        String dataStr = String.valueOf(cellValue);
+        String constraintViolationMsg = ExcelValidateUtil.constraintViolationMsgBuild(true, readabilityRowNum,
+                column.getTitle(), dataStr, rightFormat);
+        Set<EasyConstraintViolationImpl<Object>> set = Collections.singleton(
+                EasyConstraintViolationImpl.forBeanValidation(constraintViolationMsg, column.getFieldName(), dataStr));
+        return CustomValidatorResult.notPassValid(set);
+    }
+
+    @Override
+    public String validCell(ExcelColumnPlan column, Object cellValue, Map<String, Object> tempStorageMap) {
+        if (column.isIntegerType()) {
+            return isInteger(column, cellValue) ? null : StringUtil.INTEGER_RIGHT_FORMAT;
+        }
+        if (column.isDoubleType()) {
+            boolean isDouble = cellValue instanceof Number
+                    || (cellValue instanceof String && NumUtil.isDecimal((String) cellValue));
+            return isDouble ? null : StringUtil.DOUBLE_RIGHT_FORMAT;
+        }
+        if (column.isDateType() && !(cellValue instanceof Date)) {
+            Date date = cellValue instanceof String ? DateParseUtil.parseDate((String) cellValue) : null;
+            if (date == null) {
+                return StringUtil.DATE_RIGHT_FORMAT;
+            }
+            // 可以转换则将转换后的日期放入暂存Map，等待校验器写入JavaBean
+            tempStorageMap.put(column.getFieldName(), date);
+        }
+        return null;
+    }
+
+    /**
+     * 单元格值是否为属性类型范围内的整数
+     *
+     * @param column    列导入计划
+     * @param cellValue 单元格值
+     * @return true-是 false-否
+     */
+    private static boolean isInteger(ExcelColumnPlan column, Object cellValue) {
+        if (cellValue instanceof Long || cellValue instanceof Integer
+                || cellValue instanceof Short || cellValue instanceof Byte) {
+            long value = ((Number) cellValue).longValue();
+            return value >= column.getIntegerMin() && value <= column.getIntegerMax();
+        }
+        if (cellValue instanceof Number) {
+            double value = ((Number) cellValue).doubleValue();
+            return value == Math.rint(value) && value >= column.getIntegerMin() && value <= column.getIntegerMax();
+        }
+        return cellValue instanceof String
+                && NumUtil.isInteger((String) cellValue, column.getIntegerMin(), column.getIntegerMax());
+    }
+
 }
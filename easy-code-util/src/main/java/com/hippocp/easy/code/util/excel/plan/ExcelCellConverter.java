@@ -0,0 +1,18 @@
+package com.hippocp.easy.code.util.excel.plan;
+
+/**
+ * 单元格值转换器回调接口<br>
+ * 将读取到的单元格值转换为JavaBean属性类型的值，由{@link ExcelColumnPlan}在构建导入计划时按属性类型选定
+ */
+@FunctionalInterface
+public interface ExcelCellConverter {
+
+    /**
+     * 转换单元格值
+     *
+     * @param cellValue 单元格值，不为null
+     * @return 属性类型的值，无法转换时返回null
+     */
+    Object convert(Object cellValue);
+
+}
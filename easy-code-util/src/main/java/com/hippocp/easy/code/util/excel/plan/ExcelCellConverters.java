@@ -0,0 +1,134 @@
+package com.hippocp.easy.code.util.excel.plan;
+
+import cn.hutool.core.convert.BasicType;
+import cn.hutool.core.convert.Convert;
+import com.hippocp.easy.code.util.date.DateParseUtil;
+import com.hippocp.easy.code.util.number.NumUtil;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 单元格值转换器注册表，按属性类型登记{@link ExcelCellConverter}<br>
+ * 构建{@link ExcelColumnPlan}时按属性类型取出一次，逐行导入时不再判断类型：<br>
+ * 1. POI 读取到的数字、日期单元格直接转换，不经过字符串<br>
+ * 2. 文本单元格中的数字逐字符扫描判断，不使用正则也不抛出异常，日期按预编译的常用格式解析<br>
+ * 3. 以上均不满足时交给 hutool Convert<br>
+ * 未登记的类型使用 hutool Convert 转换
+ */
+public final class ExcelCellConverters {
+
+    /**
+     * 属性类型（包装类型） -》单元格值转换器
+     */
+    private static final Map<Class<?>, ExcelCellConverter> REGISTRY = new ConcurrentHashMap<>();
+
+    static {
+        REGISTRY.put(String.class, value -> value instanceof String ? value : Convert.toStr(value));
+        REGISTRY.put(Long.class, value -> {
+            if (value instanceof Number) {
+                return ((Number) value).longValue();
+            }
+            if (value instanceof String && NumUtil.isInteger((String) value, Long.MIN_VALUE, Long.MAX_VALUE)) {
+                return Long.parseLong((String) value);
+            }
+            return Convert.toLong(value);
+        });
+        REGISTRY.put(Integer.class, value -> {
+            if (value instanceof Number) {
+                return ((Number) value).intValue();
+            }
+            if (value instanceof String && NumUtil.isInteger((String) value, Integer.MIN_VALUE, Integer.MAX_VALUE)) {
+                return Integer.parseInt((String) value);
+            }
+            return Convert.toInt(value);
+        });
+        REGISTRY.put(Short.class, value -> {
+            if (value instanceof Number) {
+                return ((Number) value).shortValue();
+            }
+            if (value instanceof String && NumUtil.isInteger((String) value, Short.MIN_VALUE, Short.MAX_VALUE)) {
+                return Short.parseShort((String) value);
+            }
+            return Convert.toShort(value);
+        });
+        REGISTRY.put(Byte.class, value -> {
+            if (value instanceof Number) {
+                return ((Number) value).byteValue();
+            }
+            if (value instanceof String && NumUtil.isInteger((String) value, Byte.MIN_VALUE, Byte.MAX_VALUE)) {
+                return Byte.parseByte((String) value);
+            }
+            return Convert.toByte(value);
+        });
+        REGISTRY.put(Double.class, value -> {
+            if (value instanceof Number) {
+                return ((Number) value).doubleValue();
+            }
+            if (value instanceof String && isPlainNumber((String) value)) {
+                return Double.parseDouble((String) value);
+            }
+            return Convert.toDouble(value);
+        });
+        REGISTRY.put(Float.class, value -> {
+            if (value instanceof Number) {
+                return ((Number) value).floatValue();
+            }
+            if (value instanceof String && isPlainNumber((String) value)) {
+                return Float.parseFloat((String) value);
+            }
+            return Convert.toFloat(value);
+        });
+        REGISTRY.put(Date.class, value -> {
+            if (value instanceof Date) {
+                return value;
+            }
+            if (value instanceof String) {
+                return DateParseUtil.parseDate((String) value);
+            }
+            return Convert.toDate(value);
+        });
+    }
+
+    /**
+     * 登记单元格值转换器，覆盖同一类型已登记的转换器<br>
+     * 已构建的导入计划会被清空，下次导入时按新的转换器重新构建
+     *
+     * @param fieldType 属性类型，原始类型与包装类型等同
+     * @param converter 单元格值转换器
+     */
+    public static void register(Class<?> fieldType, ExcelCellConverter converter) {
+        REGISTRY.put(BasicType.wrap(fieldType), converter);
+        ExcelImportPlan.clearCache();
+    }
+
+    /**
+     * 获取属性类型的单元格值转换器
+     *
+     * @param fieldType 属性类型，原始类型与包装类型等同
+     * @return {@link ExcelCellConverter}，未登记的类型使用 hutool Convert 转换
+     */
+    public static ExcelCellConverter of(Class<?> fieldType) {
+        Class<?> type = BasicType.wrap(fieldType);
+        ExcelCellConverter converter = REGISTRY.get(type);
+        if (converter != null) {
+            return converter;
+        }
+        return value -> type.isInstance(value) ? value : Convert.convertQuietly(type, value);
+    }
+
+    /**
+     * 是否为可以直接解析的整数或小数
+     *
+     * @param str 字符串
+     * @return true-是 false-否
+     */
+    private static boolean isPlainNumber(String str) {
+        return NumUtil.isDecimal(str) || NumUtil.isInteger(str, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    private ExcelCellConverters() {
+    }
+
+}
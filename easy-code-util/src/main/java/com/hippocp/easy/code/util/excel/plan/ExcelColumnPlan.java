@@ -0,0 +1,248 @@
+package com.hippocp.easy.code.util.excel.plan;
+
+import cn.hutool.core.bean.BeanUtil;
+import cn.hutool.core.convert.BasicType;
+import com.hippocp.easy.code.util.date.DateParseUtil;
+import com.hippocp.easy.code.util.number.NumUtil;
+import com.hippocp.easy.code.util.string.StringUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Excel表格列导入计划，描述一列数据如何写入JavaBean属性<br>
+ * 构建时一次性解析属性、属性类型分类、单元格值转换器（见{@link ExcelCellConverters}）与赋值句柄，逐行导入时不再进行反射查找与类型名称比较
+ */
+public final class ExcelColumnPlan {
+
+    /**
+     * 日志
+     */
+    private static final Logger log = LoggerFactory.getLogger(ExcelColumnPlan.class);
+
+    /**
+     * 赋值句柄统一的方法类型 (Object bean, Object value) -》void
+     */
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /**
+     * 取值句柄统一的方法类型 (Object bean) -》Object
+     */
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    /**
+     * 表格列标题
+     */
+    private final String title;
+    /**
+     * JavaBean属性名称
+     */
+    private final String fieldName;
+    /**
+     * JavaBean属性
+     */
+    private final Field field;
+    /**
+     * JavaBean属性类型
+     */
+    private final Class<?> fieldType;
+    /**
+     * 属性类型，原始类型转换为包装类型，单元格值已是该类型时无需转换
+     */
+    private final Class<?> wrapFieldType;
+    /**
+     * 是否为原始类型属性，原始类型属性不能赋值null
+     */
+    private final boolean isPrimitiveType;
+    /**
+     * 是否为字符串类型属性
+     */
+    private final boolean isStringType;
+    /**
+     * 是否为整数类型属性（不区分原始类型和包装类型）
+     */
+    private final boolean isIntegerType;
+    /**
+     * 是否为浮点数类型属性（不区分原始类型和包装类型）
+     */
+    private final boolean isDoubleType;
+    /**
+     * 是否为日期类型属性
+     */
+    private final boolean isDateType;
+    /**
+     * 整数类型属性的最小值
+     */
+    private final long integerMin;
+    /**
+     * 整数类型属性的最大值
+     */
+    private final long integerMax;
+    /**
+     * 单元格值转换器
+     */
+    private final ExcelCellConverter converter;
+    /**
+     * 赋值句柄，优先使用setter方法，没有setter方法时直接为属性赋值
+     */
+    private final MethodHandle setter;
+    /**
+     * 取值句柄，用于导出
+     */
+    private final MethodHandle getter;
+
+    ExcelColumnPlan(String title, String fieldName, Field field, Class<?> beanType) {
+        this.title = title;
+        this.fieldName = fieldName;
+        this.field = field;
+        this.fieldType = field.getType();
+        this.wrapFieldType = BasicType.wrap(fieldType);
+        this.isPrimitiveType = fieldType.isPrimitive();
+        this.isStringType = StringUtil.isStringType(fieldType);
+        this.isIntegerType = NumUtil.isIntegerType(fieldType);
+        this.isDoubleType = NumUtil.isDoubleType(fieldType);
+        this.isDateType = DateParseUtil.isDateType(fieldType);
+        this.integerMin = NumUtil.minValueOf(fieldType);
+        this.integerMax = NumUtil.maxValueOf(fieldType);
+        this.converter = ExcelCellConverters.of(fieldType);
+        this.setter = setterOf(beanType, field);
+        this.getter = getterOf(beanType, field);
+    }
+
+    /**
+     * 将单元格值转换为属性类型后写入JavaBean<br>
+     * 与 hutool BeanUtil.toBean 忽略错误时的行为一致：无法转换或无法赋值时保持属性原值
+     *
+     * @param bean      JavaBean
+     * @param cellValue 单元格值
+     */
+    public void set(Object bean, Object cellValue) {
+        // 单元格值已是属性类型时直接赋值，避免拆箱再装箱
+        Object value = cellValue == null || wrapFieldType.isInstance(cellValue)
+                ? cellValue : converter.convert(cellValue);
+        if (value == null && isPrimitiveType) {
+            return;
+        }
+        try {
+            setter.invokeExact(bean, value);
+        } catch (Throwable e) {
+            if (log.isDebugEnabled()) {
+                log.debug("无法为属性 [ {} ] 赋值，参数值：{}", fieldName, cellValue, e);
+            }
+        }
+    }
+
+    /**
+     * 读取JavaBean属性值，用于导出
+     *
+     * @param bean JavaBean
+     * @return 属性值
+     */
+    public Object get(Object bean) {
+        try {
+            return getter.invokeExact(bean);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("无法读取属性 [ " + fieldName + " ] 的值", e);
+        }
+    }
+
+    /**
+     * 解析赋值句柄
+     *
+     * @param beanType JavaBean类型
+     * @param field    属性
+     * @return 统一为 (Object bean, Object value) -》void 的赋值句柄
+     */
+    private static MethodHandle setterOf(Class<?> beanType, Field field) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            Method method = BeanUtil.getBeanDesc(beanType).getSetter(field.getName());
+            if (method != null) {
+                method.setAccessible(true);
+                return lookup.unreflect(method).asType(SETTER_TYPE);
+            }
+            field.setAccessible(true);
+            return lookup.unreflectSetter(field).asType(SETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("无法访问属性 [ " + field.getName() + " ] 的赋值方法", e);
+        }
+    }
+
+    /**
+     * 解析取值句柄
+     *
+     * @param beanType JavaBean类型
+     * @param field    属性
+     * @return 统一为 (Object bean) -》Object 的取值句柄
+     */
+    private static MethodHandle getterOf(Class<?> beanType, Field field) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            Method method = BeanUtil.getBeanDesc(beanType).getGetter(field.getName());
+            if (method != null) {
+                method.setAccessible(true);
+                return lookup.unreflect(method).asType(GETTER_TYPE);
+            }
+            field.setAccessible(true);
+            return lookup.unreflectGetter(field).asType(GETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("无法访问属性 [ " + field.getName() + " ] 的取值方法", e);
+        }
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public Class<?> getFieldType() {
+        return fieldType;
+    }
+
+    public boolean isStringType() {
+        return isStringType;
+    }
+
+    public boolean isIntegerType() {
+        return isIntegerType;
+    }
+
+    public boolean isDoubleType() {
+        return isDoubleType;
+    }
+
+    public boolean isDateType() {
+        return isDateType;
+    }
+
+    public Class<?> getWrapFieldType() {
+        return wrapFieldType;
+    }
+
+    public long getIntegerMin() {
+        return integerMin;
+    }
+
+    public long getIntegerMax() {
+        return integerMax;
+    }
+
+    public ExcelCellConverter getConverter() {
+        return converter;
+    }
+
+}
@@ -0,0 +1,286 @@
+package com.hippocp.easy.code.util.excel.plan;
+
+import cn.hutool.core.util.ReflectUtil;
+import cn.hutool.core.util.StrUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Excel表格导入计划，按 (JavaBean类型, 表格列映射map) 预先解析并缓存<br>
+ * 每个映射的列解析为一个{@link ExcelColumnPlan}，包含属性、单元格值转换器与赋值句柄，
+ * 逐行导入时只需按列取出计划并调用，不再进行 getDeclaredField、反转映射map、类型名称比较等操作<br>
+ * 导入计划不可变，可以在多线程之间共享；导出时按同一映射map读取属性值，见{@link com.hippocp.easy.code.util.excel.ExcelExportUtil}
+ */
+public final class ExcelImportPlan<T> {
+
+    /**
+     * 日志
+     */
+    private static final Logger log = LoggerFactory.getLogger(ExcelImportPlan.class);
+
+    /**
+     * 最多缓存的导入计划数量，超出后淘汰最久未使用的导入计划，防止调用方动态生成映射map时缓存无限增长
+     */
+    private static final int MAX_CACHE_SIZE = 256;
+
+    /**
+     * 导入计划缓存，按访问顺序淘汰
+     */
+    private static final Map<PlanKey, ExcelImportPlan<?>> CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<PlanKey, ExcelImportPlan<?>>(MAX_CACHE_SIZE * 4 / 3 + 1, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<PlanKey, ExcelImportPlan<?>> eldest) {
+                    return size() > MAX_CACHE_SIZE;
+                }
+            });
+
+    /**
+     * JavaBean类型
+     */
+    private final Class<T> beanType;
+    /**
+     * 无参构造方法句柄
+     */
+    private final MethodHandle constructor;
+    /**
+     * 表格列映射map，表格列标题-key，JavaBean属性名称-value
+     */
+    private final Map<String, String> columnToFieldMap;
+    /**
+     * 映射的列计划，按映射map的遍历顺序
+     */
+    private final List<ExcelColumnPlan> columns;
+    /**
+     * JavaBean属性名称 -》列计划，包含映射的列以及按需解析的同名列
+     */
+    private final Map<String, Optional<ExcelColumnPlan>> fieldNameToColumn;
+
+    /**
+     * 获取导入计划，不存在时构建并缓存
+     *
+     * @param beanType         JavaBean类型
+     * @param columnToFieldMap 表格列映射map，表格列标题-key，JavaBean属性名称-value
+     * @param <T>              JavaBean
+     * @return {@link ExcelImportPlan}
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ExcelImportPlan<T> of(Class<T> beanType, Map<String, String> columnToFieldMap) {
+        PlanKey key = new PlanKey(beanType, columnToFieldMap);
+        ExcelImportPlan<?> plan = CACHE.get(key);
+        if (plan == null) {
+            // 在锁外构建，构建时的反射不阻塞其它导入；并发构建同一导入计划时保留先放入的
+            ExcelImportPlan<T> created = new ExcelImportPlan<>(beanType, key.columnToFieldMap);
+            plan = CACHE.putIfAbsent(key, created);
+            if (plan == null) {
+                plan = created;
+            }
+        }
+        return (ExcelImportPlan<T>) plan;
+    }
+
+    /**
+     * 清空导入计划缓存，登记新的单元格值转换器后调用
+     */
+    static void clearCache() {
+        CACHE.clear();
+    }
+
+    private ExcelImportPlan(Class<T> beanType, Map<String, String> columnToFieldMap) {
+        this.beanType = beanType;
+        this.constructor = constructorOf(beanType);
+        this.columnToFieldMap = columnToFieldMap;
+        List<ExcelColumnPlan> columnList = new ArrayList<>(columnToFieldMap.size());
+        this.fieldNameToColumn = new ConcurrentHashMap<>(columnToFieldMap.size() * 2);
+        columnToFieldMap.forEach((title, fieldName) -> {
+            Field field = ReflectUtil.getField(beanType, fieldName);
+            if (field == null) {
+                log.error("在类 [ {} ] 中没有找到名称为 [ {} ] 的字段", beanType.getName(), fieldName);
+                fieldNameToColumn.put(fieldName, Optional.empty());
+                return;
+            }
+            ExcelColumnPlan column = new ExcelColumnPlan(title, fieldName, field, beanType);
+            columnList.add(column);
+            fieldNameToColumn.put(fieldName, Optional.of(column));
+        });
+        this.columns = Collections.unmodifiableList(columnList);
+    }
+
+    /**
+     * 获取映射的列计划
+     *
+     * @return 列计划列表，按映射map的遍历顺序
+     */
+    public List<ExcelColumnPlan> getColumns() {
+        return columns;
+    }
+
+    /**
+     * 按JavaBean属性名称获取列计划<br>
+     * 没有映射关系的列与 hutool ExcelReader 一致，以标题作为属性名称，首次出现时解析并缓存
+     *
+     * @param fieldName JavaBean属性名称
+     * @return 列计划，JavaBean中没有该属性时返回null
+     */
+    public ExcelColumnPlan getColumn(String fieldName) {
+        if (fieldName == null) {
+            return null;
+        }
+        Optional<ExcelColumnPlan> column = fieldNameToColumn.get(fieldName);
+        if (column == null) {
+            column = fieldNameToColumn.computeIfAbsent(fieldName, name -> {
+                Field field = ReflectUtil.getField(beanType, name);
+                return field == null ? Optional.empty() : Optional.of(new ExcelColumnPlan(name, name, field, beanType));
+            });
+        }
+        return column.orElse(null);
+    }
+
+    /**
+     * 根据标题行解析每个列索引对应的列计划，读取数据行时按列索引直接取用
+     *
+     * @param headerCells 标题行单元格数据
+     * @return 列索引 -》列计划，没有对应属性的列为null
+     */
+    public ExcelColumnPlan[] columnsOf(List<Object> headerCells) {
+        ExcelColumnPlan[] columnPlans = new ExcelColumnPlan[headerCells.size()];
+        for (int i = 0; i < columnPlans.length; i++) {
+            String title = StrUtil.toStringOrNull(headerCells.get(i));
+            if (title != null) {
+                columnPlans[i] = getColumn(getFieldName(title));
+            }
+        }
+        return columnPlans;
+    }
+
+    /**
+     * 获取表格列标题对应的JavaBean属性名称，没有映射关系时与 hutool ExcelReader 一致，使用标题作为属性名称
+     *
+     * @param title 表格列标题
+     * @return JavaBean属性名称
+     */
+    public String getFieldName(String title) {
+        return columnToFieldMap.getOrDefault(title, title);
+    }
+
+    /**
+     * 创建JavaBean实例
+     *
+     * @return JavaBean
+     */
+    @SuppressWarnings("unchecked")
+    public T newInstance() {
+        try {
+            return (T) constructor.invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("无法创建 [ " + beanType.getName() + " ] 实例", e);
+        }
+    }
+
+    /**
+     * 将一行单元格数据按列索引直接写入JavaBean，不经过中间Map
+     *
+     * @param columnPlans 列索引 -》列计划，见{@link #columnsOf(List)}
+     * @param rowCells    行单元格数据，列表下标即列索引
+     * @return JavaBean
+     */
+    public T toBean(ExcelColumnPlan[] columnPlans, List<Object> rowCells) {
+        T bean = newInstance();
+        int size = Math.min(columnPlans.length, rowCells.size());
+        for (int i = 0; i < size; i++) {
+            ExcelColumnPlan column = columnPlans[i];
+            if (column != null) {
+                column.set(bean, rowCells.get(i));
+            }
+        }
+        return bean;
+    }
+
+    /**
+     * 将一行数据转换为JavaBean，代替 hutool BeanUtil.toBean
+     *
+     * @param rowData 一行数据，JavaBean属性名称-key，单元格数据-value
+     * @return JavaBean
+     */
+    public T toBean(Map<String, Object> rowData) {
+        T bean = newInstance();
+        for (Map.Entry<String, Object> entry : rowData.entrySet()) {
+            ExcelColumnPlan column = getColumn(entry.getKey());
+            if (column != null) {
+                column.set(bean, entry.getValue());
+            }
+        }
+        return bean;
+    }
+
+    public Class<T> getBeanType() {
+        return beanType;
+    }
+
+    /**
+     * 解析无参构造方法句柄
+     *
+     * @param beanType JavaBean类型
+     * @return 统一为 () -》Object 的构造方法句柄
+     */
+    private static MethodHandle constructorOf(Class<?> beanType) {
+        Constructor<?> constructor = ReflectUtil.getConstructor(beanType);
+        if (constructor == null) {
+            throw new IllegalArgumentException("类 [ " + beanType.getName() + " ] 缺少无参构造方法");
+        }
+        try {
+            constructor.setAccessible(true);
+            return MethodHandles.lookup().unreflectConstructor(constructor)
+                    .asType(MethodType.methodType(Object.class));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("无法访问类 [ " + beanType.getName() + " ] 的无参构造方法", e);
+        }
+    }
+
+    /**
+     * 导入计划缓存key
+     */
+    private static final class PlanKey {
+
+        private final Class<?> beanType;
+        /**
+         * 映射map的副本，防止调用方修改原map后命中错误的导入计划
+         */
+        private final Map<String, String> columnToFieldMap;
+        private final int hashCode;
+
+        PlanKey(Class<?> beanType, Map<String, String> columnToFieldMap) {
+            this.beanType = beanType;
+            this.columnToFieldMap = new LinkedHashMap<>(columnToFieldMap);
+            this.hashCode = 31 * beanType.hashCode() + this.columnToFieldMap.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PlanKey)) {
+                return false;
+            }
+            PlanKey planKey = (PlanKey) o;
+            return beanType == planKey.beanType && columnToFieldMap.equals(planKey.columnToFieldMap);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+    }
+
+}
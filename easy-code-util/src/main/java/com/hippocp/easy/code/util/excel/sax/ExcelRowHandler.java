@@ -0,0 +1,35 @@
+package com.hippocp.easy.code.util.excel.sax;
+
+import java.util.List;
+
+/**
+ * Excel表格行处理器回调接口<br>
+ * 流式读取Excel表格时，每读取完一行数据，读取器将主动调用该接口中的方法<br>
+ * 参考方法如下：<br>
+ * {@link XlsxStreamReader#read(int, ExcelRowHandler)}
+ */
+@FunctionalInterface
+public interface ExcelRowHandler {
+
+    /**
+     * 处理一行数据
+     *
+     * @param rowIndex 行号索引（从0开始计数）
+     * @param rowCells 行单元格数据，列表下标即列索引，空单元格为null<br>
+     *                 注意：读取器会复用该列表，请不要在方法外持有该列表的引用
+     * @return 是否继续读取，true-继续读取下一行，false-停止读取
+     */
+    boolean handle(int rowIndex, List<Object> rowCells);
+
+    /**
+     * 是否跳过一行，读取到行开始时调用<br>
+     * 跳过的行不解析单元格内容，也不会调用{@link #handle(int, List)}，用于从检查点恢复读取时快速越过已处理的行
+     *
+     * @param rowIndex 行号索引（从0开始计数）
+     * @return true-跳过该行 false-读取该行，默认不跳过
+     */
+    default boolean isSkipRow(int rowIndex) {
+        return false;
+    }
+
+}
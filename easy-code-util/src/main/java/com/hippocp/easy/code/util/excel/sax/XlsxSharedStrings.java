@@ -0,0 +1,369 @@
+package com.hippocp.easy.code.util.excel.sax;
+
+import cn.hutool.core.io.FileUtil;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * 内存有界的 .xlsx 共享字符串表<br>
+ * POI {@link org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable} 将 sharedStrings.xml 全部保存在堆内存中，
+ * 文本较多的表格可达数百MB。该类在堆内字符串估算占用超过阈值后，将其余字符串以UTF-8写入临时文件，
+ * 读取时通过内存映射按需解码，并使用LRU缓存最近读取的字符串<br>
+ * 解析完成后只读，可以被多个线程同时读取；使用完毕请在所有读取线程结束后调用{@link #close()}删除临时文件，
+ * 关闭后再读取临时文件中的字符串将抛出{@link IllegalStateException}<br>
+ * 注意：该类不实现 POI SharedStrings 接口，避免在未引入 POI 时扫描工具类出错
+ */
+public class XlsxSharedStrings extends DefaultHandler implements Closeable {
+
+    /**
+     * 日志
+     */
+    private static final Logger log = LoggerFactory.getLogger(XlsxSharedStrings.class);
+
+    /**
+     * 默认堆内共享字符串占用阈值，64MB
+     */
+    public static final long DEFAULT_SPILL_THRESHOLD = 64L * 1024 * 1024;
+
+    /**
+     * 临时文件读取时的LRU缓存大小
+     */
+    private static final int CACHE_SIZE = 4096;
+
+    /**
+     * 每个内存映射区域的大小，1GB
+     */
+    private static final int REGION_SIZE = 1 << 30;
+
+    /**
+     * 堆内字符串占用阈值（估算字节数），小于0时不写入临时文件
+     */
+    private final long spillThreshold;
+    /**
+     * 堆内保存的字符串，索引即共享字符串索引
+     */
+    private final List<String> heapStrings = new ArrayList<>();
+    /**
+     * 堆内字符串估算占用字节数
+     */
+    private long heapBytes;
+    /**
+     * 临时文件中每个字符串的起始位置，第 i 个字符串位于 [offsets[i], offsets[i + 1])
+     */
+    private long[] offsets = new long[16];
+    /**
+     * 临时文件中的字符串数量
+     */
+    private int spillCount;
+    /**
+     * 临时文件，未超过阈值时为null
+     */
+    private File spillFile;
+    /**
+     * 解析过程中写入临时文件的输出流
+     */
+    private OutputStream spillOutput;
+    /**
+     * 临时文件内存映射区域，关闭后为null
+     */
+    private volatile MappedByteBuffer[] regions;
+    /**
+     * 临时文件读取缓存，共享字符串索引 -》字符串
+     */
+    private final Map<Integer, String> cache = Collections.synchronizedMap(
+            new LinkedHashMap<Integer, String>(CACHE_SIZE * 4 / 3 + 1, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            });
+
+    private int count;
+    private int uniqueCount;
+
+    /**
+     * 解析状态：当前字符串内容
+     */
+    private final StringBuilder characters = new StringBuilder(64);
+    /**
+     * 解析状态：是否在 t 元素内
+     */
+    private boolean isTextOpen;
+    /**
+     * 解析状态：是否在 rPh 元素（拼音注释）内，与 POI 默认行为一致，不包含拼音注释
+     */
+    private boolean isPhoneticOpen;
+
+    private XlsxSharedStrings(long spillThreshold) {
+        this.spillThreshold = spillThreshold;
+    }
+
+    /**
+     * 读取文件包中的共享字符串表
+     *
+     * @param pkg            Excel文件包
+     * @param spillThreshold 堆内字符串占用阈值（估算字节数），超过后写入临时文件，小于0时不写入临时文件
+     * @return {@link XlsxSharedStrings}，文件包中没有共享字符串表时为空表
+     * @throws IOException 无法读取共享字符串表
+     */
+    public static XlsxSharedStrings read(OPCPackage pkg, long spillThreshold) throws IOException {
+        XlsxSharedStrings sharedStrings = new XlsxSharedStrings(spillThreshold);
+        try {
+            List<PackagePart> parts = pkg.getPartsByContentType(XSSFRelation.SHARED_STRINGS.getContentType());
+            if (!parts.isEmpty()) {
+                try (InputStream in = parts.get(0).getInputStream()) {
+                    sharedStrings.parse(in);
+                }
+            }
+            sharedStrings.finishSpill();
+            return sharedStrings;
+        } catch (IOException | RuntimeException e) {
+            sharedStrings.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 获取共享字符串
+     *
+     * @param idx 共享字符串索引
+     * @return 字符串
+     * @throws IllegalStateException 已关闭，无法读取临时文件中的字符串
+     */
+    public String getString(int idx) {
+        if (idx < heapStrings.size()) {
+            return heapStrings.get(idx);
+        }
+        int spillIndex = idx - heapStrings.size();
+        if (spillIndex >= spillCount) {
+            throw new IndexOutOfBoundsException("共享字符串索引超出范围：" + idx);
+        }
+        String value = cache.get(idx);
+        if (value == null) {
+            value = readSpilled(spillIndex);
+            cache.put(idx, value);
+        }
+        return value;
+    }
+
+    /**
+     * 获取共享字符串被单元格引用的总次数
+     *
+     * @return sst 元素的 count 属性
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * 获取不重复的共享字符串数量
+     *
+     * @return sst 元素的 uniqueCount 属性
+     */
+    public int getUniqueCount() {
+        return uniqueCount;
+    }
+
+    /**
+     * 是否已写入临时文件
+     *
+     * @return true-是 false-否
+     */
+    public boolean isSpilled() {
+        return spillFile != null;
+    }
+
+    /**
+     * 删除临时文件，须在所有读取线程结束后调用
+     */
+    @Override
+    public void close() {
+        regions = null;
+        cache.clear();
+        if (spillOutput != null) {
+            try {
+                spillOutput.close();
+            } catch (IOException e) {
+                log.debug("关闭共享字符串临时文件失败", e);
+            }
+            spillOutput = null;
+        }
+        if (spillFile != null && !FileUtil.del(spillFile)) {
+            // 内存映射在回收前可能仍占用文件
+            spillFile.deleteOnExit();
+        }
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes) {
+        switch (localName) {
+            case "sst":
+                count = parseInt(attributes.getValue("count"));
+                uniqueCount = parseInt(attributes.getValue("uniqueCount"));
+                break;
+            case "si":
+                characters.setLength(0);
+                break;
+            case "t":
+                isTextOpen = true;
+                break;
+            case "rPh":
+                isPhoneticOpen = true;
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) throws SAXException {
+        switch (localName) {
+            case "si":
+                try {
+                    add(characters.toString());
+                } catch (IOException e) {
+                    throw new SAXException(e);
+                }
+                break;
+            case "t":
+                isTextOpen = false;
+                break;
+            case "rPh":
+                isPhoneticOpen = false;
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) {
+        if (isTextOpen && !isPhoneticOpen) {
+            characters.append(ch, start, length);
+        }
+    }
+
+    /**
+     * 解析 sharedStrings.xml
+     *
+     * @param in 共享字符串表XML输入流
+     * @throws IOException 无法解析
+     */
+    private void parse(InputStream in) throws IOException {
+        try {
+            XMLReader xmlReader = XMLHelper.newXMLReader();
+            xmlReader.setContentHandler(this);
+            xmlReader.parse(new InputSource(in));
+        } catch (SAXException | ParserConfigurationException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("无法解析Excel表格共享字符串表", e);
+        }
+    }
+
+    /**
+     * 加入一个字符串，超过阈值后写入临时文件
+     *
+     * @param value 字符串
+     * @throws IOException 无法写入临时文件
+     */
+    private void add(String value) throws IOException {
+        if (spillOutput == null && (spillThreshold < 0 || heapBytes <= spillThreshold)) {
+            heapStrings.add(value);
+            // String对象头、char数组对象头与字符内容
+            heapBytes += 40 + 2L * value.length();
+            return;
+        }
+        if (spillOutput == null) {
+            spillFile = File.createTempFile("easy-code-sst-", ".tmp");
+            spillOutput = new BufferedOutputStream(new FileOutputStream(spillFile), 64 * 1024);
+            if (log.isInfoEnabled()) {
+                log.info("共享字符串表超过{}字节，其余字符串写入临时文件", spillThreshold);
+            }
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        spillOutput.write(bytes);
+        if (spillCount + 1 >= offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        offsets[spillCount + 1] = offsets[spillCount] + bytes.length;
+        spillCount++;
+    }
+
+    /**
+     * 解析完成，关闭临时文件输出流并建立内存映射
+     *
+     * @throws IOException 无法映射临时文件
+     */
+    private void finishSpill() throws IOException {
+        if (spillOutput == null) {
+            return;
+        }
+        spillOutput.close();
+        spillOutput = null;
+        long size = offsets[spillCount];
+        int regionCount = (int) ((size + REGION_SIZE - 1) / REGION_SIZE);
+        MappedByteBuffer[] mapped = new MappedByteBuffer[regionCount];
+        try (RandomAccessFile file = new RandomAccessFile(spillFile, "r");
+             FileChannel channel = file.getChannel()) {
+            for (int i = 0; i < regionCount; i++) {
+                long position = (long) i * REGION_SIZE;
+                mapped[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(REGION_SIZE, size - position));
+            }
+        }
+        regions = mapped;
+        if (log.isInfoEnabled()) {
+            log.info("共享字符串表解析完成，堆内{}个，临时文件{}个共{}字节", heapStrings.size(), spillCount, size);
+        }
+    }
+
+    /**
+     * 从内存映射中解码字符串，字符串可能跨越两个映射区域
+     *
+     * @param spillIndex 临时文件中的字符串索引
+     * @return 字符串
+     */
+    private String readSpilled(int spillIndex) {
+        // 先取出映射区域的引用，关闭前已开始的读取不受影响
+        MappedByteBuffer[] mapped = regions;
+        if (mapped == null) {
+            throw new IllegalStateException("共享字符串表已关闭，无法读取临时文件中的字符串");
+        }
+        long start = offsets[spillIndex];
+        byte[] bytes = new byte[(int) (offsets[spillIndex + 1] - start)];
+        int copied = 0;
+        while (copied < bytes.length) {
+            long position = start + copied;
+            // 复制缓冲区再读取，多线程读取互不影响
+            ByteBuffer buffer = mapped[(int) (position / REGION_SIZE)].duplicate();
+            buffer.position((int) (position % REGION_SIZE));
+            int length = Math.min(bytes.length - copied, buffer.remaining());
+            buffer.get(bytes, copied, length);
+            copied += length;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int parseInt(String value) {
+        return value == null ? 0 : Integer.parseInt(value);
+    }
+
+}
@@ -0,0 +1,310 @@
+package com.hippocp.easy.code.util.excel.sax;
+
+import cn.hutool.core.date.DateUtil;
+import cn.hutool.core.util.StrUtil;
+import org.apache.poi.ss.util.NumberToTextConverter;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * .xlsx 工作表（sheet*.xml）SAX解析处理器<br>
+ * 逐行解析单元格，并将单元格转换为与 hutool ExcelReader 一致的Java类型：<br>
+ * 字符串 -》{@link String}<br>
+ * 日期格式数字 -》{@link cn.hutool.core.date.DateTime}<br>
+ * 无小数格式的整数 -》{@link Long}<br>
+ * 其它数字 -》{@link Double}<br>
+ * 布尔 -》{@link Boolean}<br>
+ * 每解析完一行，调用{@link ExcelRowHandler}，行处理器返回false时停止解析
+ */
+public class XlsxSheetContentHandler extends DefaultHandler {
+
+    private static final String ROW = "row";
+    private static final String CELL = "c";
+    private static final String VALUE = "v";
+    private static final String INLINE_STRING = "is";
+    private static final String TEXT = "t";
+    private static final String PHONETIC_RUN = "rPh";
+    private static final String ATTR_REF = "r";
+    private static final String ATTR_TYPE = "t";
+    private static final String ATTR_STYLE = "s";
+
+    /**
+     * 共享字符串索引 -》字符串
+     */
+    private final IntFunction<String> sharedStrings;
+
+    /**
+     * 单元格样式索引 -》是否为日期格式
+     */
+    private final boolean[] dateStyles;
+
+    /**
+     * 是否使用1904日期系统
+     */
+    private final boolean isDate1904;
+
+    /**
+     * 行处理器
+     */
+    private final ExcelRowHandler rowHandler;
+
+    /**
+     * 当前行单元格数据，每行复用
+     */
+    private final List<Object> rowCells = new ArrayList<>();
+
+    /**
+     * 单元格内容缓冲区，每个单元格复用
+     */
+    private final StringBuilder contents = new StringBuilder(64);
+
+    private int rowIndex = -1;
+    private int columnIndex = -1;
+    private String cellType;
+    private int cellStyle;
+    private boolean isValueOpen;
+    private boolean isInlineStringOpen;
+    private boolean isPhoneticRunOpen;
+    private boolean hasValue;
+    /**
+     * 当前行是否由行处理器要求跳过，跳过的行不收集单元格内容
+     */
+    private boolean isSkipRow;
+
+    /**
+     * 是否已由行处理器要求停止读取
+     */
+    private boolean isStopped;
+
+    public XlsxSheetContentHandler(SharedStrings sharedStrings,
+                                   boolean[] dateStyles,
+                                   boolean isDate1904,
+                                   ExcelRowHandler rowHandler) {
+        this(index -> sharedStrings.getItemAt(index).getString(), dateStyles, isDate1904, rowHandler);
+    }
+
+    public XlsxSheetContentHandler(XlsxSharedStrings sharedStrings,
+                                   boolean[] dateStyles,
+                                   boolean isDate1904,
+                                   ExcelRowHandler rowHandler) {
+        // 直接取字符串，不创建 RichTextString
+        this((IntFunction<String>) sharedStrings::getString, dateStyles, isDate1904, rowHandler);
+    }
+
+    private XlsxSheetContentHandler(IntFunction<String> sharedStrings,
+                                    boolean[] dateStyles,
+                                    boolean isDate1904,
+                                    ExcelRowHandler rowHandler) {
+        this.sharedStrings = sharedStrings;
+        this.dateStyles = dateStyles;
+        this.isDate1904 = isDate1904;
+        this.rowHandler = rowHandler;
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+        switch (localName) {
+            case ROW:
+                String rowRef = attributes.getValue(ATTR_REF);
+                // r属性从1开始计数，缺省时顺延上一行
+                rowIndex = rowRef == null ? rowIndex + 1 : Integer.parseInt(rowRef) - 1;
+                columnIndex = -1;
+                rowCells.clear();
+                isSkipRow = rowHandler.isSkipRow(rowIndex);
+                break;
+            default:
+                if (!isSkipRow) {
+                    startCellElement(localName, attributes);
+                }
+                break;
+        }
+    }
+
+    /**
+     * 单元格及其子元素开始
+     *
+     * @param localName  元素名称
+     * @param attributes 元素属性
+     */
+    private void startCellElement(String localName, Attributes attributes) {
+        switch (localName) {
+            case CELL:
+                String cellRef = attributes.getValue(ATTR_REF);
+                // r属性形如 B12，缺省时顺延上一列
+                columnIndex = cellRef == null ? columnIndex + 1 : columnIndexOf(cellRef);
+                cellType = attributes.getValue(ATTR_TYPE);
+                String style = attributes.getValue(ATTR_STYLE);
+                cellStyle = style == null ? 0 : Integer.parseInt(style);
+                contents.setLength(0);
+                hasValue = false;
+                break;
+            case VALUE:
+                isValueOpen = true;
+                hasValue = true;
+                break;
+            case INLINE_STRING:
+                isInlineStringOpen = true;
+                hasValue = true;
+                break;
+            case PHONETIC_RUN:
+                isPhoneticRunOpen = true;
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) {
+        // 只收集 <v> 与内联字符串 <is><t> 中的文本，忽略拼音注释 <rPh>
+        if (isValueOpen || (isInlineStringOpen && !isPhoneticRunOpen)) {
+            contents.append(ch, start, length);
+        }
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) throws SAXException {
+        if (isSkipRow) {
+            if (ROW.equals(localName)) {
+                isSkipRow = false;
+            }
+            return;
+        }
+        switch (localName) {
+            case VALUE:
+                isValueOpen = false;
+                break;
+            case INLINE_STRING:
+                isInlineStringOpen = false;
+                break;
+            case PHONETIC_RUN:
+                isPhoneticRunOpen = false;
+                break;
+            case CELL:
+                if (hasValue) {
+                    setCell(columnIndex, cellValue());
+                }
+                break;
+            case ROW:
+                boolean isContinue = rowHandler.handle(rowIndex, rowCells);
+                if (!isContinue) {
+                    isStopped = true;
+                    // 抛出异常中断SAX解析，由读取器捕获
+                    throw new StopReadingException();
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * 是否已由行处理器要求停止读取
+     *
+     * @return true-是 false-否
+     */
+    public boolean isStopped() {
+        return isStopped;
+    }
+
+    /**
+     * 按单元格类型转换单元格内容
+     *
+     * @return 单元格值
+     */
+    private Object cellValue() {
+        String text = contents.toString();
+        // 无类型属性即为数字
+        if (cellType == null || "n".equals(cellType)) {
+            return numericValue(text);
+        }
+        switch (cellType) {
+            case "s":
+                int index = Integer.parseInt(text.trim());
+                return sharedStrings.apply(index);
+            case "b":
+                return "1".equals(text) || "true".equalsIgnoreCase(text);
+            case "d":
+                return DateUtil.parse(text);
+            // inlineStr、str（公式字符串结果）、e（错误）均按字符串处理
+            default:
+                return text;
+        }
+    }
+
+    /**
+     * 数字单元格转换，与 hutool NumericCellValue 保持一致
+     *
+     * @param text 单元格文本
+     * @return 日期、长整数或浮点数
+     */
+    private Object numericValue(String text) {
+        if (StrUtil.isEmpty(text)) {
+            return null;
+        }
+        double value = Double.parseDouble(text);
+        if (cellStyle < dateStyles.length && dateStyles[cellStyle]) {
+            return DateUtil.date(org.apache.poi.ss.usermodel.DateUtil.getJavaDate(value, isDate1904));
+        }
+        long longPart = (long) value;
+        if (((double) longPart) == value) {
+            return longPart;
+        }
+        // 某些单元格值为double计算结果，可能导致精度问题，通过转换解决精度问题
+        return Double.parseDouble(NumberToTextConverter.toText(value));
+    }
+
+    /**
+     * 设置当前行指定列的单元格值，中间缺失的列以null填充
+     *
+     * @param column 列索引
+     * @param value  单元格值
+     */
+    private void setCell(int column, Object value) {
+        while (rowCells.size() <= column) {
+            rowCells.add(null);
+        }
+        rowCells.set(column, value);
+    }
+
+    /**
+     * 由单元格引用计算列索引，例如 A1 -》0，AB3 -》27
+     *
+     * @param cellRef 单元格引用
+     * @return 列索引（从0开始计数）
+     */
+    public static int columnIndexOf(String cellRef) {
+        int column = 0;
+        for (int i = 0; i < cellRef.length(); i++) {
+            char c = cellRef.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    /**
+     * 行处理器要求停止读取时抛出，用于中断SAX解析
+     */
+    static class StopReadingException extends SAXException {
+
+        StopReadingException() {
+            super("行处理器要求停止读取");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+
+    }
+
+}
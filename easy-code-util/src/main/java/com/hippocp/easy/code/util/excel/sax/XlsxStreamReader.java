@@ -0,0 +1,354 @@
+package com.hippocp.easy.code.util.excel.sax;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.poi.excel.ExcelDateUtil;
+import com.hippocp.easy.code.util.file.UploadedFileHandle;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * .xlsx 流式读取器，基于POI事件模型（{@link XSSFReader} + SAX）<br>
+ * 与 hutool ExcelReader（POI usermodel XSSFWorkbook）不同，该读取器不会将整个工作簿加载到内存，
+ * 而是逐行解析工作表XML并交由{@link ExcelRowHandler}处理，内存占用不随表格行数增长<br>
+ * 使用完毕请调用{@link #close()}关闭读取器
+ */
+public class XlsxStreamReader implements Closeable {
+
+    /**
+     * 日志
+     */
+    private static final Logger log = LoggerFactory.getLogger(XlsxStreamReader.class);
+
+    /**
+     * Excel文件包
+     */
+    private final OPCPackage pkg;
+
+    /**
+     * 事件模型读取器
+     */
+    private final XSSFReader xssfReader;
+
+    /**
+     * 共享字符串表，超过阈值的部分保存在临时文件中
+     */
+    private final XlsxSharedStrings sharedStrings;
+
+    /**
+     * 单元格样式索引 -》是否为日期格式，解析完样式表后不再持有样式表
+     */
+    private final boolean[] dateStyles;
+
+    /**
+     * 是否使用1904日期系统
+     */
+    private final boolean isDate1904;
+
+    /**
+     * 工作表名称列表，按工作簿中的顺序
+     */
+    private final List<String> sheetNames;
+
+    /**
+     * 关闭读取器时需要删除的临时文件，可能为null
+     */
+    private final File tempFile;
+
+    /**
+     * 打开本地 .xlsx 文件
+     *
+     * @param file .xlsx 文件
+     * @return {@link XlsxStreamReader}
+     * @throws IOException 文件无法读取或不是合法的 .xlsx 文件
+     */
+    public static XlsxStreamReader open(File file) throws IOException {
+        return open(file, XlsxSharedStrings.DEFAULT_SPILL_THRESHOLD);
+    }
+
+    /**
+     * 打开本地 .xlsx 文件，指定共享字符串表的堆内存阈值
+     *
+     * @param file                        .xlsx 文件
+     * @param sharedStringsSpillThreshold 堆内共享字符串占用阈值（估算字节数），超过后写入临时文件，小于0时不写入临时文件
+     * @return {@link XlsxStreamReader}
+     * @throws IOException 文件无法读取或不是合法的 .xlsx 文件
+     */
+    public static XlsxStreamReader open(File file, long sharedStringsSpillThreshold) throws IOException {
+        return new XlsxStreamReader(file, null, sharedStringsSpillThreshold);
+    }
+
+    /**
+     * 打开上传的 .xlsx 文件<br>
+     * 上传文件会先写入本地临时文件，以便按需随机读取压缩包中的条目，避免整个压缩包解压到内存，
+     * 临时文件在关闭读取器时删除；当前请求绑定了{@link UploadedFileHandle}时直接使用句柄的本地文件
+     *
+     * @param multipartFile 上传的 .xlsx 文件
+     * @return {@link XlsxStreamReader}
+     * @throws IOException 文件无法读取或不是合法的 .xlsx 文件
+     */
+    public static XlsxStreamReader open(MultipartFile multipartFile) throws IOException {
+        return open(multipartFile, XlsxSharedStrings.DEFAULT_SPILL_THRESHOLD);
+    }
+
+    /**
+     * 打开上传的 .xlsx 文件，指定共享字符串表的堆内存阈值
+     *
+     * @param multipartFile               上传的 .xlsx 文件
+     * @param sharedStringsSpillThreshold 堆内共享字符串占用阈值（估算字节数），超过后写入临时文件，小于0时不写入临时文件
+     * @return {@link XlsxStreamReader}
+     * @throws IOException 文件无法读取或不是合法的 .xlsx 文件
+     * @see XlsxStreamReader#open(MultipartFile)
+     */
+    public static XlsxStreamReader open(MultipartFile multipartFile, long sharedStringsSpillThreshold) throws IOException {
+        UploadedFileHandle uploadedFile = UploadedFileHandle.current(multipartFile);
+        if (uploadedFile != null) {
+            // 本地文件由句柄管理，关闭读取器时不删除
+            return new XlsxStreamReader(uploadedFile.getFile(), null, sharedStringsSpillThreshold);
+        }
+        File tempFile = File.createTempFile("easy-code-xlsx-", ".xlsx");
+        try (InputStream in = multipartFile.getInputStream()) {
+            FileUtil.writeFromStream(in, tempFile);
+            return new XlsxStreamReader(tempFile, tempFile, sharedStringsSpillThreshold);
+        } catch (IOException | RuntimeException e) {
+            FileUtil.del(tempFile);
+            throw e;
+        }
+    }
+
+    private XlsxStreamReader(File file, File tempFile, long sharedStringsSpillThreshold) throws IOException {
+        this.tempFile = tempFile;
+        try {
+            this.pkg = OPCPackage.open(file, PackageAccess.READ);
+        } catch (OpenXML4JException | RuntimeException e) {
+            throw new IOException("无法打开Excel表格文件，请确认文件为 .xlsx 格式", e);
+        }
+        try {
+            this.xssfReader = new XSSFReader(pkg);
+            this.sharedStrings = XlsxSharedStrings.read(pkg, sharedStringsSpillThreshold);
+            this.dateStyles = readDateStyles(xssfReader);
+            this.isDate1904 = readDate1904(xssfReader);
+            this.sheetNames = readSheetNames(xssfReader);
+        } catch (OpenXML4JException | SAXException e) {
+            close();
+            throw new IOException("无法解析Excel表格文件结构", e);
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * 获取工作表名称列表
+     *
+     * @return 工作表名称，按工作簿中的顺序
+     */
+    public List<String> getSheetNames() {
+        return sheetNames;
+    }
+
+    /**
+     * 获取Excel文件包，可在同一个文件包上创建 XSSFWorkbook，避免再次打开与解压文件<br>
+     * 文件包由读取器管理，请勿关闭
+     *
+     * @return {@link OPCPackage}
+     */
+    public OPCPackage getPackage() {
+        return pkg;
+    }
+
+    /**
+     * 获取共享字符串表，工作簿没有共享字符串表时为空表<br>
+     * 共享字符串表由读取器管理，请勿关闭
+     *
+     * @return {@link XlsxSharedStrings}
+     */
+    public XlsxSharedStrings getSharedStrings() {
+        return sharedStrings;
+    }
+
+    /**
+     * 流式读取指定工作表<br>
+     * 多个线程可以同时读取不同的工作表，共享字符串表与样式只解析一次
+     *
+     * @param sheetIndex 工作表索引（从0开始计数）
+     * @param rowHandler 行处理器
+     * @throws IOException 工作表不存在或无法解析
+     */
+    public void read(int sheetIndex, ExcelRowHandler rowHandler) throws IOException {
+        try (InputStream sheet = openSheet(sheetIndex)) {
+            parseSheet(sheet, rowHandler);
+        }
+    }
+
+    /**
+     * 打开指定工作表XML输入流，查找工作表时加锁，解析时不加锁
+     *
+     * @param sheetIndex 工作表索引（从0开始计数）
+     * @return 工作表XML输入流
+     * @throws IOException 工作表不存在或无法读取
+     */
+    private synchronized InputStream openSheet(int sheetIndex) throws IOException {
+        try {
+            XSSFReader.SheetIterator iterator = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+            int index = 0;
+            while (iterator.hasNext()) {
+                InputStream sheet = iterator.next();
+                if (index == sheetIndex) {
+                    return sheet;
+                }
+                sheet.close();
+                index++;
+            }
+        } catch (OpenXML4JException e) {
+            throw new IOException("无法读取Excel表格工作表", e);
+        }
+        throw new IOException("Excel表格中不存在索引为 " + sheetIndex + " 的工作表");
+    }
+
+    /**
+     * 流式读取指定名称的工作表
+     *
+     * @param sheetName  工作表名称
+     * @param rowHandler 行处理器
+     * @throws IOException 工作表不存在或无法解析
+     */
+    public void read(String sheetName, ExcelRowHandler rowHandler) throws IOException {
+        int sheetIndex = sheetNames.indexOf(sheetName);
+        if (sheetIndex < 0) {
+            throw new IOException("Excel表格中不存在名称为 " + sheetName + " 的工作表");
+        }
+        read(sheetIndex, rowHandler);
+    }
+
+    /**
+     * 解析工作表XML
+     *
+     * @param sheet      工作表XML输入流
+     * @param rowHandler 行处理器
+     * @throws IOException 无法解析
+     */
+    protected void parseSheet(InputStream sheet, ExcelRowHandler rowHandler) throws IOException {
+        XlsxSheetContentHandler handler = new XlsxSheetContentHandler(sharedStrings, dateStyles, isDate1904, rowHandler);
+        try {
+            XMLReader xmlReader = XMLHelper.newXMLReader();
+            xmlReader.setContentHandler(handler);
+            xmlReader.parse(new InputSource(sheet));
+        } catch (XlsxSheetContentHandler.StopReadingException e) {
+            // 行处理器要求停止读取，正常结束
+            if (log.isDebugEnabled()) {
+                log.debug("行处理器要求停止读取，已提前结束工作表解析");
+            }
+        } catch (SAXException | ParserConfigurationException e) {
+            throw new IOException("无法解析Excel表格工作表", e);
+        }
+    }
+
+    /**
+     * 读取样式表，计算每个单元格样式是否为日期格式
+     *
+     * @param xssfReader 事件模型读取器
+     * @return 单元格样式索引 -》是否为日期格式
+     */
+    private static boolean[] readDateStyles(XSSFReader xssfReader) throws IOException, OpenXML4JException {
+        StylesTable stylesTable = xssfReader.getStylesTable();
+        if (stylesTable == null) {
+            return new boolean[0];
+        }
+        int count = stylesTable.getNumCellStyles();
+        boolean[] dateStyles = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            XSSFCellStyle style = stylesTable.getStyleAt(i);
+            if (style != null) {
+                dateStyles[i] = ExcelDateUtil.isDateFormat(style.getDataFormat(), style.getDataFormatString());
+            }
+        }
+        return dateStyles;
+    }
+
+    /**
+     * 读取工作簿是否使用1904日期系统
+     *
+     * @param xssfReader 事件模型读取器
+     * @return true-是 false-否
+     */
+    private static boolean readDate1904(XSSFReader xssfReader) throws IOException, OpenXML4JException, SAXException {
+        final boolean[] isDate1904 = {false};
+        try (InputStream workbook = xssfReader.getWorkbookData()) {
+            XMLReader xmlReader = XMLHelper.newXMLReader();
+            xmlReader.setContentHandler(new DefaultHandler() {
+                @Override
+                public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                    if ("workbookPr".equals(localName)) {
+                        String date1904 = attributes.getValue("date1904");
+                        isDate1904[0] = "1".equals(date1904) || "true".equalsIgnoreCase(date1904);
+                    }
+                }
+            });
+            xmlReader.parse(new InputSource(workbook));
+        } catch (ParserConfigurationException e) {
+            throw new SAXException(e);
+        }
+        return isDate1904[0];
+    }
+
+    /**
+     * 读取工作表名称列表
+     *
+     * @param xssfReader 事件模型读取器
+     * @return 工作表名称，按工作簿中的顺序
+     */
+    private static List<String> readSheetNames(XSSFReader xssfReader) throws IOException, OpenXML4JException {
+        List<String> names = new ArrayList<>();
+        XSSFReader.SheetIterator iterator = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+        while (iterator.hasNext()) {
+            // 只需要工作表名称，取出的工作表输入流立即关闭
+            InputStream sheetStream = iterator.next();
+            try {
+                names.add(iterator.getSheetName());
+            } finally {
+                sheetStream.close();
+            }
+        }
+        return Collections.unmodifiableList(names);
+    }
+
+    /**
+     * 关闭读取器，释放文件并删除临时文件（包括共享字符串表的临时文件）
+     */
+    @Override
+    public void close() {
+        if (sharedStrings != null) {
+            sharedStrings.close();
+        }
+        if (pkg != null) {
+            // 只读打开，放弃所有修改即可
+            pkg.revert();
+        }
+        if (tempFile != null) {
+            FileUtil.del(tempFile);
+        }
+    }
+
+}
@@ -0,0 +1,356 @@
+package com.hippocp.easy.code.util.file;
+
+import com.hippocp.easy.code.util.domain.FileContentTypeEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * 文件内容类型识别工具类，读取文件开头与结尾各{@link #SNIFF_SIZE}字节，必要时读取zip压缩包的中央目录，不解析整个文件<br>
+ * 1. .xlsx 文件：zip文件头，并且包含 [Content_Types].xml 条目；条目在压缩包中的位置不固定，
+ * 先在文件开头的本地文件头中查找，再在文件结尾中查找；中央目录超出文件结尾时，
+ * 按中央目录结束记录中的偏移量逐个读取中央目录中的条目名称，中央目录记录了全部条目名称<br>
+ * 2. .xls 文件：OLE2复合文档文件头<br>
+ * 当前请求绑定了{@link UploadedFileHandle}时从句柄读取，识别结果保存在句柄中；没有绑定时识别结果按上传文件对象缓存在当前请求中，
+ * 同一请求内同一上传文件只识别一次，随请求结束释放；不在Web请求中时每次调用都读取上传文件<br>
+ * 用于在完整解析之前拒绝扩展名与内容不符的文件
+ */
+public class FileContentSniffer {
+
+    /**
+     * 日志
+     */
+    private static final Logger log = LoggerFactory.getLogger(FileContentSniffer.class);
+
+    /**
+     * 读取的文件头、文件尾字节数
+     */
+    public static final int SNIFF_SIZE = 4 * 1024;
+
+    /**
+     * zip压缩包本地文件头
+     */
+    private static final byte[] ZIP_MAGIC = {0x50, 0x4B, 0x03, 0x04};
+
+    /**
+     * OLE2复合文档文件头
+     */
+    private static final byte[] OLE2_MAGIC = {
+            (byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1};
+
+    /**
+     * Office Open XML 内容类型条目名称
+     */
+    private static final byte[] CONTENT_TYPES_ENTRY = "[Content_Types].xml".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * zip压缩包中央目录条目签名
+     */
+    private static final int CENTRAL_DIRECTORY_SIGNATURE = 0x02014B50;
+
+    /**
+     * zip压缩包中央目录结束记录签名
+     */
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054B50;
+
+    /**
+     * 中央目录条目固定部分长度
+     */
+    private static final int CENTRAL_DIRECTORY_HEADER_SIZE = 46;
+
+    /**
+     * 中央目录结束记录固定部分长度
+     */
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+
+    /**
+     * 请求属性名称，存放当前请求中未绑定句柄的上传文件的识别结果
+     */
+    private static final String CACHE_ATTRIBUTE = FileContentSniffer.class.getName() + ".CACHE";
+
+    /**
+     * 识别上传文件的内容类型，当前请求绑定了上传文件句柄时从句柄读取，否则识别结果缓存在当前请求中
+     *
+     * @param multipartFile 上传文件
+     * @return 文件内容类型，上传文件为null或无法读取时返回{@link FileContentTypeEnum#UNKNOWN}
+     */
+    public static FileContentTypeEnum sniff(MultipartFile multipartFile) {
+        if (multipartFile == null) {
+            return FileContentTypeEnum.UNKNOWN;
+        }
+        UploadedFileHandle uploadedFile = UploadedFileHandle.current(multipartFile);
+        if (uploadedFile != null) {
+            return sniff(uploadedFile);
+        }
+        Map<MultipartFile, FileContentTypeEnum> cache = getRequestCache();
+        FileContentTypeEnum type = cache == null ? null : cache.get(multipartFile);
+        if (type == null) {
+            try {
+                type = sniff(multipartFile::getInputStream, multipartFile.getSize());
+            } catch (IOException e) {
+                log.error("无法读取上传文件的文件头：", e);
+                type = FileContentTypeEnum.UNKNOWN;
+            }
+            if (cache != null) {
+                cache.put(multipartFile, type);
+            }
+        }
+        return type;
+    }
+
+    /**
+     * 识别上传文件句柄中的文件内容类型，结果保存在句柄中，同一句柄只识别一次
+     *
+     * @param uploadedFile 上传文件句柄
+     * @return 文件内容类型，无法读取时返回{@link FileContentTypeEnum#UNKNOWN}
+     */
+    public static FileContentTypeEnum sniff(UploadedFileHandle uploadedFile) {
+        FileContentTypeEnum type = uploadedFile.getContentType();
+        if (type == null) {
+            try {
+                type = sniff(uploadedFile::openStream, uploadedFile.size());
+            } catch (IOException e) {
+                log.error("无法读取上传文件的文件头：", e);
+                type = FileContentTypeEnum.UNKNOWN;
+            }
+            uploadedFile.setContentType(type);
+        }
+        return type;
+    }
+
+    /**
+     * 读取文件头识别文件内容类型，zip压缩包依次在文件头、文件尾、中央目录中查找 [Content_Types].xml 条目
+     *
+     * @param source 打开文件输入流，中央目录超出文件尾时再次打开
+     * @param size   文件大小（字节）
+     * @return 文件内容类型
+     * @throws IOException 无法读取文件
+     */
+    private static FileContentTypeEnum sniff(StreamSource source, long size) throws IOException {
+        long centralDirectoryOffset;
+        try (InputStream in = source.open()) {
+            byte[] head = new byte[SNIFF_SIZE];
+            int headLength = readFully(in, head);
+            FileContentTypeEnum type = sniff(head, headLength);
+            if (type != FileContentTypeEnum.ZIP) {
+                return type;
+            }
+            // 跳到文件结尾，中央目录结束记录位于文件最后
+            long tailStart = Math.max(headLength, size - SNIFF_SIZE);
+            byte[] tail = new byte[SNIFF_SIZE];
+            int tailLength = skipFully(in, tailStart - headLength) ? readFully(in, tail) : 0;
+            if (sniffTail(tail, tailLength) == FileContentTypeEnum.XLSX) {
+                return FileContentTypeEnum.XLSX;
+            }
+            centralDirectoryOffset = centralDirectoryOffset(tail, tailLength);
+            // 中央目录已全部位于文件尾中，或无法定位中央目录
+            if (centralDirectoryOffset < 0 || centralDirectoryOffset >= tailStart) {
+                return FileContentTypeEnum.ZIP;
+            }
+        }
+        // 中央目录超出文件尾，例如包含大量工作表、样式、图片的工作簿，从中央目录起始位置逐个读取条目名称
+        try (InputStream in = source.open()) {
+            return skipFully(in, centralDirectoryOffset) && containsContentTypesEntry(in)
+                    ? FileContentTypeEnum.XLSX : FileContentTypeEnum.ZIP;
+        }
+    }
+
+    /**
+     * 根据文件头识别文件内容类型<br>
+     * 文件头中找不到 [Content_Types].xml 条目的zip压缩包识别为{@link FileContentTypeEnum#ZIP}，
+     * 需要再通过{@link #sniffTail(byte[], int)}在文件结尾查找
+     *
+     * @param head   文件头
+     * @param length 文件头有效字节数
+     * @return 文件内容类型
+     */
+    public static FileContentTypeEnum sniff(byte[] head, int length) {
+        if (startsWith(head, length, OLE2_MAGIC)) {
+            return FileContentTypeEnum.XLS;
+        }
+        if (startsWith(head, length, ZIP_MAGIC)) {
+            return indexOf(head, length, CONTENT_TYPES_ENTRY) >= 0 ? FileContentTypeEnum.XLSX : FileContentTypeEnum.ZIP;
+        }
+        return FileContentTypeEnum.UNKNOWN;
+    }
+
+    /**
+     * 根据zip压缩包的文件尾（中央目录）识别文件内容类型
+     *
+     * @param tail   文件尾
+     * @param length 文件尾有效字节数
+     * @return {@link FileContentTypeEnum#XLSX}或{@link FileContentTypeEnum#ZIP}
+     */
+    public static FileContentTypeEnum sniffTail(byte[] tail, int length) {
+        return indexOf(tail, length, CONTENT_TYPES_ENTRY) >= 0 ? FileContentTypeEnum.XLSX : FileContentTypeEnum.ZIP;
+    }
+
+    /**
+     * 从文件尾中的中央目录结束记录读取中央目录的起始位置
+     *
+     * @param tail   文件尾
+     * @param length 文件尾有效字节数
+     * @return 中央目录相对文件开头的偏移量，找不到中央目录结束记录或为zip64格式时返回-1
+     */
+    private static long centralDirectoryOffset(byte[] tail, int length) {
+        // 中央目录结束记录之后只有注释，从后向前查找
+        for (int i = length - END_OF_CENTRAL_DIRECTORY_SIZE; i >= 0; i--) {
+            if (readInt(tail, i) == END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+                long offset = readInt(tail, i + 16) & 0xFFFFFFFFL;
+                // zip64格式的偏移量保存在其它记录中
+                return offset == 0xFFFFFFFFL ? -1 : offset;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 逐个读取中央目录中的条目名称，查找 [Content_Types].xml 条目
+     *
+     * @param in 位于中央目录起始位置的输入流
+     * @return 布尔值，true-包含，false-不包含
+     * @throws IOException 无法读取文件
+     */
+    private static boolean containsContentTypesEntry(InputStream in) throws IOException {
+        byte[] header = new byte[CENTRAL_DIRECTORY_HEADER_SIZE];
+        byte[] name = new byte[CONTENT_TYPES_ENTRY.length];
+        while (readFully(in, header) == header.length && readInt(header, 0) == CENTRAL_DIRECTORY_SIGNATURE) {
+            int nameLength = readShort(header, 28);
+            int extraLength = readShort(header, 30);
+            int commentLength = readShort(header, 32);
+            int skipLength = extraLength + commentLength;
+            if (nameLength == name.length) {
+                if (readFully(in, name) < name.length) {
+                    return false;
+                }
+                if (indexOf(name, name.length, CONTENT_TYPES_ENTRY) == 0) {
+                    return true;
+                }
+            } else {
+                skipLength += nameLength;
+            }
+            if (!skipFully(in, skipLength)) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 上传文件内容是否与扩展名相符<br>
+     * 仅检查可以按文件头识别的扩展名（.xlsx、.xls），其它扩展名不读取文件头，直接返回true
+     *
+     * @param multipartFile 上传文件
+     * @param suffix        文件扩展名，例如 .xlsx
+     * @return 布尔值，true-是，false-否
+     */
+    public static boolean isContentMatchesSuffix(MultipartFile multipartFile, String suffix) {
+        FileContentTypeEnum expected = FileContentTypeEnum.ofSuffix(suffix);
+        // 只检查Excel表格，其它扩展名不读取文件头
+        if (expected != FileContentTypeEnum.XLSX && expected != FileContentTypeEnum.XLS) {
+            return true;
+        }
+        return sniff(multipartFile) == expected;
+    }
+
+    private static int readFully(InputStream in, byte[] bytes) throws IOException {
+        int length = 0;
+        int count;
+        while (length < bytes.length && (count = in.read(bytes, length, bytes.length - length)) > 0) {
+            length += count;
+        }
+        return length;
+    }
+
+    private static boolean skipFully(InputStream in, long count) throws IOException {
+        while (count > 0) {
+            long skipped = in.skip(count);
+            if (skipped <= 0) {
+                // 部分输入流 skip 返回0时不代表已到结尾，读取一个字节确认
+                if (in.read() < 0) {
+                    return false;
+                }
+                skipped = 1;
+            }
+            count -= skipped;
+        }
+        return true;
+    }
+
+    private static int readShort(byte[] bytes, int index) {
+        // zip压缩包使用小端字节序
+        return (bytes[index] & 0xFF) | (bytes[index + 1] & 0xFF) << 8;
+    }
+
+    private static int readInt(byte[] bytes, int index) {
+        return readShort(bytes, index) | readShort(bytes, index + 2) << 16;
+    }
+
+    /**
+     * 获取当前请求中未绑定句柄的上传文件的识别结果缓存
+     *
+     * @return 上传文件 -》文件内容类型，不在Web请求中时返回null
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<MultipartFile, FileContentTypeEnum> getRequestCache() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        // 上传文件在请求内不会改变，按对象标识缓存
+        Map<MultipartFile, FileContentTypeEnum> cache = (Map<MultipartFile, FileContentTypeEnum>)
+                attributes.getAttribute(CACHE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cache == null) {
+            cache = new IdentityHashMap<>(4);
+            attributes.setAttribute(CACHE_ATTRIBUTE, cache, RequestAttributes.SCOPE_REQUEST);
+        }
+        return cache;
+    }
+
+    private static boolean startsWith(byte[] head, int length, byte[] magic) {
+        if (length < magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if (head[i] != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(byte[] head, int length, byte[] target) {
+        outer:
+        for (int i = 0; i <= length - target.length; i++) {
+            for (int j = 0; j < target.length; j++) {
+                if (head[i + j] != target[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private FileContentSniffer() {
+    }
+
+    /**
+     * 打开文件输入流
+     */
+    @FunctionalInterface
+    private interface StreamSource {
+
+        InputStream open() throws IOException;
+
+    }
+
+}
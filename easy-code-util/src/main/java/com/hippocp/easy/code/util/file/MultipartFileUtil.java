@@ -144,7 +144,36 @@ public class MultipartFileUtil {
      */
     protected static boolean isEqualsFileSuffixBase(MultipartFile multipartFile, String[] suffix) {
         // 参照字符串set
-        Set<String> referenceSet = ExcelValidateUtil.getReferenceSet(suffix);
+        return isEqualsFileSuffixBase(multipartFile, ExcelValidateUtil.getReferenceSet(suffix));
+    }
+
+
+    /**
+     * 是否为相同的文件名后缀，即文件扩展名在 referenceSet 中<br>
+     * 需要反复校验时，预先构建 referenceSet，避免每次校验都重新构建
+     *
+     * @param multipartFile 待校验Excel表格 {@link MultipartFile}
+     * @param referenceSet  文件名后缀集合，即文件扩展名，见{@link ExcelValidateUtil#getReferenceSet(String[])}
+     * @return 布尔值，true-是，false-否
+     */
+    public static boolean isEqualsFileSuffix(MultipartFile multipartFile, Set<String> referenceSet) {
+        // 多文件对象为空，不通过校验
+        if (MultipartFileUtil.isBlankOriginalFilename(multipartFile)) {
+            return false;
+        }
+        return isEqualsFileSuffixBase(multipartFile, referenceSet);
+    }
+
+
+    /**
+     * 不判断参数是否为null，也不判断是否能获取到源文件名<br>
+     * 是否为相同的文件名后缀，即文件扩展名在 referenceSet 中
+     *
+     * @param multipartFile 待校验的 {@link MultipartFile}
+     * @param referenceSet  文件名后缀集合，即文件扩展名
+     * @return 布尔值，true-是，false-否
+     */
+    protected static boolean isEqualsFileSuffixBase(MultipartFile multipartFile, Set<String> referenceSet) {
         // 取得文件扩展名
         String fileSuffix = getFileSuffix(multipartFile);
         // set中没有当前文件扩展名，则返回ture，代表文件扩展名匹配不成功，已对方法取反
@@ -231,7 +260,7 @@ public class MultipartFileUtil {
      * 获取文件扩展名
      *
      * @param multipartFile {@link MultipartFile}
-     * @return 若多文件对象为空，返回空字符串
+     * @return 若多文件对象为空或源文件名没有扩展名，返回空字符串
      */
     public static String getFileSuffix(MultipartFile multipartFile) {
         // 多文件对象为空，返回空字符串
@@ -239,11 +268,13 @@ public class MultipartFileUtil {
             return "";
         }
         String originalFilename = multipartFile.getOriginalFilename();
-        return originalFilename.substring(originalFilename.lastIndexOf("."));
+        int index = originalFilename.lastIndexOf(".");
+        return index < 0 ? "" : originalFilename.substring(index);
     }
 
     /**
-     * 将MultipartFile转换为File临时文件
+     * 将MultipartFile转换为File临时文件<br>
+     * 需要多次读取上传文件时，请使用{@link UploadedFileHandle}，只读取一次上传文件，并负责删除临时文件
      *
      * @param multipartFile {@link MultipartFile}
      * @return {@link File}
@@ -0,0 +1,338 @@
+package com.hippocp.easy.code.util.file;
+
+import cn.hutool.core.io.FileUtil;
+import com.hippocp.easy.code.util.domain.FileContentTypeEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * 上传文件句柄，上传文件的内容只读取一次<br>
+ * 不超过堆内存阈值的小文件保存在堆内存中，其余文件写入本地临时文件，之后所有读取都从句柄进行，
+ * 不再调用{@link MultipartFile#getInputStream()}：<br>
+ * 1. {@link #getBuffer()} 只读的文件内容，临时文件通过内存映射读取<br>
+ * 2. {@link #openChannel()} 可随机读取的通道<br>
+ * 3. {@link #openStream()} 输入流<br>
+ * 4. {@link #getFile()} 本地文件，供需要随机读取压缩包的解析器使用，堆内存中的小文件此时才写入临时文件<br>
+ * 通过{@link #bind(MultipartFile)}绑定到当前Web请求后，库中的解析器会自动从该句柄读取，请求结束时自动删除临时文件；
+ * 通过{@link #open(MultipartFile)}打开的句柄需要调用方关闭<br>
+ * 注意：读取上传文件时使用输入流复制，而不是{@link MultipartFile#transferTo(File)}，
+ * 部分容器中 transferTo 会移动上传文件，之后业务代码将无法再读取上传文件
+ */
+public class UploadedFileHandle implements Closeable {
+
+    /**
+     * 日志
+     */
+    private static final Logger log = LoggerFactory.getLogger(UploadedFileHandle.class);
+
+    /**
+     * 请求属性名称，存放当前请求中绑定的上传文件句柄
+     */
+    private static final String HANDLE_ATTRIBUTE = UploadedFileHandle.class.getName() + ".HANDLES";
+
+    /**
+     * 默认堆内存阈值（字节），不超过该大小的上传文件保存在堆内存中
+     */
+    public static final long DEFAULT_IN_MEMORY_THRESHOLD = 1024 * 1024;
+
+    /**
+     * 上传文件
+     */
+    private final MultipartFile multipartFile;
+    /**
+     * 堆内存阈值（字节）
+     */
+    private final long inMemoryThreshold;
+    /**
+     * 堆内存中的文件内容，文件写入临时文件时为null
+     */
+    private byte[] bytes;
+    /**
+     * 本地临时文件
+     */
+    private File tempFile;
+    /**
+     * 内存映射的临时文件内容
+     */
+    private ByteBuffer mapped;
+    /**
+     * 是否已读取上传文件
+     */
+    private boolean loaded;
+    /**
+     * 是否已关闭
+     */
+    private boolean closed;
+    /**
+     * 文件内容类型，由{@link FileContentSniffer}识别后保存，未识别时为null
+     */
+    private volatile FileContentTypeEnum contentType;
+
+    private UploadedFileHandle(MultipartFile multipartFile, long inMemoryThreshold) {
+        this.multipartFile = multipartFile;
+        this.inMemoryThreshold = inMemoryThreshold;
+    }
+
+    /**
+     * 打开上传文件句柄，不绑定到Web请求，使用完毕请调用{@link #close()}关闭
+     *
+     * @param multipartFile 上传文件
+     * @return {@link UploadedFileHandle}
+     */
+    public static UploadedFileHandle open(MultipartFile multipartFile) {
+        return open(multipartFile, DEFAULT_IN_MEMORY_THRESHOLD);
+    }
+
+    /**
+     * 打开上传文件句柄，不绑定到Web请求，使用完毕请调用{@link #close()}关闭
+     *
+     * @param multipartFile     上传文件
+     * @param inMemoryThreshold 堆内存阈值（字节），不超过该大小的上传文件保存在堆内存中，小于0时全部写入临时文件
+     * @return {@link UploadedFileHandle}
+     */
+    public static UploadedFileHandle open(MultipartFile multipartFile, long inMemoryThreshold) {
+        return new UploadedFileHandle(multipartFile, inMemoryThreshold);
+    }
+
+    /**
+     * 打开上传文件句柄并绑定到当前Web请求，同一请求内同一上传文件只会打开一个句柄，请求结束时自动关闭
+     *
+     * @param multipartFile 上传文件
+     * @return {@link UploadedFileHandle}
+     * @throws IllegalStateException 当前线程没有Web请求
+     */
+    public static UploadedFileHandle bind(MultipartFile multipartFile) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            throw new IllegalStateException("当前线程没有Web请求，无法绑定上传文件句柄");
+        }
+        return getHandles(attributes, true).computeIfAbsent(multipartFile, UploadedFileHandle::open);
+    }
+
+    /**
+     * 获取当前Web请求中绑定的上传文件句柄
+     *
+     * @param multipartFile 上传文件
+     * @return {@link UploadedFileHandle}，没有绑定时返回null
+     */
+    public static UploadedFileHandle current(MultipartFile multipartFile) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null || multipartFile == null) {
+            return null;
+        }
+        Map<MultipartFile, UploadedFileHandle> handles = getHandles(attributes, false);
+        return handles == null ? null : handles.get(multipartFile);
+    }
+
+    /**
+     * 打开上传文件输入流，当前请求绑定了上传文件句柄时从句柄读取，否则直接读取上传文件
+     *
+     * @param multipartFile 上传文件
+     * @return 输入流，使用完毕请关闭
+     * @throws IOException 无法读取上传文件
+     */
+    public static InputStream openStream(MultipartFile multipartFile) throws IOException {
+        UploadedFileHandle handle = current(multipartFile);
+        return handle == null ? multipartFile.getInputStream() : handle.openStream();
+    }
+
+    /**
+     * 文件大小（字节）
+     *
+     * @return 文件大小
+     * @throws IOException 无法读取上传文件
+     */
+    public synchronized long size() throws IOException {
+        load();
+        return bytes != null ? bytes.length : tempFile.length();
+    }
+
+    /**
+     * 文件内容是否保存在堆内存中
+     *
+     * @return true-是 false-否，保存在临时文件中
+     * @throws IOException 无法读取上传文件
+     */
+    public synchronized boolean isInMemory() throws IOException {
+        load();
+        return bytes != null;
+    }
+
+    /**
+     * 获取只读的文件内容，每次调用返回独立的读取位置<br>
+     * 临时文件通过内存映射读取，不经过堆内存
+     *
+     * @return 只读的文件内容
+     * @throws IOException 无法读取上传文件，或临时文件超过2GB无法一次映射
+     */
+    public synchronized ByteBuffer getBuffer() throws IOException {
+        load();
+        if (bytes != null) {
+            return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+        }
+        if (mapped == null) {
+            try (FileChannel channel = FileChannel.open(tempFile.toPath(), StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size > Integer.MAX_VALUE) {
+                    throw new IOException("上传文件超过2GB，无法通过内存映射读取");
+                }
+                // 映射建立后与通道无关，可以关闭通道
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+        }
+        return mapped.duplicate();
+    }
+
+    /**
+     * 打开可随机读取的通道，堆内存中的小文件此时写入临时文件
+     *
+     * @return 只读通道，使用完毕请关闭
+     * @throws IOException 无法读取上传文件
+     */
+    public SeekableByteChannel openChannel() throws IOException {
+        return FileChannel.open(getFile().toPath(), StandardOpenOption.READ);
+    }
+
+    /**
+     * 打开输入流
+     *
+     * @return 输入流，使用完毕请关闭
+     * @throws IOException 无法读取上传文件
+     */
+    public synchronized InputStream openStream() throws IOException {
+        load();
+        if (bytes != null) {
+            return new ByteArrayInputStream(bytes);
+        }
+        return Files.newInputStream(tempFile.toPath());
+    }
+
+    /**
+     * 获取本地文件，堆内存中的小文件此时写入临时文件<br>
+     * 文件由句柄管理，关闭句柄时删除，请勿修改或删除
+     *
+     * @return 本地临时文件
+     * @throws IOException 无法读取上传文件或无法写入临时文件
+     */
+    public synchronized File getFile() throws IOException {
+        load();
+        if (tempFile == null) {
+            File file = createTempFile();
+            try {
+                Files.write(file.toPath(), bytes);
+            } catch (IOException | RuntimeException e) {
+                FileUtil.del(file);
+                throw e;
+            }
+            tempFile = file;
+        }
+        return tempFile;
+    }
+
+    public MultipartFile getMultipartFile() {
+        return multipartFile;
+    }
+
+    FileContentTypeEnum getContentType() {
+        return contentType;
+    }
+
+    void setContentType(FileContentTypeEnum contentType) {
+        this.contentType = contentType;
+    }
+
+    /**
+     * 关闭句柄，删除临时文件
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        bytes = null;
+        // 映射的内存由垃圾回收释放
+        mapped = null;
+        if (tempFile != null) {
+            FileUtil.del(tempFile);
+        }
+    }
+
+    /**
+     * 读取上传文件，只读取一次
+     *
+     * @throws IOException 无法读取上传文件或无法写入临时文件
+     */
+    private void load() throws IOException {
+        if (closed) {
+            throw new IOException("上传文件句柄已关闭");
+        }
+        if (loaded) {
+            return;
+        }
+        long size = multipartFile.getSize();
+        if (size <= inMemoryThreshold) {
+            bytes = multipartFile.getBytes();
+        } else {
+            File file = createTempFile();
+            try (InputStream in = multipartFile.getInputStream()) {
+                Files.copy(in, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException | RuntimeException e) {
+                FileUtil.del(file);
+                throw e;
+            }
+            tempFile = file;
+        }
+        loaded = true;
+        if (log.isDebugEnabled()) {
+            log.debug("上传文件读取完成，大小{}字节，{}", size, bytes != null ? "保存在堆内存中" : "写入临时文件");
+        }
+    }
+
+    /**
+     * 创建临时文件，保留上传文件的扩展名
+     *
+     * @return 临时文件
+     * @throws IOException 无法创建临时文件
+     */
+    private File createTempFile() throws IOException {
+        String suffix = MultipartFileUtil.isBlankOriginalFilename(multipartFile)
+                ? null : FileUtil.extName(multipartFile.getOriginalFilename());
+        return File.createTempFile("easy-code-upload-", suffix == null || suffix.isEmpty() ? null : "." + suffix);
+    }
+
+    /**
+     * 获取当前请求中绑定的上传文件句柄
+     *
+     * @param attributes Web请求属性
+     * @param create     不存在时是否创建，创建时注册请求结束回调关闭所有句柄
+     * @return 上传文件 -》上传文件句柄，按对象标识区分上传文件
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<MultipartFile, UploadedFileHandle> getHandles(RequestAttributes attributes, boolean create) {
+        Map<MultipartFile, UploadedFileHandle> handles = (Map<MultipartFile, UploadedFileHandle>)
+                attributes.getAttribute(HANDLE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (handles == null && create) {
+            Map<MultipartFile, UploadedFileHandle> created = new IdentityHashMap<>(4);
+            attributes.setAttribute(HANDLE_ATTRIBUTE, created, RequestAttributes.SCOPE_REQUEST);
+            attributes.registerDestructionCallback(HANDLE_ATTRIBUTE,
+                    () -> created.values().forEach(UploadedFileHandle::close), RequestAttributes.SCOPE_REQUEST);
+            handles = created;
+        }
+        return handles;
+    }
+
+}
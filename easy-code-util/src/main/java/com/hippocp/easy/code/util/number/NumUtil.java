@@ -1,7 +1,5 @@
 package com.hippocp.easy.code.util.number;
 
-import cn.hutool.core.util.StrUtil;
-
 /**
  * 数字工具类，包含判断数字类型判断，是否为数字？原始类型还是包装类型？<br>
  * 以及原始类型、包装类型数字简单名称常量数组<br>
@@ -77,11 +75,9 @@ public class NumUtil {
      * @return true-是 false-否
      */
     public static <T> boolean isPrimitiveIntegerType(Class<T> fieldType) {
-        if (fieldType == null) {
-            return false;
-        }
-        String simpleName = fieldType.getSimpleName();
-        return StrUtil.equalsAny(simpleName, PRIMITIVE_INTEGER_TYPE_SIMPLE_NAME);
+        // 直接比较类对象，避免每次获取简单名称并逐个比较字符串
+        return fieldType == byte.class || fieldType == int.class
+                || fieldType == long.class || fieldType == short.class;
     }
 
     /**
@@ -92,11 +88,8 @@ public class NumUtil {
      * @return true-是 false-否
      */
     public static <T> boolean isWrapperIntegerType(Class<T> fieldType) {
-        if (fieldType == null) {
-            return false;
-        }
-        String simpleName = fieldType.getSimpleName();
-        return StrUtil.equalsAny(simpleName, WRAPPER_INTEGER_TYPE_SIMPLE_NAME);
+        return fieldType == Byte.class || fieldType == Integer.class
+                || fieldType == Long.class || fieldType == Short.class;
     }
 
     /**
@@ -129,11 +122,7 @@ public class NumUtil {
      * @return true-是 false-否
      */
     public static <T> boolean isPrimitiveDoubleType(Class<T> fieldType) {
-        if (fieldType == null) {
-            return false;
-        }
-        String simpleName = fieldType.getSimpleName();
-        return StrUtil.equalsAny(simpleName, PRIMITIVE_DOUBLE_TYPE_SIMPLE_NAME);
+        return fieldType == double.class || fieldType == float.class;
     }
 
     /**
@@ -144,11 +133,140 @@ public class NumUtil {
      * @return true-是 false-否
      */
     public static <T> boolean isWrapperDoubleType(Class<T> fieldType) {
-        if (fieldType == null) {
+        return fieldType == Double.class || fieldType == Float.class;
+    }
+
+    /**
+     * 获取整数类型的最小值
+     *
+     * @param fieldType {@link Class}类类型，不区分原始类型和包装类型
+     * @return 最小值，不是整数类型时返回 Long.MIN_VALUE
+     */
+    public static long minValueOf(Class<?> fieldType) {
+        if (fieldType == byte.class || fieldType == Byte.class) {
+            return Byte.MIN_VALUE;
+        }
+        if (fieldType == short.class || fieldType == Short.class) {
+            return Short.MIN_VALUE;
+        }
+        if (fieldType == int.class || fieldType == Integer.class) {
+            return Integer.MIN_VALUE;
+        }
+        return Long.MIN_VALUE;
+    }
+
+    /**
+     * 获取整数类型的最大值
+     *
+     * @param fieldType {@link Class}类类型，不区分原始类型和包装类型
+     * @return 最大值，不是整数类型时返回 Long.MAX_VALUE
+     */
+    public static long maxValueOf(Class<?> fieldType) {
+        if (fieldType == byte.class || fieldType == Byte.class) {
+            return Byte.MAX_VALUE;
+        }
+        if (fieldType == short.class || fieldType == Short.class) {
+            return Short.MAX_VALUE;
+        }
+        if (fieldType == int.class || fieldType == Integer.class) {
+            return Integer.MAX_VALUE;
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * 字符串是否为指定范围内的十进制整数，允许正负号，不允许空白字符<br>
+     * 逐字符扫描，不创建对象也不抛出异常
+     *
+     * @param str 字符串
+     * @param min 最小值（包含）
+     * @param max 最大值（包含）
+     * @return true-是 false-否
+     */
+    public static boolean isInteger(CharSequence str, long min, long max) {
+        if (str == null) {
+            return false;
+        }
+        int length = str.length();
+        int i = 0;
+        boolean isNegative = false;
+        if (length > 0 && (str.charAt(0) == '-' || str.charAt(0) == '+')) {
+            isNegative = str.charAt(0) == '-';
+            i++;
+        }
+        if (i == length) {
+            return false;
+        }
+        // 以负数累加，Long.MIN_VALUE 的绝对值比 Long.MAX_VALUE 大1
+        long limit = isNegative ? min : -max;
+        long multiplyMin = limit / 10;
+        long value = 0;
+        for (; i < length; i++) {
+            int digit = str.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || value < multiplyMin) {
+                return false;
+            }
+            value *= 10;
+            if (value < limit + digit) {
+                return false;
+            }
+            value -= digit;
+        }
+        return true;
+    }
+
+    /**
+     * 字符串是否为小数，即包含小数点的十进制数，允许正负号、科学计数法与首尾空白字符<br>
+     * 常见写法与 hutool NumberUtil.isDouble 判断结果相同，逐字符扫描，不创建对象也不抛出异常
+     *
+     * @param str 字符串
+     * @return true-是 false-否
+     */
+    public static boolean isDecimal(CharSequence str) {
+        if (str == null) {
+            return false;
+        }
+        int end = str.length();
+        int i = 0;
+        while (i < end && str.charAt(i) <= ' ') {
+            i++;
+        }
+        while (end > i && str.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (i < end && (str.charAt(i) == '-' || str.charAt(i) == '+')) {
+            i++;
+        }
+        boolean hasDigit = false;
+        boolean hasPoint = false;
+        for (; i < end; i++) {
+            char c = str.charAt(i);
+            if (c >= '0' && c <= '9') {
+                hasDigit = true;
+            } else if (c == '.' && !hasPoint) {
+                hasPoint = true;
+            } else {
+                break;
+            }
+        }
+        if (!hasDigit || !hasPoint) {
             return false;
         }
-        String simpleName = fieldType.getSimpleName();
-        return StrUtil.equalsAny(simpleName, WRAPPER_DOUBLE_TYPE_SIMPLE_NAME);
+        // 科学计数法指数部分
+        if (i < end && (str.charAt(i) == 'e' || str.charAt(i) == 'E')) {
+            i++;
+            if (i < end && (str.charAt(i) == '-' || str.charAt(i) == '+')) {
+                i++;
+            }
+            int exponentStart = i;
+            while (i < end && str.charAt(i) >= '0' && str.charAt(i) <= '9') {
+                i++;
+            }
+            if (i == exponentStart) {
+                return false;
+            }
+        }
+        return i == end;
     }
 
     private NumUtil() {
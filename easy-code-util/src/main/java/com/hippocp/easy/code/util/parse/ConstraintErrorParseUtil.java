@@ -5,6 +5,7 @@ import cn.hutool.core.util.ArrayUtil;
 import cn.hutool.core.util.StrUtil;
 import com.hippocp.easy.code.domain.validate.ConstraintError;
 import com.hippocp.easy.code.util.domain.EasyConstraintViolationImpl;
+import com.hippocp.easy.code.util.domain.ExcelViolationBuffer;
 import com.hippocp.easy.code.util.string.StringUtil;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
@@ -109,7 +110,8 @@ public class ConstraintErrorParseUtil {
 
 
     /**
-     * 获得违反约束错误对象列表
+     * 获得违反约束错误对象列表<br>
+     * 参数为{@link ExcelViolationBuffer}时返回按需创建约束错误对象的列表视图
      *
      * @param violationSet ConstraintViolation Set
      * @return 约束错误对象列表，否则返回null
@@ -119,6 +121,10 @@ public class ConstraintErrorParseUtil {
         if (CollUtil.isEmpty(violationSet)) {
             return null;
         }
+        // 紧凑缓冲区按需创建约束错误对象
+        if (violationSet instanceof ExcelViolationBuffer) {
+            return ((ExcelViolationBuffer) violationSet).asConstraintErrors();
+        }
         // 正常解析
         List<ConstraintError> list = new ArrayList<>();
         for (ConstraintViolation<?> violation : violationSet) {
@@ -0,0 +1,22 @@
+package com.hippocp.util.date;
+
+import cn.hutool.core.date.DateUtil;
+import com.hippocp.easy.code.util.date.DateParseUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 日期解析工具类测试
+ */
+public class DateParseUtilTest {
+
+    @Test
+    public void parseDateTest() {
+        Assert.assertEquals(DateUtil.parse("2021-09-05 14:30:00"), DateParseUtil.parseDate("2021/9/5 14:30:00"));
+        Assert.assertEquals(DateUtil.parse("2021-09-05 14:30:00"), DateParseUtil.parseDate("2021年09月05日 14时30分00秒"));
+        Assert.assertEquals(DateUtil.parse("2021-09-05"), DateParseUtil.parseDate("2021-09-05"));
+        Assert.assertNull("预期日期不存在时返回null", DateParseUtil.parseDate("2021/2/30"));
+        Assert.assertNull(DateParseUtil.parseDate("不是日期"));
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.hippocp.util.domain;
+
+import com.hippocp.easy.code.domain.validate.ConstraintError;
+import com.hippocp.easy.code.util.domain.EasyConstraintViolationImpl;
+import com.hippocp.easy.code.util.domain.ExcelViolationBuffer;
+import com.hippocp.easy.code.util.domain.ValidatorResult;
+import com.hippocp.easy.code.util.excel.ExcelValidateUtil;
+import com.hippocp.easy.code.util.excel.ExcelViolationBudget;
+import com.hippocp.util.entity.ExcelDTO;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.validation.ConstraintViolation;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 约束违反信息缓冲区测试
+ */
+public class ExcelViolationBufferTest {
+
+    @Test
+    public void violationBufferTest() {
+        ExcelViolationBuffer buffer = new ExcelViolationBuffer();
+        buffer.addCellViolation(2, "年龄", "age", "十八", ExcelValidateUtil.INTEGER_RIGHT_FORMAT);
+        EasyConstraintViolationImpl<Object> custom = EasyConstraintViolationImpl.forBeanValidation("自定义", "name", "张三");
+        Assert.assertTrue(buffer.add(custom));
+        Assert.assertFalse("预期相同的约束违反信息只保存一次",
+                buffer.add(EasyConstraintViolationImpl.forBeanValidation("自定义", "name", "张三")));
+        Assert.assertTrue(buffer.addCellViolation(3, "年龄", "age", 40000L, ExcelValidateUtil.INTEGER_RIGHT_FORMAT));
+        Assert.assertFalse("预期同一单元格的格式错误只保存一次",
+                buffer.addCellViolation(2, "年龄", "age", "十八", ExcelValidateUtil.INTEGER_RIGHT_FORMAT));
+        Assert.assertFalse("预期同一单元格的格式错误只保存一次",
+                buffer.addCellViolation(3, "年龄", "age", 40000L, ExcelValidateUtil.INTEGER_RIGHT_FORMAT));
+        Assert.assertEquals(3, buffer.size());
+
+        List<ConstraintError> errors = buffer.asConstraintErrors();
+        Assert.assertEquals("age", errors.get(0).getArgsName());
+        Assert.assertEquals("十八", errors.get(0).getArgsValue());
+        Assert.assertEquals(ExcelValidateUtil.constraintViolationMsgBuild(true, 2, "年龄", "十八",
+                ExcelValidateUtil.INTEGER_RIGHT_FORMAT), errors.get(0).getMessage());
+        Assert.assertEquals("自定义", errors.get(1).getMessage());
+        Assert.assertEquals("40000", errors.get(2).getArgsValue());
+        Assert.assertEquals("预期遍历时创建的约束违反信息与错误对象一致",
+                errors.get(2).getMessage(), buffer.getViolation(2).getMessage());
+
+        ValidatorResult<ExcelDTO> result = new ValidatorResult<>(false, null, null, buffer);
+        result.generateConstraintError();
+        Assert.assertEquals(3, result.getConstraintError().size());
+
+        // 按需创建的约束错误列表仍可修改，首次修改时复制，不影响缓冲区
+        result.limitConstraintError(2);
+        List<ConstraintError> limited = result.getConstraintError();
+        limited.add(new ConstraintError("name", "张三", "调用方追加"));
+        limited.remove(0);
+        Assert.assertEquals(2, limited.size());
+        Assert.assertEquals("调用方追加", limited.get(1).getMessage());
+        Assert.assertEquals(3, buffer.size());
+
+        // 错误预算截断
+        new ExcelViolationBudget(1, 0).trim(buffer, buffer.size());
+        Assert.assertEquals(1, buffer.size());
+        Assert.assertTrue("预期截断后可以再次加入", buffer.add(custom));
+        Iterator<ConstraintViolation<?>> iterator = buffer.iterator();
+        iterator.next();
+        iterator.remove();
+        Assert.assertEquals("自定义", buffer.iterator().next().getMessage());
+
+        // 乱序追加时同样去除重复
+        ExcelViolationBuffer unordered = new ExcelViolationBuffer();
+        unordered.addCellViolation(5, "年龄", "age", "五", ExcelValidateUtil.INTEGER_RIGHT_FORMAT);
+        unordered.addCellViolation(2, "年龄", "age", "二", ExcelValidateUtil.INTEGER_RIGHT_FORMAT);
+        unordered.addCellViolation(9, "年龄", "age", "九", ExcelValidateUtil.INTEGER_RIGHT_FORMAT);
+        Assert.assertFalse(unordered.addCellViolation(5, "年龄", "age", "五", ExcelValidateUtil.INTEGER_RIGHT_FORMAT));
+        Assert.assertTrue("预期不同的提示消息分别保存",
+                unordered.addCellViolation(5, "年龄", "age", "五", ExcelValidateUtil.DOUBLE_RIGHT_FORMAT));
+        Assert.assertEquals(4, unordered.size());
+    }
+
+}
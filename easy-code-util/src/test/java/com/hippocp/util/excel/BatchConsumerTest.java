@@ -0,0 +1,50 @@
+package com.hippocp.util.excel;
+
+import com.hippocp.easy.code.util.domain.ExcelReaderTypeEnum;
+import com.hippocp.easy.code.util.domain.ExcelRowData;
+import com.hippocp.easy.code.util.domain.ValidatorResult;
+import com.hippocp.easy.code.util.excel.ExcelValidateOptions;
+import com.hippocp.easy.code.util.excel.ExcelValidateUtil;
+import com.hippocp.util.entity.ExcelDTO;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 逐行、分批消费校验通过的数据测试
+ */
+public class BatchConsumerTest {
+
+    @Test
+    public void cellValidBatchConsumerTest() {
+        MultipartFile multipartFile = ExcelTestFixture.initMultipartFile();
+        Map<String, String> columnMap = ExcelTestFixture.columnMap();
+
+        ExcelValidateOptions<ExcelDTO> options = ExcelTestFixture.options(ExcelReaderTypeEnum.VALID);
+
+        List<ExcelRowData<ExcelDTO>> consumed = new ArrayList<>();
+        List<Integer> batchSizes = new ArrayList<>();
+        ValidatorResult<ExcelDTO> validatorResult = ExcelValidateUtil.cellValid(multipartFile, columnMap,
+                ExcelDTO.class, options, 1, batch -> {
+                    batchSizes.add(batch.size());
+                    consumed.addAll(batch);
+                });
+
+        Assert.assertTrue("预期能够通过校验，现在却提示不通过", validatorResult.isValid());
+        Assert.assertNull("消费模式下预期不返回数据", validatorResult.getData());
+        Assert.assertEquals("预期每批1条数据", Arrays.asList(1, 1), batchSizes);
+        Assert.assertEquals("预期第一条数据位于Excel表格第2行", 2, consumed.get(0).getReadabilityRowNum());
+        Assert.assertEquals("预期第二条数据位于Excel表格第3行", 3, consumed.get(1).getReadabilityRowNum());
+
+        List<Integer> rowNums = new ArrayList<>();
+        ExcelValidateUtil.cellValid(multipartFile, columnMap, ExcelDTO.class, options,
+                (rowNum, bean) -> rowNums.add(rowNum));
+        Assert.assertEquals("预期逐行消费到2行数据", Arrays.asList(2, 3), rowNums);
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.hippocp.util.excel;
+
+import com.hippocp.easy.code.util.domain.ExcelReaderTypeEnum;
+import com.hippocp.easy.code.util.domain.ValidatorResult;
+import com.hippocp.easy.code.util.excel.ExcelErrorReportWriter;
+import com.hippocp.easy.code.util.excel.ExcelValidateOptions;
+import com.hippocp.easy.code.util.excel.ExcelValidateUtil;
+import com.hippocp.util.entity.ExcelDTO;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * 错误报告测试
+ */
+public class ExcelErrorReportWriterTest {
+
+    @Test
+    public void writeErrorReportTest() throws IOException {
+        // 第3行年龄格式有误，第4行姓名未填写
+        MultipartFile multipartFile = ExcelTestFixture.xlsxFile("report.xlsx", writer -> {
+            writer.renameSheet("供应商");
+            writer.writeRow(Arrays.asList("数据编号", "姓名", "年龄"));
+            writer.writeRow(Arrays.asList(1, "张三", 18));
+            writer.writeRow(Arrays.asList(2, "李四", "十九"));
+            writer.writeRow(Arrays.asList(3, "", 20));
+        });
+
+        Map<String, String> columnMap = ExcelTestFixture.columnMap();
+        for (ExcelReaderTypeEnum readerType : Arrays.asList(ExcelReaderTypeEnum.SAX, ExcelReaderTypeEnum.NOTVALID)) {
+            ExcelValidateOptions<ExcelDTO> options = ExcelTestFixture.options(readerType);
+            ValidatorResult<ExcelDTO> result = ExcelValidateUtil.cellValid(multipartFile, columnMap, ExcelDTO.class, options);
+            Assert.assertFalse(result.isValid());
+
+            ByteArrayOutputStream reportOut = new ByteArrayOutputStream();
+            ExcelValidateUtil.writeErrorReport(multipartFile, columnMap, result, options, 2, reportOut);
+            try (XSSFWorkbook report = new XSSFWorkbook(new ByteArrayInputStream(reportOut.toByteArray()))) {
+                Sheet sheet = report.getSheetAt(0);
+                Assert.assertEquals("供应商", sheet.getSheetName());
+                Assert.assertEquals(ExcelErrorReportWriter.ERROR_COLUMN_TITLE, sheet.getRow(0).getCell(3).getStringCellValue());
+                Assert.assertNull("预期通过校验的行没有错误信息", sheet.getRow(1).getCell(3));
+                Assert.assertEquals("张三", sheet.getRow(1).getCell(1).getStringCellValue());
+                Assert.assertEquals("预期姓名未填写的行有错误信息并标出单元格",
+                        FillPatternType.SOLID_FOREGROUND, sheet.getRow(3).getCell(1).getCellStyle().getFillPattern());
+                Assert.assertTrue(sheet.getRow(3).getCell(3).getStringCellValue().contains("姓名"));
+                if (readerType == ExcelReaderTypeEnum.SAX) {
+                    Assert.assertEquals("十九", sheet.getRow(2).getCell(2).getStringCellValue());
+                    Assert.assertEquals("预期格式有误的单元格被标出",
+                            FillPatternType.SOLID_FOREGROUND, sheet.getRow(2).getCell(2).getCellStyle().getFillPattern());
+                    Assert.assertTrue(sheet.getRow(2).getCell(3).getStringCellValue().contains("年龄"));
+                }
+                Assert.assertEquals("预期所有错误都能定位到行", 1, report.getNumberOfSheets());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.hippocp.util.excel;
+
+import com.hippocp.easy.code.util.domain.ExcelReaderTypeEnum;
+import com.hippocp.easy.code.util.domain.ValidatorResult;
+import com.hippocp.easy.code.util.excel.ExcelExportUtil;
+import com.hippocp.easy.code.util.excel.ExcelValidateOptions;
+import com.hippocp.easy.code.util.excel.ExcelValidateUtil;
+import com.hippocp.easy.code.util.excel.handler.ValidAssignmentStrDefaultHandler;
+import com.hippocp.util.entity.ExcelDTO;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Excel表格导出测试
+ */
+public class ExcelExportUtilTest {
+
+    @Test
+    public void exportTest() throws IOException {
+        Map<String, String> columnMap = new LinkedHashMap<>(4);
+        columnMap.put("数据编号", "dataCode");
+        columnMap.put("姓名", "name");
+        columnMap.put("年龄", "age");
+        List<ExcelDTO> dataList = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            ExcelDTO dto = new ExcelDTO();
+            dto.setDataCode((long) i);
+            dto.setName("姓名" + i);
+            dto.setAge((short) (17 + i));
+            dataList.add(dto);
+        }
+
+        // 每个工作表最多2行数据，5行数据写入3个工作表
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = ExcelExportUtil.export(dataList.iterator(), ExcelDTO.class, columnMap, "导出", 1, 2, out);
+        Assert.assertEquals(5, count);
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Assert.assertEquals(3, workbook.getNumberOfSheets());
+            Assert.assertEquals("导出(3)", workbook.getSheetName(2));
+            Sheet sheet = workbook.getSheetAt(1);
+            Assert.assertEquals("年龄", sheet.getRow(0).getCell(2).getStringCellValue());
+            Assert.assertEquals("姓名3", sheet.getRow(1).getCell(1).getStringCellValue());
+            Assert.assertEquals(21D, sheet.getRow(2).getCell(2).getNumericCellValue(), 0D);
+        }
+
+        // 导出的表格可以按同一映射map导入，超过 2^53 的数据编号写入字符串，不丢失精度
+        dataList.get(0).setDataCode(9007199254740993L);
+        out.reset();
+        AtomicBoolean isClosed = new AtomicBoolean();
+        ExcelExportUtil.export(dataList.stream().onClose(() -> isClosed.set(true)), ExcelDTO.class, columnMap, out);
+        Assert.assertTrue("预期导出后关闭数据流", isClosed.get());
+        MultipartFile multipartFile = new MockMultipartFile("export.xlsx", "export.xlsx",
+                "application/octet-stream", out.toByteArray());
+        ExcelValidateOptions<ExcelDTO> options = ExcelValidateOptions.createDefault(
+                ExcelReaderTypeEnum.SAX, new ValidAssignmentStrDefaultHandler(), null, null);
+        ValidatorResult<ExcelDTO> result = ExcelValidateUtil.cellValid(multipartFile, columnMap, ExcelDTO.class, options);
+        Assert.assertTrue(result.isValid());
+        Assert.assertEquals(dataList, result.getData());
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            Assert.assertEquals("9007199254740993", sheet.getRow(1).getCell(0).getStringCellValue());
+            Assert.assertEquals(2D, sheet.getRow(2).getCell(0).getNumericCellValue(), 0D);
+        }
+
+        // 有效数字超过15位的BigDecimal、超过 2^53 的BigInteger写入字符串
+        Map<String, String> amountColumnMap = new LinkedHashMap<>(4);
+        amountColumnMap.put("金额", "amount");
+        amountColumnMap.put("编号", "code");
+        Map<String, Object> exact = new HashMap<>(4);
+        exact.put("amount", new BigDecimal("1234.50"));
+        exact.put("code", BigInteger.valueOf(42));
+        Map<String, Object> inexact = new HashMap<>(4);
+        inexact.put("amount", new BigDecimal("12345678901234567.89"));
+        inexact.put("code", BigInteger.ONE.shiftLeft(60));
+        out.reset();
+        ExcelExportUtil.export(Arrays.asList(exact, inexact).iterator(), Map.class, amountColumnMap, out);
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            Assert.assertEquals(1234.5D, sheet.getRow(1).getCell(0).getNumericCellValue(), 0D);
+            Assert.assertEquals(42D, sheet.getRow(1).getCell(1).getNumericCellValue(), 0D);
+            Assert.assertEquals("12345678901234567.89", sheet.getRow(2).getCell(0).getStringCellValue());
+            Assert.assertEquals(BigInteger.ONE.shiftLeft(60).toString(), sheet.getRow(2).getCell(1).getStringCellValue());
+        }
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.hippocp.util.excel;
+
+import com.hippocp.easy.code.util.excel.ExcelHeaderProbe;
+import com.hippocp.easy.code.util.excel.ExcelValidateUtil;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 流式读取表格标题测试
+ */
+public class ExcelHeaderProbeTest {
+
+    @Test
+    public void excelHeaderProbeTest() throws IOException {
+        MultipartFile multipartFile = ExcelTestFixture.initMultipartFile();
+        List<Object> header = ExcelHeaderProbe.probe(multipartFile, 0);
+        Assert.assertEquals("预期流式读取的标题与 hutool 读取的标题相同",
+                Arrays.asList("数据编号", "姓名", "年龄"), header);
+        Assert.assertTrue("预期标题行之外的行号读取为空", ExcelHeaderProbe.probe(multipartFile, 10000).isEmpty());
+
+        // .csv 文件流式读取标题
+        MultipartFile csvFile = new MockMultipartFile("data.csv", "data.csv", "text/csv",
+                "说明\n数据编号,姓名,年龄\n1,张三,18\n".getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(Arrays.asList("数据编号", "姓名", "年龄"), ExcelHeaderProbe.probe(csvFile, 1));
+        Assert.assertTrue(ExcelValidateUtil.excelTitleEquals(csvFile, new String[]{"数据编号", "姓名", "年龄"}, 1));
+
+        // 同一请求内重复读取时使用缓存
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            List<Object> cached = ExcelHeaderProbe.readHeader(multipartFile, 0);
+            Assert.assertSame("预期同一请求内命中缓存", cached, ExcelHeaderProbe.readHeader(multipartFile, 0));
+            Assert.assertTrue(ExcelValidateUtil.excelTitleEquals(multipartFile, new String[]{"数据编号", "姓名", "年龄"}, 0));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.hippocp.util.excel;
+
+import com.hippocp.easy.code.util.domain.ExcelReaderTypeEnum;
+import com.hippocp.easy.code.util.excel.ExcelImportScheduler;
+import com.hippocp.easy.code.util.excel.ExcelValidateOptions;
+import com.hippocp.easy.code.util.excel.ExcelValidateUtil;
+import com.hippocp.easy.code.util.excel.exception.ExcelImportRejectedException;
+import com.hippocp.easy.code.util.excel.handler.ValidAssignmentStrDefaultHandler;
+import com.hippocp.util.entity.ExcelDTO;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Excel表格导入调度器测试
+ */
+public class ExcelImportSchedulerTest {
+
+    @Test
+    public void importSchedulerTest() throws Exception {
+        // 1个许可，堆内存预算1000字节，膨胀系数2，排队超时5秒，最多排队1个
+        ExcelImportScheduler scheduler = new ExcelImportScheduler(1, 1000, 2, 5000, 1);
+        // 估算的堆内存不超过预算
+        Assert.assertEquals(200, scheduler.estimateHeap(100));
+        Assert.assertEquals(1000, scheduler.estimateHeap(10000));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            ExcelImportScheduler.Permit permit = scheduler.acquire(100);
+            // 同一线程嵌套获取，不重复占用
+            try (ExcelImportScheduler.Permit nested = scheduler.acquire(100)) {
+                Assert.assertEquals(0, nested.getHeapEstimate());
+            }
+            Assert.assertEquals(1, scheduler.getRunning());
+            Assert.assertEquals(200, scheduler.getUsedHeap());
+
+            // 许可用完时排队，释放后开始导入
+            CountDownLatch admitted = new CountDownLatch(1);
+            Future<?> waiting = executor.submit(() -> {
+                try (ExcelImportScheduler.Permit queued = scheduler.acquire(100)) {
+                    admitted.countDown();
+                }
+            });
+            while (scheduler.getWaiting() == 0) {
+                Thread.sleep(10);
+            }
+            // 排队已满，快速拒绝
+            Future<?> rejected = executor.submit(() -> scheduler.acquire(100));
+            try {
+                rejected.get();
+                Assert.fail("预期排队已满时拒绝导入");
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof ExcelImportRejectedException);
+            }
+            Assert.assertEquals(1, admitted.getCount());
+            permit.close();
+            waiting.get();
+            Assert.assertEquals(0, admitted.getCount());
+            Assert.assertEquals(0, scheduler.getRunning());
+            Assert.assertEquals(0, scheduler.getUsedHeap());
+            Assert.assertEquals(1, scheduler.getRejectedCount());
+
+            // 并发重复关闭只释放一次
+            ExecutorService closeExecutor = Executors.newFixedThreadPool(8);
+            try {
+                for (int round = 0; round < 100; round++) {
+                    ExcelImportScheduler.Permit shared = scheduler.acquire(100);
+                    CountDownLatch start = new CountDownLatch(1);
+                    List<Future<?>> closes = new ArrayList<>();
+                    for (int i = 0; i < 8; i++) {
+                        closes.add(closeExecutor.submit(() -> {
+                            start.await();
+                            shared.close();
+                            return null;
+                        }));
+                    }
+                    start.countDown();
+                    for (Future<?> close : closes) {
+                        close.get();
+                    }
+                    Assert.assertEquals(0, scheduler.getRunning());
+                    Assert.assertEquals(0, scheduler.getUsedHeap());
+                }
+            } finally {
+                closeExecutor.shutdown();
+            }
+
+            // 堆内存预算用完时排队超时，不启用排队时直接拒绝
+            ExcelImportScheduler heapScheduler = new ExcelImportScheduler(4, 1000, 2, 50, -1);
+            try (ExcelImportScheduler.Permit large = heapScheduler.acquire(450)) {
+                Future<?> timeout = executor.submit(() -> heapScheduler.acquire(200));
+                try {
+                    timeout.get();
+                    Assert.fail("预期堆内存预算不足时排队超时");
+                } catch (ExecutionException e) {
+                    Assert.assertTrue(e.getCause() instanceof ExcelImportRejectedException);
+                }
+                // 小文件仍可导入
+                executor.submit(() -> heapScheduler.acquire(50).close()).get();
+            }
+
+            // 设置为校验工具类的导入调度器，调度器繁忙时拒绝导入
+            ExcelImportScheduler busyScheduler = new ExcelImportScheduler(1, 0, 2, 0, -1);
+            MultipartFile multipartFile = new MockMultipartFile("data.csv", "data.csv",
+                    "text/csv", "数据编号,姓名,年龄\n1,张三,18\n".getBytes(StandardCharsets.UTF_8));
+            Map<String, String> columnMap = ExcelTestFixture.columnMap();
+            ExcelValidateOptions<ExcelDTO> options = ExcelValidateOptions.createDefault(
+                    ExcelReaderTypeEnum.VALID, new ValidAssignmentStrDefaultHandler(), null, null);
+            ExcelValidateUtil.setImportScheduler(busyScheduler);
+            try {
+                Assert.assertTrue(ExcelValidateUtil.cellValid(multipartFile, columnMap, ExcelDTO.class, options).isValid());
+                try (ExcelImportScheduler.Permit busy = executor.submit(() -> busyScheduler.acquire(1)).get()) {
+                    ExcelValidateUtil.cellValid(multipartFile, columnMap, ExcelDTO.class, options);
+                    Assert.fail("预期调度器繁忙时拒绝导入");
+                } catch (ExcelImportRejectedException ignored) {
+                    // 预期
+                }
+            } finally {
+                ExcelValidateUtil.setImportScheduler(null);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
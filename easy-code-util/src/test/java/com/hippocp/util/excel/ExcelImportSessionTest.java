@@ -0,0 +1,64 @@
+package com.hippocp.util.excel;
+
+import com.hippocp.easy.code.util.domain.ExcelReaderTypeEnum;
+import com.hippocp.easy.code.util.domain.ValidatorResult;
+import com.hippocp.easy.code.util.excel.ExcelImportSession;
+import com.hippocp.easy.code.util.excel.ExcelValidateOptions;
+import com.hippocp.easy.code.util.excel.ExcelValidateUtil;
+import com.hippocp.util.entity.ExcelDTO;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Excel表格导入会话测试
+ */
+public class ExcelImportSessionTest {
+
+    @Test
+    public void importSessionTest() throws IOException {
+        MultipartFile multipartFile = ExcelTestFixture.initMultipartFile();
+        Map<String, String> columnMap = ExcelTestFixture.columnMap();
+        ExcelValidateOptions<ExcelDTO> validOptions = ExcelTestFixture.options(ExcelReaderTypeEnum.VALID);
+        ExcelValidateOptions<ExcelDTO> saxOptions = ExcelTestFixture.options(ExcelReaderTypeEnum.SAX);
+        List<ExcelDTO> expected = ExcelValidateUtil.cellValid(multipartFile, columnMap, ExcelDTO.class, validOptions).getData();
+
+        ServletRequestAttributes attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(attributes);
+        ExcelImportSession session;
+        try {
+            session = ExcelImportSession.bind(multipartFile);
+            Assert.assertSame("预期同一请求内同一文件只有一个会话", session, ExcelImportSession.bind(multipartFile));
+            Assert.assertTrue("预期扩展名与文件头均为 .xlsx", session.isExcelXLSX());
+            Assert.assertTrue(ExcelValidateUtil.excelTitleEquals(multipartFile, new String[]{"数据编号", "姓名", "年龄"}));
+
+            // 流式读取与 hutool 读取共用会话中的文件包
+            ValidatorResult<ExcelDTO> saxResult =
+                    ExcelValidateUtil.cellValid(multipartFile, columnMap, ExcelDTO.class, saxOptions);
+            ValidatorResult<ExcelDTO> validResult =
+                    ExcelValidateUtil.cellValid(multipartFile, columnMap, ExcelDTO.class, validOptions);
+            Assert.assertEquals("预期共用会话读取的数据与单独读取相同", expected, saxResult.getData());
+            Assert.assertEquals("预期共用会话读取的数据与单独读取相同", expected, validResult.getData());
+            Assert.assertSame("预期共用同一个流式读取器", session.getStreamReader(), session.getStreamReader());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+            attributes.requestCompleted();
+        }
+
+        // 请求结束时会话已关闭
+        try {
+            session.getStreamReader();
+            Assert.fail("预期请求结束后会话已关闭");
+        } catch (IOException e) {
+            Assert.assertNull("预期请求结束后不再绑定会话", ExcelImportSession.current(multipartFile));
+        }
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.hippocp.util.excel;
+
+import com.hippocp.easy.code.util.domain.ExcelReaderTypeEnum;
+import com.hippocp.easy.code.util.domain.ValidatorResult;
+import com.hippocp.easy.code.util.excel.ExcelValidateOptions;
+import com.hippocp.easy.code.util.excel.ExcelValidateUtil;
+import com.hippocp.util.entity.ExcelDTO;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 多工作表校验与合并校验结果测试
+ */
+public class ExcelMultiSheetTest {
+
+    @Test
+    public void cellValidMultiSheetTest() {
+        // 三个布局相同的工作表，第二个工作表第3行年龄格式有误
+        MultipartFile multipartFile = ExcelTestFixture.xlsxFile("sheets.xlsx", writer -> {
+            for (int i = 0; i < 3; i++) {
+                if (i == 0) {
+                    writer.renameSheet("供应商" + i);
+                } else {
+                    writer.setSheet("供应商" + i);
+                }
+                writer.writeRow(Arrays.asList("数据编号", "姓名", "年龄"));
+                writer.writeRow(Arrays.asList(i * 10 + 1, "张三", 18));
+                writer.writeRow(Arrays.asList(i * 10 + 2, "李四", i == 1 ? "十九" : "19"));
+            }
+        });
+
+        Map<String, String> columnMap = ExcelTestFixture.columnMap();
+        ExcelValidateOptions<ExcelDTO> options = ExcelTestFixture.options(ExcelReaderTypeEnum.SAX);
+
+        Map<String, ValidatorResult<ExcelDTO>> sheetResults =
+                ExcelValidateUtil.cellValidBySheetName(multipartFile, columnMap, ExcelDTO.class, options);
+        Assert.assertEquals("预期按工作表顺序返回三个校验结果",
+                Arrays.asList("供应商0", "供应商1", "供应商2"), new ArrayList<>(sheetResults.keySet()));
+        Assert.assertTrue(sheetResults.get("供应商0").isValid());
+        Assert.assertFalse("预期第二个工作表校验不通过", sheetResults.get("供应商1").isValid());
+        Assert.assertEquals(2, sheetResults.get("供应商2").getData().size());
+
+        ValidatorResult<ExcelDTO> merged = ExcelValidateUtil.mergeSheetResults(sheetResults);
+        Assert.assertFalse(merged.isValid());
+        Assert.assertEquals("预期按工作表顺序合并读取过程中校验通过的数据", 5, merged.getData().size());
+        Assert.assertEquals(1, merged.getConstraintError().size());
+        Assert.assertTrue("预期约束违反信息包含工作表名称与行号",
+                merged.getConstraintError().get(0).getMessage().startsWith("工作表[供应商1]第3行"));
+
+        // 合并时按工作表顺序应用错误预算
+        Map<String, ValidatorResult<ExcelDTO>> invalidResults = new LinkedHashMap<>();
+        invalidResults.put("供应商1", sheetResults.get("供应商1"));
+        invalidResults.put("供应商3", sheetResults.get("供应商1"));
+        Assert.assertEquals(2, ExcelValidateUtil.mergeSheetResults(invalidResults).getConstraintError().size());
+        ExcelValidateOptions<ExcelDTO> budgetOptions = options.copy();
+        budgetOptions.setMaxViolationCount(1);
+        ValidatorResult<ExcelDTO> budgetMerged = ExcelValidateUtil.mergeSheetResults(invalidResults, budgetOptions);
+        Assert.assertEquals("预期合并后只保留预算内的约束违反信息", 1, budgetMerged.getConstraintError().size());
+        Assert.assertTrue(budgetMerged.getConstraintError().get(0).getMessage().startsWith("工作表[供应商1]"));
+        Assert.assertEquals("预期副本不影响原校验选项", 0, options.getMaxViolationCount());
+
+        Map<String, ValidatorResult<ExcelDTO>> selected =
+                ExcelValidateUtil.cellValidBySheetIndex(multipartFile, columnMap, ExcelDTO.class, options, 2, 0);
+        Assert.assertEquals(Arrays.asList("供应商2", "供应商0"), new ArrayList<>(selected.keySet()));
+        ValidatorResult<ExcelDTO> mergedValid = ExcelValidateUtil.mergeSheetResults(selected);
+        Assert.assertTrue(mergedValid.isValid());
+        Assert.assertEquals(4, mergedValid.getData().size());
+    }
+
+}
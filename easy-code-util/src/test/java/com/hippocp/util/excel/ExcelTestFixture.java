@@ -0,0 +1,85 @@
+package com.hippocp.util.excel;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.poi.excel.ExcelUtil;
+import cn.hutool.poi.excel.ExcelWriter;
+import com.hippocp.easy.code.util.domain.ExcelReaderTypeEnum;
+import com.hippocp.easy.code.util.excel.ExcelValidateOptions;
+import com.hippocp.easy.code.util.excel.handler.FormatStrDefaultHandler;
+import com.hippocp.easy.code.util.excel.handler.ValidAssignmentStrDefaultHandler;
+import com.hippocp.util.entity.ExcelDTO;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Excel表格测试公用数据，测试模板 testTemplate.xlsx 的标题为：数据编号、姓名、年龄
+ */
+public final class ExcelTestFixture {
+
+    private ExcelTestFixture() {
+    }
+
+    /**
+     * 读取测试模板
+     *
+     * @return 上传文件
+     */
+    public static MultipartFile initMultipartFile() {
+        URL url = ExcelTestFixture.class.getClassLoader().getResource("testTemplate.xlsx");
+        File file = new File(url.getFile());
+        return new MockMultipartFile(file.getName(), file.getName(),
+                "application/octet-stream", FileUtil.readBytes(file));
+    }
+
+    /**
+     * 测试模板的映射map
+     *
+     * @return 表格标题 -》{@link ExcelDTO}属性名
+     */
+    public static Map<String, String> columnMap() {
+        Map<String, String> columnMap = new HashMap<>(4);
+        columnMap.put("数据编号", "dataCode");
+        columnMap.put("姓名", "name");
+        columnMap.put("年龄", "age");
+        return columnMap;
+    }
+
+    /**
+     * 使用默认字符串校验与赋值处理器、默认字符串格式化处理器的校验选项
+     *
+     * @param readerType 读取方式
+     * @return 校验选项
+     */
+    public static ExcelValidateOptions<ExcelDTO> options(ExcelReaderTypeEnum readerType) {
+        return ExcelValidateOptions.createDefault(
+                readerType,
+                new ValidAssignmentStrDefaultHandler(),
+                new FormatStrDefaultHandler(),
+                null
+        );
+    }
+
+    /**
+     * 在内存中写出 .xlsx 文件
+     *
+     * @param fileName 文件名
+     * @param rows     写出表格内容
+     * @return 上传文件
+     */
+    public static MultipartFile xlsxFile(String fileName, Consumer<ExcelWriter> rows) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ExcelWriter writer = ExcelUtil.getWriter(true)) {
+            rows.accept(writer);
+            writer.flush(out);
+        }
+        return new MockMultipartFile(fileName, fileName, "application/octet-stream", out.toByteArray());
+    }
+
+}
@@ -4,29 +4,28 @@ import cn.hutool.core.collection.CollUtil;
 import com.hippocp.easy.code.util.domain.CustomValidatorResult;
 import com.hippocp.easy.code.util.domain.EasyConstraintViolationImpl;
 import com.hippocp.easy.code.util.domain.ExcelReaderTypeEnum;
+import com.hippocp.easy.code.util.domain.ExcelViolationBuffer;
 import com.hippocp.easy.code.util.domain.ValidatorResult;
 import com.hippocp.easy.code.util.excel.ExcelValidateOptions;
 import com.hippocp.easy.code.util.excel.ExcelValidateUtil;
+import com.hippocp.easy.code.util.excel.handler.FormatStrDefaultHandler;
+import com.hippocp.easy.code.util.excel.handler.ValidAssignmentStrDefaultHandler;
 import com.hippocp.easy.code.util.number.NumUtil;
 import com.hippocp.easy.code.util.string.StringUtil;
 import com.hippocp.util.entity.ExcelDTO;
 import com.hippocp.util.entity.NumberTest;
 import org.junit.Assert;
 import org.junit.Test;
-import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.validation.Validation;
 import javax.validation.ValidatorFactory;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.net.URL;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * @author ZhouYifan
@@ -35,22 +34,7 @@ import java.util.*;
 public class ExcelValidateUtilTest {
 
     public static MultipartFile initMultipartFile() {
-        URL url = ExcelValidateUtilTest.class.getClassLoader().getResource("testTemplate.xlsx");
-        File file = new File(url.getFile());
-        FileInputStream fileInputStream = null;
-        try {
-            fileInputStream = new FileInputStream(file);
-        } catch (FileNotFoundException e) {
-            e.printStackTrace();
-        }
-        MultipartFile multipartFile = null;
-        try {
-            multipartFile = new MockMultipartFile(file.getName(), file.getName(),
-                    "application/octet-stream", fileInputStream);
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-        return multipartFile;
+        return ExcelTestFixture.initMultipartFile();
     }
 
     @Test
@@ -239,6 +223,109 @@ public class ExcelValidateUtilTest {
 
     }
 
+    @Test
+    public void cellSaxValidateTest() {
+        MultipartFile multipartFile = initMultipartFile();
+        Map<String, String> columnMap = new HashMap<>(4);
+        columnMap.put("数据编号", "dataCode");
+        columnMap.put("姓名", "name");
+        columnMap.put("年龄", "age");
+
+        ExcelValidateOptions<ExcelDTO> validOptions = ExcelValidateOptions.createDefault(
+                ExcelReaderTypeEnum.VALID,
+                new ValidAssignmentStrDefaultHandler(),
+                new FormatStrDefaultHandler(),
+                null
+        );
+        ExcelValidateOptions<ExcelDTO> saxOptions = ExcelValidateOptions.createDefault(
+                ExcelReaderTypeEnum.SAX,
+                new ValidAssignmentStrDefaultHandler(),
+                new FormatStrDefaultHandler(),
+                null
+        );
+
+        ValidatorResult<ExcelDTO> validResult =
+                ExcelValidateUtil.cellValid(multipartFile, columnMap, ExcelDTO.class, validOptions);
+        ValidatorResult<ExcelDTO> saxResult =
+                ExcelValidateUtil.cellValid(multipartFile, columnMap, ExcelDTO.class, saxOptions);
+
+        Assert.assertTrue("预期流式读取能够通过校验，现在却提示不通过", saxResult.isValid());
+        Assert.assertEquals("预期流式读取与默认读取的数据相同", validResult.getData(), saxResult.getData());
+
+        ExcelValidateOptions<ExcelDTO> notValidOptions = ExcelValidateOptions.createDefault(
+                ExcelReaderTypeEnum.NOTVALID,
+                null,
+                null,
+                null
+        );
+        ValidatorResult<ExcelDTO> notValidResult =
+                ExcelValidateUtil.cellValid(multipartFile, columnMap, ExcelDTO.class, notValidOptions);
+        Assert.assertEquals("预期读取后校验与默认读取的数据相同", validResult.getData(), notValidResult.getData());
+        System.out.println(saxResult.getData());
+    }
+
+    @Test
+    public void cellValidParallelTest() {
+        List<ExcelDTO> dataList = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ExcelDTO dto = new ExcelDTO();
+            dto.setDataCode((long) i);
+            dto.setAge((short) 18);
+            // 第3、7条数据姓名为空，不通过校验
+            dto.setName(i == 2 || i == 6 ? null : "name" + i);
+            dataList.add(dto);
+        }
+
+        ValidatorResult<ExcelDTO> sequentialResult =
+                ExcelValidateUtil.cellValidaBase(0, 1, true, true, null, dataList);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        ValidatorResult<ExcelDTO> parallelResult;
+        try {
+            parallelResult = ExcelValidateUtil.cellValidaBase(0, 1, true, true, null, dataList, executor, 3, null);
+        } finally {
+            executor.shutdown();
+        }
+
+        Assert.assertFalse("预期并行校验不能够通过校验，现在却提示通过", parallelResult.isValid());
+        Assert.assertEquals("预期并行校验与逐行校验的结果相同",
+                sequentialResult.getViolationSet(), parallelResult.getViolationSet());
+        List<String> invalidDataCodes = new ArrayList<>();
+        parallelResult.getViolationSet().forEach(v -> invalidDataCodes.add(String.valueOf(v.getRootBean().getDataCode())));
+        Assert.assertEquals("预期约束违反信息按行号顺序合并", Arrays.asList("2", "6"), invalidDataCodes);
+    }
+
+    @Test
+    public void limitConstraintErrorTest() {
+        Assert.assertEquals("第2行年龄格式有误，错误内容: 十八，正确格式：整数",
+                ExcelValidateUtil.constraintViolationMsgBuild(true, 2, "年龄", "十八", "整数"));
+        Assert.assertEquals("年龄格式有误，错误内容: null，正确格式：整数",
+                ExcelValidateUtil.constraintViolationMsgBuild(false, 2, "年龄", null, "整数"));
+        Assert.assertEquals("第3行姓名未填写", ExcelValidateUtil.isNullMessageTemplate(3, "姓名"));
+        Assert.assertEquals("工作表[Sheet2]第3行姓名未填写",
+                ExcelValidateUtil.sheetMessageTemplate("Sheet2", "第3行姓名未填写"));
+
+        ExcelViolationBuffer buffer = new ExcelViolationBuffer();
+        for (int i = 0; i < 5; i++) {
+            buffer.addCellViolation(i + 2, "年龄", "age", "十八", ExcelValidateUtil.INTEGER_RIGHT_FORMAT);
+        }
+        ValidatorResult<ExcelDTO> result = new ValidatorResult<>(false, null, null, buffer);
+        result.generateConstraintError();
+        result.limitConstraintError(0);
+        Assert.assertEquals("预期小于等于0时不截断", 5, result.getConstraintError().size());
+
+        result.limitConstraintError(2);
+        Assert.assertEquals(2, result.getConstraintError().size());
+        Assert.assertEquals(5, result.getConstraintErrorCount());
+        Assert.assertEquals("3", result.getConstraintError().get(1).getMessage().substring(1, 2));
+        Assert.assertEquals("预期约束违反信息不受影响", 5, result.getReadViolationSet().size());
+        try {
+            result.getConstraintError().get(2);
+            Assert.fail("预期截断后的列表不能读取超出的约束错误对象");
+        } catch (IndexOutOfBoundsException ignored) {
+            // 预期
+        }
+    }
+
     @Test
     public void readExcelTypeTransitionTest() {
         // 测试将类型无法转换的参数，set到属性中会发生什么异常
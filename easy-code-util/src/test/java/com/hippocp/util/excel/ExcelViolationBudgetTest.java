@@ -0,0 +1,72 @@
+package com.hippocp.util.excel;
+
+import com.hippocp.easy.code.util.domain.CustomValidatorResult;
+import com.hippocp.easy.code.util.domain.EasyConstraintViolationImpl;
+import com.hippocp.easy.code.util.domain.ExcelReaderTypeEnum;
+import com.hippocp.easy.code.util.domain.ValidatorResult;
+import com.hippocp.easy.code.util.excel.ExcelValidateOptions;
+import com.hippocp.easy.code.util.excel.ExcelValidateUtil;
+import com.hippocp.easy.code.util.excel.ExcelViolationBudget;
+import com.hippocp.util.entity.ExcelDTO;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 约束违反信息预算测试
+ */
+public class ExcelViolationBudgetTest {
+
+    @Test
+    public void violationBudgetTest() {
+        List<ExcelDTO> dataList = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            // 姓名、年龄为空，每行2条约束违反信息
+            ExcelDTO dto = new ExcelDTO();
+            dto.setDataCode((long) i);
+            dataList.add(dto);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            ValidatorResult<ExcelDTO> failFastResult = ExcelValidateUtil.cellValidaBase(0, 1, true, true, null,
+                    dataList, executor, 2, new ExcelViolationBudget(0, 1));
+            Assert.assertEquals("预期快速失败只收集第一行的约束违反信息", 2, failFastResult.getViolationSet().size());
+            ValidatorResult<ExcelDTO> budgetResult = ExcelValidateUtil.cellValidaBase(0, 1, true, true, null,
+                    dataList, null, 0, new ExcelViolationBudget(3, 0));
+            Assert.assertEquals("预期只收集前3条约束违反信息", 3, budgetResult.getViolationSet().size());
+        } finally {
+            executor.shutdown();
+        }
+
+        // 读取过程中每个单元格都校验不通过，快速失败时只读取第一行数据
+        MultipartFile multipartFile = ExcelTestFixture.initMultipartFile();
+        Map<String, String> columnMap = ExcelTestFixture.columnMap();
+        for (ExcelReaderTypeEnum readerType : Arrays.asList(ExcelReaderTypeEnum.VALID, ExcelReaderTypeEnum.SAX)) {
+            ExcelValidateOptions<ExcelDTO> options = ExcelValidateOptions.createDefault(
+                    readerType,
+                    (fieldType, fieldName, columnValue, columnName, readabilityRowNum, tempMap) -> {
+                        Set<EasyConstraintViolationImpl<Object>> set = new HashSet<>();
+                        set.add(EasyConstraintViolationImpl.forBeanValidation(
+                                "第" + readabilityRowNum + "行" + columnName + "有误", fieldName, columnValue));
+                        return CustomValidatorResult.notPassValid(set);
+                    },
+                    null,
+                    null
+            );
+            options.setMaxInvalidRowCount(1);
+            ValidatorResult<ExcelDTO> result = ExcelValidateUtil.cellValid(multipartFile, columnMap, ExcelDTO.class, options);
+            Assert.assertFalse(result.isValid());
+            Assert.assertEquals(readerType + "预期只收集第一行3列的约束违反信息", 3, result.getReadViolationSet().size());
+        }
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.hippocp.util.excel.checkpoint;
+
+import cn.hutool.core.io.FileUtil;
+import com.hippocp.easy.code.util.domain.CustomValidatorResult;
+import com.hippocp.easy.code.util.domain.EasyConstraintViolationImpl;
+import com.hippocp.easy.code.util.domain.ExcelImportCheckpoint;
+import com.hippocp.easy.code.util.domain.ExcelReaderTypeEnum;
+import com.hippocp.easy.code.util.domain.ValidatorResult;
+import com.hippocp.easy.code.util.excel.ExcelValidateOptions;
+import com.hippocp.easy.code.util.excel.ExcelValidateUtil;
+import com.hippocp.easy.code.util.excel.checkpoint.FileExcelCheckpointStore;
+import com.hippocp.easy.code.util.excel.handler.FormatStrDefaultHandler;
+import com.hippocp.easy.code.util.excel.handler.ValidAssignmentStrDefaultHandler;
+import com.hippocp.util.entity.ExcelDTO;
+import com.hippocp.util.excel.ExcelTestFixture;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 导入检查点测试
+ */
+public class FileExcelCheckpointStoreTest {
+
+    @Test
+    public void cellValidCheckpointTest() throws IOException {
+        MultipartFile multipartFile = ExcelTestFixture.initMultipartFile();
+        Map<String, String> columnMap = ExcelTestFixture.columnMap();
+        ExcelValidateOptions<ExcelDTO> options = ExcelTestFixture.options(ExcelReaderTypeEnum.VALID);
+
+        File directory = FileUtil.mkdir(FileUtil.file(FileUtil.getTmpDir(), "easy-code-checkpoint-" + System.nanoTime()));
+        try {
+            FileExcelCheckpointStore store = new FileExcelCheckpointStore(directory);
+            List<Integer> rowNums = new ArrayList<>();
+            // 第一次导入在消费第二批数据时失败
+            try {
+                ExcelValidateUtil.cellValid(multipartFile, columnMap, ExcelDTO.class, options, 1, batch -> {
+                    if (rowNums.size() == 1) {
+                        throw new IllegalStateException("模拟写入数据库失败");
+                    }
+                    batch.forEach(row -> rowNums.add(row.getReadabilityRowNum()));
+                }, store, "testTemplate");
+                Assert.fail("预期消费者抛出异常");
+            } catch (IllegalStateException e) {
+                Assert.assertEquals("模拟写入数据库失败", e.getMessage());
+            }
+            ExcelImportCheckpoint checkpoint = store.load("testTemplate");
+            Assert.assertEquals("预期检查点位于Excel表格第2行", 1, checkpoint.getLastCommittedRowIndex());
+            Assert.assertEquals(1, checkpoint.getConsumedRowCount());
+            Assert.assertFalse(checkpoint.isCompleted());
+
+            // 重试时从检查点的下一行继续，已提交的行不会重复消费
+            ValidatorResult<ExcelDTO> result = ExcelValidateUtil.cellValid(multipartFile, columnMap, ExcelDTO.class,
+                    options, 1, batch -> batch.forEach(row -> rowNums.add(row.getReadabilityRowNum())),
+                    store, "testTemplate");
+            Assert.assertTrue("预期能够通过校验，现在却提示不通过", result.isValid());
+            Assert.assertEquals("预期每行只消费一次", Arrays.asList(2, 3), rowNums);
+            checkpoint = store.load("testTemplate");
+            Assert.assertTrue(checkpoint.isCompleted());
+            Assert.assertEquals(2, checkpoint.getConsumedRowCount());
+
+            // 已完成的导入不再读取
+            result = ExcelValidateUtil.cellValid(multipartFile, columnMap, ExcelDTO.class, options, 1,
+                    batch -> Assert.fail("预期已完成的导入不再消费数据"), store, "testTemplate");
+            Assert.assertTrue(result.isValid());
+            store.delete("testTemplate");
+            Assert.assertNull(store.load("testTemplate"));
+        } finally {
+            FileUtil.del(directory);
+        }
+    }
+
+    @Test
+    public void cellValidCheckpointRejectedBatchTest() throws IOException {
+        MultipartFile multipartFile = ExcelTestFixture.initMultipartFile();
+        Map<String, String> columnMap = ExcelTestFixture.columnMap();
+        // 第一次导入时拒绝第二批数据
+        AtomicInteger batchCount = new AtomicInteger();
+        ExcelValidateOptions<ExcelDTO> rejectOptions = ExcelValidateOptions.createDefault(
+                ExcelReaderTypeEnum.VALID,
+                new ValidAssignmentStrDefaultHandler(),
+                new FormatStrDefaultHandler(),
+                beanList -> {
+                    if (batchCount.incrementAndGet() != 2) {
+                        return CustomValidatorResult.passValid();
+                    }
+                    Set<EasyConstraintViolationImpl<ExcelDTO>> set = new HashSet<>();
+                    set.add(new EasyConstraintViolationImpl<>("模拟数据库中已存在", "dataCode", null));
+                    return CustomValidatorResult.notPassValid(set);
+                }
+        );
+
+        File directory = FileUtil.mkdir(FileUtil.file(FileUtil.getTmpDir(), "easy-code-checkpoint-" + System.nanoTime()));
+        try {
+            FileExcelCheckpointStore store = new FileExcelCheckpointStore(directory);
+            List<Integer> rowNums = new ArrayList<>();
+            ValidatorResult<ExcelDTO> result = ExcelValidateUtil.cellValid(multipartFile, columnMap, ExcelDTO.class,
+                    rejectOptions, 1, batch -> batch.forEach(row -> rowNums.add(row.getReadabilityRowNum())),
+                    store, "testTemplate");
+            Assert.assertFalse("预期不能够通过校验，现在却提示通过", result.isValid());
+            ExcelImportCheckpoint checkpoint = store.load("testTemplate");
+            Assert.assertEquals("预期检查点停在被拒绝的批次之前", 1, checkpoint.getLastCommittedRowIndex());
+            Assert.assertEquals(1, checkpoint.getConsumedRowCount());
+            Assert.assertEquals("预期被拒绝批次的约束违反信息不计入检查点", 0, checkpoint.getViolationCount());
+            Assert.assertFalse(checkpoint.isCompleted());
+
+            // 重试时重新校验被拒绝的批次
+            ExcelValidateOptions<ExcelDTO> options = ExcelTestFixture.options(ExcelReaderTypeEnum.VALID);
+            result = ExcelValidateUtil.cellValid(multipartFile, columnMap, ExcelDTO.class, options, 1,
+                    batch -> batch.forEach(row -> rowNums.add(row.getReadabilityRowNum())), store, "testTemplate");
+            Assert.assertTrue("预期能够通过校验，现在却提示不通过", result.isValid());
+            Assert.assertEquals("预期被拒绝的行在重试时消费", Arrays.asList(2, 3), rowNums);
+            Assert.assertTrue(store.load("testTemplate").isCompleted());
+        } finally {
+            FileUtil.del(directory);
+        }
+    }
+
+}
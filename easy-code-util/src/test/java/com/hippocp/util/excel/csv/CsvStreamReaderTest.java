@@ -0,0 +1,69 @@
+package com.hippocp.util.excel.csv;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.util.StrUtil;
+import com.hippocp.easy.code.util.domain.ExcelReaderTypeEnum;
+import com.hippocp.easy.code.util.domain.ValidatorResult;
+import com.hippocp.easy.code.util.excel.ExcelValidateOptions;
+import com.hippocp.easy.code.util.excel.ExcelValidateUtil;
+import com.hippocp.easy.code.util.excel.csv.CsvStreamReader;
+import com.hippocp.easy.code.util.excel.handler.ValidAssignmentStrDefaultHandler;
+import com.hippocp.util.entity.ExcelDTO;
+import com.hippocp.util.excel.ExcelTestFixture;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * .csv 文件流式读取测试
+ */
+public class CsvStreamReaderTest {
+
+    @Test
+    public void cellValidByCsvTest() throws IOException {
+        Map<String, String> columnMap = ExcelTestFixture.columnMap();
+        // 超过字符缓冲区大小的单元格
+        String longName = StrUtil.repeat('长', CsvStreamReader.DEFAULT_BUFFER_SIZE + 10);
+        String csv = "\uFEFF数据编号,姓名,年龄\r\n"
+                + "1,\"张\"\"三\"\"\",18\r\n"
+                + "2,\"李,\n四\",19\n"
+                + "3," + longName + ",20\n";
+
+        // 上传文件，按扩展名自动使用 .csv 读取
+        MultipartFile multipartFile = new MockMultipartFile("data.csv", "data.csv",
+                "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+        ExcelValidateOptions<ExcelDTO> options = ExcelValidateOptions.createDefault(
+                ExcelReaderTypeEnum.VALID, new ValidAssignmentStrDefaultHandler(), null, null);
+        ValidatorResult<ExcelDTO> result = ExcelValidateUtil.cellValid(multipartFile, columnMap, ExcelDTO.class, options);
+        Assert.assertTrue(result.isValid());
+        List<ExcelDTO> data = result.getData();
+        Assert.assertEquals(3, data.size());
+        Assert.assertEquals("张\"三\"", data.get(0).getName());
+        Assert.assertEquals("李,\n四", data.get(1).getName());
+        Assert.assertEquals(longName, data.get(2).getName());
+        Assert.assertEquals(Short.valueOf((short) 20), data.get(2).getAge());
+
+        // 本地文件通过内存映射读取，缺少年龄与格式有误的行校验不通过
+        File file = File.createTempFile("easy-code-csv-", ".csv");
+        try {
+            FileUtil.writeString("数据编号;姓名;年龄\n1;张三;\n2;李四;abc\n", file, "GBK");
+            options.setCsvCharset("GBK");
+            options.setCsvDelimiter(';');
+            result = ExcelValidateUtil.cellValidByCsv(file, columnMap, ExcelDTO.class, options);
+            Assert.assertFalse(result.isValid());
+            Assert.assertEquals(2, result.getConstraintError().size());
+            Assert.assertTrue(result.getConstraintError().stream()
+                    .anyMatch(error -> error.getMessage().contains("abc")));
+        } finally {
+            FileUtil.del(file);
+        }
+    }
+
+}
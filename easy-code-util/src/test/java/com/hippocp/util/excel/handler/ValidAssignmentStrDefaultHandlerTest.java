@@ -0,0 +1,37 @@
+package com.hippocp.util.excel.handler;
+
+import com.hippocp.easy.code.util.excel.handler.ValidAssignmentStrDefaultHandler;
+import com.hippocp.easy.code.util.excel.plan.ExcelColumnPlan;
+import com.hippocp.easy.code.util.excel.plan.ExcelImportPlan;
+import com.hippocp.util.entity.ExcelDTO;
+import com.hippocp.util.excel.ExcelTestFixture;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 默认字符串校验与赋值处理器测试
+ */
+public class ValidAssignmentStrDefaultHandlerTest {
+
+    @Test
+    public void typedCellConverterTest() {
+        ExcelImportPlan<ExcelDTO> plan = ExcelImportPlan.of(ExcelDTO.class, ExcelTestFixture.columnMap());
+        ExcelColumnPlan age = plan.getColumn("age");
+        Assert.assertEquals(Short.valueOf((short) 18), age.getConverter().convert(18.0D));
+        Assert.assertEquals(Short.valueOf((short) 18), age.getConverter().convert("18"));
+
+        // 数字单元格直接按属性类型范围校验，文本单元格逐字符校验
+        ValidAssignmentStrDefaultHandler handler = new ValidAssignmentStrDefaultHandler();
+        Map<String, Object> tempStorageMap = new HashMap<>(4);
+        Assert.assertTrue(handler.validAssignment(age, 18L, 2, tempStorageMap).isValid());
+        Assert.assertTrue(handler.validAssignment(age, 18.0D, 2, tempStorageMap).isValid());
+        Assert.assertFalse("预期超出short范围", handler.validAssignment(age, 40000L, 2, tempStorageMap).isValid());
+        Assert.assertFalse(handler.validAssignment(age, "十八", 2, tempStorageMap).isValid());
+        Assert.assertTrue("预期long类型属性可以超出int范围",
+                handler.validAssignment(plan.getColumn("dataCode"), "3000000000", 2, tempStorageMap).isValid());
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.hippocp.util.excel.plan;
+
+import com.hippocp.easy.code.util.excel.plan.ExcelColumnPlan;
+import com.hippocp.easy.code.util.excel.plan.ExcelImportPlan;
+import com.hippocp.util.entity.ExcelDTO;
+import com.hippocp.util.excel.ExcelTestFixture;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Excel表格导入计划测试
+ */
+public class ExcelImportPlanTest {
+
+    @Test
+    public void importPlanTest() {
+        Map<String, String> columnMap = ExcelTestFixture.columnMap();
+
+        ExcelImportPlan<ExcelDTO> plan = ExcelImportPlan.of(ExcelDTO.class, columnMap);
+        Assert.assertSame("预期相同映射关系命中缓存的导入计划", plan,
+                ExcelImportPlan.of(ExcelDTO.class, new HashMap<>(columnMap)));
+        Assert.assertTrue("预期年龄列为整数类型", plan.getColumn("age").isIntegerType());
+        Assert.assertEquals("预期年龄列标题为年龄", "年龄", plan.getColumn("age").getTitle());
+
+        Map<String, Object> rowData = new HashMap<>(4);
+        rowData.put("dataCode", 1L);
+        rowData.put("name", "张三");
+        rowData.put("age", "18");
+        rowData.put("id", "无法转换");
+        ExcelDTO dto = plan.toBean(rowData);
+        Assert.assertEquals(Long.valueOf(1L), dto.getDataCode());
+        Assert.assertEquals("张三", dto.getName());
+        Assert.assertEquals(Short.valueOf((short) 18), dto.getAge());
+        Assert.assertNull("预期无法转换的值被忽略", dto.getId());
+
+        // 按列索引直接写入，未映射但与属性同名的列同样写入
+        ExcelColumnPlan[] columnPlans = plan.columnsOf(Arrays.asList("年龄", "未知列", "姓名", "id"));
+        Assert.assertNull("预期没有对应属性的列为null", columnPlans[1]);
+        ExcelDTO rowDto = plan.toBean(columnPlans, Arrays.asList(20L, "忽略", "李四", 7L));
+        Assert.assertEquals(Short.valueOf((short) 20), rowDto.getAge());
+        Assert.assertEquals("李四", rowDto.getName());
+        Assert.assertEquals(Long.valueOf(7L), rowDto.getId());
+    }
+
+    @Test
+    public void importPlanCacheEvictionTest() {
+        Map<String, String> columnMap = ExcelTestFixture.columnMap();
+        ExcelImportPlan<ExcelDTO> plan = ExcelImportPlan.of(ExcelDTO.class, columnMap);
+        // 动态生成的映射map超出缓存数量时，淘汰最久未使用的导入计划
+        for (int i = 0; i < 300; i++) {
+            ExcelImportPlan.of(ExcelDTO.class, Collections.singletonMap("姓名" + i, "name"));
+            Assert.assertSame("预期经常使用的导入计划不被淘汰", plan, ExcelImportPlan.of(ExcelDTO.class, columnMap));
+        }
+        Map<String, String> evictedMap = Collections.singletonMap("姓名0", "name");
+        ExcelImportPlan<ExcelDTO> evicted = ExcelImportPlan.of(ExcelDTO.class, evictedMap);
+        for (int i = 0; i < 300; i++) {
+            ExcelImportPlan.of(ExcelDTO.class, Collections.singletonMap("年龄" + i, "age"));
+        }
+        Assert.assertNotSame("预期最久未使用的导入计划被淘汰", evicted, ExcelImportPlan.of(ExcelDTO.class, evictedMap));
+    }
+
+}
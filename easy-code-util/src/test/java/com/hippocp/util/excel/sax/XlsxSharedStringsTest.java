@@ -0,0 +1,95 @@
+package com.hippocp.util.excel.sax;
+
+import cn.hutool.core.io.FileUtil;
+import com.hippocp.easy.code.util.domain.ExcelReaderTypeEnum;
+import com.hippocp.easy.code.util.domain.ValidatorResult;
+import com.hippocp.easy.code.util.excel.ExcelImportSession;
+import com.hippocp.easy.code.util.excel.ExcelValidateOptions;
+import com.hippocp.easy.code.util.excel.ExcelValidateUtil;
+import com.hippocp.easy.code.util.excel.sax.XlsxSharedStrings;
+import com.hippocp.util.entity.ExcelDTO;
+import com.hippocp.util.excel.ExcelTestFixture;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 共享字符串表测试
+ */
+public class XlsxSharedStringsTest {
+
+    @Test
+    public void sharedStringsSpillTest() throws Exception {
+        // 大量不重复的字符串，阈值为0时除第一个外全部写入临时文件
+        MultipartFile multipartFile = ExcelTestFixture.xlsxFile("strings.xlsx", writer -> {
+            writer.writeRow(Arrays.asList("数据编号", "姓名", "年龄"));
+            for (int i = 1; i <= 500; i++) {
+                writer.writeRow(Arrays.asList(i, "姓名-" + i + "-中文", 20));
+            }
+        });
+        File file = File.createTempFile("shared-strings-", ".xlsx");
+        try {
+            FileUtil.writeBytes(multipartFile.getBytes(), file);
+            OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ);
+            try {
+                ReadOnlySharedStringsTable expected = new ReadOnlySharedStringsTable(pkg, false);
+                XlsxSharedStrings spilled = XlsxSharedStrings.read(pkg, 0);
+                try {
+                    Assert.assertTrue("预期超过阈值后写入临时文件", spilled.isSpilled());
+                    Assert.assertEquals(expected.getUniqueCount(), spilled.getUniqueCount());
+                    for (int i = 0; i < expected.getItems().size(); i++) {
+                        Assert.assertEquals(expected.getEntryAt(i), spilled.getString(i));
+                    }
+                    spilled.close();
+                    try {
+                        spilled.getString(expected.getItems().size() - 1);
+                        Assert.fail("预期关闭后无法读取临时文件中的字符串");
+                    } catch (IllegalStateException ignored) {
+                        // 预期
+                    }
+                } finally {
+                    spilled.close();
+                }
+            } finally {
+                pkg.revert();
+            }
+        } finally {
+            FileUtil.del(file);
+        }
+
+        // 读取结果与全部保存在堆内存时相同
+        Map<String, String> columnMap = ExcelTestFixture.columnMap();
+        ExcelValidateOptions<ExcelDTO> options = ExcelTestFixture.options(ExcelReaderTypeEnum.SAX);
+        List<ExcelDTO> heapData = ExcelValidateUtil.cellValid(multipartFile, columnMap, ExcelDTO.class, options).getData();
+        options.setSharedStringsSpillThreshold(0);
+        ValidatorResult<ExcelDTO> spillResult = ExcelValidateUtil.cellValid(multipartFile, columnMap, ExcelDTO.class, options);
+        Assert.assertTrue(spillResult.isValid());
+        Assert.assertEquals(500, spillResult.getData().size());
+        Assert.assertEquals("预期共享字符串写入临时文件后读取结果不变", heapData, spillResult.getData());
+
+        // 导入会话按校验配置的阈值打开流式读取器
+        ServletRequestAttributes attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(attributes);
+        try {
+            ExcelImportSession session = ExcelImportSession.bind(multipartFile);
+            ValidatorResult<ExcelDTO> sessionResult = ExcelValidateUtil.cellValid(multipartFile, columnMap, ExcelDTO.class, options);
+            Assert.assertEquals(heapData, sessionResult.getData());
+            Assert.assertTrue("预期会话中的共享字符串表写入临时文件", session.getStreamReader().getSharedStrings().isSpilled());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+            attributes.requestCompleted();
+        }
+    }
+
+}
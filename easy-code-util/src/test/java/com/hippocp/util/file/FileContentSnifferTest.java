@@ -0,0 +1,126 @@
+package com.hippocp.util.file;
+
+import com.hippocp.easy.code.util.domain.FileContentTypeEnum;
+import com.hippocp.easy.code.util.excel.ExcelValidateUtil;
+import com.hippocp.easy.code.util.file.FileContentSniffer;
+import com.hippocp.easy.code.util.file.UploadedFileHandle;
+import com.hippocp.util.excel.ExcelTestFixture;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 按文件头识别文件类型测试
+ */
+public class FileContentSnifferTest {
+
+    @Test
+    public void fileContentSnifferTest() throws IOException {
+        // 记录读取上传文件的次数
+        int[] readCount = new int[1];
+        MultipartFile source = ExcelTestFixture.initMultipartFile();
+        MultipartFile xlsxFile = new MockMultipartFile(source.getName(), source.getOriginalFilename(),
+                source.getContentType(), source.getBytes()) {
+            @Override
+            public InputStream getInputStream() throws IOException {
+                readCount[0]++;
+                return super.getInputStream();
+            }
+        };
+        Assert.assertEquals(FileContentTypeEnum.XLSX, FileContentSniffer.sniff(xlsxFile));
+        Assert.assertTrue(FileContentSniffer.isContentMatchesSuffix(xlsxFile, ExcelValidateUtil.XLSX_SUFFIX));
+        Assert.assertEquals("预期没有绑定上传文件句柄时不缓存识别结果", 2, readCount[0]);
+
+        // 绑定到请求的上传文件句柄保存识别结果，请求结束后释放
+        ServletRequestAttributes attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(attributes);
+        try {
+            UploadedFileHandle.bind(xlsxFile);
+            readCount[0] = 0;
+            Assert.assertTrue(FileContentSniffer.isContentMatchesSuffix(xlsxFile, ExcelValidateUtil.XLSX_SUFFIX));
+            Assert.assertFalse(FileContentSniffer.isContentMatchesSuffix(xlsxFile, ExcelValidateUtil.XLS_SUFFIX));
+            Assert.assertEquals("预期从句柄读取，不再读取上传文件", 0, readCount[0]);
+        } finally {
+            attributes.requestCompleted();
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        // 没有绑定句柄时识别结果缓存在请求中
+        attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(attributes);
+        try {
+            readCount[0] = 0;
+            Assert.assertTrue(FileContentSniffer.isContentMatchesSuffix(xlsxFile, ExcelValidateUtil.XLSX_SUFFIX));
+            Assert.assertFalse(FileContentSniffer.isContentMatchesSuffix(xlsxFile, ExcelValidateUtil.XLS_SUFFIX));
+            Assert.assertEquals("预期同一请求内只读取一次上传文件", 1, readCount[0]);
+        } finally {
+            attributes.requestCompleted();
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        // 修改了扩展名的 .csv 文件
+        MultipartFile renamedFile = new MockMultipartFile("data.xlsx", "data.xlsx", "application/octet-stream",
+                "数据编号,姓名,年龄\n".getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(FileContentTypeEnum.UNKNOWN, FileContentSniffer.sniff(renamedFile));
+        Assert.assertFalse(FileContentSniffer.isContentMatchesSuffix(renamedFile, ExcelValidateUtil.XLSX_SUFFIX));
+        Assert.assertTrue(FileContentSniffer.isContentMatchesSuffix(renamedFile, ExcelValidateUtil.CSV_SUFFIX));
+
+        byte[] ole2 = {(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1, 0};
+        Assert.assertEquals(FileContentTypeEnum.XLS, FileContentSniffer.sniff(ole2, ole2.length));
+        byte[] zip = {0x50, 0x4B, 0x03, 0x04, 0x14, 0};
+        Assert.assertEquals(FileContentTypeEnum.ZIP, FileContentSniffer.sniff(zip, zip.length));
+    }
+
+    @Test
+    public void sniffLargeCentralDirectoryTest() throws IOException {
+        // [Content_Types].xml 既不在文件头中，也不在文件尾中，只能从中央目录中找到
+        MultipartFile xlsxFile = new MockMultipartFile("data.xlsx", "data.xlsx",
+                "application/octet-stream", largeCentralDirectoryZip(true));
+        Assert.assertTrue(xlsxFile.getSize() > 3 * FileContentSniffer.SNIFF_SIZE);
+        Assert.assertEquals(FileContentTypeEnum.XLSX, FileContentSniffer.sniff(xlsxFile));
+        try (UploadedFileHandle handle = UploadedFileHandle.open(xlsxFile)) {
+            Assert.assertEquals(FileContentTypeEnum.XLSX, FileContentSniffer.sniff(handle));
+        }
+
+        MultipartFile zipFile = new MockMultipartFile("data.xlsx", "data.xlsx",
+                "application/octet-stream", largeCentralDirectoryZip(false));
+        Assert.assertEquals(FileContentTypeEnum.ZIP, FileContentSniffer.sniff(zipFile));
+        Assert.assertFalse(FileContentSniffer.isContentMatchesSuffix(zipFile, ExcelValidateUtil.XLSX_SUFFIX));
+    }
+
+    /**
+     * 生成中央目录大于{@link FileContentSniffer#SNIFF_SIZE}的压缩包，
+     * 第一个条目为无法压缩的随机内容，使 [Content_Types].xml 的本地文件头超出文件头
+     */
+    private static byte[] largeCentralDirectoryZip(boolean contentTypes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            byte[] random = new byte[2 * FileContentSniffer.SNIFF_SIZE];
+            new Random(0).nextBytes(random);
+            zip.putNextEntry(new ZipEntry("xl/media/image0.bin"));
+            zip.write(random);
+            if (contentTypes) {
+                zip.putNextEntry(new ZipEntry("[Content_Types].xml"));
+                zip.write("<Types/>".getBytes(StandardCharsets.UTF_8));
+            }
+            for (int i = 1; i <= 200; i++) {
+                zip.putNextEntry(new ZipEntry("xl/worksheets/_rels/sheet" + i + ".xml.rels.long-entry-name.xml"));
+                zip.write("<Relationships/>".getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return out.toByteArray();
+    }
+
+}
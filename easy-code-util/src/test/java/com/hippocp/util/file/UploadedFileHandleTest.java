@@ -0,0 +1,88 @@
+package com.hippocp.util.file;
+
+import com.hippocp.easy.code.util.domain.ExcelReaderTypeEnum;
+import com.hippocp.easy.code.util.excel.ExcelValidateOptions;
+import com.hippocp.easy.code.util.excel.ExcelValidateUtil;
+import com.hippocp.easy.code.util.excel.csv.CsvStreamReader;
+import com.hippocp.easy.code.util.excel.handler.ValidAssignmentStrDefaultHandler;
+import com.hippocp.easy.code.util.file.UploadedFileHandle;
+import com.hippocp.util.entity.ExcelDTO;
+import com.hippocp.util.excel.ExcelTestFixture;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 上传文件句柄测试
+ */
+public class UploadedFileHandleTest {
+
+    @Test
+    public void uploadedFileHandleTest() throws IOException {
+        Map<String, String> columnMap = ExcelTestFixture.columnMap();
+        // 记录读取上传文件的次数
+        int[] readCount = new int[1];
+        MultipartFile source = ExcelTestFixture.initMultipartFile();
+        MultipartFile multipartFile = new MockMultipartFile(source.getName(), source.getOriginalFilename(),
+                source.getContentType(), source.getBytes()) {
+            @Override
+            public InputStream getInputStream() throws IOException {
+                readCount[0]++;
+                return super.getInputStream();
+            }
+
+            @Override
+            public byte[] getBytes() throws IOException {
+                readCount[0]++;
+                return super.getBytes();
+            }
+        };
+
+        ServletRequestAttributes attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(attributes);
+        File file;
+        try {
+            UploadedFileHandle handle = UploadedFileHandle.bind(multipartFile);
+            Assert.assertTrue(ExcelValidateUtil.excelTitleEquals(multipartFile, new String[]{"数据编号", "姓名", "年龄"}));
+            for (ExcelReaderTypeEnum readerType : Arrays.asList(ExcelReaderTypeEnum.VALID, ExcelReaderTypeEnum.SAX)) {
+                ExcelValidateOptions<ExcelDTO> options = ExcelValidateOptions.createDefault(
+                        readerType, new ValidAssignmentStrDefaultHandler(), null, null);
+                ExcelValidateUtil.cellValid(multipartFile, columnMap, ExcelDTO.class, options);
+            }
+            Assert.assertEquals("预期上传文件只读取一次", 1, readCount[0]);
+            Assert.assertTrue(handle.isInMemory());
+            file = handle.getFile();
+            Assert.assertTrue(file.exists());
+            Assert.assertEquals(multipartFile.getSize(), handle.getBuffer().remaining());
+        } finally {
+            attributes.requestCompleted();
+            RequestContextHolder.resetRequestAttributes();
+        }
+        Assert.assertFalse("预期请求结束时删除临时文件", file.exists());
+
+        // 超过堆内存阈值时写入临时文件，通过内存映射读取 .csv 文件
+        MultipartFile csvFile = new MockMultipartFile("data.csv", "data.csv", "text/csv",
+                "数据编号,姓名,年龄\n1,张三,18\n".getBytes(StandardCharsets.UTF_8));
+        try (UploadedFileHandle handle = UploadedFileHandle.open(csvFile, 0);
+             CsvStreamReader reader = CsvStreamReader.open(handle, StandardCharsets.UTF_8, CsvStreamReader.DEFAULT_DELIMITER)) {
+            Assert.assertFalse(handle.isInMemory());
+            List<List<Object>> rows = new ArrayList<>();
+            reader.read((rowIndex, rowCells) -> rows.add(new ArrayList<>(rowCells)));
+            Assert.assertEquals(Arrays.asList("1", "张三", "18"), rows.get(1));
+        }
+    }
+
+}
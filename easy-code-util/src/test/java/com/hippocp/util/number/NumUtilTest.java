@@ -0,0 +1,29 @@
+package com.hippocp.util.number;
+
+import com.hippocp.easy.code.util.number.NumUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 数字工具类测试
+ */
+public class NumUtilTest {
+
+    @Test
+    public void isIntegerTest() {
+        Assert.assertTrue(NumUtil.isInteger("-128", Byte.MIN_VALUE, Byte.MAX_VALUE));
+        Assert.assertFalse("预期超出范围", NumUtil.isInteger("128", Byte.MIN_VALUE, Byte.MAX_VALUE));
+        Assert.assertTrue(NumUtil.isInteger("-9223372036854775808", Long.MIN_VALUE, Long.MAX_VALUE));
+        Assert.assertFalse(NumUtil.isInteger("9223372036854775808", Long.MIN_VALUE, Long.MAX_VALUE));
+        Assert.assertFalse(NumUtil.isInteger("12a", Long.MIN_VALUE, Long.MAX_VALUE));
+        Assert.assertFalse(NumUtil.isInteger("-", Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void isDecimalTest() {
+        Assert.assertTrue(NumUtil.isDecimal(" -1.5e3 "));
+        Assert.assertFalse("预期小数须包含小数点", NumUtil.isDecimal("15"));
+        Assert.assertFalse(NumUtil.isDecimal("1.5.1"));
+    }
+
+}
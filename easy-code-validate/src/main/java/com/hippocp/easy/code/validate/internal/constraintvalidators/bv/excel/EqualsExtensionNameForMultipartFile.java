@@ -2,6 +2,8 @@ package com.hippocp.easy.code.validate.internal.constraintvalidators.bv.excel;
 
 
 import cn.hutool.core.util.ArrayUtil;
+import com.hippocp.easy.code.util.excel.ExcelValidateUtil;
+import com.hippocp.easy.code.util.file.FileContentSniffer;
 import com.hippocp.easy.code.util.file.MultipartFileUtil;
 import com.hippocp.easy.code.validate.constraints.EqualsExtensionName;
 import org.hibernate.validator.constraintvalidation.HibernateConstraintValidatorContext;
@@ -9,17 +11,27 @@ import org.springframework.web.multipart.MultipartFile;
 
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
+import java.util.Set;
 
 /**
  * {@link EqualsExtensionName}注解 {@link MultipartFile}校验器
- * multipartFile源文件扩展名与extensionNames数组中的任意一个扩展名匹配则通过校验
+ * multipartFile源文件扩展名与extensionNames数组中的任意一个扩展名匹配则通过校验<br>
+ * 扩展名为 .xlsx、.xls 时，文件头也须与扩展名相符，见{@link FileContentSniffer}
  *
  * @author ZhouYifan
  * @date 2022/1/6
  */
 public class EqualsExtensionNameForMultipartFile implements ConstraintValidator<EqualsExtensionName, MultipartFile> {
 
-    private String[] extensionNames;
+    /**
+     * 扩展名集合，初始化时构建
+     */
+    private Set<String> extensionNameSet;
+
+    /**
+     * 正确扩展名提示，初始化时构建
+     */
+    private String extensionNameRightHint;
 
     /**
      * 可通过此方法取得注解中的参数值，并初始化本类中的属性以供使用
@@ -28,11 +40,14 @@ public class EqualsExtensionNameForMultipartFile implements ConstraintValidator<
      */
     @Override
     public void initialize(EqualsExtensionName parameters) {
-        this.extensionNames = parameters.extensionNames();
+        String[] extensionNames = parameters.extensionNames();
+        this.extensionNameSet = ExcelValidateUtil.getReferenceSet(extensionNames);
+        // 数组转换为字符串
+        this.extensionNameRightHint = ArrayUtil.join(extensionNames, " ");
     }
 
     /**
-     * multipartFile文件扩展名与extensionNames数组中的任意一个扩展名匹配，则通过校验<br>
+     * multipartFile文件扩展名与extensionNames数组中的任意一个扩展名匹配，并且文件内容与扩展名相符，则通过校验<br>
      * multipartFile为null，则通过校验
      *
      * @param multipartFile 待校验{@link MultipartFile}
@@ -46,17 +61,17 @@ public class EqualsExtensionNameForMultipartFile implements ConstraintValidator<
             return true;
         }
         // multipartFile源文件扩展名与extensionNames数组中的任意一个扩展名匹配则通过校验
-        boolean equalsFileSuffix = MultipartFileUtil.isEqualsFileSuffix(multipartFile, extensionNames);
+        boolean equalsFileSuffix = MultipartFileUtil.isEqualsFileSuffix(multipartFile, extensionNameSet)
+                // 扩展名相符时，再检查文件头，拒绝仅修改了扩展名的文件
+                && FileContentSniffer.isContentMatchesSuffix(multipartFile, MultipartFileUtil.getFileSuffix(multipartFile));
 
         if (!equalsFileSuffix) {
             // 自定义ConstraintValidatorContext允许为插值设置额外的消息参数。
             HibernateConstraintValidatorContext hibernateContext =
                     context.unwrap(HibernateConstraintValidatorContext.class);
-            // 数组转换为字符串
-            String arrayJoin = ArrayUtil.join(extensionNames, " ");
             // 不禁用默认违反约束提示消息，仅仅添加一个插值属性
             // 通过使用表达式变量，Hibernate Validator 可以正确处理转义并且不会执行 EL 表达式。
-            hibernateContext.addExpressionVariable("extensionNameRightHint", arrayJoin);
+            hibernateContext.addExpressionVariable("extensionNameRightHint", extensionNameRightHint);
         }
 
         return equalsFileSuffix;
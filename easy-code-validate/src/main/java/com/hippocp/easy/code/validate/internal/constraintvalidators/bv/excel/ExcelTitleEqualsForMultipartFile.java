@@ -22,6 +22,11 @@ public class ExcelTitleEqualsForMultipartFile implements ConstraintValidator<Equ
      */
     private String[] excelTitles;
 
+    /**
+     * 表格标题行号
+     */
+    private int excelTitleRowNum;
+
     /**
      * 可通过此方法取得注解中的参数值，并初始化本类中的属性以供使用
      *
@@ -30,6 +35,7 @@ public class ExcelTitleEqualsForMultipartFile implements ConstraintValidator<Equ
     @Override
     public void initialize(EqualsExcelTitle parameters) {
         this.excelTitles = parameters.excelTitles();
+        this.excelTitleRowNum = parameters.excelTitleRowNum();
     }
 
     /**
@@ -48,7 +54,7 @@ public class ExcelTitleEqualsForMultipartFile implements ConstraintValidator<Equ
         }
 
         // Excel表格标题与参照标题相同，则通过校验，只校验表格标题是否存在，而不在乎其顺序
-        boolean excelTitleEquals = ExcelValidateUtil.excelTitleEquals(multipartFile, excelTitles);
+        boolean excelTitleEquals = ExcelValidateUtil.excelTitleEquals(multipartFile, excelTitles, excelTitleRowNum);
 
         if (!excelTitleEquals) {
             // 自定义ConstraintValidatorContext允许为插值设置额外的消息参数。
@@ -1,7 +1,10 @@
 package com.hippocp.easy.code.validate.internal.constraintvalidators.bv.excel;
 
 
+import com.hippocp.easy.code.util.domain.FileContentTypeEnum;
+import com.hippocp.easy.code.util.excel.ExcelImportSession;
 import com.hippocp.easy.code.util.excel.ExcelValidateUtil;
+import com.hippocp.easy.code.util.file.FileContentSniffer;
 import com.hippocp.easy.code.validate.constraints.IsExcelXLSX;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -27,7 +30,9 @@ public class IsExcelXLSXForMultipartFile implements ConstraintValidator<IsExcelX
     }
 
     /**
-     * multipartFile文件扩展名为.xlsx，则通过校验<br>
+     * multipartFile文件扩展名为.xlsx，并且文件头为 .xlsx 文件头，则通过校验<br>
+     * 文件头只读取一次，见{@link FileContentSniffer}，扩展名与内容不符的文件在完整解析之前即被拒绝<br>
+     * 当前请求绑定了{@link ExcelImportSession}时，与后续的标题校验、单元格校验共用解析结果<br>
      * multipartFile为null，则通过校验
      *
      * @param multipartFile 待校验{@link MultipartFile}
@@ -40,8 +45,13 @@ public class IsExcelXLSXForMultipartFile implements ConstraintValidator<IsExcelX
         if (multipartFile == null) {
             return true;
         }
-        // 文件扩展名等于 .xlsx 即通过校验
-        return ExcelValidateUtil.isExcelXLSX(multipartFile);
+        ExcelImportSession session = ExcelImportSession.current(multipartFile);
+        if (session != null) {
+            return session.isExcelXLSX();
+        }
+        // 文件扩展名等于 .xlsx，并且文件头为 .xlsx 文件头，即通过校验
+        return ExcelValidateUtil.isExcelXLSX(multipartFile)
+                && FileContentSniffer.sniff(multipartFile) == FileContentTypeEnum.XLSX;
     }
 
 }